@@ -15,8 +15,10 @@
  */
 package io.github.photowey.kafka.plus.autoconfigure;
 
+import io.github.photowey.kafka.plus.autoconfigure.core.property.KafkaPlusProperties;
 import io.github.photowey.kafka.plus.autoconfigure.engine.SpringKafkaEngineImpl;
 import io.github.photowey.kafka.plus.autoconfigure.engine.processor.KafkaEngineSpringAwareBeanPostProcessor;
+import io.github.photowey.kafka.plus.core.enums.Kafka;
 import io.github.photowey.kafka.plus.engine.KafkaEngine;
 import io.github.photowey.kafka.plus.runtime.service.AdminService;
 import io.github.photowey.kafka.plus.runtime.service.ConsumerService;
@@ -24,10 +26,17 @@ import io.github.photowey.kafka.plus.runtime.service.ProducerService;
 import io.github.photowey.kafka.plus.runtime.service.impl.AdminServiceImpl;
 import io.github.photowey.kafka.plus.runtime.service.impl.ConsumerServiceImpl;
 import io.github.photowey.kafka.plus.runtime.service.impl.ProducerServiceImpl;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
 
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
 /**
  * {@code KafkaPlusConfigure}
  *
@@ -66,8 +75,26 @@ public class KafkaPlusConfigure {
         }
 
         @Bean
-        public ProducerService producerService() {
-            return new ProducerServiceImpl();
+        public ProducerService producerService(ObjectProvider<KafkaPlusProperties> kafkaPlusProperties) {
+            KafkaPlusProperties properties = kafkaPlusProperties.getIfAvailable();
+            if (null == properties) {
+                return new ProducerServiceImpl();
+            }
+
+            List<String> topics = Collections.emptyList();
+            if (Boolean.TRUE.equals(properties.producer().warmUp())) {
+                topics = properties.admin().topics().stream()
+                        .map(KafkaPlusProperties.Admin.Topic::topic)
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toList());
+            }
+
+            Map<String, String> clusters = Collections.emptyMap();
+            if (Kafka.Mode.CLUSTER == properties.mode().mode() && null != properties.bootstrap().clusters()) {
+                clusters = properties.bootstrap().clusters();
+            }
+
+            return new ProducerServiceImpl(topics, clusters);
         }
     }
 }
\ No newline at end of file
@@ -20,6 +20,7 @@ import org.apache.kafka.common.serialization.StringSerializer;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -100,6 +101,10 @@ public class KafkaPlusProperties implements Serializable {
          * The {@code bootstrap.servers}.
          */
         private String servers = "localhost:9092";
+        /**
+         * The {@code bootstrap.servers} by the cluster name of the {@link Kafka.Mode#CLUSTER} mode.
+         */
+        private Map<String, String> clusters = new LinkedHashMap<>();
 
         // ----------------------------------------------------------------
 
@@ -107,17 +112,29 @@ public class KafkaPlusProperties implements Serializable {
             return servers;
         }
 
+        public Map<String, String> getClusters() {
+            return clusters;
+        }
+
         // ----------------------------------------------------------------
 
         public String servers() {
             return servers;
         }
 
+        public Map<String, String> clusters() {
+            return clusters;
+        }
+
         // ----------------------------------------------------------------
 
         public void setServers(String servers) {
             this.servers = servers;
         }
+
+        public void setClusters(Map<String, String> clusters) {
+            this.clusters = clusters;
+        }
     }
 
     public static class Admin implements Serializable {
@@ -387,6 +404,10 @@ public class KafkaPlusProperties implements Serializable {
          * The {@code enable.idempotence}.
          */
         private Boolean idempotence;
+        /**
+         * Warm up the metadata of the {@code kafka.plus.admin.topics} at producer build time.
+         */
+        private Boolean warmUp = false;
 
         // ----------------------------------------------------------------
 
@@ -442,6 +463,10 @@ public class KafkaPlusProperties implements Serializable {
             return idempotence;
         }
 
+        public Boolean getWarmUp() {
+            return warmUp;
+        }
+
         // ----------------------------------------------------------------
 
         public String keySerializer() {
@@ -496,6 +521,10 @@ public class KafkaPlusProperties implements Serializable {
             return idempotence;
         }
 
+        public Boolean warmUp() {
+            return warmUp;
+        }
+
         // ----------------------------------------------------------------
 
         public void setKeySerializer(String keySerializer) {
@@ -549,6 +578,10 @@ public class KafkaPlusProperties implements Serializable {
         public void setIdempotence(Boolean idempotence) {
             this.idempotence = idempotence;
         }
+
+        public void setWarmUp(Boolean warmUp) {
+            this.warmUp = warmUp;
+        }
     }
 
     // ----------------------------------------------------------------
@@ -583,6 +616,10 @@ public class KafkaPlusProperties implements Serializable {
         return bootstrap;
     }
 
+    public Bootstrap bootstrap() {
+        return bootstrap;
+    }
+
     public Admin admin() {
         return admin;
     }
@@ -0,0 +1,348 @@
+/*
+ * Copyright © 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.kafka.plus.core.clients.admin.lag;
+
+import io.github.photowey.kafka.plus.core.exception.KafkaPlusRuntimeException;
+import org.apache.kafka.clients.admin.Admin;
+import org.apache.kafka.clients.admin.ListConsumerGroupOffsetsOptions;
+import org.apache.kafka.clients.admin.ListConsumerGroupOffsetsResult;
+import org.apache.kafka.clients.admin.ListConsumerGroupOffsetsSpec;
+import org.apache.kafka.clients.admin.ListOffsetsOptions;
+import org.apache.kafka.clients.admin.ListOffsetsResult;
+import org.apache.kafka.clients.admin.OffsetSpec;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.KafkaFuture;
+import org.apache.kafka.common.TopicPartition;
+
+import java.io.Closeable;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static io.github.photowey.kafka.plus.core.checker.ConfigChecker.checkNotBlank;
+import static io.github.photowey.kafka.plus.core.checker.ConfigChecker.checkNotNull;
+
+/**
+ * {@code ConsumerLagMonitor}
+ * <p>
+ * Measures the lag of the consumer groups from the client side, every {@link LagMonitorSettings#intervalMs()}:
+ * <ul>
+ *     <li>the committed offsets of all the groups are fetched by a single {@code listConsumerGroupOffsets} call</li>
+ *     <li>the end offsets of the union of their partitions are fetched by a single {@code listOffsets} call,
+ *     the partitions shared by the groups are queried once</li>
+ *     <li>the {@link PartitionLag} gauges are reused across the refreshes, the lag rate is derived from the last two</li>
+ * </ul>
+ * The {@link Admin} client batches the requests per group coordinator and per partition leader,
+ * so a refresh costs a few round-trips regardless of the partition count.
+ * <p>
+ * A failed query keeps the last values, it's counted in {@link #failures()} and retried by the next refresh,
+ * the gauge of a partition whose end offset wasn't refreshed isn't updated (nor its {@link PartitionLag#updatedAtMs()}),
+ * a fresh committed offset against a stale end offset would understate the lag.
+ * <p>
+ * Examples:
+ * <pre>
+ * ConsumerLagMonitor monitor = adminService.createLagMonitor(admin, groups, new LagMonitorSettings().intervalMs(5_000));
+ * monitor.start();
+ * long lag = monitor.lag("group-a");
+ * PartitionLag partitionLag = monitor.lag("group-a", new TopicPartition("topic", 0));
+ * </pre>
+ * Note: the {@link Admin} is shared, it isn't closed by {@link #close()}.
+ *
+ * @author photowey
+ * @version 3.7.0.1.6
+ * @since 2026/10/18
+ */
+public class ConsumerLagMonitor implements Closeable {
+
+    private final Admin admin;
+    private final Set<String> groups;
+    private final LagMonitorSettings settings;
+    private final ScheduledExecutorService scheduler;
+
+    private final ConcurrentMap<String, ConcurrentMap<TopicPartition, PartitionLag>> lags = new ConcurrentHashMap<>();
+    /**
+     * The cached end offsets, kept for the partitions whose query failed.
+     */
+    private final ConcurrentMap<TopicPartition, Long> endOffsets = new ConcurrentHashMap<>();
+
+    private final AtomicBoolean started = new AtomicBoolean(false);
+    private final AtomicLong refreshes = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private volatile Exception lastFailure;
+
+    public ConsumerLagMonitor(Admin admin, Collection<String> groups, LagMonitorSettings settings) {
+        checkNotNull("admin", admin);
+        checkNotNull("groups", groups);
+        checkNotNull("settings", settings);
+        if (groups.isEmpty()) {
+            throw new KafkaPlusRuntimeException("The consumer groups of the lag monitor can't be empty.");
+        }
+        groups.forEach(group -> checkNotBlank("group", group));
+
+        this.admin = admin;
+        this.groups = Collections.unmodifiableSet(new LinkedHashSet<>(groups));
+        this.settings = settings;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "kafka-plus-consumer-lag-monitor");
+            thread.setDaemon(true);
+
+            return thread;
+        });
+    }
+
+    // ----------------------------------------------------------------
+
+    /**
+     * Refresh every {@link LagMonitorSettings#intervalMs()}, starting immediately.
+     */
+    public void start() {
+        if (!this.started.compareAndSet(false, true)) {
+            return;
+        }
+
+        this.scheduler.scheduleWithFixedDelay(this::refreshQuietly, 0, this.settings.intervalMs(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Query the committed offsets and the end offsets, and update the gauges.
+     * |- Invoked by the monitor thread every {@link LagMonitorSettings#intervalMs()}.
+     */
+    public synchronized void refresh() {
+        long deadline = System.currentTimeMillis() + this.settings.timeoutMs();
+        Exception failure = null;
+
+        Map<String, Map<TopicPartition, OffsetAndMetadata>> committed = new HashMap<>(this.groups.size());
+        Set<TopicPartition> partitions = new HashSet<>();
+        Set<TopicPartition> refreshed = new HashSet<>();
+        try {
+            ListConsumerGroupOffsetsResult committedResult = this.listCommittedOffsets();
+            for (String group : this.groups) {
+                try {
+                    Map<TopicPartition, OffsetAndMetadata> offsets =
+                            this.await(committedResult.partitionsToOffsetAndMetadata(group), deadline);
+                    committed.put(group, offsets);
+                    offsets.forEach((partition, offset) -> {
+                        if (null != offset) {
+                            partitions.add(partition);
+                        }
+                    });
+                } catch (InterruptedException e) {
+                    throw e;
+                } catch (Exception e) {
+                    failure = e;
+                }
+            }
+
+            if (!partitions.isEmpty()) {
+                ListOffsetsResult endResult = this.listEndOffsets(partitions);
+                for (TopicPartition partition : partitions) {
+                    try {
+                        this.endOffsets.put(partition, this.await(endResult.partitionResult(partition), deadline).offset());
+                        refreshed.add(partition);
+                    } catch (InterruptedException e) {
+                        throw e;
+                    } catch (Exception e) {
+                        failure = e;
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+
+            return;
+        } catch (Exception e) {
+            failure = e;
+        }
+
+        if (committed.size() == this.groups.size()) {
+            // Prune the partitions of the deleted topics, or of the groups no longer consuming them.
+            this.endOffsets.keySet().retainAll(partitions);
+        }
+
+        this.update(committed, refreshed);
+        this.refreshes.incrementAndGet();
+        if (null != failure) {
+            this.failures.incrementAndGet();
+            this.lastFailure = failure;
+        }
+    }
+
+    // ----------------------------------------------------------------
+
+    public Set<String> groups() {
+        return this.groups;
+    }
+
+    /**
+     * The total lag of a group.
+     *
+     * @param group the consumer group.
+     * @return the sum of the partition lags, {@code 0} if not refreshed yet.
+     */
+    public long lag(String group) {
+        Map<TopicPartition, PartitionLag> gauges = this.lags.get(group);
+        if (null == gauges) {
+            return 0;
+        }
+
+        long lag = 0;
+        for (PartitionLag gauge : gauges.values()) {
+            lag += gauge.lag();
+        }
+
+        return lag;
+    }
+
+    /**
+     * The lag gauge of a partition of a group.
+     *
+     * @param group     the consumer group.
+     * @param partition the {@link TopicPartition}.
+     * @return {@link PartitionLag}, {@code null} if the group hasn't committed the partition.
+     */
+    public PartitionLag lag(String group, TopicPartition partition) {
+        Map<TopicPartition, PartitionLag> gauges = this.lags.get(group);
+
+        return null == gauges ? null : gauges.get(partition);
+    }
+
+    /**
+     * The lag gauges of a group.
+     *
+     * @param group the consumer group.
+     * @return the unmodifiable view of the gauges.
+     */
+    public Map<TopicPartition, PartitionLag> lags(String group) {
+        Map<TopicPartition, PartitionLag> gauges = this.lags.get(group);
+
+        return null == gauges ? Collections.emptyMap() : Collections.unmodifiableMap(gauges);
+    }
+
+    /**
+     * The cached end offset of a partition.
+     *
+     * @param partition the {@link TopicPartition}.
+     * @return the end offset, {@code -1} if unknown.
+     */
+    public long endOffset(TopicPartition partition) {
+        Long offset = this.endOffsets.get(partition);
+
+        return null == offset ? -1 : offset;
+    }
+
+    public long refreshes() {
+        return this.refreshes.get();
+    }
+
+    /**
+     * The refreshes which failed to query some of the groups or the partitions.
+     *
+     * @return the count.
+     */
+    public long failures() {
+        return this.failures.get();
+    }
+
+    /**
+     * The last failure of the queries.
+     *
+     * @return the failure, {@code null} if none.
+     */
+    public Exception lastFailure() {
+        return this.lastFailure;
+    }
+
+    public LagMonitorSettings settings() {
+        return this.settings;
+    }
+
+    // ----------------------------------------------------------------
+
+    @Override
+    public void close() {
+        this.scheduler.shutdownNow();
+    }
+
+    // ----------------------------------------------------------------
+
+    private void refreshQuietly() {
+        try {
+            this.refresh();
+        } catch (Exception e) {
+            // Keep the last values and retry on the next period.
+            this.failures.incrementAndGet();
+            this.lastFailure = e;
+        }
+    }
+
+    private ListConsumerGroupOffsetsResult listCommittedOffsets() {
+        Map<String, ListConsumerGroupOffsetsSpec> specs = new HashMap<>(this.groups.size());
+        for (String group : this.groups) {
+            // All the partitions committed by the group.
+            specs.put(group, new ListConsumerGroupOffsetsSpec());
+        }
+
+        return this.admin.listConsumerGroupOffsets(specs,
+                new ListConsumerGroupOffsetsOptions().timeoutMs(this.timeoutMs()));
+    }
+
+    private ListOffsetsResult listEndOffsets(Set<TopicPartition> partitions) {
+        OffsetSpec latest = OffsetSpec.latest();
+        Map<TopicPartition, OffsetSpec> specs = new HashMap<>(partitions.size());
+        for (TopicPartition partition : partitions) {
+            specs.put(partition, latest);
+        }
+
+        return this.admin.listOffsets(specs,
+                new ListOffsetsOptions(this.settings.isolationLevel()).timeoutMs(this.timeoutMs()));
+    }
+
+    private void update(Map<String, Map<TopicPartition, OffsetAndMetadata>> committed, Set<TopicPartition> refreshed) {
+        long now = System.currentTimeMillis();
+        committed.forEach((group, offsets) -> {
+            ConcurrentMap<TopicPartition, PartitionLag> gauges = this.lags.computeIfAbsent(group, key -> new ConcurrentHashMap<>());
+            gauges.keySet().removeIf(partition -> null == offsets.get(partition));
+            offsets.forEach((partition, offset) -> {
+                // Stale: keep the last values until both offsets are refreshed.
+                Long endOffset = this.endOffsets.get(partition);
+                if (null == offset || null == endOffset || !refreshed.contains(partition)) {
+                    return;
+                }
+
+                gauges.computeIfAbsent(partition, key -> new PartitionLag(group, key)).update(offset.offset(), endOffset, now);
+            });
+        });
+    }
+
+    private <T> T await(KafkaFuture<T> future, long deadline) throws Exception {
+        return future.get(Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+    }
+
+    private int timeoutMs() {
+        return (int) Math.min(Integer.MAX_VALUE, this.settings.timeoutMs());
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright © 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.kafka.plus.core.clients.admin.lag;
+
+import io.github.photowey.kafka.plus.core.exception.KafkaPlusRuntimeException;
+import org.apache.kafka.common.IsolationLevel;
+
+import static io.github.photowey.kafka.plus.core.checker.ConfigChecker.checkNotNull;
+
+/**
+ * {@code LagMonitorSettings}
+ * <p>
+ * The settings of {@link ConsumerLagMonitor}.
+ * <p>
+ * Examples:
+ * <pre>
+ * LagMonitorSettings settings = new LagMonitorSettings()
+ *    .intervalMs(5_000)
+ *    .timeoutMs(10_000)
+ *    .isolationLevel(IsolationLevel.READ_COMMITTED);
+ * </pre>
+ *
+ * @author photowey
+ * @version 3.7.0.1.6
+ * @since 2026/10/18
+ */
+public class LagMonitorSettings {
+
+    private long intervalMs = 5_000;
+    /**
+     * The timeout of each batched query.
+     */
+    private long timeoutMs = 30_000;
+    /**
+     * {@link IsolationLevel#READ_COMMITTED}: the lag is measured to the last stable offset,
+     * for the {@code read_committed} consumers.
+     */
+    private IsolationLevel isolationLevel = IsolationLevel.READ_UNCOMMITTED;
+
+    // ----------------------------------------------------------------
+
+    public LagMonitorSettings intervalMs(long intervalMs) {
+        if (intervalMs <= 0) {
+            throw new KafkaPlusRuntimeException("Illegal lag monitor interval: %d", intervalMs);
+        }
+        this.intervalMs = intervalMs;
+
+        return this;
+    }
+
+    public LagMonitorSettings timeoutMs(long timeoutMs) {
+        if (timeoutMs <= 0) {
+            throw new KafkaPlusRuntimeException("Illegal lag monitor timeout: %d", timeoutMs);
+        }
+        this.timeoutMs = timeoutMs;
+
+        return this;
+    }
+
+    public LagMonitorSettings isolationLevel(IsolationLevel isolationLevel) {
+        checkNotNull("isolationLevel", isolationLevel);
+        this.isolationLevel = isolationLevel;
+
+        return this;
+    }
+
+    // ----------------------------------------------------------------
+
+    public long intervalMs() {
+        return intervalMs;
+    }
+
+    public long timeoutMs() {
+        return timeoutMs;
+    }
+
+    public IsolationLevel isolationLevel() {
+        return isolationLevel;
+    }
+}
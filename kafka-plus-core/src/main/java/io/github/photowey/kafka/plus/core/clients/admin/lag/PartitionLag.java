@@ -0,0 +1,119 @@
+/*
+ * Copyright © 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.kafka.plus.core.clients.admin.lag;
+
+import org.apache.kafka.common.TopicPartition;
+
+/**
+ * {@code PartitionLag}
+ * <p>
+ * The lag gauges of a topic partition of a consumer group, refreshed by {@link ConsumerLagMonitor}.
+ *
+ * @author photowey
+ * @version 3.7.0.1.6
+ * @since 2026/10/18
+ */
+public class PartitionLag {
+
+    private final String group;
+    private final TopicPartition partition;
+
+    private volatile long committedOffset = -1;
+    private volatile long endOffset = -1;
+    private volatile long lag;
+    private volatile double lagRate;
+    private volatile long updatedAtMs;
+
+    public PartitionLag(String group, TopicPartition partition) {
+        this.group = group;
+        this.partition = partition;
+    }
+
+    // ----------------------------------------------------------------
+
+    void update(long committedOffset, long endOffset, long nowMs) {
+        long lag = Math.max(0, endOffset - committedOffset);
+        long elapsedMs = nowMs - this.updatedAtMs;
+        if (this.updatedAtMs > 0 && elapsedMs > 0) {
+            this.lagRate = (lag - this.lag) * 1_000D / elapsedMs;
+        }
+
+        this.committedOffset = committedOffset;
+        this.endOffset = endOffset;
+        this.lag = lag;
+        this.updatedAtMs = nowMs;
+    }
+
+    // ----------------------------------------------------------------
+
+    public String group() {
+        return this.group;
+    }
+
+    public TopicPartition partition() {
+        return this.partition;
+    }
+
+    public long committedOffset() {
+        return this.committedOffset;
+    }
+
+    public long endOffset() {
+        return this.endOffset;
+    }
+
+    /**
+     * The records between the committed offset and the end offset.
+     *
+     * @return the lag.
+     */
+    public long lag() {
+        return this.lag;
+    }
+
+    /**
+     * The change of the lag per second between the last two refreshes.
+     * |- Positive: the group falls behind.
+     * |- Negative: the group catches up.
+     *
+     * @return the records per second, {@code 0} until refreshed twice.
+     */
+    public double lagRate() {
+        return this.lagRate;
+    }
+
+    /**
+     * The last refresh of the committed offset and the end offset.
+     * |- Not advanced while the end offset query of the partition fails.
+     *
+     * @return the epoch millis, {@code 0} if not refreshed yet.
+     */
+    public long updatedAtMs() {
+        return this.updatedAtMs;
+    }
+
+    @Override
+    public String toString() {
+        return "PartitionLag{" +
+                "group='" + group + '\'' +
+                ", partition=" + partition +
+                ", committedOffset=" + committedOffset +
+                ", endOffset=" + endOffset +
+                ", lag=" + lag +
+                ", lagRate=" + lagRate +
+                '}';
+    }
+}
@@ -15,7 +15,16 @@
  */
 package io.github.photowey.kafka.plus.core.clients.builder.consumer;
 
+import io.github.photowey.kafka.plus.core.clients.consumer.container.BatchHandler;
+import io.github.photowey.kafka.plus.core.clients.consumer.container.BatchSettings;
+import io.github.photowey.kafka.plus.core.clients.consumer.container.ConsumerContainer;
+import io.github.photowey.kafka.plus.core.clients.consumer.container.ContainerSettings;
+import io.github.photowey.kafka.plus.core.clients.consumer.container.ErrorHandler;
+import io.github.photowey.kafka.plus.core.clients.consumer.container.PartitionStateListener;
+import io.github.photowey.kafka.plus.core.clients.consumer.container.RecordHandler;
 import io.github.photowey.kafka.plus.core.enums.Kafka;
+import org.apache.kafka.clients.consumer.ConsumerRebalanceListener;
+import org.apache.kafka.clients.consumer.CooperativeStickyAssignor;
 import org.apache.kafka.clients.consumer.KafkaConsumer;
 import org.apache.kafka.common.IsolationLevel;
 import org.apache.kafka.common.serialization.Deserializer;
@@ -237,6 +246,19 @@ public interface ConsumerBuilder {
      */
     ConsumerBuilder subscribe(Collection<String> topics);
 
+    /**
+     * The rebalance listener of the subscription, e.g.: {@link PartitionStateListener}.
+     * |- The {@code partition.assignment.strategy} defaults to the {@link CooperativeStickyAssignor} if it's absent,
+     * only the moved partitions are revoked during a rebalance.
+     * |- Note: a group of the eager assignors is upgraded by two rolling bounces, set the
+     * {@code strategy("...CooperativeStickyAssignor,...RangeAssignor")} in the first one.
+     *
+     * @param listener the {@link ConsumerRebalanceListener}.
+     * @return {@link ConsumerBuilder}
+     * @since 3.7.0.1.6
+     */
+    ConsumerBuilder rebalanceListener(ConsumerRebalanceListener listener);
+
     // ----------------------------------------------------------------
 
     /**
@@ -247,4 +269,52 @@ public interface ConsumerBuilder {
      * @return {@link KafkaConsumer}
      */
     <K, V> KafkaConsumer<K, V> build();
+
+    /**
+     * Build {@link ConsumerContainer} instance, which owns the poll loop of the built {@link KafkaConsumer}.
+     * |- Stops on the first failure of the handler.
+     *
+     * @param handler the {@link RecordHandler}.
+     * @param <K>     the key type.
+     * @param <V>     the value type.
+     * @return {@link ConsumerContainer}
+     * @since 3.7.0.1.6
+     */
+    default <K, V> ConsumerContainer<K, V> buildContainer(RecordHandler<K, V> handler) {
+        return this.buildContainer(handler, ErrorHandler.stop(), new ContainerSettings());
+    }
+
+    /**
+     * Build {@link ConsumerContainer} instance, which owns the poll loop of the built {@link KafkaConsumer}.
+     * |- The {@code enable.auto.commit} is disabled, the container commits the handled records.
+     * |- The container isn't started.
+     * |- The consumer is subscribed with the {@link ConsumerContainer#rebalanceListener(ConsumerRebalanceListener)},
+     * the {@code partition.assignment.strategy} defaults to the {@link CooperativeStickyAssignor}.
+     * |- {@link ContainerSettings#virtualThreads(boolean)}: a virtual thread per record on JDK 21+, for the I/O bound handlers.
+     *
+     * @param handler      the {@link RecordHandler}.
+     * @param errorHandler the {@link ErrorHandler}.
+     * @param settings     the {@link ContainerSettings}.
+     * @param <K>          the key type.
+     * @param <V>          the value type.
+     * @return {@link ConsumerContainer}
+     * @since 3.7.0.1.6
+     */
+    <K, V> ConsumerContainer<K, V> buildContainer(
+            RecordHandler<K, V> handler, ErrorHandler<K, V> errorHandler, ContainerSettings settings);
+
+    /**
+     * Build {@link ConsumerContainer} instance, which delivers the records to the handler in micro-batches.
+     * |- The {@code enable.auto.commit} is disabled, the offsets of a batch are committed after the handler returns.
+     * |- The container isn't started.
+     *
+     * @param handler  the {@link BatchHandler}.
+     * @param batch    the {@link BatchSettings}.
+     * @param settings the {@link ContainerSettings}.
+     * @param <K>      the key type.
+     * @param <V>      the value type.
+     * @return {@link ConsumerContainer}
+     * @since 3.7.0.1.6
+     */
+    <K, V> ConsumerContainer<K, V> buildBatchContainer(BatchHandler<K, V> handler, BatchSettings batch, ContainerSettings settings);
 }
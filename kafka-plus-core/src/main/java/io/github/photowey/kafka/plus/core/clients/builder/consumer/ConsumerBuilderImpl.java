@@ -16,7 +16,15 @@
 package io.github.photowey.kafka.plus.core.clients.builder.consumer;
 
 import io.github.photowey.kafka.plus.core.clients.builder.AbstractBuilder;
+import io.github.photowey.kafka.plus.core.clients.consumer.container.BatchHandler;
+import io.github.photowey.kafka.plus.core.clients.consumer.container.BatchSettings;
+import io.github.photowey.kafka.plus.core.clients.consumer.container.ConsumerContainer;
+import io.github.photowey.kafka.plus.core.clients.consumer.container.ContainerSettings;
+import io.github.photowey.kafka.plus.core.clients.consumer.container.ErrorHandler;
+import io.github.photowey.kafka.plus.core.clients.consumer.container.RecordHandler;
 import io.github.photowey.kafka.plus.core.enums.Kafka;
+import org.apache.kafka.clients.consumer.ConsumerRebalanceListener;
+import org.apache.kafka.clients.consumer.CooperativeStickyAssignor;
 import org.apache.kafka.clients.consumer.KafkaConsumer;
 import org.apache.kafka.common.serialization.Deserializer;
 
@@ -41,6 +49,7 @@ public class ConsumerBuilderImpl extends AbstractBuilder implements ConsumerBuil
     private Deserializer<?> valueDeserializer;
 
     private Collection<String> topics;
+    private ConsumerRebalanceListener rebalanceListener;
 
     @Override
     public ConsumerBuilder boostrapServers(String bootstrapServers) {
@@ -212,32 +221,138 @@ public class ConsumerBuilderImpl extends AbstractBuilder implements ConsumerBuil
         return this;
     }
 
+    @Override
+    public ConsumerBuilder rebalanceListener(ConsumerRebalanceListener listener) {
+        checkNotNull("rebalanceListener", listener);
+        this.rebalanceListener = listener;
+
+        return this;
+    }
+
     // ----------------------------------------------------------------
 
     @Override
-    @SuppressWarnings("unchecked")
     public <K, V> KafkaConsumer<K, V> build() {
+        KafkaConsumer<K, V> consumer = this.create(null != this.rebalanceListener);
+        this.subscribe(consumer, this.rebalanceListener);
+
+        return consumer;
+    }
+
+    @Override
+    public <K, V> ConsumerContainer<K, V> buildContainer(
+            RecordHandler<K, V> handler, ErrorHandler<K, V> errorHandler, ContainerSettings settings) {
+        checkNotNull("handler", handler);
+        checkNotNull("errorHandler", errorHandler);
+        checkNotNull("settings", settings);
+        this.disableAutoCommit();
+        this.maxPollRecordsIfNecessary(settings);
+
+        KafkaConsumer<K, V> consumer = this.create(true);
+        ConsumerContainer<K, V> container;
+        try {
+            container = new ConsumerContainer<>(consumer, handler, errorHandler, settings);
+        } catch (RuntimeException e) {
+            consumer.close();
+
+            throw e;
+        }
+        this.subscribe(consumer, container.rebalanceListener(this.rebalanceListener));
+
+        return container;
+    }
+
+    @Override
+    public <K, V> ConsumerContainer<K, V> buildBatchContainer(
+            BatchHandler<K, V> handler, BatchSettings batch, ContainerSettings settings) {
+        checkNotNull("handler", handler);
+        checkNotNull("batch", batch);
+        checkNotNull("settings", settings);
+        this.disableAutoCommit();
+        this.maxPollRecordsIfNecessary(settings);
+
+        KafkaConsumer<K, V> consumer = this.create(true);
+        ConsumerContainer<K, V> container;
+        try {
+            container = new ConsumerContainer<>(consumer, handler, batch, settings);
+        } catch (RuntimeException e) {
+            consumer.close();
+
+            throw e;
+        }
+        this.subscribe(consumer, container.rebalanceListener(this.rebalanceListener));
+
+        return container;
+    }
+
+    // ----------------------------------------------------------------
+
+    @SuppressWarnings("unchecked")
+    private <K, V> KafkaConsumer<K, V> create(boolean rebalanceAware) {
         if (null != super.props) {
             this.checkPropsIfNecessary();
+            this.cooperativeIfNecessary(rebalanceAware);
 
-            KafkaConsumer<K, V> consumer = new KafkaConsumer<>(
+            return new KafkaConsumer<>(
                     super.props, (Deserializer<K>) this.keyDeserializer, (Deserializer<V>) this.valueDeserializer);
-            this.subscribe(consumer, this.topics);
-
-            return consumer;
         }
 
         this.checkConfigsIfNecessary();
-        KafkaConsumer<K, V> consumer = new KafkaConsumer<>(
+        this.cooperativeIfNecessary(rebalanceAware);
+
+        return new KafkaConsumer<>(
                 this.configs, (Deserializer<K>) this.keyDeserializer, (Deserializer<V>) this.valueDeserializer);
-        this.subscribe(consumer, this.topics);
+    }
 
-        return consumer;
+    /**
+     * The rebalance-aware consumers default to the {@link CooperativeStickyAssignor},
+     * only the moved partitions are revoked, the others keep being consumed during the rebalance.
+     */
+    private void cooperativeIfNecessary(boolean rebalanceAware) {
+        if (!rebalanceAware || null == this.topics || this.topics.isEmpty()) {
+            return;
+        }
+
+        String key = Kafka.Consumer.PARTITION_ASSIGNMENT_STRATEGY.key();
+        if (null != super.props) {
+            if (!super.props.containsKey(key)) {
+                super.props.put(key, CooperativeStickyAssignor.class.getName());
+            }
+
+            return;
+        }
+        if (!super.configs.containsKey(key)) {
+            super.configs.put(key, CooperativeStickyAssignor.class.getName());
+        }
+    }
+
+    private void disableAutoCommit() {
+        // The container commits the handled records.
+        if (null != super.props) {
+            super.props.put(Kafka.Consumer.AUTO_COMMIT_ENABLED.key(), String.valueOf(false));
+        } else {
+            this.autoCommit(false);
+        }
     }
 
-    private <K, V> void subscribe(KafkaConsumer<K, V> consumer, Collection<String> topics) {
-        if (null != this.topics && !this.topics.isEmpty()) {
-            consumer.subscribe(topics);
+    private void maxPollRecordsIfNecessary(ContainerSettings settings) {
+        // The container sizes the dispatcher slots against the backpressure plus max.poll.records.
+        String key = Kafka.Consumer.MAX_POLL_RECORDS.key();
+        Object maxPollRecords = null != super.props ? super.props.get(key) : super.configs.get(key);
+        if (null != maxPollRecords) {
+            settings.maxPollRecords(Integer.parseInt(String.valueOf(maxPollRecords).trim()));
+        }
+    }
+
+    private <K, V> void subscribe(KafkaConsumer<K, V> consumer, ConsumerRebalanceListener listener) {
+        if (null == this.topics || this.topics.isEmpty()) {
+            return;
+        }
+
+        if (null != listener) {
+            consumer.subscribe(this.topics, listener);
+        } else {
+            consumer.subscribe(this.topics);
         }
     }
-}
\ No newline at end of file
+}
@@ -16,14 +16,32 @@
 package io.github.photowey.kafka.plus.core.clients.builder.producer;
 
 import io.github.photowey.kafka.plus.core.clients.builder.consumer.ConsumerBuilder;
+import io.github.photowey.kafka.plus.core.clients.producer.adaptive.AdaptiveProducer;
+import io.github.photowey.kafka.plus.core.clients.producer.adaptive.AdaptiveTuning;
+import io.github.photowey.kafka.plus.core.clients.producer.compression.CompressionCalibrator;
+import io.github.photowey.kafka.plus.core.clients.producer.compression.CompressionSampler;
+import io.github.photowey.kafka.plus.core.clients.producer.fanout.FanOutPolicy;
+import io.github.photowey.kafka.plus.core.clients.producer.fanout.FanOutProducer;
+import io.github.photowey.kafka.plus.core.clients.producer.interceptor.MetricsInterceptor;
+import io.github.photowey.kafka.plus.core.clients.producer.metric.SendMetricsRegistry;
+import io.github.photowey.kafka.plus.core.clients.producer.partitioner.HotKeyInterceptor;
+import io.github.photowey.kafka.plus.core.clients.producer.partitioner.HotKeyPartitioner;
+import io.github.photowey.kafka.plus.core.clients.producer.registry.ProducerRegistry;
+import io.github.photowey.kafka.plus.core.clients.producer.registry.SharedProducer;
+import io.github.photowey.kafka.plus.core.clients.producer.spillover.SpilloverProducer;
+import io.github.photowey.kafka.plus.core.clients.producer.transaction.TransactionalProducerPool;
 import io.github.photowey.kafka.plus.core.enums.Kafka;
 import org.apache.kafka.clients.producer.KafkaProducer;
 import org.apache.kafka.clients.producer.Partitioner;
 import org.apache.kafka.clients.producer.ProducerInterceptor;
 import org.apache.kafka.common.serialization.Serializer;
 
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 
@@ -153,6 +171,20 @@ public interface ProducerBuilder {
         return this.interceptor(interceptor.getName());
     }
 
+    /**
+     * The interceptor, appended to the {@code interceptor.classes}.
+     *
+     * @param interceptor the interceptor Class
+     * @param <K>         the key type.
+     * @param <V>         the value type.
+     * @param <I>         the {@link ProducerInterceptor} type.
+     * @return {@link ProducerBuilder}
+     * @since 3.7.0.1.6
+     */
+    default <K, V, I extends ProducerInterceptor<K, V>> ProducerBuilder addInterceptor(Class<I> interceptor) {
+        return this.addInterceptor(interceptor.getName());
+    }
+
     /**
      * The partitioner.
      *
@@ -165,13 +197,23 @@ public interface ProducerBuilder {
     }
 
     /**
-     * The interceptor.
+     * The interceptor, replaces the {@code interceptor.classes}.
      *
      * @param interceptor the interceptor Class name
      * @return {@link ProducerBuilder}
      */
     ProducerBuilder interceptor(String interceptor);
 
+    /**
+     * The interceptor, appended to the {@code interceptor.classes}.
+     * |- The interceptors already configured are kept, a duplicate is registered once.
+     *
+     * @param interceptor the interceptor Class name
+     * @return {@link ProducerBuilder}
+     * @since 3.7.0.1.6
+     */
+    ProducerBuilder addInterceptor(String interceptor);
+
     /**
      * The partitioner.
      *
@@ -180,6 +222,29 @@ public interface ProducerBuilder {
      */
     ProducerBuilder partitioner(String partitioner);
 
+    /**
+     * The hot-key aware partitioner.
+     * |- Registers {@link HotKeyPartitioner} and appends its {@link HotKeyInterceptor} to the {@code interceptor.classes}.
+     *
+     * @return {@link ProducerBuilder}
+     * @since 3.7.0.1.6
+     */
+    default ProducerBuilder hotKeyPartitioner() {
+        return this.partitioner(HotKeyPartitioner.class).addInterceptor(HotKeyInterceptor.class.getName());
+    }
+
+    /**
+     * The per-partition send latency/record size histograms.
+     * |- Appends {@link MetricsInterceptor} to the {@code interceptor.classes}.
+     * |- The histograms are queried by {@link SendMetricsRegistry#global()}.
+     *
+     * @return {@link ProducerBuilder}
+     * @since 3.7.0.1.6
+     */
+    default ProducerBuilder sendMetrics() {
+        return this.addInterceptor(MetricsInterceptor.class.getName());
+    }
+
     // ----------------------------------------------------------------
 
     /**
@@ -268,6 +333,91 @@ public interface ProducerBuilder {
      */
     ProducerBuilder idempotence(boolean enabled);
 
+    /**
+     * The {@code transactional.id}.
+     *
+     * @param transactionalId {@code transactional.id}.
+     * @return {@link ProducerBuilder}
+     * @since 3.7.0.1.6
+     */
+    ProducerBuilder transactionalId(String transactionalId);
+
+    /**
+     * The {@code transaction.timeout.ms}.
+     *
+     * @param millis {@code transaction.timeout.ms}.
+     * @return {@link ProducerBuilder}
+     * @since 3.7.0.1.6
+     */
+    ProducerBuilder transactionTimeoutMs(long millis);
+
+    // ----------------------------------------------------------------
+
+    /**
+     * The {@code compression.type}.
+     *
+     * @param compression {@code compression.type}.
+     * @return {@link ProducerBuilder}
+     * @since 3.7.0.1.6
+     */
+    ProducerBuilder compression(Kafka.Producer.Compression compression);
+
+    /**
+     * The {@code compression.type} calibrated by {@link CompressionCalibrator} on the serialized record samples.
+     * |- The codec with the best throughput-per-byte wins.
+     *
+     * @param samples the serialized record samples, e.g.: {@link CompressionSampler#samples(String)}.
+     * @return {@link ProducerBuilder}
+     * @since 3.7.0.1.6
+     */
+    default ProducerBuilder calibrateCompression(Collection<byte[]> samples) {
+        return this.compression(new CompressionCalibrator().calibrate(samples).best());
+    }
+
+    // ----------------------------------------------------------------
+
+    /**
+     * The topics of which the metadata is fetched at build time.
+     * |- Avoids the synchronous metadata fetch of the first {@code send} of each topic.
+     *
+     * @param topics the topics.
+     * @return {@link ProducerBuilder}
+     * @since 3.7.0.1.6
+     */
+    ProducerBuilder warmUp(Collection<String> topics);
+
+    /**
+     * The topics of which the metadata is fetched at build time.
+     *
+     * @param topics the topics.
+     * @return {@link ProducerBuilder}
+     * @since 3.7.0.1.6
+     */
+    default ProducerBuilder warmUp(String... topics) {
+        return this.warmUp(Arrays.asList(topics));
+    }
+
+    /**
+     * The max time {@link #build()} waits for the warm-up.
+     *
+     * @param millis the timeout in milliseconds.
+     * @return {@link ProducerBuilder}
+     * @since 3.7.0.1.6
+     */
+    ProducerBuilder warmUpTimeoutMs(long millis);
+
+    // ----------------------------------------------------------------
+
+    /**
+     * The clusters of {@link #buildFanOut(FanOutPolicy)}, the {@code bootstrap.servers} by the cluster name.
+     * |- e.g.: {@code kafka.plus.bootstrap.clusters} of the {@link Kafka.Mode#CLUSTER} mode.
+     *
+     * @param clusters the {@code bootstrap.servers} by the cluster name.
+     * @return {@link ProducerBuilder}
+     * @since 3.7.0.1.6
+     */
+    ProducerBuilder clusters(Map<String, String> clusters);
+
     // ----------------------------------------------------------------
 
     /**
@@ -290,10 +440,83 @@ public interface ProducerBuilder {
 
     /**
      * Build {@link KafkaProducer} instance.
+     * |- Waits for the {@link #warmUp(Collection)} topics metadata at most {@link #warmUpTimeoutMs(long)}.
      *
      * @param <K> the key type.
      * @param <V> the value type.
      * @return {@link KafkaProducer}
      */
     <K, V> KafkaProducer<K, V> build();
+
+    /**
+     * Build {@link KafkaProducer} instance, completed once the warm-up topics metadata fetched.
+     * |- The warm-up is best-effort, the future never completes exceptionally because of it.
+     *
+     * @param <K> the key type.
+     * @param <V> the value type.
+     * @return the future of {@link KafkaProducer}
+     * @since 3.7.0.1.6
+     */
+    <K, V> CompletableFuture<KafkaProducer<K, V>> buildAsync();
+
+    /**
+     * Acquire a shared {@link KafkaProducer} handle from the {@link ProducerRegistry}.
+     * |- Identical effective configs and serializer instances share one underlying producer,
+     * |- so reuse the same serializer instances (or configure the serializer classes) to share it.
+     *
+     * @param <K> the key type.
+     * @param <V> the value type.
+     * @return {@link SharedProducer}
+     * @since 3.7.0.1.6
+     */
+    <K, V> SharedProducer<K, V> buildShared();
+
+    /**
+     * Build {@link AdaptiveProducer} instance.
+     * |- The {@code linger.ms}/{@code batch.size} are auto-tuned within the {@link AdaptiveTuning} bounds.
+     *
+     * @param tuning the {@link AdaptiveTuning}.
+     * @param <K>    the key type.
+     * @param <V>    the value type.
+     * @return {@link AdaptiveProducer}
+     * @since 3.7.0.1.6
+     */
+    <K, V> AdaptiveProducer<K, V> buildAdaptive(AdaptiveTuning tuning);
+
+    /**
+     * Build {@link TransactionalProducerPool} instance.
+     * |- The producers are built with the {@code transactional.id}s: {@code prefix-0 .. prefix-(size - 1)}.
+     *
+     * @param transactionalIdPrefix the stable {@code transactional.id} prefix.
+     * @param size                  the pool size.
+     * @param <K>                   the key type.
+     * @param <V>                   the value type.
+     * @return {@link TransactionalProducerPool}
+     * @since 3.7.0.1.6
+     */
+    <K, V> TransactionalProducerPool<K, V> buildTransactionalPool(String transactionalIdPrefix, int size);
+
+    /**
+     * Build {@link SpilloverProducer} instance.
+     * |- The records are spilled to the memory-mapped segment log in the {@code directory} while the producer can't accept them.
+     *
+     * @param directory the spillover log directory, one directory per producer.
+     * @param <K>       the key type.
+     * @param <V>       the value type.
+     * @return {@link SpilloverProducer}
+     * @since 3.7.0.1.6
+     */
+    <K, V> SpilloverProducer<K, V> buildSpillover(Path directory);
+
+    /**
+     * Build {@link FanOutProducer} instance.
+     * |- One producer per {@link #clusters(Map)} cluster, each one with the same configs but the {@code bootstrap.servers}.
+     *
+     * @param policy the {@link FanOutPolicy}.
+     * @param <K>    the key type.
+     * @param <V>    the value type.
+     * @return {@link FanOutProducer}
+     * @since 3.7.0.1.6
+     */
+    <K, V> FanOutProducer<K, V> buildFanOut(FanOutPolicy policy);
 }
\ No newline at end of file
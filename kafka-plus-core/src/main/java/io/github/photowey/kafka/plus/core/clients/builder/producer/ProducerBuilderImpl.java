@@ -16,12 +16,37 @@
 package io.github.photowey.kafka.plus.core.clients.builder.producer;
 
 import io.github.photowey.kafka.plus.core.clients.builder.AbstractBuilder;
+import io.github.photowey.kafka.plus.core.clients.producer.adaptive.AdaptiveProducer;
+import io.github.photowey.kafka.plus.core.clients.producer.adaptive.AdaptiveTuner;
+import io.github.photowey.kafka.plus.core.clients.producer.adaptive.AdaptiveTuning;
+import io.github.photowey.kafka.plus.core.clients.producer.fanout.FanOutPolicy;
+import io.github.photowey.kafka.plus.core.clients.producer.fanout.FanOutProducer;
+import io.github.photowey.kafka.plus.core.clients.producer.registry.ProducerFingerprint;
+import io.github.photowey.kafka.plus.core.clients.producer.registry.ProducerRegistry;
+import io.github.photowey.kafka.plus.core.clients.producer.registry.SharedProducer;
+import io.github.photowey.kafka.plus.core.clients.producer.spillover.SpilloverLog;
+import io.github.photowey.kafka.plus.core.clients.producer.spillover.SpilloverProducer;
+import io.github.photowey.kafka.plus.core.clients.producer.transaction.TransactionalProducerPool;
+import io.github.photowey.kafka.plus.core.clients.producer.warmup.ProducerWarmer;
 import io.github.photowey.kafka.plus.core.enums.Kafka;
+import io.github.photowey.kafka.plus.core.exception.KafkaPlusRuntimeException;
 import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
 import org.apache.kafka.common.serialization.Serializer;
+import org.apache.kafka.common.utils.Utils;
 
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.function.Consumer;
 
 import static io.github.photowey.kafka.plus.core.checker.ConfigChecker.checkNotBlank;
@@ -36,9 +61,28 @@ import static io.github.photowey.kafka.plus.core.checker.ConfigChecker.checkNotN
  */
 public class ProducerBuilderImpl extends AbstractBuilder implements ProducerBuilder {
 
+    private static final long DEFAULT_LINGER_MS = 0L;
+    private static final long DEFAULT_BATCH_SIZE = 16 << 10;
+    private static final long DEFAULT_WARM_UP_TIMEOUT_MS = 10_000L;
+
+    private final ProducerRegistry producerRegistry;
+
     private Serializer<?> keySerializer;
     private Serializer<?> valueSerializer;
 
+    private final Set<String> warmUpTopics = new LinkedHashSet<>();
+    private long warmUpTimeoutMs = DEFAULT_WARM_UP_TIMEOUT_MS;
+
+    private final Map<String, String> clusters = new LinkedHashMap<>();
+
+    public ProducerBuilderImpl() {
+        this(null);
+    }
+
+    public ProducerBuilderImpl(ProducerRegistry producerRegistry) {
+        this.producerRegistry = producerRegistry;
+    }
+
     @Override
     public ProducerBuilder boostrapServers(String bootstrapServers) {
         checkNotBlank("bootstrap.servers", bootstrapServers);
@@ -135,6 +179,17 @@ public class ProducerBuilderImpl extends AbstractBuilder implements ProducerBuil
         return this;
     }
 
+    @Override
+    public ProducerBuilder addInterceptor(String interceptor) {
+        checkNotBlank("interceptor", interceptor);
+        super.initConfigsIfNecessary();
+        // Appended, so the helpers (e.g.: hotKeyPartitioner(), sendMetrics()) can be chained.
+        super.configs.merge(Kafka.Producer.INTERCEPTOR.key(), interceptor,
+                (existing, appended) -> appendInterceptor(existing, (String) appended));
+
+        return this;
+    }
+
     @Override
     public ProducerBuilder partitioner(String partitioner) {
         checkNotBlank("partitioner", partitioner);
@@ -168,7 +223,8 @@ public class ProducerBuilderImpl extends AbstractBuilder implements ProducerBuil
     @Override
     public ProducerBuilder batchSize(long batchSize) {
         super.initConfigsIfNecessary();
-        super.configs.put(Kafka.Producer.BATCH_SIZE.key(), batchSize);
+        // batch.size is an INT config, a boxed Long is rejected by the ConfigDef.
+        super.configs.put(Kafka.Producer.BATCH_SIZE.key(), String.valueOf(batchSize));
 
         return this;
     }
@@ -225,6 +281,69 @@ public class ProducerBuilderImpl extends AbstractBuilder implements ProducerBuil
         return this;
     }
 
+    @Override
+    public ProducerBuilder transactionalId(String transactionalId) {
+        checkNotBlank("transactionalId", transactionalId);
+        super.initConfigsIfNecessary();
+        super.configs.put(Kafka.Producer.TRANSACTIONAL_ID.key(), transactionalId);
+
+        return this;
+    }
+
+    @Override
+    public ProducerBuilder transactionTimeoutMs(long millis) {
+        super.initConfigsIfNecessary();
+        super.configs.put(Kafka.Producer.TRANSACTION_TIMEOUT_MS.key(), String.valueOf(millis));
+
+        return this;
+    }
+
+    // ----------------------------------------------------------------
+
+    @Override
+    public ProducerBuilder compression(Kafka.Producer.Compression compression) {
+        checkNotNull("compression", compression);
+        super.initConfigsIfNecessary();
+        super.configs.put(Kafka.Producer.COMPRESSION_TYPE.key(), compression.value());
+
+        return this;
+    }
+
+    // ----------------------------------------------------------------
+
+    @Override
+    public ProducerBuilder warmUp(Collection<String> topics) {
+        checkNotNull("topics", topics);
+        for (String topic : topics) {
+            checkNotBlank("topic", topic);
+            this.warmUpTopics.add(topic);
+        }
+
+        return this;
+    }
+
+    @Override
+    public ProducerBuilder warmUpTimeoutMs(long millis) {
+        if (millis < 0) {
+            throw new KafkaPlusRuntimeException("The warm-up timeout: [%d] can't be negative", millis);
+        }
+        this.warmUpTimeoutMs = millis;
+
+        return this;
+    }
+
+    @Override
+    public ProducerBuilder clusters(Map<String, String> clusters) {
+        checkNotNull("clusters", clusters);
+        for (Map.Entry<String, String> entry : clusters.entrySet()) {
+            checkNotBlank("cluster", entry.getKey());
+            checkNotBlank("bootstrap.servers", entry.getValue());
+            this.clusters.put(entry.getKey(), entry.getValue());
+        }
+
+        return this;
+    }
+
     // ----------------------------------------------------------------
 
     @Override
@@ -246,8 +365,32 @@ public class ProducerBuilderImpl extends AbstractBuilder implements ProducerBuil
     // ----------------------------------------------------------------
 
     @Override
-    @SuppressWarnings("unchecked")
     public <K, V> KafkaProducer<K, V> build() {
+        KafkaProducer<K, V> producer = this.create();
+        if (this.warmUpTopics.isEmpty()) {
+            return producer;
+        }
+
+        try {
+            ProducerWarmer.warmUp(producer, this.warmUpTopics).get(this.warmUpTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException ignored) {
+            // Best-effort: the pending fetches go on in the background.
+        }
+
+        return producer;
+    }
+
+    @Override
+    public <K, V> CompletableFuture<KafkaProducer<K, V>> buildAsync() {
+        KafkaProducer<K, V> producer = this.create();
+
+        return ProducerWarmer.warmUp(producer, this.warmUpTopics).thenApply(x -> producer);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <K, V> KafkaProducer<K, V> create() {
         if (null != super.props) {
             this.checkPropsIfNecessary();
 
@@ -257,4 +400,170 @@ public class ProducerBuilderImpl extends AbstractBuilder implements ProducerBuil
         this.checkConfigsIfNecessary();
         return new KafkaProducer<>(super.configs, (Serializer<K>) this.keySerializer, (Serializer<V>) this.valueSerializer);
     }
+
+    @Override
+    public <K, V> SharedProducer<K, V> buildShared() {
+        checkNotNull("producerRegistry", this.producerRegistry);
+
+        Map<String, Object> effectiveConfigs = this.effectiveConfigs();
+        if (null != effectiveConfigs.get(Kafka.Producer.TRANSACTIONAL_ID.key())) {
+            throw new KafkaPlusRuntimeException("The transactional producer can't be shared.");
+        }
+
+        ProducerFingerprint fingerprint = ProducerFingerprint.of(effectiveConfigs, this.keySerializer, this.valueSerializer);
+
+        return this.producerRegistry.acquire(fingerprint, this::build);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <K, V> AdaptiveProducer<K, V> buildAdaptive(AdaptiveTuning tuning) {
+        checkNotNull("tuning", tuning);
+
+        Map<String, Object> effectiveConfigs = this.effectiveConfigs();
+        AdaptiveTuner.Settings initial = new AdaptiveTuner(tuning).initial(
+                this.longConfig(effectiveConfigs, Kafka.Producer.LINGER_MS.key(), DEFAULT_LINGER_MS),
+                this.longConfig(effectiveConfigs, Kafka.Producer.BATCH_SIZE.key(), DEFAULT_BATCH_SIZE)
+        );
+
+        return new AdaptiveProducer<>(tuning, initial, settings -> {
+            Map<String, Object> tunedConfigs = new HashMap<>(effectiveConfigs);
+            tunedConfigs.put(Kafka.Producer.LINGER_MS.key(), String.valueOf(settings.lingerMs()));
+            tunedConfigs.put(Kafka.Producer.BATCH_SIZE.key(), String.valueOf(settings.batchSize()));
+
+            return new KafkaProducer<>(tunedConfigs, (Serializer<K>) this.keySerializer, (Serializer<V>) this.valueSerializer);
+        });
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <K, V> TransactionalProducerPool<K, V> buildTransactionalPool(String transactionalIdPrefix, int size) {
+        Map<String, Object> effectiveConfigs = this.effectiveConfigs();
+
+        return new TransactionalProducerPool<>(transactionalIdPrefix, size, transactionalId -> {
+            Map<String, Object> transactionalConfigs = new HashMap<>(effectiveConfigs);
+            transactionalConfigs.put(Kafka.Producer.TRANSACTIONAL_ID.key(), transactionalId);
+            transactionalConfigs.put(Kafka.Producer.IDEMPOTENCE_ENABLED.key(), String.valueOf(true));
+
+            return new KafkaProducer<>(transactionalConfigs, (Serializer<K>) this.keySerializer, (Serializer<V>) this.valueSerializer);
+        });
+    }
+
+    @Override
+    public <K, V> SpilloverProducer<K, V> buildSpillover(Path directory) {
+        checkNotNull("directory", directory);
+
+        Map<String, Object> effectiveConfigs = this.effectiveConfigs();
+        Serializer<K> keySerializer = this.serializer(effectiveConfigs, this.keySerializer, Kafka.Producer.KEY_SERIALIZER.key(), true);
+        Serializer<V> valueSerializer = this.serializer(effectiveConfigs, this.valueSerializer, Kafka.Producer.VALUE_DESERIALIZER.key(), false);
+
+        KafkaProducer<byte[], byte[]> delegate = new KafkaProducer<>(effectiveConfigs, new ByteArraySerializer(), new ByteArraySerializer());
+        ProducerWarmer.warmUp(delegate, this.warmUpTopics);
+        try {
+            return new SpilloverProducer<>(delegate, keySerializer, valueSerializer, new SpilloverLog(directory, SpilloverLog.DEFAULT_SEGMENT_BYTES));
+        } catch (RuntimeException e) {
+            delegate.close();
+            throw e;
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <K, V> FanOutProducer<K, V> buildFanOut(FanOutPolicy policy) {
+        checkNotNull("policy", policy);
+        if (this.clusters.isEmpty()) {
+            throw new KafkaPlusRuntimeException("The fan-out clusters can't be empty.");
+        }
+
+        Map<String, Object> effectiveConfigs = this.effectiveConfigs();
+        Map<String, KafkaProducer<K, V>> producers = new LinkedHashMap<>(this.clusters.size());
+        try {
+            for (Map.Entry<String, String> cluster : this.clusters.entrySet()) {
+                Map<String, Object> clusterConfigs = new HashMap<>(effectiveConfigs);
+                clusterConfigs.put(Kafka.Bootstrap.Server.ADDRESS.value(), cluster.getValue());
+
+                KafkaProducer<K, V> producer = new KafkaProducer<>(clusterConfigs, (Serializer<K>) this.keySerializer, (Serializer<V>) this.valueSerializer);
+                producers.put(cluster.getKey(), producer);
+                ProducerWarmer.warmUp(producer, this.warmUpTopics);
+            }
+
+            return new FanOutProducer<>(producers, policy);
+        } catch (RuntimeException e) {
+            producers.values().forEach(KafkaProducer::close);
+            throw e;
+        }
+    }
+
+    // ----------------------------------------------------------------
+
+    @SuppressWarnings("unchecked")
+    private <T> Serializer<T> serializer(Map<String, Object> effectiveConfigs, Serializer<?> instance, String key, boolean isKey) {
+        if (null != instance) {
+            return (Serializer<T>) instance;
+        }
+
+        Object serializerClass = effectiveConfigs.get(key);
+        checkNotNull(key, serializerClass);
+
+        Serializer<T> serializer;
+        try {
+            serializer = serializerClass instanceof Class
+                    ? Utils.newInstance((Class<Serializer<T>>) serializerClass)
+                    : Utils.newInstance(String.valueOf(serializerClass).trim(), Serializer.class);
+        } catch (ClassNotFoundException e) {
+            throw new KafkaPlusRuntimeException(e, "The serializer: [%s] not found", serializerClass);
+        }
+        serializer.configure(effectiveConfigs, isKey);
+
+        return serializer;
+    }
+
+    private long longConfig(Map<String, Object> effectiveConfigs, String key, long defaultValue) {
+        Object value = effectiveConfigs.get(key);
+        if (null == value) {
+            return defaultValue;
+        }
+
+        return Long.parseLong(String.valueOf(value).trim());
+    }
+
+    private static String appendInterceptor(Object existing, String interceptor) {
+        Set<String> interceptors = new LinkedHashSet<>();
+        if (existing instanceof Collection) {
+            for (Object element : (Collection<?>) existing) {
+                interceptors.add(element instanceof Class ? ((Class<?>) element).getName() : String.valueOf(element).trim());
+            }
+        } else if (existing instanceof Class) {
+            interceptors.add(((Class<?>) existing).getName());
+        } else {
+            for (String element : String.valueOf(existing).split(",")) {
+                if (!element.trim().isEmpty()) {
+                    interceptors.add(element.trim());
+                }
+            }
+        }
+        interceptors.add(interceptor);
+
+        return String.join(",", interceptors);
+    }
+
+    protected Map<String, Object> effectiveConfigs() {
+        if (null != super.props) {
+            this.checkPropsIfNecessary();
+
+            Map<String, Object> effectiveConfigs = new HashMap<>(super.props.size());
+            // stringPropertyNames() covers the defaults, entrySet() covers the non-string values.
+            for (String name : super.props.stringPropertyNames()) {
+                effectiveConfigs.put(name, super.props.getProperty(name));
+            }
+            for (Map.Entry<Object, Object> entry : super.props.entrySet()) {
+                effectiveConfigs.put(String.valueOf(entry.getKey()), entry.getValue());
+            }
+
+            return effectiveConfigs;
+        }
+
+        this.checkConfigsIfNecessary();
+        return new HashMap<>(super.configs);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,218 @@
+/*
+ * Copyright © 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.kafka.plus.core.clients.builder.record;
+
+import io.github.photowey.kafka.plus.core.exception.KafkaPlusRuntimeException;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.internals.RecordHeader;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static io.github.photowey.kafka.plus.core.checker.ConfigChecker.checkNotBlank;
+import static io.github.photowey.kafka.plus.core.checker.ConfigChecker.checkNotNull;
+
+/**
+ * {@code HeaderFactory}
+ * <p>
+ * Interns the pre-encoded {@link Header}s of the repeated key/value pairs, e.g.: the service name, schema version, tenant,
+ * so the UTF-8 encoding of the pairs is paid once instead of on every send.
+ * <p>
+ * It's an explicit opt-in for the low-cardinality values, a high-cardinality value (e.g.: a trace id) is better added
+ * by {@link ReusableProducerRecordBuilder#header(String, String)} which doesn't intern.
+ * <p>
+ * The cache is bounded by {@code maxEntries} and evicts by CLOCK: a hit only sets the referenced bit of the pair,
+ * a miss sweeps the clock hand past the referenced pairs (clearing their bits) and replaces the first unreferenced one.
+ * <p>
+ * Examples:
+ * <pre>
+ * Iterable&lt;Header&gt; headers = HeaderFactory.global().headers(
+ *    HeaderFactory.global().header("service", "orders"),
+ *    HeaderFactory.global().header("schema", "v3")
+ * );
+ * kafkaEngine.producerService().createProducerRecord()
+ *    .topic("orders")
+ *    .headers(headers)
+ *    ...
+ * </pre>
+ *
+ * @author photowey
+ * @version 3.7.0.1.6
+ * @since 2026/10/18
+ */
+public class HeaderFactory {
+
+    public static final int DEFAULT_MAX_ENTRIES = 1 << 10;
+
+    private static final HeaderFactory GLOBAL = new HeaderFactory(DEFAULT_MAX_ENTRIES);
+
+    private final Map<String, Map<String, Slot>> slots = new ConcurrentHashMap<>();
+
+    /**
+     * The clock, guarded by {@code this}.
+     */
+    private final Slot[] clock;
+    private int hand;
+    private volatile int size;
+    private volatile long evictions;
+
+    public HeaderFactory(int maxEntries) {
+        if (maxEntries < 0) {
+            throw new KafkaPlusRuntimeException("Illegal max entries: %d", maxEntries);
+        }
+        this.clock = new Slot[maxEntries];
+    }
+
+    public static HeaderFactory global() {
+        return GLOBAL;
+    }
+
+    // ----------------------------------------------------------------
+
+    /**
+     * The pre-encoded header of the pair.
+     * |- The cache hit is two hash lookups and a volatile write, nothing is allocated.
+     *
+     * @param key   the header key.
+     * @param value the header value, encoded as UTF-8, the {@code null} value isn't cached.
+     * @return the {@link Header}, its {@link Header#value()} is shared and must not be modified.
+     */
+    public Header header(String key, String value) {
+        checkNotBlank("key", key);
+
+        if (null == value) {
+            return new RecordHeader(key, null);
+        }
+
+        Map<String, Slot> values = this.slots.get(key);
+        if (null != values) {
+            Slot slot = values.get(value);
+            if (null != slot) {
+                slot.referenced = true;
+
+                return slot.header;
+            }
+        }
+
+        return this.admit(key, value);
+    }
+
+    /**
+     * Combine the headers into an immutable {@link Iterable}, which is meant to be kept as a constant
+     * and passed to {@link ProducerRecordBuilder#headers(Iterable)}.
+     *
+     * @param headers the headers.
+     * @return the immutable headers.
+     */
+    public Iterable<Header> headers(Header... headers) {
+        checkNotNull("headers", headers);
+        for (Header header : headers) {
+            checkNotNull("header", header);
+        }
+
+        List<Header> copied = Arrays.asList(headers.clone());
+
+        return Collections.unmodifiableList(copied);
+    }
+
+    /**
+     * The interned pairs.
+     *
+     * @return the size.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * The pairs evicted by the clock, a steadily growing count means the values aren't low-cardinality.
+     *
+     * @return the evictions.
+     */
+    public long evictions() {
+        return this.evictions;
+    }
+
+    // ----------------------------------------------------------------
+
+    private synchronized Header admit(String key, String value) {
+        Map<String, Slot> values = this.slots.get(key);
+        Slot present = null != values ? values.get(value) : null;
+        if (null != present) {
+            // Admitted by another thread.
+            present.referenced = true;
+
+            return present.header;
+        }
+
+        Header header = new RecordHeader(key, value.getBytes(StandardCharsets.UTF_8));
+        if (0 == this.clock.length) {
+            return header;
+        }
+
+        Slot slot = new Slot(key, value, header);
+        if (this.size < this.clock.length) {
+            this.clock[this.size++] = slot;
+        } else {
+            this.evict();
+            this.clock[this.hand] = slot;
+            this.hand = (this.hand + 1) % this.clock.length;
+        }
+
+        this.slots.computeIfAbsent(key, x -> new ConcurrentHashMap<>()).put(value, slot);
+
+        return header;
+    }
+
+    /**
+     * Move the hand to the first unreferenced slot and remove it, at most one full turn.
+     */
+    private void evict() {
+        Slot victim = this.clock[this.hand];
+        while (victim.referenced) {
+            victim.referenced = false;
+            this.hand = (this.hand + 1) % this.clock.length;
+            victim = this.clock[this.hand];
+        }
+
+        Map<String, Slot> values = this.slots.get(victim.key);
+        values.remove(victim.value);
+        if (values.isEmpty()) {
+            this.slots.remove(victim.key);
+        }
+        this.evictions++;
+    }
+
+    // ----------------------------------------------------------------
+
+    private static class Slot {
+
+        private final String key;
+        private final String value;
+        private final Header header;
+        private volatile boolean referenced;
+
+        Slot(String key, String value, Header header) {
+            this.key = key;
+            this.value = value;
+            this.header = header;
+        }
+    }
+}
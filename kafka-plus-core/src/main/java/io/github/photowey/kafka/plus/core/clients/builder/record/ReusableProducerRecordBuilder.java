@@ -0,0 +1,257 @@
+/*
+ * Copyright © 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.kafka.plus.core.clients.builder.record;
+
+import io.github.photowey.kafka.plus.core.exception.KafkaPlusRuntimeException;
+import org.apache.kafka.clients.producer.Callback;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.internals.RecordHeader;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.Future;
+
+import static io.github.photowey.kafka.plus.core.checker.ConfigChecker.checkNotNull;
+
+/**
+ * {@code ReusableProducerRecordBuilder}
+ * <p>
+ * A resettable record builder for the hot send loops, one instance per thread, it's NOT thread-safe.
+ * <p>
+ * Compared with {@link ProducerRecordBuilder}:
+ * |- The partition/timestamp setters take primitives, they are boxed only when set (and the small partitions are cached).
+ * |- The headers are staged in a pooled array, {@link ProducerRecord} copies them into its own {@link RecordHeaders},
+ * the reset only clears the array slots.
+ * |- {@link #send(Producer, Callback)} resets the per-record state, the topic is kept.
+ * <p>
+ * Examples:
+ * <pre>
+ * ReusableProducerRecordBuilder&lt;String, String&gt; builder = kafkaEngine.producerService().createReusableProducerRecord();
+ * builder.topic("orders");
+ * for (Order order : orders) {
+ *     builder.key(order.id())
+ *        .value(order.payload())
+ *        .header(TRACE_HEADER)
+ *        .send(producer, callback);
+ * }
+ * </pre>
+ *
+ * @author photowey
+ * @version 3.7.0.1.6
+ * @since 2026/10/18
+ */
+public class ReusableProducerRecordBuilder<K, V> {
+
+    private static final int NO_PARTITION = -1;
+    private static final long NO_TIMESTAMP = -1L;
+
+    private final StagedHeaders headers = new StagedHeaders();
+
+    private String topic;
+    private int partition = NO_PARTITION;
+    private long timestamp = NO_TIMESTAMP;
+    private K key;
+    private V value;
+
+    public ReusableProducerRecordBuilder<K, V> topic(String topic) {
+        this.topic = topic;
+
+        return this;
+    }
+
+    public ReusableProducerRecordBuilder<K, V> partition(int partition) {
+        if (partition < 0) {
+            throw new KafkaPlusRuntimeException("Illegal partition: %d", partition);
+        }
+        this.partition = partition;
+
+        return this;
+    }
+
+    public ReusableProducerRecordBuilder<K, V> timestamp(long timestamp) {
+        if (timestamp < 0) {
+            throw new KafkaPlusRuntimeException("Illegal timestamp: %d", timestamp);
+        }
+        this.timestamp = timestamp;
+
+        return this;
+    }
+
+    public ReusableProducerRecordBuilder<K, V> key(K key) {
+        this.key = key;
+
+        return this;
+    }
+
+    public ReusableProducerRecordBuilder<K, V> value(V value) {
+        this.value = value;
+
+        return this;
+    }
+
+    /**
+     * Add a header, the immutable headers shared by the records are better cached and added by {@link #header(Header)}.
+     *
+     * @param key   the header key.
+     * @param value the header value.
+     * @return {@link ReusableProducerRecordBuilder}
+     */
+    public ReusableProducerRecordBuilder<K, V> header(String key, byte[] value) {
+        return this.header(new RecordHeader(key, value));
+    }
+
+    /**
+     * Add a header, the value is encoded on each call, e.g.: a trace id.
+     *
+     * @param key   the header key.
+     * @param value the header value, encoded as UTF-8.
+     * @return {@link ReusableProducerRecordBuilder}
+     */
+    public ReusableProducerRecordBuilder<K, V> header(String key, String value) {
+        return this.header(new RecordHeader(key, null != value ? value.getBytes(StandardCharsets.UTF_8) : null));
+    }
+
+    /**
+     * Add a header interned by {@link HeaderFactory#global()}, only for the low-cardinality values,
+     * e.g.: the service name, schema version, tenant.
+     *
+     * @param key   the header key.
+     * @param value the header value, encoded as UTF-8.
+     * @return {@link ReusableProducerRecordBuilder}
+     */
+    public ReusableProducerRecordBuilder<K, V> internedHeader(String key, String value) {
+        return this.header(HeaderFactory.global().header(key, value));
+    }
+
+    public ReusableProducerRecordBuilder<K, V> header(Header header) {
+        checkNotNull("header", header);
+        this.headers.add(header);
+
+        return this;
+    }
+
+    // ----------------------------------------------------------------
+
+    /**
+     * Build {@link ProducerRecord} instance, the builder state is kept.
+     *
+     * @return {@link ProducerRecord}
+     */
+    public ProducerRecord<K, V> build() {
+        if (null == this.topic || this.topic.isEmpty()) {
+            throw new KafkaPlusRuntimeException("The topic name can't be null/empty.");
+        }
+        if (null == this.value) {
+            throw new KafkaPlusRuntimeException("The value can't be null.");
+        }
+
+        return new ProducerRecord<>(
+                this.topic,
+                NO_PARTITION == this.partition ? null : this.partition,
+                NO_TIMESTAMP == this.timestamp ? null : this.timestamp,
+                this.key,
+                this.value,
+                this.headers.isEmpty() ? null : this.headers
+        );
+    }
+
+    /**
+     * Build and send the record, then {@link #reset()} the builder, even if the send failed.
+     *
+     * @param producer the {@link Producer}.
+     * @param callback the {@link Callback}, nullable.
+     * @return the {@link Future} of the {@link RecordMetadata}.
+     */
+    public Future<RecordMetadata> send(Producer<K, V> producer, Callback callback) {
+        try {
+            return producer.send(this.build(), callback);
+        } finally {
+            this.reset();
+        }
+    }
+
+    /**
+     * Clear the partition/timestamp/key/value/headers, the topic is kept.
+     *
+     * @return {@link ReusableProducerRecordBuilder}
+     */
+    public ReusableProducerRecordBuilder<K, V> reset() {
+        this.partition = NO_PARTITION;
+        this.timestamp = NO_TIMESTAMP;
+        this.key = null;
+        this.value = null;
+
+        this.headers.clear();
+
+        return this;
+    }
+
+    // ----------------------------------------------------------------
+
+    /**
+     * The staged headers, it's its own {@link Iterator},
+     * so the copy in {@link RecordHeaders#RecordHeaders(Iterable)} allocates nothing here.
+     */
+    private static final class StagedHeaders implements Iterable<Header>, Iterator<Header> {
+
+        private Header[] headers = new Header[4];
+        private int size;
+        private int cursor;
+
+        void add(Header header) {
+            if (this.size == this.headers.length) {
+                this.headers = Arrays.copyOf(this.headers, this.size << 1);
+            }
+            this.headers[this.size++] = header;
+        }
+
+        boolean isEmpty() {
+            return 0 == this.size;
+        }
+
+        void clear() {
+            Arrays.fill(this.headers, 0, this.size, null);
+            this.size = 0;
+        }
+
+        @Override
+        public Iterator<Header> iterator() {
+            this.cursor = 0;
+
+            return this;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.cursor < this.size;
+        }
+
+        @Override
+        public Header next() {
+            if (this.cursor >= this.size) {
+                throw new NoSuchElementException();
+            }
+
+            return this.headers[this.cursor++];
+        }
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright © 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.kafka.plus.core.clients.consumer.aggregation;
+
+import io.github.photowey.kafka.plus.core.clients.producer.aggregation.AggregationEnvelope;
+import io.github.photowey.kafka.plus.core.exception.KafkaPlusRuntimeException;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.apache.kafka.common.utils.Utils;
+
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+
+import static io.github.photowey.kafka.plus.core.checker.ConfigChecker.checkNotNull;
+
+/**
+ * {@code AggregatedDeserializer}
+ * <p>
+ * Unpacks the {@link AggregationEnvelope} records, the logical messages are deserialized lazily by the delegate
+ * while iterating. The records which aren't aggregated yield a single message.
+ * <p>
+ * Examples:
+ * <pre>
+ * consumerBuilder.valueDeserializer(new AggregatedDeserializer&lt;&gt;(new StringDeserializer()));
+ * // or
+ * consumerBuilder.valueDeserializer(AggregatedDeserializer.class)
+ *     .enhanceConfigs(configs -&gt; configs.put(AggregatedDeserializer.DELEGATE_CONFIG, StringDeserializer.class));
+ * </pre>
+ *
+ * @author photowey
+ * @version 3.7.0.1.6
+ * @since 2026/10/18
+ */
+public class AggregatedDeserializer<V> implements Deserializer<Iterable<V>> {
+
+    public static final String DELEGATE_CONFIG = "kafka.plus.aggregated.delegate.deserializer";
+
+    private Deserializer<V> delegate;
+
+    public AggregatedDeserializer() {
+    }
+
+    public AggregatedDeserializer(Deserializer<V> delegate) {
+        checkNotNull("delegate", delegate);
+        this.delegate = delegate;
+    }
+
+    // ----------------------------------------------------------------
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        if (null == this.delegate) {
+            Object delegateClass = configs.get(DELEGATE_CONFIG);
+            if (null == delegateClass) {
+                throw new KafkaPlusRuntimeException("The config: [%s] is required", DELEGATE_CONFIG);
+            }
+
+            try {
+                this.delegate = delegateClass instanceof Class
+                        ? Utils.newInstance((Class<Deserializer<V>>) delegateClass)
+                        : Utils.newInstance(String.valueOf(delegateClass).trim(), Deserializer.class);
+            } catch (ClassNotFoundException e) {
+                throw new KafkaPlusRuntimeException(e, "The delegate deserializer: [%s] not found", delegateClass);
+            }
+        }
+
+        this.delegate.configure(configs, isKey);
+    }
+
+    @Override
+    public Iterable<V> deserialize(String topic, byte[] data) {
+        return Collections.singletonList(this.delegate.deserialize(topic, data));
+    }
+
+    @Override
+    public Iterable<V> deserialize(String topic, Headers headers, byte[] data) {
+        if (!AggregationEnvelope.aggregated(headers)) {
+            return Collections.singletonList(this.delegate.deserialize(topic, headers, data));
+        }
+
+        Iterable<ByteBuffer> messages = AggregationEnvelope.unpack(data);
+
+        return () -> new Iterator<V>() {
+
+            private final Iterator<ByteBuffer> iterator = messages.iterator();
+
+            @Override
+            public boolean hasNext() {
+                return this.iterator.hasNext();
+            }
+
+            @Override
+            public V next() {
+                ByteBuffer message = this.iterator.next();
+
+                return delegate.deserialize(topic, headers, null == message ? null : Utils.toArray(message));
+            }
+        };
+    }
+
+    @Override
+    public void close() {
+        if (null != this.delegate) {
+            this.delegate.close();
+        }
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright © 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.kafka.plus.core.clients.consumer.container;
+
+import io.github.photowey.kafka.plus.core.exception.KafkaPlusRuntimeException;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code AbstractParallelDispatcher}
+ * <p>
+ * The base of the dispatchers which handle the records off the poll thread:
+ * <ul>
+ *     <li>the in-flight records are bounded by the {@link Semaphore} slots, the poll thread waits for the free ones</li>
+ *     <li>only the highest contiguous handled offset of a partition is committed, see {@link OffsetTracker}</li>
+ *     <li>a failure rethrown by the {@link ErrorHandler} stops the dispatching,
+ *     the failed record and the records after it aren't committed</li>
+ * </ul>
+ *
+ * @author photowey
+ * @version 3.7.0.1.6
+ * @since 2026/10/18
+ */
+public abstract class AbstractParallelDispatcher<K, V> extends AbstractRecordDispatcher<K, V> {
+
+    private static final long ACQUIRE_INTERVAL_MS = 100L;
+
+    protected final OffsetTracker tracker = new OffsetTracker();
+
+    private volatile boolean woken;
+    private volatile Exception failure;
+
+    protected AbstractParallelDispatcher(RecordHandler<K, V> handler, ErrorHandler<K, V> errorHandler) {
+        super(handler, errorHandler);
+    }
+
+    // ----------------------------------------------------------------
+
+    @Override
+    public Map<TopicPartition, OffsetAndMetadata> committable() {
+        return this.tracker.committable();
+    }
+
+    /**
+     * The count of the in-flight records.
+     *
+     * @return the in-flight records.
+     */
+    public int inFlight() {
+        return this.tracker.inFlight();
+    }
+
+    @Override
+    public int depth(TopicPartition partition) {
+        return this.tracker.inFlight(partition);
+    }
+
+    @Override
+    public void drain(Collection<TopicPartition> partitions, Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        try {
+            for (TopicPartition partition : partitions) {
+                while (this.tracker.inFlight(partition) > 0 && null == this.failure && System.nanoTime() < deadline) {
+                    TimeUnit.MILLISECONDS.sleep(1);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void forget(Collection<TopicPartition> partitions) {
+        this.tracker.forget(partitions);
+    }
+
+    @Override
+    public void wakeup() {
+        this.woken = true;
+    }
+
+    // ----------------------------------------------------------------
+
+    /**
+     * Wait for a free slot, invoked by the poll thread before tracking a record.
+     *
+     * @param slots the slots.
+     * @return {@code false} if the dispatcher is woken up.
+     * @throws Exception the failure of a handled record.
+     */
+    protected boolean acquire(Semaphore slots) throws Exception {
+        while (!this.woken) {
+            if (slots.tryAcquire(ACQUIRE_INTERVAL_MS, TimeUnit.MILLISECONDS)) {
+                return true;
+            }
+            this.throwIfFailed();
+        }
+
+        return false;
+    }
+
+    /**
+     * Handle a tracked record on a worker, then release its slot.
+     *
+     * @param partition the {@link TopicPartition}.
+     * @param record    the {@link ConsumerRecord}.
+     * @param slots     the slots.
+     */
+    protected void handle(TopicPartition partition, ConsumerRecord<K, V> record, Semaphore slots) {
+        try {
+            // Skips the rest after a failure, they are redelivered after the restart.
+            if (null == this.failure) {
+                this.invoke(record);
+                this.tracker.complete(partition, record.offset());
+            }
+        } catch (Throwable e) {
+            synchronized (this) {
+                if (null == this.failure) {
+                    this.failure = e instanceof Exception ? (Exception) e : new KafkaPlusRuntimeException(e);
+                }
+            }
+        } finally {
+            slots.release();
+        }
+    }
+
+    protected void throwIfFailed() throws Exception {
+        Exception failure = this.failure;
+        if (null != failure) {
+            throw failure;
+        }
+    }
+}
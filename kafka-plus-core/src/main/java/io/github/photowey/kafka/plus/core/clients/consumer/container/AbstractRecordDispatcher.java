@@ -0,0 +1,73 @@
+/*
+ * Copyright © 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.kafka.plus.core.clients.consumer.container;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+
+import java.util.concurrent.TimeUnit;
+
+import static io.github.photowey.kafka.plus.core.checker.ConfigChecker.checkNotNull;
+
+/**
+ * {@code AbstractRecordDispatcher}
+ *
+ * @author photowey
+ * @version 3.7.0.1.6
+ * @since 2026/10/18
+ */
+public abstract class AbstractRecordDispatcher<K, V> implements RecordDispatcher<K, V> {
+
+    protected final RecordHandler<K, V> handler;
+    protected final ErrorHandler<K, V> errorHandler;
+    protected final ContainerMetrics metrics = new ContainerMetrics();
+
+    protected AbstractRecordDispatcher(RecordHandler<K, V> handler, ErrorHandler<K, V> errorHandler) {
+        checkNotNull("handler", handler);
+        checkNotNull("errorHandler", errorHandler);
+
+        this.handler = handler;
+        this.errorHandler = errorHandler;
+    }
+
+    @Override
+    public ContainerMetrics metrics() {
+        return this.metrics;
+    }
+
+    /**
+     * Handle the record and record its processing duration.
+     *
+     * @param record the {@link ConsumerRecord}.
+     * @throws Exception the failure rethrown by the {@link ErrorHandler}, the record isn't handled.
+     */
+    protected void invoke(ConsumerRecord<K, V> record) throws Exception {
+        long startAt = System.nanoTime();
+        boolean failed = false;
+        try {
+            this.handler.handle(record);
+        } catch (Exception e) {
+            failed = true;
+            try {
+                this.errorHandler.handle(record, e);
+            } catch (Exception fatal) {
+                this.metrics.onProcessed(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startAt), true);
+                throw fatal;
+            }
+        }
+
+        this.metrics.onProcessed(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startAt), failed);
+    }
+}
@@ -0,0 +1,255 @@
+/*
+ * Copyright © 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.kafka.plus.core.clients.consumer.container;
+
+import io.github.photowey.kafka.plus.core.exception.KafkaPlusRuntimeException;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRebalanceListener;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static io.github.photowey.kafka.plus.core.checker.ConfigChecker.checkNotNull;
+
+/**
+ * {@code AsyncOffsetCommitter}
+ * <p>
+ * Coalesces the processed offsets and commits them asynchronously on a cadence, off the hot loop:
+ * <ul>
+ *     <li>{@link #ack(ConsumerRecord)}: any thread, lock-free, keeps the highest next offset of each partition</li>
+ *     <li>{@link #maybeCommit()}: the poll thread, after each poll, issues a {@code commitAsync} of the changed offsets
+ *     once the interval is elapsed and the previous one is completed</li>
+ *     <li>{@link #commitSync()}: the poll thread, on shutdown</li>
+ *     <li>{@link #onPartitionsRevoked(Collection)}: the revoked partitions are committed synchronously and forgotten</li>
+ * </ul>
+ * A failed async commit is retried by the next cadence, the delivery stays at-least-once.
+ * <p>
+ * Examples:
+ * <pre>
+ * AsyncOffsetCommitter&lt;String, String&gt; committer = consumerService.createCommitter(consumer, 1_000);
+ * consumer.subscribe(topics, committer);
+ * while (running) {
+ *     for (ConsumerRecord&lt;String, String&gt; record : consumer.poll(timeout)) {
+ *         process(record);
+ *         committer.ack(record);
+ *     }
+ *     committer.maybeCommit();
+ * }
+ * committer.commitSync();
+ * </pre>
+ * Note: the acknowledged offsets must be contiguous per partition, see {@link OffsetTracker} for the out-of-order ones.
+ *
+ * @author photowey
+ * @version 3.7.0.1.6
+ * @since 2026/10/18
+ */
+public class AsyncOffsetCommitter<K, V> implements ConsumerRebalanceListener {
+
+    private final Consumer<K, V> consumer;
+    private final long intervalNanos;
+
+    private final ConcurrentMap<TopicPartition, AtomicLong> acked = new ConcurrentHashMap<>();
+    /**
+     * The committed offsets, only accessed by the poll thread, the commit callbacks run on it too.
+     */
+    private final Map<TopicPartition, Long> committed = new HashMap<>();
+
+    private final AtomicLong commits = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+
+    private long lastCommitNanos = System.nanoTime();
+    private boolean inFlight;
+    private volatile Exception lastFailure;
+
+    public AsyncOffsetCommitter(Consumer<K, V> consumer, long intervalMs) {
+        checkNotNull("consumer", consumer);
+        if (intervalMs < 0) {
+            throw new KafkaPlusRuntimeException("Illegal commit interval: %d", intervalMs);
+        }
+
+        this.consumer = consumer;
+        this.intervalNanos = TimeUnit.MILLISECONDS.toNanos(intervalMs);
+    }
+
+    // ----------------------------------------------------------------
+
+    /**
+     * Acknowledge a processed record.
+     *
+     * @param record the {@link ConsumerRecord}.
+     */
+    public void ack(ConsumerRecord<K, V> record) {
+        this.ack(new TopicPartition(record.topic(), record.partition()), record.offset() + 1);
+    }
+
+    /**
+     * Acknowledge the next offset of a partition, all the records before it are processed.
+     *
+     * @param partition  the {@link TopicPartition}.
+     * @param nextOffset the next offset.
+     */
+    public void ack(TopicPartition partition, long nextOffset) {
+        AtomicLong offset = this.acked.get(partition);
+        if (null == offset) {
+            offset = this.acked.computeIfAbsent(partition, key -> new AtomicLong(-1));
+        }
+
+        offset.accumulateAndGet(nextOffset, Math::max);
+    }
+
+    /**
+     * Acknowledge the committable offsets of a {@link RecordDispatcher}.
+     *
+     * @param offsets the next offsets.
+     */
+    public void ack(Map<TopicPartition, OffsetAndMetadata> offsets) {
+        offsets.forEach((partition, offset) -> this.ack(partition, offset.offset()));
+    }
+
+    // ----------------------------------------------------------------
+
+    /**
+     * Issue a {@code commitAsync} if the interval is elapsed, invoked by the poll thread.
+     *
+     * @return {@code true} if a commit is issued.
+     */
+    public boolean maybeCommit() {
+        if (this.inFlight || System.nanoTime() - this.lastCommitNanos < this.intervalNanos) {
+            return false;
+        }
+
+        Map<TopicPartition, OffsetAndMetadata> offsets = this.pending(this.consumer.assignment());
+        if (offsets.isEmpty()) {
+            return false;
+        }
+
+        this.inFlight = true;
+        this.lastCommitNanos = System.nanoTime();
+        this.consumer.commitAsync(offsets, (committed, cause) -> {
+            this.inFlight = false;
+            if (null != cause) {
+                this.failures.incrementAndGet();
+                this.lastFailure = cause;
+                return;
+            }
+
+            this.commits.incrementAndGet();
+            committed.forEach((partition, offset) -> this.committed.merge(partition, offset.offset(), Math::max));
+        });
+
+        return true;
+    }
+
+    /**
+     * Commit all the pending offsets synchronously, invoked by the poll thread on shutdown.
+     */
+    public void commitSync() {
+        this.commitSync(this.consumer.assignment());
+    }
+
+    /**
+     * Commit the pending offsets of the partitions synchronously, invoked by the poll thread.
+     *
+     * @param partitions the partitions.
+     */
+    public void commitSync(Collection<TopicPartition> partitions) {
+        Map<TopicPartition, OffsetAndMetadata> offsets = this.pending(partitions);
+        if (offsets.isEmpty()) {
+            return;
+        }
+
+        this.consumer.commitSync(offsets);
+        this.commits.incrementAndGet();
+        offsets.forEach((partition, offset) -> this.committed.merge(partition, offset.offset(), Math::max));
+    }
+
+    // ----------------------------------------------------------------
+
+    @Override
+    public void onPartitionsRevoked(Collection<TopicPartition> partitions) {
+        try {
+            this.commitSync(partitions);
+        } finally {
+            this.forget(partitions);
+        }
+    }
+
+    @Override
+    public void onPartitionsAssigned(Collection<TopicPartition> partitions) {
+    }
+
+    @Override
+    public void onPartitionsLost(Collection<TopicPartition> partitions) {
+        // Owned by others already, the offsets can't be committed.
+        this.forget(partitions);
+    }
+
+    // ----------------------------------------------------------------
+
+    public long commits() {
+        return this.commits.get();
+    }
+
+    public long failures() {
+        return this.failures.get();
+    }
+
+    /**
+     * The last failure of the async commits.
+     *
+     * @return the failure, {@code null} if none.
+     */
+    public Exception lastFailure() {
+        return this.lastFailure;
+    }
+
+    // ----------------------------------------------------------------
+
+    private Map<TopicPartition, OffsetAndMetadata> pending(Collection<TopicPartition> partitions) {
+        Map<TopicPartition, OffsetAndMetadata> offsets = new HashMap<>();
+        Set<TopicPartition> assigned = this.consumer.assignment();
+        for (TopicPartition partition : partitions) {
+            AtomicLong offset = this.acked.get(partition);
+            if (null == offset || !assigned.contains(partition)) {
+                continue;
+            }
+
+            long next = offset.get();
+            Long committed = this.committed.get(partition);
+            if (next >= 0 && (null == committed || next > committed)) {
+                offsets.put(partition, new OffsetAndMetadata(next));
+            }
+        }
+
+        return offsets;
+    }
+
+    private void forget(Collection<TopicPartition> partitions) {
+        for (TopicPartition partition : partitions) {
+            this.acked.remove(partition);
+            this.committed.remove(partition);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright © 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.kafka.plus.core.clients.consumer.container;
+
+import io.github.photowey.kafka.plus.core.exception.KafkaPlusRuntimeException;
+
+/**
+ * {@code Backpressure}
+ * <p>
+ * The watermarks of the hand-off queue of each partition, see {@link BackpressureController}.
+ * <p>
+ * Examples:
+ * <pre>
+ * Backpressure backpressure = new Backpressure()
+ *    .highWatermark(1_000)
+ *    .lowWatermark(200);
+ * </pre>
+ * Note: a partition is paused after the poll which exceeds the high watermark,
+ * so its queue is bounded by the high watermark plus the {@code max.poll.records}.
+ *
+ * @author photowey
+ * @version 3.7.0.1.6
+ * @since 2026/10/18
+ */
+public class Backpressure {
+
+    /**
+     * Pause the partition once its queued records reach it.
+     */
+    private int highWatermark = 1_000;
+    /**
+     * Resume the paused partition once its queued records drop to it.
+     */
+    private int lowWatermark = 500;
+
+    // ----------------------------------------------------------------
+
+    public Backpressure highWatermark(int highWatermark) {
+        if (highWatermark <= 0) {
+            throw new KafkaPlusRuntimeException("Illegal high watermark: %d", highWatermark);
+        }
+        this.highWatermark = highWatermark;
+        this.lowWatermark = Math.min(this.lowWatermark, highWatermark / 2);
+
+        return this;
+    }
+
+    public Backpressure lowWatermark(int lowWatermark) {
+        if (lowWatermark < 0 || lowWatermark >= this.highWatermark) {
+            throw new KafkaPlusRuntimeException(
+                    "Illegal low watermark: %d, it must be in [0, %d)", lowWatermark, this.highWatermark);
+        }
+        this.lowWatermark = lowWatermark;
+
+        return this;
+    }
+
+    // ----------------------------------------------------------------
+
+    public int highWatermark() {
+        return highWatermark;
+    }
+
+    public int lowWatermark() {
+        return lowWatermark;
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright © 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.kafka.plus.core.clients.consumer.container;
+
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.common.TopicPartition;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToIntFunction;
+
+import static io.github.photowey.kafka.plus.core.checker.ConfigChecker.checkNotNull;
+
+/**
+ * {@code BackpressureController}
+ * <p>
+ * Pauses the partitions whose hand-off queues are over the high watermark and resumes them below the low watermark,
+ * the poll loop keeps polling the other partitions (or nothing), so the consumer stays in the group
+ * and the buffered records stay bounded.
+ * <p>
+ * Examples:
+ * <pre>
+ * BackpressureController controller = consumerService.createBackpressure(consumer, partition -&gt; queues.depth(partition), backpressure);
+ * while (running) {
+ *     ConsumerRecords&lt;String, String&gt; records = consumer.poll(timeout);
+ *     queues.offer(records);
+ *     controller.apply();
+ * }
+ * </pre>
+ * Note: {@link #apply()} is invoked by the poll thread, the partitions paused by others are never resumed by it.
+ *
+ * @author photowey
+ * @version 3.7.0.1.6
+ * @since 2026/10/18
+ */
+public class BackpressureController {
+
+    private final Consumer<?, ?> consumer;
+    private final ToIntFunction<TopicPartition> depth;
+    private final Backpressure backpressure;
+
+    /**
+     * The partitions paused by the controller, only accessed by the poll thread.
+     */
+    private final Set<TopicPartition> paused = new HashSet<>();
+    private volatile int pausedCount;
+
+    private final AtomicLong pauses = new AtomicLong();
+    private final AtomicLong resumes = new AtomicLong();
+
+    public BackpressureController(Consumer<?, ?> consumer, ToIntFunction<TopicPartition> depth, Backpressure backpressure) {
+        checkNotNull("consumer", consumer);
+        checkNotNull("depth", depth);
+        checkNotNull("backpressure", backpressure);
+
+        this.consumer = consumer;
+        this.depth = depth;
+        this.backpressure = backpressure;
+    }
+
+    // ----------------------------------------------------------------
+
+    /**
+     * Pause/resume the assigned partitions per their queue depths, invoked by the poll thread after each poll.
+     */
+    public void apply() {
+        Set<TopicPartition> assigned = this.consumer.assignment();
+        // The revoked partitions are resumed by the consumer.
+        this.paused.retainAll(assigned);
+
+        List<TopicPartition> pausing = new ArrayList<>();
+        List<TopicPartition> resuming = new ArrayList<>();
+        for (TopicPartition partition : assigned) {
+            int depth = this.depth.applyAsInt(partition);
+            if (this.paused.contains(partition)) {
+                if (depth <= this.backpressure.lowWatermark()) {
+                    resuming.add(partition);
+                }
+            } else if (depth >= this.backpressure.highWatermark()) {
+                pausing.add(partition);
+            }
+        }
+
+        if (!pausing.isEmpty()) {
+            this.consumer.pause(pausing);
+            this.paused.addAll(pausing);
+            this.pauses.addAndGet(pausing.size());
+        }
+        if (!resuming.isEmpty()) {
+            this.consumer.resume(resuming);
+            this.paused.removeAll(resuming);
+            this.resumes.addAndGet(resuming.size());
+        }
+
+        this.pausedCount = this.paused.size();
+    }
+
+    // ----------------------------------------------------------------
+
+    /**
+     * The partitions paused by the controller, invoked by the poll thread.
+     *
+     * @return the paused partitions.
+     */
+    public Set<TopicPartition> paused() {
+        return Collections.unmodifiableSet(this.paused);
+    }
+
+    /**
+     * The count of the paused partitions.
+     *
+     * @return the paused partitions.
+     */
+    public int pausedCount() {
+        return this.pausedCount;
+    }
+
+    public long pauses() {
+        return this.pauses.get();
+    }
+
+    public long resumes() {
+        return this.resumes.get();
+    }
+}
@@ -0,0 +1,201 @@
+/*
+ * Copyright © 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.kafka.plus.core.clients.consumer.container;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static io.github.photowey.kafka.plus.core.checker.ConfigChecker.checkNotNull;
+
+/**
+ * {@code BatchDispatcher}
+ * <p>
+ * Accumulates the records across the polls into micro-batches, bounded by {@link BatchSettings},
+ * and delivers each of them to the {@link BatchHandler} as one call on the poll thread:
+ * <ul>
+ *     <li>the offsets of a batch are committable after the handler returns</li>
+ *     <li>a failure of the handler stops the container, the batch isn't committed</li>
+ *     <li>the pending batch is delivered on the graceful stop and before a rebalance revokes the partitions</li>
+ *     <li>the poll timeout is shortened to the remaining wait of the pending batch</li>
+ * </ul>
+ * The batch sizes and the batch waits are recorded in {@link ContainerMetrics#batchSize()} and {@link ContainerMetrics#batchWaitMs()}.
+ *
+ * @author photowey
+ * @version 3.7.0.1.6
+ * @since 2026/10/18
+ */
+public class BatchDispatcher<K, V> implements RecordDispatcher<K, V> {
+
+    private final BatchHandler<K, V> handler;
+    private final BatchSettings settings;
+    private final ContainerMetrics metrics = new ContainerMetrics();
+
+    /**
+     * The pending batch and the committable offsets, only accessed by the poll thread.
+     */
+    private List<ConsumerRecord<K, V>> batch = new ArrayList<>();
+    private long batchBytes;
+    private long batchStartNanos;
+    private final Map<TopicPartition, OffsetAndMetadata> offsets = new HashMap<>();
+
+    private volatile Exception failure;
+
+    public BatchDispatcher(BatchHandler<K, V> handler, BatchSettings settings) {
+        checkNotNull("handler", handler);
+        checkNotNull("settings", settings);
+
+        this.handler = handler;
+        this.settings = settings;
+    }
+
+    // ----------------------------------------------------------------
+
+    @Override
+    public void dispatch(ConsumerRecords<K, V> records) throws Exception {
+        if (null != this.failure) {
+            // Failed on the revocation.
+            throw this.failure;
+        }
+
+        for (ConsumerRecord<K, V> record : records) {
+            if (this.batch.isEmpty()) {
+                this.batchStartNanos = System.nanoTime();
+            }
+
+            this.batch.add(record);
+            this.batchBytes += sizeOf(record);
+            if (this.batch.size() >= this.settings.maxRecords() || this.batchBytes >= this.settings.maxBytes()) {
+                this.deliver();
+            }
+        }
+
+        if (!this.batch.isEmpty() && this.remainingWaitMs() <= 0) {
+            this.deliver();
+        }
+    }
+
+    @Override
+    public Map<TopicPartition, OffsetAndMetadata> committable() {
+        return this.offsets;
+    }
+
+    @Override
+    public ContainerMetrics metrics() {
+        return this.metrics;
+    }
+
+    @Override
+    public long pollTimeoutMs(long pollTimeoutMs) {
+        if (this.batch.isEmpty()) {
+            return pollTimeoutMs;
+        }
+
+        return Math.max(0, Math.min(pollTimeoutMs, this.remainingWaitMs()));
+    }
+
+    /**
+     * Deliver the pending batch before the partitions are revoked.
+     */
+    @Override
+    public void drain(Collection<TopicPartition> partitions, Duration timeout) {
+        this.close(timeout);
+    }
+
+    /**
+     * Drop the pending records of the lost partitions, they are redelivered to their new owners.
+     */
+    @Override
+    public void forget(Collection<TopicPartition> partitions) {
+        partitions.forEach(this.offsets::remove);
+        if (this.batch.isEmpty()) {
+            return;
+        }
+
+        this.batch.removeIf(record -> partitions.contains(new TopicPartition(record.topic(), record.partition())));
+        this.batchBytes = 0;
+        for (ConsumerRecord<K, V> record : this.batch) {
+            this.batchBytes += sizeOf(record);
+        }
+    }
+
+    /**
+     * Deliver the pending batch on the graceful stop.
+     */
+    @Override
+    public void close(Duration timeout) {
+        if (null != this.failure || this.batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            this.deliver();
+        } catch (Exception ignored) {
+            // Not committed, redelivered after the restart.
+        }
+    }
+
+    /**
+     * The count of the pending records.
+     *
+     * @return the pending records.
+     */
+    public int pending() {
+        return this.batch.size();
+    }
+
+    // ----------------------------------------------------------------
+
+    private void deliver() throws Exception {
+        List<ConsumerRecord<K, V>> records = this.batch;
+        long waitMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - this.batchStartNanos);
+        this.batch = new ArrayList<>(Math.min(records.size(), this.settings.maxRecords()));
+        this.batchBytes = 0;
+
+        long startAt = System.nanoTime();
+        try {
+            this.handler.handle(records);
+        } catch (Exception e) {
+            this.failure = e;
+            this.metrics.onBatch(records.size(), waitMs);
+            this.metrics.onProcessed(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startAt), records.size(), true);
+            throw e;
+        }
+
+        this.metrics.onBatch(records.size(), waitMs);
+        this.metrics.onProcessed(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startAt), records.size(), false);
+        for (ConsumerRecord<K, V> record : records) {
+            this.offsets.put(new TopicPartition(record.topic(), record.partition()), new OffsetAndMetadata(record.offset() + 1));
+        }
+    }
+
+    private static long sizeOf(ConsumerRecord<?, ?> record) {
+        return Math.max(0, record.serializedKeySize()) + Math.max(0, record.serializedValueSize());
+    }
+
+    private long remainingWaitMs() {
+        return this.settings.maxWaitMs() - TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - this.batchStartNanos);
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright © 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.kafka.plus.core.clients.consumer.container;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+
+import java.util.List;
+
+/**
+ * {@code BatchHandler}
+ * <p>
+ * Handles the micro-batches accumulated by a {@link BatchDispatcher}.
+ *
+ * @author photowey
+ * @version 3.7.0.1.6
+ * @since 2026/10/18
+ */
+@FunctionalInterface
+public interface BatchHandler<K, V> {
+
+    /**
+     * Handle a micro-batch, its offsets are committed after this method returns.
+     *
+     * @param records the records, in the poll order.
+     * @throws Exception the failure, which stops the container, the batch is redelivered after the restart.
+     */
+    void handle(List<ConsumerRecord<K, V>> records) throws Exception;
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright © 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.kafka.plus.core.clients.consumer.container;
+
+import io.github.photowey.kafka.plus.core.exception.KafkaPlusRuntimeException;
+
+/**
+ * {@code BatchSettings}
+ * <p>
+ * The bounds of the micro-batches of a {@link BatchDispatcher}, a batch is delivered once any of them is reached.
+ * <p>
+ * Examples:
+ * <pre>
+ * BatchSettings batch = new BatchSettings()
+ *    .maxRecords(1_000)
+ *    .maxBytes(4 * 1024 * 1024)
+ *    .maxWaitMs(200);
+ * </pre>
+ *
+ * @author photowey
+ * @version 3.7.0.1.6
+ * @since 2026/10/18
+ */
+public class BatchSettings {
+
+    private int maxRecords = 500;
+    /**
+     * The serialized key and value bytes.
+     */
+    private long maxBytes = 1024 * 1024;
+    /**
+     * The max time the first record of a batch waits for the delivery.
+     */
+    private long maxWaitMs = 100;
+
+    // ----------------------------------------------------------------
+
+    public BatchSettings maxRecords(int maxRecords) {
+        if (maxRecords <= 0) {
+            throw new KafkaPlusRuntimeException("Illegal max batch records: %d", maxRecords);
+        }
+        this.maxRecords = maxRecords;
+
+        return this;
+    }
+
+    public BatchSettings maxBytes(long maxBytes) {
+        if (maxBytes <= 0) {
+            throw new KafkaPlusRuntimeException("Illegal max batch bytes: %d", maxBytes);
+        }
+        this.maxBytes = maxBytes;
+
+        return this;
+    }
+
+    public BatchSettings maxWaitMs(long maxWaitMs) {
+        if (maxWaitMs < 0) {
+            throw new KafkaPlusRuntimeException("Illegal max batch wait: %d", maxWaitMs);
+        }
+        this.maxWaitMs = maxWaitMs;
+
+        return this;
+    }
+
+    // ----------------------------------------------------------------
+
+    public int maxRecords() {
+        return maxRecords;
+    }
+
+    public long maxBytes() {
+        return maxBytes;
+    }
+
+    public long maxWaitMs() {
+        return maxWaitMs;
+    }
+}
@@ -0,0 +1,442 @@
+/*
+ * Copyright © 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.kafka.plus.core.clients.consumer.container;
+
+import io.github.photowey.kafka.plus.core.exception.KafkaPlusRuntimeException;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRebalanceListener;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.WakeupException;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static io.github.photowey.kafka.plus.core.checker.ConfigChecker.checkNotNull;
+
+/**
+ * {@code ConsumerContainer}
+ * <p>
+ * A managed poll loop, which owns the {@link Consumer} and its poll thread:
+ * <ul>
+ *     <li>dispatches the polled records to the {@link RecordHandler} via a {@link RecordDispatcher}:
+ *     in order by the poll thread ({@link SerialDispatcher}), or ordered per key by {@link ContainerSettings#concurrency()}
+ *     workers ({@link KeyOrderedDispatcher}), or on a virtual thread per record ({@link ThreadPerRecordDispatcher}),
+ *     or in micro-batches to a {@link BatchHandler} ({@link BatchDispatcher})</li>
+ *     <li>commits the committable offsets synchronously after each poll, or asynchronously on the
+ *     {@link ContainerSettings#commitIntervalMs()} cadence ({@link AsyncOffsetCommitter}), keep {@code enable.auto.commit=false}</li>
+ *     <li>pauses the partitions whose in-flight records are over the {@link ContainerSettings#backpressure()},
+ *     while it keeps polling</li>
+ *     <li>commits the revoked partitions before a rebalance hands them over, see {@link #rebalanceListener()}</li>
+ *     <li>stops gracefully: wakes the poll up, commits the handled records and closes the consumer</li>
+ *     <li>records the poll and the processing durations, see {@link ContainerMetrics}</li>
+ * </ul>
+ * The delivery is at-least-once, a record which is handled but not committed yet is redelivered after a crash.
+ * <p>
+ * Examples:
+ * <pre>
+ * ConsumerContainer&lt;String, String&gt; container = consumerService.createConsumer()
+ *    .boostrapServers("localhost:9092")
+ *    .groupId("orders")
+ *    .subscribe("orders")
+ *    .buildContainer(record -&gt; process(record), new ContainerSettings().name("orders-consumer"));
+ * container.start();
+ * // ...
+ * container.close();
+ * </pre>
+ *
+ * @author photowey
+ * @version 3.7.0.1.6
+ * @since 2026/10/18
+ */
+public class ConsumerContainer<K, V> implements Closeable {
+
+    private final Consumer<K, V> consumer;
+    private final RecordDispatcher<K, V> dispatcher;
+    private final ContainerSettings settings;
+    private final AsyncOffsetCommitter<K, V> committer;
+    private final BackpressureController backpressure;
+
+    /**
+     * The last committed offsets, only accessed by the poll thread.
+     */
+    private final Map<TopicPartition, OffsetAndMetadata> committed = new HashMap<>();
+
+    private final AtomicBoolean started = new AtomicBoolean(false);
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private final CountDownLatch stopped = new CountDownLatch(1);
+
+    private volatile ExecutorService poller;
+    private volatile Thread pollThread;
+    private volatile Throwable failure;
+
+    public ConsumerContainer(Consumer<K, V> consumer, RecordHandler<K, V> handler) {
+        this(consumer, handler, ErrorHandler.stop(), new ContainerSettings());
+    }
+
+    public ConsumerContainer(
+            Consumer<K, V> consumer, RecordHandler<K, V> handler, ErrorHandler<K, V> errorHandler, ContainerSettings settings) {
+        this(consumer, dispatcher(handler, errorHandler, settings), settings);
+    }
+
+    public ConsumerContainer(
+            Consumer<K, V> consumer, BatchHandler<K, V> handler, BatchSettings batch, ContainerSettings settings) {
+        this(consumer, new BatchDispatcher<>(handler, batch), settings);
+    }
+
+    public ConsumerContainer(Consumer<K, V> consumer, RecordDispatcher<K, V> dispatcher, ContainerSettings settings) {
+        checkNotNull("consumer", consumer);
+        checkNotNull("dispatcher", dispatcher);
+        checkNotNull("settings", settings);
+        checkCapacity(dispatcher, settings);
+
+        this.consumer = consumer;
+        this.dispatcher = dispatcher;
+        this.settings = settings;
+        this.committer = settings.commitIntervalMs() > 0 ? new AsyncOffsetCommitter<>(consumer, settings.commitIntervalMs()) : null;
+        this.backpressure = null != settings.backpressure()
+                ? new BackpressureController(consumer, dispatcher::depth, settings.backpressure())
+                : null;
+    }
+
+    // ----------------------------------------------------------------
+
+    /**
+     * Start the poll thread, a container can be started only once.
+     *
+     * @return {@link ConsumerContainer}
+     */
+    public ConsumerContainer<K, V> start() {
+        if (!this.started.compareAndSet(false, true)) {
+            throw new KafkaPlusRuntimeException("The consumer container: %s is already started.", this.settings.name());
+        }
+
+        this.running.set(true);
+        this.poller = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "kafka-plus-" + this.settings.name());
+            thread.setDaemon(true);
+
+            return thread;
+        });
+        this.poller.execute(this::run);
+        this.poller.shutdown();
+
+        return this;
+    }
+
+    /**
+     * Stop the poll loop and wait for the in-flight records, the final commit and the close of the consumer.
+     * |- Invoked by the handler: it doesn't wait, prefer {@link ErrorHandler} to stop on a failure.
+     *
+     * @param timeout the max time to wait.
+     * @return {@code true} if the container is stopped within the timeout.
+     */
+    public boolean stop(Duration timeout) {
+        checkNotNull("timeout", timeout);
+        if (!this.started.get()) {
+            return true;
+        }
+
+        if (this.running.compareAndSet(true, false)) {
+            this.dispatcher.wakeup();
+            this.consumer.wakeup();
+        }
+        if (Thread.currentThread() == this.pollThread) {
+            // Stopped by the handler on the poll thread, the loop exits after the current record.
+            return false;
+        }
+
+        try {
+            return this.stopped.await(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    @Override
+    public void close() {
+        this.stop(Duration.ofMillis(this.settings.shutdownTimeoutMs()));
+    }
+
+    /**
+     * The rebalance listener of the container, subscribe the consumer with it.
+     *
+     * @return {@link ConsumerRebalanceListener}
+     */
+    public ConsumerRebalanceListener rebalanceListener() {
+        return this.rebalanceListener(null);
+    }
+
+    /**
+     * The rebalance listener of the container, subscribe the consumer with it:
+     * |- revoked: waits for the in-flight records of the revoked partitions, commits them,
+     * forgets them, then delegates, e.g.: flushes the local state, see {@link PartitionStateListener}.
+     * |- lost: forgets the lost partitions, then delegates.
+     * |- assigned: delegates.
+     *
+     * @param delegate the custom listener, nullable.
+     * @return {@link ConsumerRebalanceListener}
+     */
+    public ConsumerRebalanceListener rebalanceListener(ConsumerRebalanceListener delegate) {
+        return new ContainerRebalanceListener(delegate);
+    }
+
+    // ----------------------------------------------------------------
+
+    public boolean isRunning() {
+        return this.running.get();
+    }
+
+    /**
+     * The failure which stopped the container.
+     *
+     * @return the failure, {@code null} if the container isn't failed.
+     */
+    public Throwable failure() {
+        return this.failure;
+    }
+
+    public ContainerMetrics metrics() {
+        return this.dispatcher.metrics();
+    }
+
+    public RecordDispatcher<K, V> dispatcher() {
+        return this.dispatcher;
+    }
+
+    /**
+     * The backpressure of the container.
+     *
+     * @return {@link BackpressureController}, {@code null} if {@link ContainerSettings#backpressure()} isn't set.
+     */
+    public BackpressureController backpressure() {
+        return this.backpressure;
+    }
+
+    public ContainerSettings settings() {
+        return this.settings;
+    }
+
+    // ----------------------------------------------------------------
+
+    private void run() {
+        this.pollThread = Thread.currentThread();
+        try {
+            while (this.running.get()) {
+                long startAt = System.nanoTime();
+                ConsumerRecords<K, V> records = this.consumer.poll(
+                        Duration.ofMillis(this.dispatcher.pollTimeoutMs(this.settings.pollTimeoutMs())));
+                this.metrics().onPoll(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startAt));
+
+                this.dispatcher.dispatch(records);
+                this.commit();
+                if (null != this.backpressure) {
+                    this.backpressure.apply();
+                }
+            }
+        } catch (WakeupException e) {
+            if (this.running.get()) {
+                this.failure = e;
+            }
+        } catch (Throwable e) {
+            this.failure = e;
+        } finally {
+            this.running.set(false);
+            this.shutdown();
+        }
+    }
+
+    private void commit() {
+        if (null != this.committer) {
+            this.committer.ack(this.dispatcher.committable());
+            if (this.committer.maybeCommit()) {
+                this.metrics().onCommit();
+            }
+
+            return;
+        }
+
+        this.commitSync();
+    }
+
+    private void commitSync() {
+        if (null != this.committer) {
+            this.committer.ack(this.dispatcher.committable());
+            this.committer.commitSync();
+
+            return;
+        }
+
+        Map<TopicPartition, OffsetAndMetadata> offsets = new HashMap<>();
+        this.dispatcher.committable().forEach((partition, offset) -> {
+            if (!offset.equals(this.committed.get(partition))) {
+                offsets.put(partition, offset);
+            }
+        });
+        if (offsets.isEmpty()) {
+            return;
+        }
+
+        this.consumer.commitSync(offsets);
+        this.committed.putAll(offsets);
+        this.metrics().onCommit();
+    }
+
+    private void commitRevoked(Collection<TopicPartition> partitions) {
+        if (null != this.committer) {
+            this.committer.ack(this.dispatcher.committable());
+            this.committer.commitSync(partitions);
+
+            return;
+        }
+
+        Map<TopicPartition, OffsetAndMetadata> offsets = new HashMap<>();
+        Map<TopicPartition, OffsetAndMetadata> committable = this.dispatcher.committable();
+        for (TopicPartition partition : partitions) {
+            OffsetAndMetadata offset = committable.get(partition);
+            if (null != offset && !offset.equals(this.committed.get(partition))) {
+                offsets.put(partition, offset);
+            }
+        }
+        if (offsets.isEmpty()) {
+            return;
+        }
+
+        this.consumer.commitSync(offsets);
+        this.metrics().onCommit();
+    }
+
+    private void forget(Collection<TopicPartition> partitions) {
+        this.dispatcher.forget(partitions);
+        partitions.forEach(this.committed::remove);
+        if (null != this.committer) {
+            this.committer.onPartitionsLost(partitions);
+        }
+    }
+
+    private void shutdown() {
+        try {
+            this.dispatcher.close(Duration.ofMillis(this.settings.shutdownTimeoutMs()));
+            this.commitSync();
+        } catch (WakeupException e) {
+            // The pending wakeup is consumed by the first blocking call, retry once.
+            this.commitQuietly();
+        } catch (Exception e) {
+            this.failIfAbsent(e);
+        } finally {
+            try {
+                this.consumer.close();
+            } catch (Exception e) {
+                this.failIfAbsent(e);
+            } finally {
+                this.stopped.countDown();
+            }
+        }
+    }
+
+    private void commitQuietly() {
+        try {
+            this.commitSync();
+        } catch (Exception e) {
+            this.failIfAbsent(e);
+        }
+    }
+
+    private void failIfAbsent(Throwable e) {
+        if (null == this.failure) {
+            this.failure = e;
+        }
+    }
+
+    private static void checkCapacity(RecordDispatcher<?, ?> dispatcher, ContainerSettings settings) {
+        Backpressure backpressure = settings.backpressure();
+        if (null == backpressure) {
+            return;
+        }
+
+        // Otherwise the poll thread waits for a free slot before the partition is paused.
+        long required = (long) backpressure.highWatermark() + settings.maxPollRecords();
+        if (required > dispatcher.capacity()) {
+            dispatcher.close(Duration.ZERO);
+
+            throw new KafkaPlusRuntimeException(
+                    "The high watermark: %d plus the max.poll.records: %d exceeds the in-flight capacity: %d of the dispatcher: %s",
+                    backpressure.highWatermark(), settings.maxPollRecords(), dispatcher.capacity(), dispatcher.getClass().getSimpleName());
+        }
+    }
+
+    private static <K, V> RecordDispatcher<K, V> dispatcher(
+            RecordHandler<K, V> handler, ErrorHandler<K, V> errorHandler, ContainerSettings settings) {
+        checkNotNull("settings", settings);
+        if (settings.virtualThreads()) {
+            return new ThreadPerRecordDispatcher<>(handler, errorHandler, settings);
+        }
+        if (settings.concurrency() > 1) {
+            return new KeyOrderedDispatcher<>(handler, errorHandler, settings);
+        }
+
+        return new SerialDispatcher<>(handler, errorHandler);
+    }
+
+    // ----------------------------------------------------------------
+
+    private final class ContainerRebalanceListener implements ConsumerRebalanceListener {
+
+        private final ConsumerRebalanceListener delegate;
+
+        ContainerRebalanceListener(ConsumerRebalanceListener delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void onPartitionsRevoked(Collection<TopicPartition> partitions) {
+            try {
+                dispatcher.drain(partitions, Duration.ofMillis(settings.shutdownTimeoutMs()));
+                commitRevoked(partitions);
+            } finally {
+                forget(partitions);
+                if (null != this.delegate) {
+                    this.delegate.onPartitionsRevoked(partitions);
+                }
+            }
+        }
+
+        @Override
+        public void onPartitionsAssigned(Collection<TopicPartition> partitions) {
+            if (null != this.delegate) {
+                this.delegate.onPartitionsAssigned(partitions);
+            }
+        }
+
+        @Override
+        public void onPartitionsLost(Collection<TopicPartition> partitions) {
+            forget(partitions);
+            if (null != this.delegate) {
+                this.delegate.onPartitionsLost(partitions);
+            }
+        }
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright © 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.kafka.plus.core.clients.consumer.container;
+
+import io.github.photowey.kafka.plus.core.clients.producer.metric.LogLinearHistogram;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@code ContainerMetrics}
+ * <p>
+ * The poll-loop metrics of a {@link ConsumerContainer}.
+ *
+ * @author photowey
+ * @version 3.7.0.1.6
+ * @since 2026/10/18
+ */
+public class ContainerMetrics {
+
+    private final LogLinearHistogram pollLatencyMs = new LogLinearHistogram();
+    private final LogLinearHistogram processLatencyMicros = new LogLinearHistogram();
+    private final LogLinearHistogram batchSize = new LogLinearHistogram();
+    private final LogLinearHistogram batchWaitMs = new LogLinearHistogram();
+    private final AtomicLong records = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong commits = new AtomicLong();
+
+    /**
+     * The duration of each {@code poll}.
+     *
+     * @return {@link LogLinearHistogram}
+     */
+    public LogLinearHistogram pollLatencyMs() {
+        return this.pollLatencyMs;
+    }
+
+    /**
+     * The duration of each {@link RecordHandler#handle} or {@link BatchHandler#handle} call.
+     *
+     * @return {@link LogLinearHistogram}
+     */
+    public LogLinearHistogram processLatencyMicros() {
+        return this.processLatencyMicros;
+    }
+
+    /**
+     * The records of each delivered micro-batch, see {@link BatchDispatcher}.
+     *
+     * @return {@link LogLinearHistogram}
+     */
+    public LogLinearHistogram batchSize() {
+        return this.batchSize;
+    }
+
+    /**
+     * The time the first record of each micro-batch waited for the delivery, see {@link BatchDispatcher}.
+     *
+     * @return {@link LogLinearHistogram}
+     */
+    public LogLinearHistogram batchWaitMs() {
+        return this.batchWaitMs;
+    }
+
+    public long records() {
+        return this.records.get();
+    }
+
+    public long failures() {
+        return this.failures.get();
+    }
+
+    public long commits() {
+        return this.commits.get();
+    }
+
+    // ----------------------------------------------------------------
+
+    void onPoll(long latencyMs) {
+        this.pollLatencyMs.record(latencyMs);
+    }
+
+    void onProcessed(long latencyMicros, boolean failed) {
+        this.onProcessed(latencyMicros, 1, failed);
+    }
+
+    void onProcessed(long latencyMicros, int records, boolean failed) {
+        this.processLatencyMicros.record(latencyMicros);
+        this.records.addAndGet(records);
+        if (failed) {
+            this.failures.incrementAndGet();
+        }
+    }
+
+    void onBatch(int records, long waitMs) {
+        this.batchSize.record(records);
+        this.batchWaitMs.record(waitMs);
+    }
+
+    void onCommit() {
+        this.commits.incrementAndGet();
+    }
+}
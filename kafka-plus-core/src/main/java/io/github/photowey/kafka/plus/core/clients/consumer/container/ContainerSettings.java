@@ -0,0 +1,236 @@
+/*
+ * Copyright © 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.kafka.plus.core.clients.consumer.container;
+
+import io.github.photowey.kafka.plus.core.exception.KafkaPlusRuntimeException;
+
+import static io.github.photowey.kafka.plus.core.checker.ConfigChecker.checkNotBlank;
+import static io.github.photowey.kafka.plus.core.checker.ConfigChecker.checkNotNull;
+
+/**
+ * {@code ContainerSettings}
+ * <p>
+ * The settings of a {@link ConsumerContainer}.
+ * <p>
+ * Examples:
+ * <pre>
+ * ContainerSettings settings = new ContainerSettings()
+ *    .name("orders-consumer")
+ *    .pollTimeoutMs(500)
+ *    .concurrency(16)
+ *    .shutdownTimeoutMs(30_000);
+ * </pre>
+ *
+ * @author photowey
+ * @version 3.7.0.1.6
+ * @since 2026/10/18
+ */
+public class ContainerSettings {
+
+    private static final int DEFAULT_MAX_IN_FLIGHT = 1_000;
+    private static final int DEFAULT_MAX_IN_FLIGHT_PER_PARTITION = 500;
+    private static final int DEFAULT_MAX_POLL_RECORDS = 500;
+
+    private String name = "consumer-container";
+    private long pollTimeoutMs = 1_000;
+    /**
+     * The max time {@link ConsumerContainer#close()} waits for the poll thread to commit and close the consumer.
+     */
+    private long shutdownTimeoutMs = 30_000;
+    /**
+     * The workers of each container, the records are handled by the poll thread if it's {@code 1}.
+     * |- Greater than {@code 1}: {@link KeyOrderedDispatcher}.
+     */
+    private int concurrency = 1;
+    /**
+     * The max in-flight records of each partition in the {@link KeyOrderedDispatcher}.
+     * |- Unset: {@code 1_000}, raised to fit the {@link #backpressure} high watermark plus the {@link #maxPollRecords}.
+     */
+    private int maxInFlight;
+    /**
+     * Handle each record on a virtual thread, falls back to a bounded platform pool before JDK 21.
+     * |- {@link ThreadPerRecordDispatcher}.
+     */
+    private boolean virtualThreads;
+    /**
+     * Keep the order of the records of the same key in the {@link ThreadPerRecordDispatcher}.
+     */
+    private boolean keyOrdered = true;
+    /**
+     * The max in-flight records of each partition in the {@link ThreadPerRecordDispatcher}.
+     * |- Unset: {@code 500}, raised to fit the {@link #backpressure} high watermark plus the {@link #maxPollRecords}.
+     */
+    private int maxInFlightPerPartition;
+    /**
+     * The cadence of the {@code commitAsync}, see {@link AsyncOffsetCommitter}.
+     * |- {@code 0}: {@code commitSync} after each poll.
+     */
+    private long commitIntervalMs;
+    /**
+     * Pause the partitions whose in-flight records are over the high watermark, see {@link BackpressureController}.
+     * |- The high watermark plus {@link #maxPollRecords} must fit into the {@link #maxInFlight}/{@link #maxInFlightPerPartition},
+     * so the poll thread never waits for the free slots, it's checked by the {@link ConsumerContainer}.
+     */
+    private Backpressure backpressure;
+    /**
+     * The {@code max.poll.records} of the consumer, only used to size the slots against the {@link #backpressure}.
+     * |- Set by the {@code ConsumerBuilder} from its configs.
+     */
+    private int maxPollRecords = DEFAULT_MAX_POLL_RECORDS;
+
+    // ----------------------------------------------------------------
+
+    public ContainerSettings name(String name) {
+        checkNotBlank("name", name);
+        this.name = name;
+
+        return this;
+    }
+
+    public ContainerSettings pollTimeoutMs(long pollTimeoutMs) {
+        if (pollTimeoutMs <= 0) {
+            throw new KafkaPlusRuntimeException("Illegal poll timeout: %d", pollTimeoutMs);
+        }
+        this.pollTimeoutMs = pollTimeoutMs;
+
+        return this;
+    }
+
+    public ContainerSettings shutdownTimeoutMs(long shutdownTimeoutMs) {
+        if (shutdownTimeoutMs < 0) {
+            throw new KafkaPlusRuntimeException("Illegal shutdown timeout: %d", shutdownTimeoutMs);
+        }
+        this.shutdownTimeoutMs = shutdownTimeoutMs;
+
+        return this;
+    }
+
+    public ContainerSettings concurrency(int concurrency) {
+        if (concurrency <= 0) {
+            throw new KafkaPlusRuntimeException("Illegal concurrency: %d", concurrency);
+        }
+        this.concurrency = concurrency;
+
+        return this;
+    }
+
+    public ContainerSettings maxInFlight(int maxInFlight) {
+        if (maxInFlight <= 0) {
+            throw new KafkaPlusRuntimeException("Illegal max in-flight records: %d", maxInFlight);
+        }
+        this.maxInFlight = maxInFlight;
+
+        return this;
+    }
+
+    public ContainerSettings virtualThreads(boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+
+        return this;
+    }
+
+    public ContainerSettings keyOrdered(boolean keyOrdered) {
+        this.keyOrdered = keyOrdered;
+
+        return this;
+    }
+
+    public ContainerSettings maxInFlightPerPartition(int maxInFlightPerPartition) {
+        if (maxInFlightPerPartition <= 0) {
+            throw new KafkaPlusRuntimeException("Illegal max in-flight records per partition: %d", maxInFlightPerPartition);
+        }
+        this.maxInFlightPerPartition = maxInFlightPerPartition;
+
+        return this;
+    }
+
+    public ContainerSettings commitIntervalMs(long commitIntervalMs) {
+        if (commitIntervalMs < 0) {
+            throw new KafkaPlusRuntimeException("Illegal commit interval: %d", commitIntervalMs);
+        }
+        this.commitIntervalMs = commitIntervalMs;
+
+        return this;
+    }
+
+    public ContainerSettings backpressure(Backpressure backpressure) {
+        checkNotNull("backpressure", backpressure);
+        this.backpressure = backpressure;
+
+        return this;
+    }
+
+    public ContainerSettings maxPollRecords(int maxPollRecords) {
+        if (maxPollRecords <= 0) {
+            throw new KafkaPlusRuntimeException("Illegal max poll records: %d", maxPollRecords);
+        }
+        this.maxPollRecords = maxPollRecords;
+
+        return this;
+    }
+
+    // ----------------------------------------------------------------
+
+    public String name() {
+        return name;
+    }
+
+    public long pollTimeoutMs() {
+        return pollTimeoutMs;
+    }
+
+    public long shutdownTimeoutMs() {
+        return shutdownTimeoutMs;
+    }
+
+    public int concurrency() {
+        return concurrency;
+    }
+
+    public int maxInFlight() {
+        return maxInFlight > 0 ? maxInFlight : Math.max(DEFAULT_MAX_IN_FLIGHT, this.backpressureSlots());
+    }
+
+    public boolean virtualThreads() {
+        return virtualThreads;
+    }
+
+    public boolean keyOrdered() {
+        return keyOrdered;
+    }
+
+    public int maxInFlightPerPartition() {
+        return maxInFlightPerPartition > 0 ? maxInFlightPerPartition : Math.max(DEFAULT_MAX_IN_FLIGHT_PER_PARTITION, this.backpressureSlots());
+    }
+
+    public long commitIntervalMs() {
+        return commitIntervalMs;
+    }
+
+    public Backpressure backpressure() {
+        return backpressure;
+    }
+
+    public int maxPollRecords() {
+        return maxPollRecords;
+    }
+
+    // ----------------------------------------------------------------
+
+    private int backpressureSlots() {
+        return null != backpressure ? backpressure.highWatermark() + maxPollRecords : 0;
+    }
+}
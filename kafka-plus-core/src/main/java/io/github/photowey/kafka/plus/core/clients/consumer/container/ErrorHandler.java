@@ -0,0 +1,67 @@
+/*
+ * Copyright © 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.kafka.plus.core.clients.consumer.container;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+
+/**
+ * {@code ErrorHandler}
+ * <p>
+ * Handles the failure of a {@link RecordHandler}.
+ * Returning normally skips the record (its offset is committed), throwing stops the {@link ConsumerContainer}
+ * without committing the record, so it's redelivered after the restart.
+ *
+ * @author photowey
+ * @version 3.7.0.1.6
+ * @since 2026/10/18
+ */
+@FunctionalInterface
+public interface ErrorHandler<K, V> {
+
+    /**
+     * Handle the failure.
+     *
+     * @param record the failed {@link ConsumerRecord}.
+     * @param cause  the failure.
+     * @throws Exception stops the container.
+     */
+    void handle(ConsumerRecord<K, V> record, Exception cause) throws Exception;
+
+    /**
+     * Stop the container on the first failure, the default.
+     *
+     * @param <K> the key type.
+     * @param <V> the value type.
+     * @return {@link ErrorHandler}
+     */
+    static <K, V> ErrorHandler<K, V> stop() {
+        return (record, cause) -> {
+            throw cause;
+        };
+    }
+
+    /**
+     * Skip the failed records.
+     *
+     * @param <K> the key type.
+     * @param <V> the value type.
+     * @return {@link ErrorHandler}
+     */
+    static <K, V> ErrorHandler<K, V> skip() {
+        return (record, cause) -> {
+        };
+    }
+}
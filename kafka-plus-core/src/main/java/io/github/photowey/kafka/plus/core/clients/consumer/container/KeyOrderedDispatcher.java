@@ -0,0 +1,142 @@
+/*
+ * Copyright © 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.kafka.plus.core.clients.consumer.container;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.common.TopicPartition;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import static io.github.photowey.kafka.plus.core.checker.ConfigChecker.checkNotNull;
+
+/**
+ * {@code KeyOrderedDispatcher}
+ * <p>
+ * Fans the records of a partition out to {@link ContainerSettings#concurrency()} workers:
+ * <ul>
+ *     <li>the records of the same key are handled by the same worker, in the offset order</li>
+ *     <li>the records without a key are ordered per partition</li>
+ *     <li>at most {@link ContainerSettings#maxInFlight()} records of each partition are in flight,
+ *     a slow partition can't take the slots of the others before it's paused by the backpressure</li>
+ * </ul>
+ * The offsets and the failures are handled per {@link AbstractParallelDispatcher}.
+ * <p>
+ * Note: the keys are routed by {@link Object#hashCode()}, {@link Arrays#hashCode(byte[])} for the {@code byte[]} keys.
+ *
+ * @author photowey
+ * @version 3.7.0.1.6
+ * @since 2026/10/18
+ */
+public class KeyOrderedDispatcher<K, V> extends AbstractParallelDispatcher<K, V> {
+
+    private final ExecutorService[] workers;
+    private final int window;
+
+    private final Map<TopicPartition, Semaphore> windows = new ConcurrentHashMap<>();
+
+    public KeyOrderedDispatcher(RecordHandler<K, V> handler, ErrorHandler<K, V> errorHandler, ContainerSettings settings) {
+        super(handler, errorHandler);
+        checkNotNull("settings", settings);
+
+        this.window = settings.maxInFlight();
+        this.workers = new ExecutorService[settings.concurrency()];
+        for (int i = 0; i < this.workers.length; i++) {
+            String name = "kafka-plus-" + settings.name() + "-worker-" + i;
+            this.workers[i] = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, name);
+                thread.setDaemon(true);
+
+                return thread;
+            });
+        }
+    }
+
+    // ----------------------------------------------------------------
+
+    @Override
+    public int capacity() {
+        return this.window;
+    }
+
+    @Override
+    public void dispatch(ConsumerRecords<K, V> records) throws Exception {
+        this.throwIfFailed();
+        for (ConsumerRecord<K, V> record : records) {
+            TopicPartition partition = new TopicPartition(record.topic(), record.partition());
+            Semaphore slots = this.windows.computeIfAbsent(partition, key -> new Semaphore(this.window));
+            if (!this.acquire(slots)) {
+                break;
+            }
+
+            this.tracker.track(partition, record.offset());
+            this.workers[this.worker(record)].execute(() -> this.handle(partition, record, slots));
+        }
+
+        this.throwIfFailed();
+    }
+
+    @Override
+    public void forget(Collection<TopicPartition> partitions) {
+        super.forget(partitions);
+        partitions.forEach(this.windows::remove);
+    }
+
+    @Override
+    public void close(Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        for (ExecutorService worker : this.workers) {
+            worker.shutdown();
+        }
+
+        try {
+            for (ExecutorService worker : this.workers) {
+                worker.awaitTermination(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            for (ExecutorService worker : this.workers) {
+                worker.shutdownNow();
+            }
+        }
+    }
+
+    // ----------------------------------------------------------------
+
+    private int worker(ConsumerRecord<K, V> record) {
+        Object key = record.key();
+        int hash;
+        if (null == key) {
+            hash = record.topic().hashCode() * 31 + record.partition();
+        } else if (key instanceof byte[]) {
+            hash = Arrays.hashCode((byte[]) key);
+        } else {
+            hash = key.hashCode();
+        }
+        hash ^= (hash >>> 16);
+
+        return (hash & Integer.MAX_VALUE) % this.workers.length;
+    }
+}
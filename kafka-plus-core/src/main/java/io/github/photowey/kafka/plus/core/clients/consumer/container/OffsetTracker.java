@@ -0,0 +1,128 @@
+/*
+ * Copyright © 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.kafka.plus.core.clients.consumer.container;
+
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * {@code OffsetTracker}
+ * <p>
+ * Tracks the in-flight offsets of each partition, which are completed out of order,
+ * the committable offset of a partition is its lowest in-flight offset,
+ * or the next offset of the last tracked record if all of them are completed.
+ * <p>
+ * Note: {@link #track(TopicPartition, long)}, {@link #committable()} and {@link #forget(Collection)} are invoked by the poll thread only,
+ * {@link #complete(TopicPartition, long)} by any worker.
+ *
+ * @author photowey
+ * @version 3.7.0.1.6
+ * @since 2026/10/18
+ */
+public class OffsetTracker {
+
+    private final ConcurrentMap<TopicPartition, PartitionOffsets> partitions = new ConcurrentHashMap<>();
+
+    /**
+     * Track a dispatched record, the offsets of a partition are tracked in the ascending order.
+     *
+     * @param partition the {@link TopicPartition}.
+     * @param offset    the offset of the record.
+     */
+    public void track(TopicPartition partition, long offset) {
+        PartitionOffsets offsets = this.partitions.computeIfAbsent(partition, key -> new PartitionOffsets());
+        offsets.pending.add(offset);
+        offsets.next = offset + 1;
+    }
+
+    /**
+     * Complete a handled record.
+     *
+     * @param partition the {@link TopicPartition}.
+     * @param offset    the offset of the record.
+     */
+    public void complete(TopicPartition partition, long offset) {
+        PartitionOffsets offsets = this.partitions.get(partition);
+        if (null != offsets) {
+            offsets.pending.remove(offset);
+        }
+    }
+
+    /**
+     * Forget the revoked or lost partitions.
+     *
+     * @param partitions the partitions.
+     */
+    public void forget(Collection<TopicPartition> partitions) {
+        partitions.forEach(this.partitions::remove);
+    }
+
+    /**
+     * The highest contiguous completed offsets.
+     *
+     * @return the committable offsets.
+     */
+    public Map<TopicPartition, OffsetAndMetadata> committable() {
+        Map<TopicPartition, OffsetAndMetadata> committable = new HashMap<>(this.partitions.size());
+        this.partitions.forEach((partition, offsets) -> {
+            Long lowest = offsets.pending.ceiling(Long.MIN_VALUE);
+            committable.put(partition, new OffsetAndMetadata(null == lowest ? offsets.next : lowest));
+        });
+
+        return committable;
+    }
+
+    /**
+     * The count of the in-flight records of a partition.
+     *
+     * @param partition the {@link TopicPartition}.
+     * @return the in-flight records.
+     */
+    public int inFlight(TopicPartition partition) {
+        PartitionOffsets offsets = this.partitions.get(partition);
+
+        return null == offsets ? 0 : offsets.pending.size();
+    }
+
+    /**
+     * The count of the in-flight records.
+     *
+     * @return the in-flight records.
+     */
+    public int inFlight() {
+        int inFlight = 0;
+        for (PartitionOffsets offsets : this.partitions.values()) {
+            inFlight += offsets.pending.size();
+        }
+
+        return inFlight;
+    }
+
+    // ----------------------------------------------------------------
+
+    private static final class PartitionOffsets {
+
+        private final ConcurrentSkipListSet<Long> pending = new ConcurrentSkipListSet<>();
+        private volatile long next;
+    }
+}
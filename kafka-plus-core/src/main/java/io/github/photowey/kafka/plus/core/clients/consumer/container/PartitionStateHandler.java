@@ -0,0 +1,57 @@
+/*
+ * Copyright © 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.kafka.plus.core.clients.consumer.container;
+
+import org.apache.kafka.common.TopicPartition;
+
+/**
+ * {@code PartitionStateHandler}
+ * <p>
+ * The lifecycle of the local state of a partition, e.g.: a cache, driven by a {@link PartitionStateListener}.
+ *
+ * @author photowey
+ * @version 3.7.0.1.6
+ * @since 2026/10/18
+ */
+public interface PartitionStateHandler<S> {
+
+    /**
+     * Load (warm) the state of a newly assigned partition, invoked in parallel with the other partitions.
+     *
+     * @param partition the {@link TopicPartition}.
+     * @return the state.
+     * @throws Exception the failure, which fails the poll.
+     */
+    S load(TopicPartition partition) throws Exception;
+
+    /**
+     * Flush the state of a revoked partition, its records are handled and committed already.
+     *
+     * @param partition the {@link TopicPartition}.
+     * @param state     the state.
+     * @throws Exception the failure, which fails the poll.
+     */
+    void flush(TopicPartition partition, S state) throws Exception;
+
+    /**
+     * Discard the state of a lost partition, it's owned by others already.
+     *
+     * @param partition the {@link TopicPartition}.
+     * @param state     the state.
+     */
+    default void discard(TopicPartition partition, S state) {
+    }
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright © 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.kafka.plus.core.clients.consumer.container;
+
+import io.github.photowey.kafka.plus.core.exception.KafkaPlusRuntimeException;
+import org.apache.kafka.clients.consumer.ConsumerRebalanceListener;
+import org.apache.kafka.clients.consumer.CooperativeStickyAssignor;
+import org.apache.kafka.common.TopicPartition;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static io.github.photowey.kafka.plus.core.checker.ConfigChecker.checkNotNull;
+
+/**
+ * {@code PartitionStateListener}
+ * <p>
+ * Keeps the local state of each assigned partition across the rebalances:
+ * <ul>
+ *     <li>assigned: loads the states of the newly assigned partitions in parallel, the retained ones are kept</li>
+ *     <li>revoked: flushes the states of the revoked partitions in parallel and drops them</li>
+ *     <li>lost: discards the states without flushing</li>
+ * </ul>
+ * With the {@link CooperativeStickyAssignor} (the default of the consumers built with a rebalance listener),
+ * only the moved partitions are revoked and assigned, the others keep their states and keep being consumed.
+ * <p>
+ * Examples:
+ * <pre>
+ * PartitionStateListener&lt;Cache&gt; states = new PartitionStateListener&lt;&gt;(handler);
+ * ConsumerContainer&lt;String, String&gt; container = consumerService.createConsumer()
+ *    // ...
+ *    .rebalanceListener(states)
+ *    .buildContainer(record -&gt; states.state(new TopicPartition(record.topic(), record.partition())).apply(record));
+ * </pre>
+ *
+ * @author photowey
+ * @version 3.7.0.1.6
+ * @since 2026/10/18
+ */
+public class PartitionStateListener<S> implements ConsumerRebalanceListener, Closeable {
+
+    public static final long DEFAULT_TIMEOUT_MS = 60_000L;
+
+    private final PartitionStateHandler<S> handler;
+    private final long timeoutMs;
+    private final ExecutorService executor;
+
+    private final Map<TopicPartition, S> states = new ConcurrentHashMap<>();
+    private final AtomicLong loads = new AtomicLong();
+    private final AtomicLong flushes = new AtomicLong();
+
+    public PartitionStateListener(PartitionStateHandler<S> handler) {
+        this(handler, Runtime.getRuntime().availableProcessors(), DEFAULT_TIMEOUT_MS);
+    }
+
+    public PartitionStateListener(PartitionStateHandler<S> handler, int parallelism, long timeoutMs) {
+        checkNotNull("handler", handler);
+        if (parallelism <= 0 || timeoutMs <= 0) {
+            throw new KafkaPlusRuntimeException(
+                    "Illegal partition state arguments: parallelism=%d, timeoutMs=%d", parallelism, timeoutMs);
+        }
+
+        this.handler = handler;
+        this.timeoutMs = timeoutMs;
+
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "kafka-plus-partition-state-" + counter.getAndIncrement());
+            thread.setDaemon(true);
+
+            return thread;
+        });
+    }
+
+    // ----------------------------------------------------------------
+
+    @Override
+    public void onPartitionsAssigned(Collection<TopicPartition> partitions) {
+        List<TopicPartition> assigned = new ArrayList<>(partitions.size());
+        for (TopicPartition partition : partitions) {
+            if (!this.states.containsKey(partition)) {
+                assigned.add(partition);
+            }
+        }
+
+        this.parallel(assigned, "load", partition -> {
+            this.states.put(partition, this.handler.load(partition));
+            this.loads.incrementAndGet();
+        });
+    }
+
+    @Override
+    public void onPartitionsRevoked(Collection<TopicPartition> partitions) {
+        this.parallel(partitions, "flush", partition -> {
+            S state = this.states.remove(partition);
+            if (null != state) {
+                this.handler.flush(partition, state);
+                this.flushes.incrementAndGet();
+            }
+        });
+    }
+
+    @Override
+    public void onPartitionsLost(Collection<TopicPartition> partitions) {
+        for (TopicPartition partition : partitions) {
+            S state = this.states.remove(partition);
+            if (null != state) {
+                this.handler.discard(partition, state);
+            }
+        }
+    }
+
+    // ----------------------------------------------------------------
+
+    /**
+     * The state of an assigned partition.
+     *
+     * @param partition the {@link TopicPartition}.
+     * @return the state, {@code null} if the partition isn't assigned.
+     */
+    public S state(TopicPartition partition) {
+        return this.states.get(partition);
+    }
+
+    public Map<TopicPartition, S> states() {
+        return Collections.unmodifiableMap(this.states);
+    }
+
+    public long loads() {
+        return this.loads.get();
+    }
+
+    public long flushes() {
+        return this.flushes.get();
+    }
+
+    @Override
+    public void close() {
+        this.executor.shutdownNow();
+    }
+
+    // ----------------------------------------------------------------
+
+    private void parallel(Collection<TopicPartition> partitions, String action, PartitionTask task) {
+        if (partitions.isEmpty()) {
+            return;
+        }
+
+        Map<TopicPartition, CompletableFuture<Void>> futures = new ConcurrentHashMap<>();
+        for (TopicPartition partition : partitions) {
+            futures.put(partition, CompletableFuture.runAsync(() -> {
+                try {
+                    task.run(partition);
+                } catch (Exception e) {
+                    throw new KafkaPlusRuntimeException(e);
+                }
+            }, this.executor));
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(this.timeoutMs);
+        for (Map.Entry<TopicPartition, CompletableFuture<Void>> entry : futures.entrySet()) {
+            try {
+                entry.getValue().get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (ExecutionException e) {
+                Throwable cause = null != e.getCause().getCause() ? e.getCause().getCause() : e.getCause();
+                throw new KafkaPlusRuntimeException(cause, "Failed to %s the state of the partition: %s", action, entry.getKey());
+            } catch (TimeoutException e) {
+                throw new KafkaPlusRuntimeException(e, "Timed out to %s the state of the partition: %s", action, entry.getKey());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new KafkaPlusRuntimeException(e, "Interrupted to %s the state of the partition: %s", action, entry.getKey());
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface PartitionTask {
+
+        void run(TopicPartition partition) throws Exception;
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright © 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.kafka.plus.core.clients.consumer.container;
+
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * {@code RecordDispatcher}
+ * <p>
+ * Dispatches the records polled by a {@link ConsumerContainer} to the handler,
+ * all the methods are invoked by the poll thread, except {@link #wakeup()}.
+ *
+ * @author photowey
+ * @version 3.7.0.1.6
+ * @since 2026/10/18
+ */
+public interface RecordDispatcher<K, V> {
+
+    /**
+     * Dispatch the polled records, returns when the records are handled or accepted.
+     *
+     * @param records the polled records.
+     * @throws Exception the failure, which stops the container.
+     */
+    void dispatch(ConsumerRecords<K, V> records) throws Exception;
+
+    /**
+     * The next offsets which are safe to commit, all the records before them are handled.
+     * |- The {@link ConsumerContainer} commits the changed ones only.
+     *
+     * @return the committable offsets.
+     */
+    Map<TopicPartition, OffsetAndMetadata> committable();
+
+    /**
+     * The metrics of the dispatcher, shared with the {@link ConsumerContainer}.
+     *
+     * @return {@link ContainerMetrics}
+     */
+    ContainerMetrics metrics();
+
+    /**
+     * The records of a partition which are dispatched but not handled yet, see {@link BackpressureController}.
+     *
+     * @param partition the {@link TopicPartition}.
+     * @return the queued records, {@code 0} if the records are handled on the poll thread.
+     */
+    default int depth(TopicPartition partition) {
+        return 0;
+    }
+
+    /**
+     * The records of a partition which can be in flight before the poll thread waits for a free slot,
+     * the {@link Backpressure#highWatermark()} plus the {@code max.poll.records} must fit into it.
+     *
+     * @return the capacity, {@link Integer#MAX_VALUE} if the poll thread never waits.
+     */
+    default int capacity() {
+        return Integer.MAX_VALUE;
+    }
+
+    /**
+     * The timeout of the next poll.
+     *
+     * @param pollTimeoutMs the {@link ContainerSettings#pollTimeoutMs()}.
+     * @return the poll timeout.
+     */
+    default long pollTimeoutMs(long pollTimeoutMs) {
+        return pollTimeoutMs;
+    }
+
+    /**
+     * Wait for the in-flight records of the revoked partitions, their final offsets are committed after.
+     *
+     * @param partitions the revoked partitions.
+     * @param timeout    the max time to wait.
+     */
+    default void drain(Collection<TopicPartition> partitions, Duration timeout) {
+    }
+
+    /**
+     * Forget the revoked or lost partitions, they are committed by their new owners.
+     *
+     * @param partitions the partitions.
+     */
+    void forget(Collection<TopicPartition> partitions);
+
+    /**
+     * Stop dispatching the rest of the current records, invoked by {@link ConsumerContainer#stop(Duration)}.
+     */
+    default void wakeup() {
+    }
+
+    /**
+     * Wait for the in-flight records and release the resources, the final offsets are committed after.
+     *
+     * @param timeout the max time to wait.
+     */
+    default void close(Duration timeout) {
+    }
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright © 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.kafka.plus.core.clients.consumer.container;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+
+/**
+ * {@code RecordHandler}
+ * <p>
+ * Handles the records dispatched by a {@link ConsumerContainer}.
+ *
+ * @author photowey
+ * @version 3.7.0.1.6
+ * @since 2026/10/18
+ */
+@FunctionalInterface
+public interface RecordHandler<K, V> {
+
+    /**
+     * Handle a record, its offset is committed after this method returns.
+     *
+     * @param record the {@link ConsumerRecord}.
+     * @throws Exception the failure, handed to the {@link ErrorHandler}.
+     */
+    void handle(ConsumerRecord<K, V> record) throws Exception;
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright © 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.kafka.plus.core.clients.consumer.container;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * {@code SerialDispatcher}
+ * <p>
+ * Handles the records on the poll thread, one by one, the default {@link RecordDispatcher}.
+ *
+ * @author photowey
+ * @version 3.7.0.1.6
+ * @since 2026/10/18
+ */
+public class SerialDispatcher<K, V> extends AbstractRecordDispatcher<K, V> {
+
+    /**
+     * The next offsets of the handled records, only accessed by the poll thread.
+     */
+    private final Map<TopicPartition, OffsetAndMetadata> offsets = new HashMap<>();
+
+    private volatile boolean woken;
+
+    public SerialDispatcher(RecordHandler<K, V> handler, ErrorHandler<K, V> errorHandler) {
+        super(handler, errorHandler);
+    }
+
+    @Override
+    public void dispatch(ConsumerRecords<K, V> records) throws Exception {
+        for (ConsumerRecord<K, V> record : records) {
+            if (this.woken) {
+                break;
+            }
+
+            this.invoke(record);
+            this.offsets.put(new TopicPartition(record.topic(), record.partition()), new OffsetAndMetadata(record.offset() + 1));
+        }
+    }
+
+    @Override
+    public Map<TopicPartition, OffsetAndMetadata> committable() {
+        return this.offsets;
+    }
+
+    @Override
+    public void forget(Collection<TopicPartition> partitions) {
+        partitions.forEach(this.offsets::remove);
+    }
+
+    @Override
+    public void wakeup() {
+        this.woken = true;
+    }
+}
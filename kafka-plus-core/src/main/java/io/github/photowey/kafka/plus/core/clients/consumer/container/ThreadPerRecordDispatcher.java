@@ -0,0 +1,226 @@
+/*
+ * Copyright © 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.kafka.plus.core.clients.consumer.container;
+
+import io.github.photowey.kafka.plus.core.exception.KafkaPlusRuntimeException;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.common.TopicPartition;
+
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.github.photowey.kafka.plus.core.checker.ConfigChecker.checkNotNull;
+
+/**
+ * {@code ThreadPerRecordDispatcher}
+ * <p>
+ * Handles each record on its own virtual thread on JDK 21+, for the I/O bound handlers:
+ * <ul>
+ *     <li>{@link ContainerSettings#keyOrdered()}: the records of the same key are chained in the offset order,
+ *     the records without a key are ordered per partition, otherwise all the records run concurrently</li>
+ *     <li>at most {@link ContainerSettings#maxInFlightPerPartition()} records of each partition are in flight</li>
+ * </ul>
+ * On the older JDKs, it falls back to a bounded platform pool of
+ * {@code max(}{@link ContainerSettings#concurrency()}{@code , availableProcessors)} threads.
+ * The offsets and the failures are handled per {@link AbstractParallelDispatcher}.
+ *
+ * @author photowey
+ * @version 3.7.0.1.6
+ * @since 2026/10/18
+ */
+public class ThreadPerRecordDispatcher<K, V> extends AbstractParallelDispatcher<K, V> {
+
+    private static final boolean VIRTUAL_THREADS_SUPPORTED = null != virtualThreadFactory("kafka-plus-probe-");
+
+    private final ExecutorService executor;
+    private final boolean virtual;
+    private final boolean keyOrdered;
+    private final int window;
+
+    private final Map<TopicPartition, Semaphore> windows = new ConcurrentHashMap<>();
+    /**
+     * The last in-flight record of each key group.
+     */
+    private final Map<Object, CompletableFuture<Void>> tails = new ConcurrentHashMap<>();
+
+    public ThreadPerRecordDispatcher(RecordHandler<K, V> handler, ErrorHandler<K, V> errorHandler, ContainerSettings settings) {
+        super(handler, errorHandler);
+        checkNotNull("settings", settings);
+
+        String prefix = "kafka-plus-" + settings.name() + "-worker-";
+        ThreadFactory factory = virtualThreadFactory(prefix);
+        this.virtual = null != factory;
+        this.executor = this.virtual
+                ? newThreadPerTaskExecutor(factory)
+                : Executors.newFixedThreadPool(Math.max(settings.concurrency(), Runtime.getRuntime().availableProcessors()),
+                platformThreadFactory(prefix));
+        this.keyOrdered = settings.keyOrdered();
+        this.window = settings.maxInFlightPerPartition();
+    }
+
+    // ----------------------------------------------------------------
+
+    /**
+     * Whether the virtual threads are supported by the running JDK.
+     *
+     * @return {@code true} on JDK 21+.
+     */
+    public static boolean virtualThreadsSupported() {
+        return VIRTUAL_THREADS_SUPPORTED;
+    }
+
+    /**
+     * Whether the records are handled on the virtual threads.
+     *
+     * @return {@code false} if it falls back to the platform pool.
+     */
+    public boolean virtual() {
+        return this.virtual;
+    }
+
+    // ----------------------------------------------------------------
+
+    @Override
+    public int capacity() {
+        return this.window;
+    }
+
+    @Override
+    public void dispatch(ConsumerRecords<K, V> records) throws Exception {
+        this.throwIfFailed();
+        for (ConsumerRecord<K, V> record : records) {
+            TopicPartition partition = new TopicPartition(record.topic(), record.partition());
+            Semaphore slots = this.windows.computeIfAbsent(partition, key -> new Semaphore(this.window));
+            if (!this.acquire(slots)) {
+                break;
+            }
+
+            this.tracker.track(partition, record.offset());
+            Runnable task = () -> this.handle(partition, record, slots);
+            if (!this.keyOrdered) {
+                this.executor.execute(task);
+                continue;
+            }
+
+            Object group = this.group(partition, record);
+            CompletableFuture<Void> previous = this.tails.get(group);
+            CompletableFuture<Void> tail = null == previous
+                    ? CompletableFuture.runAsync(task, this.executor)
+                    : previous.thenRunAsync(task, this.executor);
+            this.tails.put(group, tail);
+            tail.whenComplete((ignored, cause) -> this.tails.remove(group, tail));
+        }
+
+        this.throwIfFailed();
+    }
+
+    @Override
+    public void forget(Collection<TopicPartition> partitions) {
+        super.forget(partitions);
+        partitions.forEach(this.windows::remove);
+    }
+
+    @Override
+    public void close(Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        try {
+            // The chained records are submitted by their predecessors, wait for them before the shutdown.
+            for (CompletableFuture<Void> tail : this.tails.values()) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    break;
+                }
+                try {
+                    tail.get(remaining, TimeUnit.NANOSECONDS);
+                } catch (Exception ignored) {
+                    // Timed out, or the record is skipped.
+                }
+            }
+
+            this.executor.shutdown();
+            this.executor.awaitTermination(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            this.executor.shutdownNow();
+        }
+    }
+
+    // ----------------------------------------------------------------
+
+    private Object group(TopicPartition partition, ConsumerRecord<K, V> record) {
+        Object key = record.key();
+        if (null == key) {
+            return partition;
+        }
+        if (key instanceof byte[]) {
+            return ByteBuffer.wrap((byte[]) key);
+        }
+
+        return key;
+    }
+
+    private static ThreadFactory platformThreadFactory(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.getAndIncrement());
+            thread.setDaemon(true);
+
+            return thread;
+        };
+    }
+
+    /**
+     * {@code Thread.ofVirtual().name(prefix, 0).factory()}, by reflection, the project targets Java 8.
+     *
+     * @param prefix the name prefix.
+     * @return {@link ThreadFactory}, {@code null} if the virtual threads aren't supported.
+     */
+    private static ThreadFactory virtualThreadFactory(String prefix) {
+        try {
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder = builderType.getMethod("name", String.class, long.class).invoke(builder, prefix, 0L);
+
+            return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+        } catch (Throwable e) {
+            return null;
+        }
+    }
+
+    private static ExecutorService newThreadPerTaskExecutor(ThreadFactory factory) {
+        try {
+            Method method = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+
+            return (ExecutorService) method.invoke(null, factory);
+        } catch (ReflectiveOperationException e) {
+            throw new KafkaPlusRuntimeException(e, "The virtual threads are not supported.");
+        }
+    }
+}
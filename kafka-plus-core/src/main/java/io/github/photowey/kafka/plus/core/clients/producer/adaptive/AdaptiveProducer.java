@@ -0,0 +1,384 @@
+/*
+ * Copyright © 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.kafka.plus.core.clients.producer.adaptive;
+
+import io.github.photowey.kafka.plus.core.clients.producer.metric.ProducerMetricReader;
+import io.github.photowey.kafka.plus.core.enums.Kafka;
+import io.github.photowey.kafka.plus.core.exception.KafkaPlusRuntimeException;
+import org.apache.kafka.clients.consumer.ConsumerGroupMetadata;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.producer.Callback;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.Metric;
+import org.apache.kafka.common.MetricName;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.Uuid;
+import org.apache.kafka.common.errors.InterruptException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static io.github.photowey.kafka.plus.core.checker.ConfigChecker.checkNotNull;
+
+/**
+ * {@code AdaptiveProducer}
+ * <p>
+ * A {@link Producer} which periodically samples the metrics of its current producer
+ * ({@code batch-size-avg}, {@code record-queue-time-avg}, {@code request-latency-avg})
+ * and reroutes the sends to a rebuilt producer when {@link AdaptiveTuner} picks
+ * better fitting {@code linger.ms}/{@code batch.size} values.
+ * <p>
+ * The retired producer is closed by the tuner thread after the in-progress sends on it returned,
+ * {@link Producer#close()} waits for its in-flight records. {@link #flush()} and {@link #close(Duration)} wait for that close as well.
+ * <p>
+ * Note: the serializer instances are closed together with every retired producer,
+ * prefer the serializer classes when building an adaptive producer. The transactional methods are not supported.
+ *
+ * @author photowey
+ * @version 3.7.0.1.6
+ * @since 2026/10/18
+ */
+public class AdaptiveProducer<K, V> implements Producer<K, V> {
+
+    private final AdaptiveTuning tuning;
+    private final AdaptiveTuner tuner;
+    private final Function<AdaptiveTuner.Settings, Producer<K, V>> factory;
+
+    private final ScheduledExecutorService scheduler;
+    private final AtomicBoolean closed = new AtomicBoolean(false);
+
+    private volatile Generation<K, V> current;
+    private volatile Generation<K, V> retiring;
+    private volatile long lastRebuildMillis;
+    private volatile boolean skipNextSample;
+
+    public AdaptiveProducer(
+            AdaptiveTuning tuning, AdaptiveTuner.Settings initial, Function<AdaptiveTuner.Settings, Producer<K, V>> factory) {
+        checkNotNull("tuning", tuning);
+        checkNotNull("initial", initial);
+        checkNotNull("factory", factory);
+
+        this.tuning = tuning;
+        this.tuner = new AdaptiveTuner(tuning);
+        this.factory = factory;
+        this.current = new Generation<>(factory.apply(initial), initial);
+        this.lastRebuildMillis = System.currentTimeMillis();
+
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "kafka-plus-adaptive-producer-tuner");
+            thread.setDaemon(true);
+
+            return thread;
+        });
+        this.scheduler.scheduleWithFixedDelay(
+                this::tuneQuietly, tuning.samplePeriodMs(), tuning.samplePeriodMs(), TimeUnit.MILLISECONDS);
+    }
+
+    // ----------------------------------------------------------------
+
+    /**
+     * The current {@code linger.ms}/{@code batch.size}.
+     *
+     * @return {@link AdaptiveTuner.Settings}
+     */
+    public AdaptiveTuner.Settings settings() {
+        return this.current.settings;
+    }
+
+    /**
+     * Sample the metrics and reroute to a rebuilt producer if necessary.
+     * |- Invoked by the tuner thread every {@link AdaptiveTuning#samplePeriodMs()}.
+     *
+     * @return {@code true} if rerouted.
+     */
+    public boolean tune() {
+        Generation<K, V> retired;
+        synchronized (this) {
+            if (this.closed.get()) {
+                return false;
+            }
+            if (this.skipNextSample) {
+                // The windowed metrics of a fresh producer are not representative yet.
+                this.skipNextSample = false;
+
+                return false;
+            }
+            if (System.currentTimeMillis() - this.lastRebuildMillis < this.tuning.cooldownMs()) {
+                return false;
+            }
+
+            Generation<K, V> generation = this.current;
+            AdaptiveTuner.Settings next = this.tuner.decide(generation.settings, generation.sample());
+            if (next.equals(generation.settings)) {
+                return false;
+            }
+
+            retired = this.reroute(generation, new Generation<>(this.factory.apply(next), next));
+        }
+
+        // Outside the lock: close() isn't blocked by the in-progress sends on the retired producer.
+        this.retire(retired);
+
+        return true;
+    }
+
+    // ----------------------------------------------------------------
+
+    @Override
+    public Future<RecordMetadata> send(ProducerRecord<K, V> record) {
+        return this.send(record, null);
+    }
+
+    @Override
+    public Future<RecordMetadata> send(ProducerRecord<K, V> record, Callback callback) {
+        Generation<K, V> generation = this.acquire();
+        try {
+            return generation.producer.send(record, callback);
+        } finally {
+            generation.release();
+        }
+    }
+
+    @Override
+    public void flush() {
+        Generation<K, V> generation = this.acquire();
+        try {
+            generation.producer.flush();
+        } finally {
+            generation.release();
+        }
+
+        // The records sent before the reroute are completed by the close of the retired producer.
+        Generation<K, V> retired = this.retiring;
+        if (null != retired) {
+            try {
+                retired.closed.await();
+            } catch (InterruptedException e) {
+                throw new InterruptException(e);
+            }
+        }
+    }
+
+    @Override
+    public List<PartitionInfo> partitionsFor(String topic) {
+        Generation<K, V> generation = this.acquire();
+        try {
+            return generation.producer.partitionsFor(topic);
+        } finally {
+            generation.release();
+        }
+    }
+
+    @Override
+    public Map<MetricName, ? extends Metric> metrics() {
+        return this.current.producer.metrics();
+    }
+
+    @Override
+    public Uuid clientInstanceId(Duration timeout) {
+        return this.current.producer.clientInstanceId(timeout);
+    }
+
+    // ----------------------------------------------------------------
+
+    @Override
+    public void initTransactions() {
+        throw this.transactionUnsupported();
+    }
+
+    @Override
+    public void beginTransaction() {
+        throw this.transactionUnsupported();
+    }
+
+    @Override
+    @Deprecated
+    public void sendOffsetsToTransaction(Map<TopicPartition, OffsetAndMetadata> offsets, String consumerGroupId) {
+        throw this.transactionUnsupported();
+    }
+
+    @Override
+    public void sendOffsetsToTransaction(Map<TopicPartition, OffsetAndMetadata> offsets, ConsumerGroupMetadata groupMetadata) {
+        throw this.transactionUnsupported();
+    }
+
+    @Override
+    public void commitTransaction() {
+        throw this.transactionUnsupported();
+    }
+
+    @Override
+    public void abortTransaction() {
+        throw this.transactionUnsupported();
+    }
+
+    // ----------------------------------------------------------------
+
+    @Override
+    public void close() {
+        this.close(null);
+    }
+
+    @Override
+    public synchronized void close(Duration timeout) {
+        if (!this.closed.compareAndSet(false, true)) {
+            return;
+        }
+
+        long deadline = null != timeout ? System.nanoTime() + timeout.toNanos() : Long.MAX_VALUE;
+        // Not shutdownNow(): the interrupt would abort the close of a retired producer on the tuner thread.
+        this.scheduler.shutdown();
+        Generation<K, V> generation = this.current;
+        if (null != timeout) {
+            generation.producer.close(timeout);
+        } else {
+            generation.producer.close();
+        }
+
+        // The records accepted by the retired producer before the reroute are completed by its close.
+        Generation<K, V> retired = this.retiring;
+        if (null != retired) {
+            try {
+                if (null != timeout) {
+                    retired.closed.await(Math.max(0L, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                } else {
+                    retired.closed.await();
+                }
+            } catch (InterruptedException e) {
+                throw new InterruptException(e);
+            }
+        }
+    }
+
+    // ----------------------------------------------------------------
+
+    private void tuneQuietly() {
+        try {
+            this.tune();
+        } catch (Exception ignored) {
+            // Keep the current producer and retry on the next period.
+        }
+    }
+
+    private Generation<K, V> acquire() {
+        while (true) {
+            Generation<K, V> generation = this.current;
+            generation.users.incrementAndGet();
+            if (generation == this.current) {
+                return generation;
+            }
+
+            // Lost the race with reroute(), retry on the new generation.
+            generation.release();
+        }
+    }
+
+    private Generation<K, V> reroute(Generation<K, V> retired, Generation<K, V> next) {
+        this.retiring = retired;
+        this.current = next;
+        this.lastRebuildMillis = System.currentTimeMillis();
+        this.skipNextSample = true;
+        retired.retire();
+
+        return retired;
+    }
+
+    private void retire(Generation<K, V> retired) {
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    // Counted down by the last in-progress user, no busy-spin.
+                    retired.drained.await();
+                    break;
+                } catch (InterruptedException e) {
+                    // The retired producer is closed anyway.
+                    interrupted = true;
+                }
+            }
+
+            retired.producer.close();
+        } finally {
+            retired.closed.countDown();
+            if (this.retiring == retired) {
+                this.retiring = null;
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private KafkaPlusRuntimeException transactionUnsupported() {
+        return new KafkaPlusRuntimeException("The adaptive producer doesn't support transactions.");
+    }
+
+    // ----------------------------------------------------------------
+
+    private static class Generation<K, V> {
+
+        private final Producer<K, V> producer;
+        private final AdaptiveTuner.Settings settings;
+        private final ProducerMetricReader metricReader;
+        private final AtomicInteger users = new AtomicInteger();
+        private final CountDownLatch drained = new CountDownLatch(1);
+        private final CountDownLatch closed = new CountDownLatch(1);
+        private volatile boolean retired;
+
+        Generation(Producer<K, V> producer, AdaptiveTuner.Settings settings) {
+            this.producer = producer;
+            this.settings = settings;
+            this.metricReader = new ProducerMetricReader(producer);
+        }
+
+        void release() {
+            if (0 == this.users.decrementAndGet() && this.retired) {
+                this.drained.countDown();
+            }
+        }
+
+        /**
+         * Invoked after this generation is no longer the current one,
+         * the users acquired from now on are the ones losing the race in {@code acquire()} only.
+         */
+        void retire() {
+            this.retired = true;
+            if (0 == this.users.get()) {
+                this.drained.countDown();
+            }
+        }
+
+        AdaptiveTuner.Sample sample() {
+            return new AdaptiveTuner.Sample(
+                    this.metricReader.read(Kafka.Producer.Metric.BATCH_SIZE_AVG),
+                    this.metricReader.read(Kafka.Producer.Metric.RECORD_QUEUE_TIME_AVG),
+                    this.metricReader.read(Kafka.Producer.Metric.REQUEST_LATENCY_AVG)
+            );
+        }
+    }
+}
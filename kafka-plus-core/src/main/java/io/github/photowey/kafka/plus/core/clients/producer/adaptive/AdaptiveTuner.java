@@ -0,0 +1,163 @@
+/*
+ * Copyright © 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.kafka.plus.core.clients.producer.adaptive;
+
+import static io.github.photowey.kafka.plus.core.checker.ConfigChecker.checkNotNull;
+
+/**
+ * {@code AdaptiveTuner}
+ * <p>
+ * Decides the next {@code linger.ms}/{@code batch.size} from a metrics sample:
+ * <ul>
+ *     <li>over the latency SLO: halve {@code linger.ms}</li>
+ *     <li>well under the SLO and the batches are full: double {@code batch.size}</li>
+ *     <li>well under the SLO and the batches are sparse: double {@code linger.ms}, capped by the remaining budget</li>
+ * </ul>
+ *
+ * @author photowey
+ * @version 3.7.0.1.6
+ * @since 2026/10/18
+ */
+public class AdaptiveTuner {
+
+    static final double HEADROOM = 0.5D;
+    static final double FULL_BATCH = 0.9D;
+    static final double SPARSE_BATCH = 0.5D;
+
+    private final AdaptiveTuning tuning;
+
+    public AdaptiveTuner(AdaptiveTuning tuning) {
+        checkNotNull("tuning", tuning);
+        this.tuning = tuning;
+    }
+
+    public Settings initial(long lingerMs, long batchSize) {
+        return this.clamp(lingerMs, batchSize);
+    }
+
+    public Settings decide(Settings current, Sample sample) {
+        if (!sample.valid()) {
+            return current;
+        }
+
+        double latency = sample.recordQueueTimeAvg() + sample.requestLatencyAvg();
+        double fill = sample.batchSizeAvg() / current.batchSize();
+
+        long lingerMs = current.lingerMs();
+        long batchSize = current.batchSize();
+
+        long slo = this.tuning.latencySloMs();
+        if (latency > slo) {
+            lingerMs = lingerMs / 2;
+        } else if (latency < slo * HEADROOM) {
+            if (fill >= FULL_BATCH) {
+                batchSize = batchSize * 2;
+            } else if (fill < SPARSE_BATCH) {
+                long budget = (long) (slo - sample.requestLatencyAvg());
+                lingerMs = Math.min(Math.max(1, lingerMs * 2), budget);
+            }
+        }
+
+        return this.clamp(lingerMs, batchSize);
+    }
+
+    private Settings clamp(long lingerMs, long batchSize) {
+        long linger = Math.max(this.tuning.minLingerMs(), Math.min(this.tuning.maxLingerMs(), lingerMs));
+        long batch = Math.max(this.tuning.minBatchSize(), Math.min(this.tuning.maxBatchSize(), batchSize));
+
+        return new Settings(linger, batch);
+    }
+
+    // ----------------------------------------------------------------
+
+    public static final class Settings {
+
+        private final long lingerMs;
+        private final long batchSize;
+
+        public Settings(long lingerMs, long batchSize) {
+            this.lingerMs = lingerMs;
+            this.batchSize = batchSize;
+        }
+
+        public long lingerMs() {
+            return lingerMs;
+        }
+
+        public long batchSize() {
+            return batchSize;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Settings that = (Settings) o;
+            return lingerMs == that.lingerMs && batchSize == that.batchSize;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Long.hashCode(lingerMs) + Long.hashCode(batchSize);
+        }
+
+        @Override
+        public String toString() {
+            return "Settings{" +
+                    "lingerMs=" + lingerMs +
+                    ", batchSize=" + batchSize +
+                    '}';
+        }
+    }
+
+    public static final class Sample {
+
+        private final double batchSizeAvg;
+        private final double recordQueueTimeAvg;
+        private final double requestLatencyAvg;
+
+        public Sample(double batchSizeAvg, double recordQueueTimeAvg, double requestLatencyAvg) {
+            this.batchSizeAvg = batchSizeAvg;
+            this.recordQueueTimeAvg = recordQueueTimeAvg;
+            this.requestLatencyAvg = requestLatencyAvg;
+        }
+
+        /**
+         * The windowed averages are {@code NaN} when nothing was sent in the window.
+         *
+         * @return {@code true} if all the averages are available.
+         */
+        public boolean valid() {
+            return isFinite(batchSizeAvg) && isFinite(recordQueueTimeAvg) && isFinite(requestLatencyAvg);
+        }
+
+        public double batchSizeAvg() {
+            return batchSizeAvg;
+        }
+
+        public double recordQueueTimeAvg() {
+            return recordQueueTimeAvg;
+        }
+
+        public double requestLatencyAvg() {
+            return requestLatencyAvg;
+        }
+
+        private static boolean isFinite(double value) {
+            return !Double.isNaN(value) && !Double.isInfinite(value);
+        }
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright © 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.kafka.plus.core.clients.producer.adaptive;
+
+import io.github.photowey.kafka.plus.core.exception.KafkaPlusRuntimeException;
+
+/**
+ * {@code AdaptiveTuning}
+ * <p>
+ * The bounds of the {@code linger.ms}/{@code batch.size} auto-tuning.
+ * <p>
+ * Examples:
+ * <pre>
+ * AdaptiveTuning tuning = new AdaptiveTuning()
+ *    .lingerMs(0, 50)
+ *    .batchSize(16 &lt;&lt; 10, 1 &lt;&lt; 20)
+ *    .latencySloMs(100)
+ *    .samplePeriodMs(30_000);
+ * </pre>
+ *
+ * @author photowey
+ * @version 3.7.0.1.6
+ * @since 2026/10/18
+ */
+public class AdaptiveTuning {
+
+    private long minLingerMs = 0;
+    private long maxLingerMs = 50;
+    private long minBatchSize = 16 << 10;
+    private long maxBatchSize = 1 << 20;
+    /**
+     * The latency budget of {@code record-queue-time-avg} + {@code request-latency-avg}.
+     */
+    private long latencySloMs = 100;
+    private long samplePeriodMs = 30_000;
+    /**
+     * The min interval between two rebuilds of the underlying producer.
+     */
+    private long cooldownMs = 60_000;
+
+    // ----------------------------------------------------------------
+
+    public AdaptiveTuning lingerMs(long min, long max) {
+        if (min < 0 || max < min) {
+            throw new KafkaPlusRuntimeException("Illegal linger.ms bounds: [%d, %d]", min, max);
+        }
+        this.minLingerMs = min;
+        this.maxLingerMs = max;
+
+        return this;
+    }
+
+    public AdaptiveTuning batchSize(long min, long max) {
+        if (min <= 0 || max < min) {
+            throw new KafkaPlusRuntimeException("Illegal batch.size bounds: [%d, %d]", min, max);
+        }
+        this.minBatchSize = min;
+        this.maxBatchSize = max;
+
+        return this;
+    }
+
+    public AdaptiveTuning latencySloMs(long latencySloMs) {
+        if (latencySloMs <= 0) {
+            throw new KafkaPlusRuntimeException("Illegal latency SLO: %d", latencySloMs);
+        }
+        this.latencySloMs = latencySloMs;
+
+        return this;
+    }
+
+    public AdaptiveTuning samplePeriodMs(long samplePeriodMs) {
+        if (samplePeriodMs <= 0) {
+            throw new KafkaPlusRuntimeException("Illegal sample period: %d", samplePeriodMs);
+        }
+        this.samplePeriodMs = samplePeriodMs;
+
+        return this;
+    }
+
+    public AdaptiveTuning cooldownMs(long cooldownMs) {
+        if (cooldownMs < 0) {
+            throw new KafkaPlusRuntimeException("Illegal cooldown: %d", cooldownMs);
+        }
+        this.cooldownMs = cooldownMs;
+
+        return this;
+    }
+
+    // ----------------------------------------------------------------
+
+    public long minLingerMs() {
+        return minLingerMs;
+    }
+
+    public long maxLingerMs() {
+        return maxLingerMs;
+    }
+
+    public long minBatchSize() {
+        return minBatchSize;
+    }
+
+    public long maxBatchSize() {
+        return maxBatchSize;
+    }
+
+    public long latencySloMs() {
+        return latencySloMs;
+    }
+
+    public long samplePeriodMs() {
+        return samplePeriodMs;
+    }
+
+    public long cooldownMs() {
+        return cooldownMs;
+    }
+}
@@ -0,0 +1,294 @@
+/*
+ * Copyright © 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.kafka.plus.core.clients.producer.aggregation;
+
+import io.github.photowey.kafka.plus.core.exception.KafkaPlusRuntimeException;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.serialization.Serializer;
+
+import java.io.Closeable;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static io.github.photowey.kafka.plus.core.checker.ConfigChecker.checkNotNull;
+
+/**
+ * {@code AggregatingSender}
+ * <p>
+ * Packs the logical messages of the same topic/partition/key into one {@link AggregationEnvelope} record,
+ * the envelope is sent when it reaches {@code maxBytes} or after {@code lingerMs}, whichever comes first.
+ * <p>
+ * The envelopes of a topic/partition/key are sent in order.
+ * The future of every logical message is completed with the {@link RecordMetadata} of its envelope.
+ * Consume with {@link io.github.photowey.kafka.plus.core.clients.consumer.aggregation.AggregatedDeserializer}.
+ *
+ * @author photowey
+ * @version 3.7.0.1.6
+ * @since 2026/10/18
+ */
+public class AggregatingSender<K, V> implements Closeable {
+
+    public static final int DEFAULT_MAX_BYTES = 64 << 10;
+    public static final long DEFAULT_LINGER_MS = 20L;
+
+    private final Producer<K, byte[]> producer;
+    private final Serializer<V> valueSerializer;
+    private final int maxBytes;
+    private final long lingerMs;
+
+    private final Map<BucketKey<K>, Bucket> buckets = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler;
+    private final AtomicBoolean closed = new AtomicBoolean(false);
+
+    public AggregatingSender(Producer<K, byte[]> producer, Serializer<V> valueSerializer) {
+        this(producer, valueSerializer, DEFAULT_MAX_BYTES, DEFAULT_LINGER_MS);
+    }
+
+    public AggregatingSender(Producer<K, byte[]> producer, Serializer<V> valueSerializer, int maxBytes, long lingerMs) {
+        checkNotNull("producer", producer);
+        checkNotNull("valueSerializer", valueSerializer);
+        if (maxBytes <= AggregationEnvelope.HEADER_BYTES || lingerMs <= 0) {
+            throw new KafkaPlusRuntimeException(
+                    "Illegal aggregation arguments: maxBytes=%d, lingerMs=%d", maxBytes, lingerMs);
+        }
+
+        this.producer = producer;
+        this.valueSerializer = valueSerializer;
+        this.maxBytes = maxBytes;
+        this.lingerMs = lingerMs;
+
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "kafka-plus-aggregating-sender");
+            thread.setDaemon(true);
+
+            return thread;
+        });
+        long period = Math.max(1, lingerMs / 2);
+        this.scheduler.scheduleWithFixedDelay(this::expire, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    // ----------------------------------------------------------------
+
+    public CompletableFuture<RecordMetadata> send(String topic, K key, V value) {
+        return this.send(topic, null, key, value);
+    }
+
+    /**
+     * Append a logical message to the envelope of its topic/partition/key.
+     *
+     * @param topic     the topic.
+     * @param partition the partition, {@code null} to partition by the key.
+     * @param key       the key.
+     * @param value     the logical message.
+     * @return the {@link CompletableFuture} completed by the envelope callback.
+     */
+    public CompletableFuture<RecordMetadata> send(String topic, Integer partition, K key, V value) {
+        checkNotNull("topic", topic);
+        if (this.closed.get()) {
+            throw new KafkaPlusRuntimeException("The aggregating sender is closed.");
+        }
+
+        byte[] message = this.valueSerializer.serialize(topic, value);
+        CompletableFuture<RecordMetadata> future = new CompletableFuture<>();
+        BucketKey<K> bucketKey = new BucketKey<>(topic, partition, key);
+
+        while (true) {
+            Bucket bucket = this.buckets.computeIfAbsent(bucketKey, (x) -> new Bucket());
+            synchronized (bucket) {
+                if (bucket.retired) {
+                    // Lost the race with expire(), retry on a new bucket.
+                    continue;
+                }
+
+                this.dispatch(bucketKey, bucket.append(message, future, this.maxBytes));
+                if (this.closed.get()) {
+                    // Closed after the check above: the final flush may have passed this bucket already.
+                    this.dispatch(bucketKey, bucket.drain());
+                }
+            }
+
+            return future;
+        }
+    }
+
+    /**
+     * Send all the pending envelopes and {@link Producer#flush()}.
+     */
+    public void flush() {
+        for (Map.Entry<BucketKey<K>, Bucket> entry : this.buckets.entrySet()) {
+            synchronized (entry.getValue()) {
+                this.dispatch(entry.getKey(), entry.getValue().drain());
+            }
+        }
+
+        this.producer.flush();
+    }
+
+    /**
+     * Send the pending envelopes and stop the linger timer, the {@link Producer} is owned by the caller.
+     */
+    @Override
+    public void close() {
+        if (!this.closed.compareAndSet(false, true)) {
+            return;
+        }
+
+        this.scheduler.shutdownNow();
+        this.flush();
+    }
+
+    // ----------------------------------------------------------------
+
+    private void expire() {
+        long now = System.currentTimeMillis();
+        for (Map.Entry<BucketKey<K>, Bucket> entry : this.buckets.entrySet()) {
+            Bucket bucket = entry.getValue();
+            synchronized (bucket) {
+                if (now - bucket.lastActiveMillis < this.lingerMs) {
+                    continue;
+                }
+
+                Batch batch = bucket.drain();
+                if (null == batch) {
+                    // Idle for a whole linger period: drop it, the key space may be large.
+                    bucket.retired = true;
+                    this.buckets.remove(entry.getKey(), bucket);
+
+                    continue;
+                }
+
+                this.dispatch(entry.getKey(), batch);
+            }
+        }
+    }
+
+    /**
+     * Invoked under the bucket lock, so the envelopes of a key are sent in order.
+     */
+    private void dispatch(BucketKey<K> bucketKey, Batch batch) {
+        if (null == batch) {
+            return;
+        }
+
+        RecordHeaders headers = new RecordHeaders();
+        headers.add(AggregationEnvelope.HEADER, String.valueOf(batch.messages.size()).getBytes(StandardCharsets.UTF_8));
+
+        byte[] envelope = AggregationEnvelope.pack(batch.messages, batch.bytes);
+        ProducerRecord<K, byte[]> record = new ProducerRecord<>(
+                bucketKey.topic, bucketKey.partition, bucketKey.key, envelope, headers);
+
+        try {
+            this.producer.send(record, (metadata, exception) -> {
+                for (CompletableFuture<RecordMetadata> future : batch.futures) {
+                    if (null != exception) {
+                        future.completeExceptionally(exception);
+                    } else {
+                        future.complete(metadata);
+                    }
+                }
+            });
+        } catch (Exception e) {
+            for (CompletableFuture<RecordMetadata> future : batch.futures) {
+                future.completeExceptionally(e);
+            }
+        }
+    }
+
+    // ----------------------------------------------------------------
+
+    private static final class Batch {
+
+        private final List<byte[]> messages = new ArrayList<>();
+        private final List<CompletableFuture<RecordMetadata>> futures = new ArrayList<>();
+        private int bytes = AggregationEnvelope.HEADER_BYTES;
+    }
+
+    private static final class Bucket {
+
+        private Batch batch;
+        private long lastActiveMillis = System.currentTimeMillis();
+        private boolean retired;
+
+        /**
+         * @return the full batch to send, if the message doesn't fit into the current one.
+         */
+        Batch append(byte[] message, CompletableFuture<RecordMetadata> future, int maxBytes) {
+            int size = AggregationEnvelope.sizeOf(message);
+            Batch full = null;
+            if (null != this.batch && this.batch.bytes + size > maxBytes) {
+                full = this.drain();
+            }
+            if (null == this.batch) {
+                this.batch = new Batch();
+                this.lastActiveMillis = System.currentTimeMillis();
+            }
+
+            this.batch.messages.add(message);
+            this.batch.futures.add(future);
+            this.batch.bytes += size;
+
+            return full;
+        }
+
+        Batch drain() {
+            Batch drained = this.batch;
+            this.batch = null;
+            this.lastActiveMillis = System.currentTimeMillis();
+
+            return drained;
+        }
+    }
+
+    private static final class BucketKey<K> {
+
+        private final String topic;
+        private final Integer partition;
+        private final K key;
+        private final int hash;
+
+        BucketKey(String topic, Integer partition, K key) {
+            this.topic = topic;
+            this.partition = partition;
+            this.key = key;
+            this.hash = Objects.hash(topic, partition, key);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            BucketKey<?> that = (BucketKey<?>) o;
+            return topic.equals(that.topic) && Objects.equals(partition, that.partition) && Objects.equals(key, that.key);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hash;
+        }
+    }
+}
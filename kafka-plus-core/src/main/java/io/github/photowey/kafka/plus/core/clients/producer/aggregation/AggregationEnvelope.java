@@ -0,0 +1,123 @@
+/*
+ * Copyright © 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.kafka.plus.core.clients.producer.aggregation;
+
+import io.github.photowey.kafka.plus.core.exception.KafkaPlusRuntimeException;
+import org.apache.kafka.common.header.Headers;
+
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * {@code AggregationEnvelope}
+ * <p>
+ * The length-prefixed envelope which packs many logical messages into one Kafka record value:
+ * <pre>
+ * magic(1) | count(4) | [length(4) | bytes(length)] * count
+ * </pre>
+ * A {@code null} message is encoded with the length {@code -1}.
+ * The aggregated records are marked with the {@link #HEADER} header.
+ *
+ * @author photowey
+ * @version 3.7.0.1.6
+ * @since 2026/10/18
+ */
+public final class AggregationEnvelope {
+
+    public static final String HEADER = "kafka-plus-aggregated";
+    public static final byte MAGIC = (byte) 0xA7;
+
+    public static final int HEADER_BYTES = 1 + 4;
+    public static final int LENGTH_BYTES = 4;
+
+    private AggregationEnvelope() {}
+
+    // ----------------------------------------------------------------
+
+    public static byte[] pack(List<byte[]> messages, int bytes) {
+        ByteBuffer buffer = ByteBuffer.allocate(bytes);
+        buffer.put(MAGIC);
+        buffer.putInt(messages.size());
+        for (byte[] message : messages) {
+            if (null == message) {
+                buffer.putInt(-1);
+                continue;
+            }
+
+            buffer.putInt(message.length);
+            buffer.put(message);
+        }
+
+        return buffer.array();
+    }
+
+    public static int sizeOf(byte[] message) {
+        return LENGTH_BYTES + (null == message ? 0 : message.length);
+    }
+
+    public static boolean aggregated(Headers headers) {
+        return null != headers && null != headers.lastHeader(HEADER);
+    }
+
+    /**
+     * Iterate the packed messages lazily, each {@link Iterator#next()} slices one message out of the envelope.
+     *
+     * @param envelope the envelope bytes.
+     * @return the messages.
+     */
+    public static Iterable<ByteBuffer> unpack(byte[] envelope) {
+        if (null == envelope || envelope.length < HEADER_BYTES || MAGIC != envelope[0]) {
+            throw new KafkaPlusRuntimeException("Illegal aggregation envelope.");
+        }
+
+        return () -> new Iterator<ByteBuffer>() {
+
+            private final ByteBuffer buffer = ByteBuffer.wrap(envelope, 1, envelope.length - 1);
+            private final int count = this.buffer.getInt();
+            private int index;
+
+            @Override
+            public boolean hasNext() {
+                return this.index < this.count;
+            }
+
+            @Override
+            public ByteBuffer next() {
+                if (!this.hasNext()) {
+                    throw new NoSuchElementException();
+                }
+
+                this.index++;
+                int length = this.buffer.getInt();
+                if (length < 0) {
+                    return null;
+                }
+                if (length > this.buffer.remaining()) {
+                    throw new KafkaPlusRuntimeException("Truncated aggregation envelope: length=%d, remaining=%d",
+                            length, this.buffer.remaining());
+                }
+
+                ByteBuffer message = this.buffer.slice();
+                message.limit(length);
+                this.buffer.position(this.buffer.position() + length);
+
+                return message;
+            }
+        };
+    }
+}
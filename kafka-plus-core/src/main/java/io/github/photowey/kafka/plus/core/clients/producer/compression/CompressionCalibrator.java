@@ -0,0 +1,126 @@
+/*
+ * Copyright © 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.kafka.plus.core.clients.producer.compression;
+
+import io.github.photowey.kafka.plus.core.enums.Kafka;
+import io.github.photowey.kafka.plus.core.exception.KafkaPlusRuntimeException;
+import org.apache.kafka.common.record.RecordBatch;
+import org.apache.kafka.common.utils.ByteBufferOutputStream;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static io.github.photowey.kafka.plus.core.checker.ConfigChecker.checkNotNull;
+
+/**
+ * {@code CompressionCalibrator}
+ * <p>
+ * Compresses a sample of serialized records with every codec, the way the producer compresses a batch,
+ * and reports the codec with the best throughput-per-byte.
+ * <p>
+ * {@link Kafka.Producer.Compression#NONE} wins when no codec saves at least {@code minSaving} of the bytes.
+ *
+ * @author photowey
+ * @version 3.7.0.1.6
+ * @since 2026/10/18
+ */
+public class CompressionCalibrator {
+
+    public static final int DEFAULT_ROUNDS = 3;
+    public static final double DEFAULT_MIN_SAVING = 0.1D;
+
+    private static final Kafka.Producer.Compression[] CANDIDATES = {
+            Kafka.Producer.Compression.GZIP,
+            Kafka.Producer.Compression.SNAPPY,
+            Kafka.Producer.Compression.LZ4,
+            Kafka.Producer.Compression.ZSTD,
+    };
+
+    private final int rounds;
+    private final double minSaving;
+
+    public CompressionCalibrator() {
+        this(DEFAULT_ROUNDS, DEFAULT_MIN_SAVING);
+    }
+
+    public CompressionCalibrator(int rounds, double minSaving) {
+        if (rounds <= 0 || minSaving < 0 || minSaving >= 1) {
+            throw new KafkaPlusRuntimeException(
+                    "Illegal calibrator arguments: rounds=%d, minSaving=%s", rounds, minSaving);
+        }
+
+        this.rounds = rounds;
+        this.minSaving = minSaving;
+    }
+
+    // ----------------------------------------------------------------
+
+    public CompressionReport calibrate(Collection<byte[]> samples) {
+        checkNotNull("samples", samples);
+
+        long rawBytes = 0;
+        for (byte[] sample : samples) {
+            rawBytes += sample.length;
+        }
+        if (0 == rawBytes) {
+            throw new KafkaPlusRuntimeException("The compression samples are empty.");
+        }
+
+        List<CompressionReport.Result> results = new ArrayList<>(CANDIDATES.length);
+        for (Kafka.Producer.Compression candidate : CANDIDATES) {
+            CompressionReport.Result result = this.measure(candidate, samples, rawBytes);
+            if (null != result) {
+                results.add(result);
+            }
+        }
+
+        return new CompressionReport(results, this.minSaving);
+    }
+
+    // ----------------------------------------------------------------
+
+    private CompressionReport.Result measure(Kafka.Producer.Compression compression, Collection<byte[]> samples, long rawBytes) {
+        try {
+            // The first round warms up the codec (JIT, native library loading).
+            int compressedBytes = this.compress(compression, samples, rawBytes);
+            long nanos = Long.MAX_VALUE;
+            for (int i = 0; i < this.rounds; i++) {
+                long start = System.nanoTime();
+                compressedBytes = this.compress(compression, samples, rawBytes);
+                nanos = Math.min(nanos, Math.max(1, System.nanoTime() - start));
+            }
+
+            return new CompressionReport.Result(compression, rawBytes, compressedBytes, nanos);
+        } catch (IOException | RuntimeException | LinkageError e) {
+            // The codec isn't available on this platform.
+            return null;
+        }
+    }
+
+    private int compress(Kafka.Producer.Compression compression, Collection<byte[]> samples, long rawBytes) throws IOException {
+        ByteBufferOutputStream buffer = new ByteBufferOutputStream((int) Math.min(Integer.MAX_VALUE, rawBytes / 2 + 64));
+        try (OutputStream out = compression.type().wrapForOutput(buffer, RecordBatch.CURRENT_MAGIC_VALUE)) {
+            for (byte[] sample : samples) {
+                out.write(sample);
+            }
+        }
+
+        return buffer.position();
+    }
+}
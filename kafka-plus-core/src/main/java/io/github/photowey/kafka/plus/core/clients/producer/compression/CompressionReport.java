@@ -0,0 +1,143 @@
+/*
+ * Copyright © 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.kafka.plus.core.clients.producer.compression;
+
+import io.github.photowey.kafka.plus.core.enums.Kafka;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * {@code CompressionReport}
+ * <p>
+ * The per-codec results of {@link CompressionCalibrator}.
+ *
+ * @author photowey
+ * @version 3.7.0.1.6
+ * @since 2026/10/18
+ */
+public class CompressionReport {
+
+    private final List<Result> results;
+    private final Kafka.Producer.Compression best;
+
+    CompressionReport(List<Result> results, double minSaving) {
+        this.results = Collections.unmodifiableList(results);
+
+        Result winner = null;
+        for (Result result : results) {
+            if (result.ratio() > 1 - minSaving) {
+                continue;
+            }
+            if (null == winner || result.score() > winner.score()) {
+                winner = result;
+            }
+        }
+
+        this.best = null != winner ? winner.compression() : Kafka.Producer.Compression.NONE;
+    }
+
+    /**
+     * The codec with the best throughput-per-byte.
+     *
+     * @return {@link Kafka.Producer.Compression}
+     */
+    public Kafka.Producer.Compression best() {
+        return this.best;
+    }
+
+    public List<Result> results() {
+        return this.results;
+    }
+
+    @Override
+    public String toString() {
+        return "CompressionReport{" +
+                "best=" + best +
+                ", results=" + results +
+                '}';
+    }
+
+    // ----------------------------------------------------------------
+
+    public static final class Result {
+
+        private final Kafka.Producer.Compression compression;
+        private final long rawBytes;
+        private final long compressedBytes;
+        private final long nanos;
+
+        Result(Kafka.Producer.Compression compression, long rawBytes, long compressedBytes, long nanos) {
+            this.compression = compression;
+            this.rawBytes = rawBytes;
+            this.compressedBytes = compressedBytes;
+            this.nanos = nanos;
+        }
+
+        public Kafka.Producer.Compression compression() {
+            return compression;
+        }
+
+        public long rawBytes() {
+            return rawBytes;
+        }
+
+        public long compressedBytes() {
+            return compressedBytes;
+        }
+
+        public long nanos() {
+            return nanos;
+        }
+
+        /**
+         * The compressed/raw ratio, lower is better.
+         *
+         * @return the ratio.
+         */
+        public double ratio() {
+            return (double) compressedBytes / rawBytes;
+        }
+
+        /**
+         * The compression throughput in raw bytes per second.
+         *
+         * @return the throughput.
+         */
+        public double throughput() {
+            return rawBytes * 1_000_000_000D / nanos;
+        }
+
+        /**
+         * The throughput-per-byte: the compression throughput per byte put on the network/broker disk.
+         *
+         * @return the score, higher is better.
+         */
+        public double score() {
+            return this.throughput() / Math.max(1, compressedBytes);
+        }
+
+        @Override
+        public String toString() {
+            return "Result{" +
+                    "compression=" + compression +
+                    ", rawBytes=" + rawBytes +
+                    ", compressedBytes=" + compressedBytes +
+                    ", nanos=" + nanos +
+                    '}';
+        }
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright © 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.kafka.plus.core.clients.producer.compression;
+
+import io.github.photowey.kafka.plus.core.exception.KafkaPlusRuntimeException;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Serializer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static io.github.photowey.kafka.plus.core.checker.ConfigChecker.checkNotNull;
+
+/**
+ * {@code CompressionSampler}
+ * <p>
+ * A {@link Serializer} decorator which keeps a per-topic reservoir sample of the real outgoing serialized values,
+ * so {@link #calibrate(String)} can pick the codec for that topic.
+ *
+ * @author photowey
+ * @version 3.7.0.1.6
+ * @since 2026/10/18
+ */
+public class CompressionSampler<T> implements Serializer<T> {
+
+    public static final int DEFAULT_MAX_SAMPLES = 256;
+
+    private final Serializer<T> delegate;
+    private final int maxSamples;
+    private final CompressionCalibrator calibrator;
+
+    private final Map<String, Reservoir> reservoirs = new ConcurrentHashMap<>();
+
+    public CompressionSampler(Serializer<T> delegate) {
+        this(delegate, DEFAULT_MAX_SAMPLES, new CompressionCalibrator());
+    }
+
+    public CompressionSampler(Serializer<T> delegate, int maxSamples, CompressionCalibrator calibrator) {
+        checkNotNull("delegate", delegate);
+        checkNotNull("calibrator", calibrator);
+        if (maxSamples <= 0) {
+            throw new KafkaPlusRuntimeException("Illegal sampler arguments: maxSamples=%d", maxSamples);
+        }
+
+        this.delegate = delegate;
+        this.maxSamples = maxSamples;
+        this.calibrator = calibrator;
+    }
+
+    // ----------------------------------------------------------------
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        this.delegate.configure(configs, isKey);
+    }
+
+    @Override
+    public byte[] serialize(String topic, T data) {
+        return this.sample(topic, this.delegate.serialize(topic, data));
+    }
+
+    @Override
+    public byte[] serialize(String topic, Headers headers, T data) {
+        return this.sample(topic, this.delegate.serialize(topic, headers, data));
+    }
+
+    @Override
+    public void close() {
+        this.delegate.close();
+    }
+
+    // ----------------------------------------------------------------
+
+    /**
+     * The sampled serialized values of the topic.
+     *
+     * @param topic the topic.
+     * @return the samples.
+     */
+    public List<byte[]> samples(String topic) {
+        Reservoir reservoir = this.reservoirs.get(topic);
+        if (null == reservoir) {
+            return Collections.emptyList();
+        }
+
+        return reservoir.snapshot();
+    }
+
+    /**
+     * Calibrate the codec on the sampled values of the topic.
+     *
+     * @param topic the topic.
+     * @return {@link CompressionReport}
+     */
+    public CompressionReport calibrate(String topic) {
+        return this.calibrator.calibrate(this.samples(topic));
+    }
+
+    // ----------------------------------------------------------------
+
+    private byte[] sample(String topic, byte[] bytes) {
+        if (null != bytes && bytes.length > 0) {
+            this.reservoirs.computeIfAbsent(topic, (x) -> new Reservoir(this.maxSamples)).offer(bytes);
+        }
+
+        return bytes;
+    }
+
+    private static class Reservoir {
+
+        private final AtomicReferenceArray<byte[]> slots;
+        private final AtomicLong seen = new AtomicLong();
+
+        Reservoir(int capacity) {
+            this.slots = new AtomicReferenceArray<>(capacity);
+        }
+
+        void offer(byte[] bytes) {
+            long n = this.seen.getAndIncrement();
+            if (n < this.slots.length()) {
+                this.slots.set((int) n, bytes);
+
+                return;
+            }
+
+            // Algorithm R: keep the n-th value with probability capacity/n.
+            long slot = ThreadLocalRandom.current().nextLong(n + 1);
+            if (slot < this.slots.length()) {
+                this.slots.set((int) slot, bytes);
+            }
+        }
+
+        List<byte[]> snapshot() {
+            List<byte[]> snapshot = new ArrayList<>(this.slots.length());
+            for (int i = 0; i < this.slots.length(); i++) {
+                byte[] bytes = this.slots.get(i);
+                if (null != bytes) {
+                    snapshot.add(bytes);
+                }
+            }
+
+            return snapshot;
+        }
+    }
+}
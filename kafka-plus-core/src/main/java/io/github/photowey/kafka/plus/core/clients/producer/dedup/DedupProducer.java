@@ -0,0 +1,241 @@
+/*
+ * Copyright © 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.kafka.plus.core.clients.producer.dedup;
+
+import org.apache.kafka.clients.consumer.ConsumerGroupMetadata;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.producer.Callback;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.Metric;
+import org.apache.kafka.common.MetricName;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.Uuid;
+import org.apache.kafka.common.record.RecordBatch;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static io.github.photowey.kafka.plus.core.checker.ConfigChecker.checkNotNull;
+
+/**
+ * {@code DedupProducer}
+ * <p>
+ * A {@link Producer} which drops the probable duplicates of a business key within the {@link DedupWindow} before serialization,
+ * e.g.: the retries of the upstream systems, which the idempotent producer can't detect because they are different sends.
+ * <p>
+ * The business key is remembered once its record is acknowledged, inside a transaction once the transaction is committed,
+ * so the retry of a failed or aborted send is sent again.
+ * The records of the same key in flight at the same time are all sent.
+ * <p>
+ * The dropped record fails with a {@link DuplicateRecordException} without an offset, it isn't reported as sent.
+ * The records of which the business key is {@code null} are always sent.
+ * <p>
+ * Note: a Bloom filter has false positives, a new key is dropped with the probability of {@link DedupWindow#falsePositiveRate()}
+ * per generation, size the window accordingly or don't use it for the records which must not be lost.
+ * <p>
+ * Examples:
+ * <pre>
+ * Producer&lt;String, Order&gt; producer = kafkaEngine.producerService()
+ *    .dedupProducer(delegate, record -&gt; record.value().orderNo().getBytes(StandardCharsets.UTF_8), new DedupWindow());
+ * </pre>
+ *
+ * @author photowey
+ * @version 3.7.0.1.6
+ * @since 2026/10/18
+ */
+public class DedupProducer<K, V> implements Producer<K, V> {
+
+    private final Producer<K, V> delegate;
+    private final Function<ProducerRecord<K, V>, byte[]> businessKey;
+    private final RotatingBloomFilter filter;
+    private final AtomicLong dropped = new AtomicLong();
+
+    /**
+     * The acknowledged keys of the open transaction, remembered once it's committed.
+     */
+    private final List<byte[]> uncommitted = new ArrayList<>();
+    private volatile boolean inTransaction;
+
+    public DedupProducer(Producer<K, V> delegate, Function<ProducerRecord<K, V>, byte[]> businessKey, DedupWindow window) {
+        checkNotNull("delegate", delegate);
+        checkNotNull("businessKey", businessKey);
+        checkNotNull("window", window);
+
+        this.delegate = delegate;
+        this.businessKey = businessKey;
+        this.filter = new RotatingBloomFilter(window);
+    }
+
+    /**
+     * The records dropped as the probable duplicates.
+     *
+     * @return the count.
+     */
+    public long dropped() {
+        return this.dropped.get();
+    }
+
+    // ----------------------------------------------------------------
+
+    @Override
+    public Future<RecordMetadata> send(ProducerRecord<K, V> record) {
+        return this.send(record, null);
+    }
+
+    @Override
+    public Future<RecordMetadata> send(ProducerRecord<K, V> record, Callback callback) {
+        checkNotNull("record", record);
+
+        byte[] key = this.businessKey.apply(record);
+        if (null == key) {
+            return this.delegate.send(record, callback);
+        }
+        if (!this.filter.mightContain(key)) {
+            return this.delegate.send(record, (metadata, exception) -> {
+                if (null == exception) {
+                    this.remember(key);
+                }
+                if (null != callback) {
+                    callback.onCompletion(metadata, exception);
+                }
+            });
+        }
+
+        this.dropped.incrementAndGet();
+        RecordMetadata metadata = new RecordMetadata(
+                new TopicPartition(record.topic(), null == record.partition() ? RecordMetadata.UNKNOWN_PARTITION : record.partition()),
+                -1L, 0, RecordBatch.NO_TIMESTAMP, -1, -1);
+        DuplicateRecordException exception = new DuplicateRecordException(record.topic());
+        if (null != callback) {
+            callback.onCompletion(metadata, exception);
+        }
+
+        CompletableFuture<RecordMetadata> future = new CompletableFuture<>();
+        future.completeExceptionally(exception);
+
+        return future;
+    }
+
+    @Override
+    public void flush() {
+        this.delegate.flush();
+    }
+
+    @Override
+    public List<PartitionInfo> partitionsFor(String topic) {
+        return this.delegate.partitionsFor(topic);
+    }
+
+    @Override
+    public Map<MetricName, ? extends Metric> metrics() {
+        return this.delegate.metrics();
+    }
+
+    @Override
+    public Uuid clientInstanceId(Duration timeout) {
+        return this.delegate.clientInstanceId(timeout);
+    }
+
+    // ----------------------------------------------------------------
+
+    @Override
+    public void initTransactions() {
+        this.delegate.initTransactions();
+    }
+
+    @Override
+    public void beginTransaction() {
+        this.delegate.beginTransaction();
+        this.inTransaction = true;
+    }
+
+    @Override
+    @Deprecated
+    public void sendOffsetsToTransaction(Map<TopicPartition, OffsetAndMetadata> offsets, String consumerGroupId) {
+        this.delegate.sendOffsetsToTransaction(offsets, consumerGroupId);
+    }
+
+    @Override
+    public void sendOffsetsToTransaction(Map<TopicPartition, OffsetAndMetadata> offsets, ConsumerGroupMetadata groupMetadata) {
+        this.delegate.sendOffsetsToTransaction(offsets, groupMetadata);
+    }
+
+    @Override
+    public void commitTransaction() {
+        boolean committed = false;
+        try {
+            this.delegate.commitTransaction();
+            committed = true;
+        } finally {
+            this.endTransaction(committed);
+        }
+    }
+
+    @Override
+    public void abortTransaction() {
+        try {
+            this.delegate.abortTransaction();
+        } finally {
+            this.endTransaction(false);
+        }
+    }
+
+    // ----------------------------------------------------------------
+
+    @Override
+    public void close() {
+        this.delegate.close();
+    }
+
+    @Override
+    public void close(Duration timeout) {
+        this.delegate.close(timeout);
+    }
+
+    // ----------------------------------------------------------------
+
+    private void remember(byte[] key) {
+        if (this.inTransaction) {
+            synchronized (this.uncommitted) {
+                this.uncommitted.add(key);
+            }
+
+            return;
+        }
+
+        this.filter.put(key);
+    }
+
+    private void endTransaction(boolean committed) {
+        this.inTransaction = false;
+        synchronized (this.uncommitted) {
+            if (committed) {
+                // Acknowledged before the commit returns.
+                this.uncommitted.forEach(this.filter::put);
+            }
+            this.uncommitted.clear();
+        }
+    }
+}
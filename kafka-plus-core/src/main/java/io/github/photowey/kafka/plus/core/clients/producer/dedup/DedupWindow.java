@@ -0,0 +1,107 @@
+/*
+ * Copyright © 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.kafka.plus.core.clients.producer.dedup;
+
+import io.github.photowey.kafka.plus.core.exception.KafkaPlusRuntimeException;
+
+/**
+ * {@code DedupWindow}
+ * <p>
+ * The sizing of the {@link RotatingBloomFilter} of a {@link DedupProducer}.
+ * A business key is remembered for at least {@code windowMs * (generations - 1)} and at most {@code windowMs * generations}.
+ * <p>
+ * Examples:
+ * <pre>
+ * DedupWindow window = new DedupWindow()
+ *    .windowMs(60_000)
+ *    .generations(3)
+ *    .expectedInsertions(5_000_000)
+ *    .falsePositiveRate(0.0001);
+ * </pre>
+ *
+ * @author photowey
+ * @version 3.7.0.1.6
+ * @since 2026/10/18
+ */
+public class DedupWindow {
+
+    private long windowMs = 60_000;
+    private int generations = 2;
+    /**
+     * The expected distinct keys per generation.
+     */
+    private long expectedInsertions = 1_000_000;
+    /**
+     * The probability a new key is dropped as a duplicate, per generation.
+     */
+    private double falsePositiveRate = 0.001;
+
+    // ----------------------------------------------------------------
+
+    public DedupWindow windowMs(long windowMs) {
+        if (windowMs <= 0) {
+            throw new KafkaPlusRuntimeException("Illegal dedup window: %d", windowMs);
+        }
+        this.windowMs = windowMs;
+
+        return this;
+    }
+
+    public DedupWindow generations(int generations) {
+        if (generations < 2) {
+            throw new KafkaPlusRuntimeException("Illegal dedup generations: %d, expected: >= 2", generations);
+        }
+        this.generations = generations;
+
+        return this;
+    }
+
+    public DedupWindow expectedInsertions(long expectedInsertions) {
+        if (expectedInsertions <= 0) {
+            throw new KafkaPlusRuntimeException("Illegal expected insertions: %d", expectedInsertions);
+        }
+        this.expectedInsertions = expectedInsertions;
+
+        return this;
+    }
+
+    public DedupWindow falsePositiveRate(double falsePositiveRate) {
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new KafkaPlusRuntimeException("Illegal false positive rate: %s, expected: (0, 1)", falsePositiveRate);
+        }
+        this.falsePositiveRate = falsePositiveRate;
+
+        return this;
+    }
+
+    // ----------------------------------------------------------------
+
+    public long windowMs() {
+        return windowMs;
+    }
+
+    public int generations() {
+        return generations;
+    }
+
+    public long expectedInsertions() {
+        return expectedInsertions;
+    }
+
+    public double falsePositiveRate() {
+        return falsePositiveRate;
+    }
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright © 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.kafka.plus.core.clients.producer.dedup;
+
+import io.github.photowey.kafka.plus.core.exception.KafkaPlusRuntimeException;
+
+/**
+ * {@code DuplicateRecordException}
+ * <p>
+ * The record is dropped by {@link DedupProducer}, its business key was acknowledged within the {@link DedupWindow}.
+ * It isn't retriable, the record isn't written by this send.
+ *
+ * @author photowey
+ * @version 3.7.0.1.6
+ * @since 2026/10/18
+ */
+public class DuplicateRecordException extends KafkaPlusRuntimeException {
+
+    private static final long serialVersionUID = -3180412659231756802L;
+
+    public DuplicateRecordException(String topic) {
+        super("The record of the topic: [%s] is dropped as a probable duplicate.", topic);
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright © 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.kafka.plus.core.clients.producer.dedup;
+
+import io.github.photowey.kafka.plus.core.exception.KafkaPlusRuntimeException;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+
+/**
+ * {@code OffHeapBloomFilter}
+ * <p>
+ * A Bloom filter of which the bit array lives in a direct {@link ByteBuffer}, so a multi-million key filter
+ * is a single object to the GC. The {@code k} probes are derived from two hashes by double hashing.
+ * <p>
+ * Not thread-safe, guarded by {@link RotatingBloomFilter}.
+ *
+ * @author photowey
+ * @version 3.7.0.1.6
+ * @since 2026/10/18
+ */
+public final class OffHeapBloomFilter {
+
+    /**
+     * The direct buffer capacity is an {@code int} of bytes.
+     */
+    private static final long MAX_BITS = (long) (Integer.MAX_VALUE / Long.BYTES) * Long.SIZE;
+
+    private final LongBuffer words;
+    private final long bits;
+    private final int hashes;
+
+    public OffHeapBloomFilter(long expectedInsertions, double falsePositiveRate) {
+        if (expectedInsertions <= 0 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new KafkaPlusRuntimeException(
+                    "Illegal bloom filter arguments: expectedInsertions=%d, falsePositiveRate=%s", expectedInsertions, falsePositiveRate);
+        }
+
+        long optimal = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        if (optimal > MAX_BITS) {
+            throw new KafkaPlusRuntimeException("The bloom filter is too large: %d bits", optimal);
+        }
+
+        int words = (int) Math.max(1, (optimal + Long.SIZE - 1) / Long.SIZE);
+        this.bits = (long) words * Long.SIZE;
+        this.hashes = Math.max(1, (int) Math.round((double) this.bits / expectedInsertions * Math.log(2)));
+        this.words = ByteBuffer.allocateDirect(words * Long.BYTES).order(ByteOrder.nativeOrder()).asLongBuffer();
+    }
+
+    // ----------------------------------------------------------------
+
+    public boolean mightContain(long hash1, long hash2) {
+        long combined = hash1;
+        for (int i = 0; i < this.hashes; i++) {
+            long bit = (combined & Long.MAX_VALUE) % this.bits;
+            if (0 == (this.words.get((int) (bit >>> 6)) & (1L << bit))) {
+                return false;
+            }
+            combined += hash2;
+        }
+
+        return true;
+    }
+
+    public void put(long hash1, long hash2) {
+        long combined = hash1;
+        for (int i = 0; i < this.hashes; i++) {
+            long bit = (combined & Long.MAX_VALUE) % this.bits;
+            int index = (int) (bit >>> 6);
+            this.words.put(index, this.words.get(index) | (1L << bit));
+            combined += hash2;
+        }
+    }
+
+    public void clear() {
+        for (int i = 0; i < this.words.capacity(); i++) {
+            this.words.put(i, 0L);
+        }
+    }
+
+    public long bits() {
+        return this.bits;
+    }
+
+    public int hashes() {
+        return this.hashes;
+    }
+}
@@ -0,0 +1,208 @@
+/*
+ * Copyright © 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.kafka.plus.core.clients.producer.dedup;
+
+import static io.github.photowey.kafka.plus.core.checker.ConfigChecker.checkNotNull;
+
+/**
+ * {@code RotatingBloomFilter}
+ * <p>
+ * A time-windowed set of keys made of {@code generations} {@link OffHeapBloomFilter}s:
+ * the keys are put into the newest generation and looked up in all of them,
+ * every {@code windowMs} the oldest generation is retired and a cleared spare one becomes the newest one.
+ * <p>
+ * The rotation only swaps the spare in under the lock, the retired generation is cleared outside of it
+ * (by the rotating thread) and becomes the next spare, so the concurrent lookups never wait for a multi-million bit clear.
+ * |- The spare costs one more generation of memory.
+ * |- An idle gap of several windows, or a rotation while the last spare is still being cleared,
+ * |- clears the other expired generations under the lock.
+ *
+ * @author photowey
+ * @version 3.7.0.1.6
+ * @since 2026/10/18
+ */
+public class RotatingBloomFilter {
+
+    private static final long SEED1 = 0x9E3779B97F4A7C15L;
+    private static final long SEED2 = 0xC2B2AE3D27D4EB4FL;
+
+    private final OffHeapBloomFilter[] generations;
+    private final long windowMs;
+
+    private int newest;
+    private volatile long nextRotationMs;
+    /**
+     * The cleared generation to rotate in, {@code null} while it's being cleared.
+     */
+    private OffHeapBloomFilter spare;
+
+    public RotatingBloomFilter(DedupWindow window) {
+        checkNotNull("window", window);
+        this.generations = new OffHeapBloomFilter[window.generations()];
+        for (int i = 0; i < this.generations.length; i++) {
+            this.generations[i] = new OffHeapBloomFilter(window.expectedInsertions(), window.falsePositiveRate());
+        }
+        this.spare = new OffHeapBloomFilter(window.expectedInsertions(), window.falsePositiveRate());
+        this.windowMs = window.windowMs();
+        this.nextRotationMs = System.currentTimeMillis() + this.windowMs;
+    }
+
+    /**
+     * Put the key if it isn't (probably) seen in the window.
+     *
+     * @param key the key bytes.
+     * @return {@code true} if the key is new, {@code false} if it's a probable duplicate.
+     */
+    public boolean putIfAbsent(byte[] key) {
+        return this.putIfAbsent(key, System.currentTimeMillis());
+    }
+
+    boolean putIfAbsent(byte[] key, long nowMs) {
+        this.rotateIfNecessary(nowMs);
+
+        long hash1 = hash(key, SEED1);
+        long hash2 = hash(key, SEED2);
+        synchronized (this) {
+            if (this.mightContain(hash1, hash2)) {
+                return false;
+            }
+
+            this.generations[this.newest].put(hash1, hash2);
+        }
+
+        return true;
+    }
+
+    /**
+     * Whether the key is (probably) seen in the window.
+     *
+     * @param key the key bytes.
+     * @return {@code true} if it's a probable duplicate.
+     */
+    public boolean mightContain(byte[] key) {
+        return this.mightContain(key, System.currentTimeMillis());
+    }
+
+    /**
+     * Put the key into the newest generation.
+     *
+     * @param key the key bytes.
+     */
+    public void put(byte[] key) {
+        this.put(key, System.currentTimeMillis());
+    }
+
+    boolean mightContain(byte[] key, long nowMs) {
+        this.rotateIfNecessary(nowMs);
+
+        long hash1 = hash(key, SEED1);
+        long hash2 = hash(key, SEED2);
+        synchronized (this) {
+            return this.mightContain(hash1, hash2);
+        }
+    }
+
+    void put(byte[] key, long nowMs) {
+        this.rotateIfNecessary(nowMs);
+
+        long hash1 = hash(key, SEED1);
+        long hash2 = hash(key, SEED2);
+        synchronized (this) {
+            this.generations[this.newest].put(hash1, hash2);
+        }
+    }
+
+    // ----------------------------------------------------------------
+
+    private boolean mightContain(long hash1, long hash2) {
+        for (OffHeapBloomFilter generation : this.generations) {
+            if (generation.mightContain(hash1, hash2)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private void rotateIfNecessary(long nowMs) {
+        if (nowMs < this.nextRotationMs) {
+            return;
+        }
+
+        OffHeapBloomFilter retired;
+        synchronized (this) {
+            retired = this.rotate(nowMs);
+        }
+        if (null == retired) {
+            return;
+        }
+
+        // Out of the lock: no longer looked up, only this thread touches it until it's handed back.
+        retired.clear();
+        synchronized (this) {
+            this.spare = retired;
+        }
+    }
+
+    /**
+     * Rotate under the lock.
+     *
+     * @param nowMs the current time.
+     * @return the retired generation to clear, {@code null} if none.
+     */
+    private OffHeapBloomFilter rotate(long nowMs) {
+        if (nowMs < this.nextRotationMs) {
+            return null;
+        }
+
+        OffHeapBloomFilter retired = null;
+        // An idle gap of several windows expires the generations in between too.
+        long elapsed = (nowMs - this.nextRotationMs) / this.windowMs + 1;
+        int rotations = (int) Math.min(elapsed, this.generations.length);
+        for (int i = 0; i < rotations; i++) {
+            this.newest = (this.newest + 1) % this.generations.length;
+            if (null == retired && null != this.spare) {
+                retired = this.generations[this.newest];
+                this.generations[this.newest] = this.spare;
+                this.spare = null;
+            } else {
+                this.generations[this.newest].clear();
+            }
+        }
+        this.nextRotationMs += elapsed * this.windowMs;
+
+        return retired;
+    }
+
+    /**
+     * The 64-bit FNV-1a of the key with the seed, finalised by the MurmurHash3 {@code fmix64}.
+     */
+    static long hash(byte[] key, long seed) {
+        long hash = 0xCBF29CE484222325L ^ seed;
+        for (byte b : key) {
+            hash ^= b & 0xFF;
+            hash *= 0x100000001B3L;
+        }
+
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB9FE1A85EC53L;
+        hash ^= hash >>> 33;
+
+        return hash;
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright © 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.kafka.plus.core.clients.producer.fanout;
+
+import io.github.photowey.kafka.plus.core.exception.KafkaPlusRuntimeException;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * {@code FanOutException}
+ * <p>
+ * The {@link FanOutPolicy} of a {@link FanOutProducer} send can't be satisfied anymore.
+ *
+ * @author photowey
+ * @version 3.7.0.1.6
+ * @since 2026/10/18
+ */
+public class FanOutException extends KafkaPlusRuntimeException {
+
+    private static final long serialVersionUID = 2204983512347652071L;
+
+    private final transient Map<String, Throwable> failures;
+
+    public FanOutException(FanOutPolicy policy, Map<String, Throwable> failures) {
+        super(firstOf(failures), "The fan-out policy: [%s] failed on the clusters: %s", policy, failures.keySet());
+        this.failures = Collections.unmodifiableMap(new LinkedHashMap<>(failures));
+        failures.values().stream().skip(1).forEach(this::addSuppressed);
+    }
+
+    /**
+     * The failures by the cluster name.
+     *
+     * @return the failures.
+     */
+    public Map<String, Throwable> failures() {
+        return this.failures;
+    }
+
+    private static Throwable firstOf(Map<String, Throwable> failures) {
+        return failures.isEmpty() ? null : failures.values().iterator().next();
+    }
+}
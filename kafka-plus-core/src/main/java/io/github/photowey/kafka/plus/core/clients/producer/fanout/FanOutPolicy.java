@@ -0,0 +1,61 @@
+/*
+ * Copyright © 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.kafka.plus.core.clients.producer.fanout;
+
+/**
+ * {@code FanOutPolicy}
+ * <p>
+ * When the send of a {@link FanOutProducer} completes.
+ *
+ * @author photowey
+ * @version 3.7.0.1.6
+ * @since 2026/10/18
+ */
+public enum FanOutPolicy {
+
+    /**
+     * All the clusters acknowledged.
+     */
+    ALL,
+    /**
+     * Any of the clusters acknowledged.
+     */
+    ANY,
+    /**
+     * The majority of the clusters acknowledged.
+     */
+    QUORUM,
+
+    ;
+
+    /**
+     * The acknowledgements required.
+     *
+     * @param clusters the number of clusters.
+     * @return the required acknowledgements.
+     */
+    public int required(int clusters) {
+        switch (this) {
+            case ANY:
+                return Math.min(1, clusters);
+            case QUORUM:
+                return clusters / 2 + 1;
+            case ALL:
+            default:
+                return clusters;
+        }
+    }
+}
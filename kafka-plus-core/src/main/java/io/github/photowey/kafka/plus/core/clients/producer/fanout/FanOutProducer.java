@@ -0,0 +1,273 @@
+/*
+ * Copyright © 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.kafka.plus.core.clients.producer.fanout;
+
+import io.github.photowey.kafka.plus.core.exception.KafkaPlusRuntimeException;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.github.photowey.kafka.plus.core.checker.ConfigChecker.checkNotNull;
+
+/**
+ * {@code FanOutProducer}
+ * <p>
+ * Writes each record to several clusters in parallel, the send completes per the {@link FanOutPolicy}
+ * with the acknowledgements received so far by the cluster name.
+ * <p>
+ * Each cluster has its own producer, dispatcher thread and pending accounting:
+ * a slow cluster blocks only its own dispatcher, and once its pending records reach {@code maxPending},
+ * its share of the new records fails fast instead of stalling the other clusters.
+ * The records of one cluster are sent in the {@link #send(ProducerRecord)} order.
+ * <p>
+ * Examples:
+ * <pre>
+ * FanOutProducer&lt;String, String&gt; producer = kafkaEngine.producerService().createProducer()
+ *    .clusters(clusters)
+ *    .buildFanOut(FanOutPolicy.QUORUM);
+ * producer.send(record)
+ *    .whenComplete((acks, cause) -&gt; {});
+ * </pre>
+ *
+ * @author photowey
+ * @version 3.7.0.1.6
+ * @since 2026/10/18
+ */
+public class FanOutProducer<K, V> implements Closeable {
+
+    public static final int DEFAULT_MAX_PENDING = 10_000;
+
+    private final FanOutPolicy policy;
+    private final int maxPending;
+    private final List<Cluster<K, V>> clusters;
+
+    public FanOutProducer(Map<String, ? extends Producer<K, V>> clusters, FanOutPolicy policy) {
+        this(clusters, policy, DEFAULT_MAX_PENDING);
+    }
+
+    public FanOutProducer(Map<String, ? extends Producer<K, V>> clusters, FanOutPolicy policy, int maxPending) {
+        checkNotNull("clusters", clusters);
+        checkNotNull("policy", policy);
+        if (clusters.isEmpty() || maxPending <= 0) {
+            throw new KafkaPlusRuntimeException(
+                    "Illegal fan-out arguments: clusters=%s, maxPending=%d", clusters.keySet(), maxPending);
+        }
+
+        this.policy = policy;
+        this.maxPending = maxPending;
+
+        List<Cluster<K, V>> targets = new ArrayList<>(clusters.size());
+        for (Map.Entry<String, ? extends Producer<K, V>> entry : clusters.entrySet()) {
+            targets.add(new Cluster<>(entry.getKey(), entry.getValue()));
+        }
+        this.clusters = Collections.unmodifiableList(targets);
+    }
+
+    // ----------------------------------------------------------------
+
+    /**
+     * Send the record to all the clusters.
+     *
+     * @param record the {@link ProducerRecord}.
+     * @return the acknowledgements by the cluster name when the policy is satisfied,
+     * exceptionally with {@link FanOutException} once it can't be satisfied.
+     */
+    public CompletableFuture<Map<String, RecordMetadata>> send(ProducerRecord<K, V> record) {
+        checkNotNull("record", record);
+
+        Aggregator aggregator = new Aggregator(this.policy, this.clusters.size());
+        for (Cluster<K, V> cluster : this.clusters) {
+            if (cluster.pending.incrementAndGet() > this.maxPending) {
+                cluster.pending.decrementAndGet();
+                aggregator.fail(cluster.name, new KafkaPlusRuntimeException(
+                        "The cluster: [%s] has %d pending records", cluster.name, this.maxPending));
+
+                continue;
+            }
+
+            try {
+                cluster.dispatcher.execute(() -> cluster.send(record, aggregator));
+            } catch (RejectedExecutionException e) {
+                cluster.pending.decrementAndGet();
+                aggregator.fail(cluster.name, new KafkaPlusRuntimeException(e, "The fan-out producer is closed."));
+            }
+        }
+
+        return aggregator.future;
+    }
+
+    /**
+     * The pending (queued and unacknowledged) records by the cluster name.
+     *
+     * @return the pending records.
+     */
+    public Map<String, Integer> pending() {
+        Map<String, Integer> pending = new LinkedHashMap<>(this.clusters.size());
+        for (Cluster<K, V> cluster : this.clusters) {
+            pending.put(cluster.name, cluster.pending.get());
+        }
+
+        return pending;
+    }
+
+    public Producer<K, V> producer(String cluster) {
+        for (Cluster<K, V> target : this.clusters) {
+            if (target.name.equals(cluster)) {
+                return target.producer;
+            }
+        }
+
+        throw new KafkaPlusRuntimeException("The cluster: [%s] not found", cluster);
+    }
+
+    public void flush() {
+        this.clusters.forEach(cluster -> cluster.producer.flush());
+    }
+
+    @Override
+    public void close() {
+        this.close(null);
+    }
+
+    /**
+     * Stop the dispatchers and close the producers of all the clusters,
+     * the records accepted by {@link #send(ProducerRecord)} are handed to the producers before they are closed.
+     *
+     * @param timeout the timeout of the queued records, then of each producer, {@code null} means the default.
+     */
+    public void close(Duration timeout) {
+        this.clusters.forEach(cluster -> cluster.dispatcher.shutdown());
+        this.awaitDispatchers(timeout);
+
+        RuntimeException failure = null;
+        for (Cluster<K, V> cluster : this.clusters) {
+            try {
+                if (null != timeout) {
+                    cluster.producer.close(timeout);
+                } else {
+                    cluster.producer.close();
+                }
+            } catch (RuntimeException e) {
+                if (null == failure) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+
+        if (null != failure) {
+            throw failure;
+        }
+    }
+
+    // ----------------------------------------------------------------
+
+    private void awaitDispatchers(Duration timeout) {
+        long deadline = null != timeout ? System.nanoTime() + timeout.toNanos() : Long.MAX_VALUE;
+        try {
+            for (Cluster<K, V> cluster : this.clusters) {
+                long remaining = null != timeout ? Math.max(0L, deadline - System.nanoTime()) : Long.MAX_VALUE;
+                // Otherwise the queued sends run after the producer is closed and fail.
+                cluster.dispatcher.awaitTermination(remaining, TimeUnit.NANOSECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // ----------------------------------------------------------------
+
+    private static class Cluster<K, V> {
+
+        private final String name;
+        private final Producer<K, V> producer;
+        private final ExecutorService dispatcher;
+        private final AtomicInteger pending = new AtomicInteger();
+
+        private Cluster(String name, Producer<K, V> producer) {
+            checkNotNull("producer", producer);
+            this.name = name;
+            this.producer = producer;
+            this.dispatcher = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "kafka-plus-fan-out-" + name);
+                thread.setDaemon(true);
+
+                return thread;
+            });
+        }
+
+        private void send(ProducerRecord<K, V> record, Aggregator aggregator) {
+            try {
+                this.producer.send(record, (metadata, exception) -> {
+                    this.pending.decrementAndGet();
+                    if (null != exception) {
+                        aggregator.fail(this.name, exception);
+                    } else {
+                        aggregator.succeed(this.name, metadata);
+                    }
+                });
+            } catch (Exception e) {
+                this.pending.decrementAndGet();
+                aggregator.fail(this.name, e);
+            }
+        }
+    }
+
+    private static class Aggregator {
+
+        private final FanOutPolicy policy;
+        private final int clusters;
+        private final int required;
+        private final Map<String, RecordMetadata> acks = new LinkedHashMap<>();
+        private final Map<String, Throwable> failures = new LinkedHashMap<>();
+        private final CompletableFuture<Map<String, RecordMetadata>> future = new CompletableFuture<>();
+
+        private Aggregator(FanOutPolicy policy, int clusters) {
+            this.policy = policy;
+            this.clusters = clusters;
+            this.required = policy.required(clusters);
+        }
+
+        private synchronized void succeed(String cluster, RecordMetadata metadata) {
+            this.acks.put(cluster, metadata);
+            if (this.acks.size() == this.required) {
+                this.future.complete(Collections.unmodifiableMap(new LinkedHashMap<>(this.acks)));
+            }
+        }
+
+        private synchronized void fail(String cluster, Throwable cause) {
+            this.failures.put(cluster, cause);
+            if (this.failures.size() == this.clusters - this.required + 1) {
+                this.future.completeExceptionally(new FanOutException(this.policy, this.failures));
+            }
+        }
+    }
+}
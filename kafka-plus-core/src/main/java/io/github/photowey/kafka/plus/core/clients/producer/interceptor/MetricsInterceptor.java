@@ -0,0 +1,147 @@
+/*
+ * Copyright © 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.kafka.plus.core.clients.producer.interceptor;
+
+import io.github.photowey.kafka.plus.core.clients.producer.metric.SendMetricsRegistry;
+import io.github.photowey.kafka.plus.core.enums.Kafka;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * {@code MetricsInterceptor}
+ * <p>
+ * Records the send-to-ack latency and the serialized record size of each acknowledged record
+ * into the per-partition histograms of {@link SendMetricsRegistry#global()}.
+ * <p>
+ * The latency is measured from the send time, stamped by {@link #onSend(ProducerRecord)} as the record timestamp,
+ * exactly as the producer would stamp a record without a timestamp, and kept in flight per topic,
+ * an acknowledgement is measured only if its timestamp matches an in-flight send time.
+ * |- The records with a user (event) timestamp are not measured.
+ * |- The records of a {@code LogAppendTime} topic are not measured, the broker overrides the timestamp.
+ * |- The send times not acknowledged within {@code delivery.timeout.ms} are swept.
+ *
+ * @author photowey
+ * @version 3.7.0.1.6
+ * @since 2026/10/18
+ */
+public class MetricsInterceptor<K, V> extends AbstractProducerInterceptorAdaptor<K, V> {
+
+    private static final long DEFAULT_DELIVERY_TIMEOUT_MS = 120_000L;
+    private static final long SWEEP_INTERVAL_MS = 1_000L;
+
+    private final SendMetricsRegistry registry;
+    /**
+     * topic -> send time -> in-flight records.
+     */
+    private final Map<String, ConcurrentNavigableMap<Long, Integer>> inFlight = new ConcurrentHashMap<>();
+    private long maxLatencyMs = DEFAULT_DELIVERY_TIMEOUT_MS;
+    private volatile long lastSweepMs;
+
+    public MetricsInterceptor() {
+        this(SendMetricsRegistry.global());
+    }
+
+    public MetricsInterceptor(SendMetricsRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public void configure(Map<String, ?> configs) {
+        Object deliveryTimeoutMs = configs.get(Kafka.Producer.DELIVERY_TIMEOUT_MS.key());
+        if (null != deliveryTimeoutMs) {
+            this.maxLatencyMs = Long.parseLong(String.valueOf(deliveryTimeoutMs).trim());
+        }
+    }
+
+    @Override
+    public ProducerRecord<K, V> onSend(ProducerRecord<K, V> record) {
+        if (null != record.timestamp()) {
+            return record;
+        }
+
+        long now = System.currentTimeMillis();
+        this.inFlight.computeIfAbsent(record.topic(), topic -> new ConcurrentSkipListMap<>()).merge(now, 1, Integer::sum);
+        this.sweepIfNecessary(now);
+
+        // Same key/value/headers instances, the downstream interceptors see the same record.
+        return new ProducerRecord<>(record.topic(), record.partition(), now, record.key(), record.value(), record.headers());
+    }
+
+    @Override
+    public void onAcknowledgement(RecordMetadata metadata, Exception exception) {
+        if (null == metadata) {
+            return;
+        }
+
+        if (null != exception) {
+            this.registry.recordError(metadata.topic(), metadata.partition());
+
+            return;
+        }
+
+        if (!metadata.hasTimestamp() || !this.release(metadata.topic(), metadata.timestamp())) {
+            return;
+        }
+
+        long latencyMs = System.currentTimeMillis() - metadata.timestamp();
+        if (latencyMs < 0 || latencyMs > this.maxLatencyMs) {
+            return;
+        }
+
+        int recordBytes = Math.max(0, metadata.serializedKeySize()) + Math.max(0, metadata.serializedValueSize());
+        this.registry.recordSuccess(metadata.topic(), metadata.partition(), latencyMs, recordBytes);
+    }
+
+    @Override
+    public void close() {
+        this.inFlight.clear();
+    }
+
+    // ----------------------------------------------------------------
+
+    private boolean release(String topic, long sendMs) {
+        ConcurrentNavigableMap<Long, Integer> sends = this.inFlight.get(topic);
+        if (null == sends) {
+            return false;
+        }
+
+        boolean[] released = new boolean[1];
+        sends.computeIfPresent(sendMs, (ms, records) -> {
+            released[0] = true;
+
+            return records > 1 ? records - 1 : null;
+        });
+
+        return released[0];
+    }
+
+    private void sweepIfNecessary(long now) {
+        if (now - this.lastSweepMs < SWEEP_INTERVAL_MS) {
+            return;
+        }
+        this.lastSweepMs = now;
+
+        // The failed sends are acknowledged without a timestamp, theirs are swept.
+        for (ConcurrentNavigableMap<Long, Integer> sends : this.inFlight.values()) {
+            sends.headMap(now - this.maxLatencyMs).clear();
+        }
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright © 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.kafka.plus.core.clients.producer.lane;
+
+import io.github.photowey.kafka.plus.core.clients.builder.producer.ProducerBuilder;
+import io.github.photowey.kafka.plus.core.enums.Kafka;
+
+/**
+ * {@code LaneProfile}
+ * <p>
+ * The producer tuning presets of the {@link PriorityLanes}.
+ *
+ * @author photowey
+ * @version 3.7.0.1.6
+ * @since 2026/10/18
+ */
+public enum LaneProfile {
+
+    /**
+     * The latency-critical traffic: sent as soon as possible in small batches.
+     */
+    CRITICAL(0L, 16 << 10, Kafka.Producer.Compression.NONE),
+    /**
+     * The bulk traffic: large compressed batches, waits for the batches to fill up.
+     */
+    BULK(100L, 512 << 10, Kafka.Producer.Compression.LZ4),
+    ;
+
+    private final long lingerMs;
+    private final long batchSize;
+    private final Kafka.Producer.Compression compression;
+
+    LaneProfile(long lingerMs, long batchSize, Kafka.Producer.Compression compression) {
+        this.lingerMs = lingerMs;
+        this.batchSize = batchSize;
+        this.compression = compression;
+    }
+
+    /**
+     * Apply the {@code linger.ms}/{@code batch.size}/{@code compression.type} to the builder,
+     * the later builder calls override them.
+     *
+     * @param builder the {@link ProducerBuilder}.
+     * @return {@link ProducerBuilder}
+     */
+    public ProducerBuilder apply(ProducerBuilder builder) {
+        return builder
+                .lingerMs(this.lingerMs)
+                .batchSize(this.batchSize)
+                .compression(this.compression);
+    }
+
+    public long lingerMs() {
+        return lingerMs;
+    }
+
+    public long batchSize() {
+        return batchSize;
+    }
+
+    public Kafka.Producer.Compression compression() {
+        return compression;
+    }
+}
@@ -0,0 +1,221 @@
+/*
+ * Copyright © 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.kafka.plus.core.clients.producer.lane;
+
+import io.github.photowey.kafka.plus.core.exception.KafkaPlusRuntimeException;
+import org.apache.kafka.clients.producer.Callback;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+import static io.github.photowey.kafka.plus.core.checker.ConfigChecker.checkNotBlank;
+import static io.github.photowey.kafka.plus.core.checker.ConfigChecker.checkNotNull;
+
+/**
+ * {@code PriorityLanes}
+ * <p>
+ * Named lanes of the producers, each one with its own {@code buffer.memory}, batches and I/O thread,
+ * so the bulk traffic filling up its accumulator can't delay the latency-critical traffic.
+ * <p>
+ * The lane of a record is resolved by:
+ * <ol>
+ *     <li>the per-record router, if it returns a lane</li>
+ *     <li>the per-topic route</li>
+ *     <li>the default lane</li>
+ * </ol>
+ * <p>
+ * Examples:
+ * <pre>
+ * ProducerService producerService = kafkaEngine.producerService();
+ * PriorityLanes&lt;String, String&gt; lanes = producerService.&lt;String, String&gt;priorityLanes("critical")
+ *    .lane("critical", LaneProfile.CRITICAL.apply(producerService.createProducer().configs(configs)).build())
+ *    .lane("bulk", LaneProfile.BULK.apply(producerService.createProducer().configs(configs)).build())
+ *    .route("backfill-orders", "bulk");
+ * lanes.send(record, callback);
+ * </pre>
+ *
+ * @author photowey
+ * @version 3.7.0.1.6
+ * @since 2026/10/18
+ */
+public class PriorityLanes<K, V> implements Closeable {
+
+    private final String defaultLane;
+    private final Map<String, Producer<K, V>> lanes = new ConcurrentHashMap<>();
+    private final Map<String, String> routes = new ConcurrentHashMap<>();
+
+    private volatile Function<ProducerRecord<K, V>, String> router;
+
+    public PriorityLanes(String defaultLane) {
+        checkNotBlank("defaultLane", defaultLane);
+        this.defaultLane = defaultLane;
+    }
+
+    // ----------------------------------------------------------------
+
+    /**
+     * Register the producer of the lane, which is owned and closed by the lanes.
+     *
+     * @param lane     the lane name.
+     * @param producer the {@link Producer}.
+     * @return {@link PriorityLanes}
+     */
+    public PriorityLanes<K, V> lane(String lane, Producer<K, V> producer) {
+        checkNotBlank("lane", lane);
+        checkNotNull("producer", producer);
+        if (null != this.lanes.putIfAbsent(lane, producer)) {
+            throw new KafkaPlusRuntimeException("The lane: [%s] already exists", lane);
+        }
+
+        return this;
+    }
+
+    /**
+     * Route the topic to the lane.
+     *
+     * @param topic the topic.
+     * @param lane  the lane name.
+     * @return {@link PriorityLanes}
+     */
+    public PriorityLanes<K, V> route(String topic, String lane) {
+        checkNotBlank("topic", topic);
+        checkNotBlank("lane", lane);
+        this.routes.put(topic, lane);
+
+        return this;
+    }
+
+    /**
+     * Route the records to the lanes, e.g.: by a priority header.
+     *
+     * @param router returns the lane name, {@code null} falls back to the topic route.
+     * @return {@link PriorityLanes}
+     */
+    public PriorityLanes<K, V> router(Function<ProducerRecord<K, V>, String> router) {
+        this.router = router;
+
+        return this;
+    }
+
+    // ----------------------------------------------------------------
+
+    public Future<RecordMetadata> send(ProducerRecord<K, V> record) {
+        return this.send(record, null);
+    }
+
+    public Future<RecordMetadata> send(ProducerRecord<K, V> record, Callback callback) {
+        checkNotNull("record", record);
+
+        return this.producer(this.laneOf(record)).send(record, callback);
+    }
+
+    /**
+     * Send the record by the lane, bypassing the routing.
+     *
+     * @param lane     the lane name.
+     * @param record   the {@link ProducerRecord}.
+     * @param callback the {@link Callback}, nullable.
+     * @return the {@link Future} of the {@link RecordMetadata}.
+     */
+    public Future<RecordMetadata> send(String lane, ProducerRecord<K, V> record, Callback callback) {
+        checkNotNull("record", record);
+
+        return this.producer(lane).send(record, callback);
+    }
+
+    /**
+     * Resolve the lane of the record.
+     *
+     * @param record the {@link ProducerRecord}.
+     * @return the lane name.
+     */
+    public String laneOf(ProducerRecord<K, V> record) {
+        Function<ProducerRecord<K, V>, String> target = this.router;
+        if (null != target) {
+            String lane = target.apply(record);
+            if (null != lane) {
+                return lane;
+            }
+        }
+
+        return this.routes.getOrDefault(record.topic(), this.defaultLane);
+    }
+
+    /**
+     * The producer of the lane.
+     *
+     * @param lane the lane name.
+     * @return {@link Producer}
+     */
+    public Producer<K, V> producer(String lane) {
+        Producer<K, V> producer = this.lanes.get(lane);
+        if (null == producer) {
+            throw new KafkaPlusRuntimeException("The lane: [%s] not found", lane);
+        }
+
+        return producer;
+    }
+
+    public Map<String, Producer<K, V>> lanes() {
+        return Collections.unmodifiableMap(new LinkedHashMap<>(this.lanes));
+    }
+
+    public void flush() {
+        this.lanes.values().forEach(Producer::flush);
+    }
+
+    @Override
+    public void close() {
+        this.close(null);
+    }
+
+    /**
+     * Close the producers of all the lanes.
+     *
+     * @param timeout the timeout of each producer, {@code null} means the default.
+     */
+    public void close(Duration timeout) {
+        RuntimeException failure = null;
+        for (Producer<K, V> producer : this.lanes.values()) {
+            try {
+                if (null != timeout) {
+                    producer.close(timeout);
+                } else {
+                    producer.close();
+                }
+            } catch (RuntimeException e) {
+                if (null == failure) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+
+        if (null != failure) {
+            throw failure;
+        }
+    }
+}
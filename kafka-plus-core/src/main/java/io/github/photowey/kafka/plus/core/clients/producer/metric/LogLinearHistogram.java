@@ -0,0 +1,210 @@
+/*
+ * Copyright © 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.kafka.plus.core.clients.producer.metric;
+
+import io.github.photowey.kafka.plus.core.exception.KafkaPlusRuntimeException;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * {@code LogLinearHistogram}
+ * <p>
+ * A lock-free histogram of non-negative {@code long} values.
+ * The values below {@code 2^subBucketBits} are counted exactly, above that each power of two
+ * is split into {@code 2^subBucketBits} linear sub-buckets, so the relative error is at most {@code 2^-subBucketBits}.
+ * <p>
+ * {@link #record(long)} is a couple of atomic increments on the pre-allocated counters, it never allocates.
+ *
+ * @author photowey
+ * @version 3.7.0.1.6
+ * @since 2026/10/18
+ */
+public class LogLinearHistogram {
+
+    /**
+     * ~3% relative error, 1888 counters.
+     */
+    public static final int DEFAULT_SUB_BUCKET_BITS = 5;
+
+    private final int subBucketBits;
+    private final int subBuckets;
+    private final AtomicLongArray counts;
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong sum = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    public LogLinearHistogram() {
+        this(DEFAULT_SUB_BUCKET_BITS);
+    }
+
+    public LogLinearHistogram(int subBucketBits) {
+        if (subBucketBits < 1 || subBucketBits > 10) {
+            throw new KafkaPlusRuntimeException("Illegal sub-bucket bits: %d, expected: [1, 10]", subBucketBits);
+        }
+        this.subBucketBits = subBucketBits;
+        this.subBuckets = 1 << subBucketBits;
+        this.counts = new AtomicLongArray((64 - subBucketBits) * this.subBuckets);
+    }
+
+    // ----------------------------------------------------------------
+
+    /**
+     * Record a value, the negative values are recorded as {@code 0}.
+     *
+     * @param value the value.
+     */
+    public void record(long value) {
+        long target = Math.max(0, value);
+        this.counts.incrementAndGet(this.indexOf(target));
+        this.count.incrementAndGet();
+        this.sum.addAndGet(target);
+
+        long current;
+        while (target > (current = this.max.get())) {
+            if (this.max.compareAndSet(current, target)) {
+                break;
+            }
+        }
+    }
+
+    public long count() {
+        return this.count.get();
+    }
+
+    public long max() {
+        return this.max.get();
+    }
+
+    public double mean() {
+        long total = this.count.get();
+
+        return 0 == total ? 0 : (double) this.sum.get() / total;
+    }
+
+    /**
+     * The value at the percentile.
+     *
+     * @param percentile the percentile in {@code [0, 100]}, e.g.: {@code 99.9}.
+     * @return the upper bound of the bucket the percentile falls in (capped by {@link #max()}), {@code 0} if empty.
+     */
+    public long percentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new KafkaPlusRuntimeException("Illegal percentile: %s, expected: [0, 100]", percentile);
+        }
+
+        long total = 0;
+        for (int i = 0; i < this.counts.length(); i++) {
+            total += this.counts.get(i);
+        }
+        if (0 == total) {
+            return 0;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+        long seen = 0;
+        for (int i = 0; i < this.counts.length(); i++) {
+            seen += this.counts.get(i);
+            if (seen >= rank) {
+                return Math.min(this.upperBoundOf(i), this.max.get());
+            }
+        }
+
+        return this.max.get();
+    }
+
+    public long p50() {
+        return this.percentile(50);
+    }
+
+    public long p99() {
+        return this.percentile(99);
+    }
+
+    public long p999() {
+        return this.percentile(99.9);
+    }
+
+    /**
+     * Add the counts of the other histogram to this one.
+     *
+     * @param other the histogram of the same {@code subBucketBits}.
+     * @return {@link LogLinearHistogram}
+     */
+    public LogLinearHistogram merge(LogLinearHistogram other) {
+        if (other.subBucketBits != this.subBucketBits) {
+            throw new KafkaPlusRuntimeException("The sub-bucket bits mismatch: [%d] vs [%d]", this.subBucketBits, other.subBucketBits);
+        }
+
+        for (int i = 0; i < other.counts.length(); i++) {
+            long delta = other.counts.get(i);
+            if (delta > 0) {
+                this.counts.addAndGet(i, delta);
+            }
+        }
+        this.count.addAndGet(other.count.get());
+        this.sum.addAndGet(other.sum.get());
+
+        long target = other.max.get();
+        long current;
+        while (target > (current = this.max.get())) {
+            if (this.max.compareAndSet(current, target)) {
+                break;
+            }
+        }
+
+        return this;
+    }
+
+    /**
+     * Clear the counts, the values recorded concurrently may be partially lost.
+     */
+    public void reset() {
+        for (int i = 0; i < this.counts.length(); i++) {
+            this.counts.set(i, 0);
+        }
+        this.count.set(0);
+        this.sum.set(0);
+        this.max.set(0);
+    }
+
+    // ----------------------------------------------------------------
+
+    int indexOf(long value) {
+        if (value < this.subBuckets) {
+            return (int) value;
+        }
+
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - this.subBucketBits;
+        int mantissa = (int) (value >>> shift);
+
+        return (shift + 1) * this.subBuckets + (mantissa - this.subBuckets);
+    }
+
+    long upperBoundOf(int index) {
+        if (index < this.subBuckets) {
+            return index;
+        }
+
+        int shift = index / this.subBuckets - 1;
+        long mantissa = index % this.subBuckets + this.subBuckets;
+        long upper = ((mantissa + 1) << shift) - 1;
+
+        // The last bucket of the top power of two overflows.
+        return upper < 0 ? Long.MAX_VALUE : upper;
+    }
+}
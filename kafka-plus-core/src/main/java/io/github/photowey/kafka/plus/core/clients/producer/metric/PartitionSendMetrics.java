@@ -0,0 +1,86 @@
+/*
+ * Copyright © 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.kafka.plus.core.clients.producer.metric;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@code PartitionSendMetrics}
+ * <p>
+ * The send-to-ack latency and record size histograms of a topic partition.
+ *
+ * @author photowey
+ * @version 3.7.0.1.6
+ * @since 2026/10/18
+ */
+public class PartitionSendMetrics {
+
+    private final LogLinearHistogram latencyMs = new LogLinearHistogram();
+    private final LogLinearHistogram recordBytes = new LogLinearHistogram();
+    private final AtomicLong errors = new AtomicLong();
+
+    /**
+     * The send-to-ack latency in milliseconds.
+     *
+     * @return {@link LogLinearHistogram}
+     */
+    public LogLinearHistogram latencyMs() {
+        return this.latencyMs;
+    }
+
+    /**
+     * The serialized key + value bytes.
+     *
+     * @return {@link LogLinearHistogram}
+     */
+    public LogLinearHistogram recordBytes() {
+        return this.recordBytes;
+    }
+
+    /**
+     * The failed sends.
+     *
+     * @return the count.
+     */
+    public long errors() {
+        return this.errors.get();
+    }
+
+    // ----------------------------------------------------------------
+
+    void onSuccess(long latencyMs, int recordBytes) {
+        this.latencyMs.record(latencyMs);
+        this.recordBytes.record(recordBytes);
+    }
+
+    void onError() {
+        this.errors.incrementAndGet();
+    }
+
+    PartitionSendMetrics merge(PartitionSendMetrics other) {
+        this.latencyMs.merge(other.latencyMs);
+        this.recordBytes.merge(other.recordBytes);
+        this.errors.addAndGet(other.errors.get());
+
+        return this;
+    }
+
+    void reset() {
+        this.latencyMs.reset();
+        this.recordBytes.reset();
+        this.errors.set(0);
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright © 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.kafka.plus.core.clients.producer.metric;
+
+import io.github.photowey.kafka.plus.core.enums.Kafka;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.common.Metric;
+import org.apache.kafka.common.MetricName;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static io.github.photowey.kafka.plus.core.checker.ConfigChecker.checkNotNull;
+
+/**
+ * {@code ProducerMetricReader}
+ * <p>
+ * Reads the built-in {@link Kafka.Producer.Metric}s of a {@link Producer},
+ * the {@link Metric} objects are live, so they are looked up once and cached.
+ *
+ * @author photowey
+ * @version 3.7.0.1.6
+ * @since 2026/10/18
+ */
+public class ProducerMetricReader {
+
+    private final Producer<?, ?> producer;
+    private final Map<Kafka.Producer.Metric, Metric> metrics = new ConcurrentHashMap<>();
+
+    public ProducerMetricReader(Producer<?, ?> producer) {
+        checkNotNull("producer", producer);
+        this.producer = producer;
+    }
+
+    /**
+     * Read the value of the metric.
+     *
+     * @param metric the {@link Kafka.Producer.Metric}.
+     * @return the value, {@link Double#NaN} if the producer doesn't expose it.
+     */
+    public double read(Kafka.Producer.Metric metric) {
+        Metric target = this.metrics.get(metric);
+        if (null == target) {
+            target = this.lookup(metric);
+            if (null == target) {
+                return Double.NaN;
+            }
+            this.metrics.put(metric, target);
+        }
+
+        Object value = target.metricValue();
+        if (value instanceof Number) {
+            return ((Number) value).doubleValue();
+        }
+
+        return Double.NaN;
+    }
+
+    /**
+     * Read the value of the metric.
+     *
+     * @param metric       the {@link Kafka.Producer.Metric}.
+     * @param defaultValue the default value if the metric is absent or not a number yet.
+     * @return the value.
+     */
+    public double read(Kafka.Producer.Metric metric, double defaultValue) {
+        double value = this.read(metric);
+
+        return Double.isNaN(value) || Double.isInfinite(value) ? defaultValue : value;
+    }
+
+    // ----------------------------------------------------------------
+
+    private Metric lookup(Kafka.Producer.Metric metric) {
+        Map<MetricName, ? extends Metric> candidates = this.producer.metrics();
+        if (null == candidates) {
+            return null;
+        }
+
+        for (Map.Entry<MetricName, ? extends Metric> entry : candidates.entrySet()) {
+            MetricName name = entry.getKey();
+            if (metric.value().equals(name.name()) && metric.group().equals(name.group())) {
+                return entry.getValue();
+            }
+        }
+
+        return null;
+    }
+}
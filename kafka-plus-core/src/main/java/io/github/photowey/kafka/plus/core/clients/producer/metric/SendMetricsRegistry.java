@@ -0,0 +1,206 @@
+/*
+ * Copyright © 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.kafka.plus.core.clients.producer.metric;
+
+import org.apache.kafka.common.TopicPartition;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static io.github.photowey.kafka.plus.core.checker.ConfigChecker.checkNotBlank;
+
+/**
+ * {@code SendMetricsRegistry}
+ * <p>
+ * The per-partition {@link PartitionSendMetrics} recorded by the
+ * {@link io.github.photowey.kafka.plus.core.clients.producer.interceptor.MetricsInterceptor}s of the JVM.
+ * <p>
+ * Examples:
+ * <pre>
+ * SendMetricsRegistry registry = kafkaEngine.sendMetrics();
+ * PartitionSendMetrics metrics = registry.partition("orders", 3);
+ * long p999 = metrics.latencyMs().p999();
+ * </pre>
+ *
+ * @author photowey
+ * @version 3.7.0.1.6
+ * @since 2026/10/18
+ */
+public class SendMetricsRegistry {
+
+    private static final SendMetricsRegistry GLOBAL = new SendMetricsRegistry();
+
+    private final Map<TopicPartition, PartitionSendMetrics> partitions = new ConcurrentHashMap<>();
+    /**
+     * The recording index: topic -> partition slots, looked up without allocating a {@link TopicPartition}.
+     */
+    private final Map<String, TopicSlots> topics = new ConcurrentHashMap<>();
+
+    /**
+     * The registry the interceptors record into.
+     *
+     * @return {@link SendMetricsRegistry}
+     */
+    public static SendMetricsRegistry global() {
+        return GLOBAL;
+    }
+
+    // ----------------------------------------------------------------
+
+    /**
+     * The metrics of the partition.
+     *
+     * @param topic     the topic.
+     * @param partition the partition, {@code -1} for the sends failed before the partition was assigned.
+     * @return {@link PartitionSendMetrics}, {@code null} if nothing was recorded.
+     */
+    public PartitionSendMetrics partition(String topic, int partition) {
+        return this.partitions.get(new TopicPartition(topic, partition));
+    }
+
+    /**
+     * The metrics of all the partitions of the topic merged.
+     *
+     * @param topic the topic.
+     * @return the merged copy of {@link PartitionSendMetrics}.
+     */
+    public PartitionSendMetrics topic(String topic) {
+        checkNotBlank("topic", topic);
+
+        PartitionSendMetrics merged = new PartitionSendMetrics();
+        for (Map.Entry<TopicPartition, PartitionSendMetrics> entry : this.partitions.entrySet()) {
+            if (topic.equals(entry.getKey().topic())) {
+                merged.merge(entry.getValue());
+            }
+        }
+
+        return merged;
+    }
+
+    /**
+     * The metrics of all the partitions.
+     *
+     * @return the read-only view.
+     */
+    public Map<TopicPartition, PartitionSendMetrics> partitions() {
+        return Collections.unmodifiableMap(this.partitions);
+    }
+
+    /**
+     * Clear the recorded metrics, e.g.: at the start of each reporting window.
+     */
+    public void reset() {
+        this.partitions.values().forEach(PartitionSendMetrics::reset);
+    }
+
+    // ----------------------------------------------------------------
+
+    /**
+     * Record a successful send.
+     *
+     * @param partition   the {@link TopicPartition}.
+     * @param latencyMs   the send-to-ack latency.
+     * @param recordBytes the serialized key + value bytes.
+     */
+    public void recordSuccess(TopicPartition partition, long latencyMs, int recordBytes) {
+        this.recordSuccess(partition.topic(), partition.partition(), latencyMs, recordBytes);
+    }
+
+    /**
+     * Record a successful send.
+     *
+     * @param topic       the topic.
+     * @param partition   the partition.
+     * @param latencyMs   the send-to-ack latency.
+     * @param recordBytes the serialized key + value bytes.
+     */
+    public void recordSuccess(String topic, int partition, long latencyMs, int recordBytes) {
+        this.metrics(topic, partition).onSuccess(latencyMs, recordBytes);
+    }
+
+    /**
+     * Record a failed send.
+     *
+     * @param partition the {@link TopicPartition}.
+     */
+    public void recordError(TopicPartition partition) {
+        this.recordError(partition.topic(), partition.partition());
+    }
+
+    /**
+     * Record a failed send.
+     *
+     * @param topic     the topic.
+     * @param partition the partition, {@code -1} if not assigned yet.
+     */
+    public void recordError(String topic, int partition) {
+        this.metrics(topic, partition).onError();
+    }
+
+    // ----------------------------------------------------------------
+
+    private PartitionSendMetrics metrics(String topic, int partition) {
+        TopicSlots slots = this.topics.get(topic);
+        if (null == slots) {
+            slots = this.topics.computeIfAbsent(topic, x -> new TopicSlots());
+        }
+
+        PartitionSendMetrics metrics = slots.get(partition);
+        if (null != metrics) {
+            return metrics;
+        }
+
+        // Once per partition.
+        metrics = this.partitions.computeIfAbsent(new TopicPartition(topic, partition), x -> new PartitionSendMetrics());
+        slots.set(partition, metrics);
+
+        return metrics;
+    }
+
+    /**
+     * The metrics of a topic indexed by {@code partition + 1}, the slot {@code 0} is the unassigned partition.
+     */
+    private static final class TopicSlots {
+
+        private volatile PartitionSendMetrics[] slots = new PartitionSendMetrics[8];
+
+        PartitionSendMetrics get(int partition) {
+            PartitionSendMetrics[] slots = this.slots;
+            int index = partition + 1;
+
+            return index >= 0 && index < slots.length ? slots[index] : null;
+        }
+
+        synchronized void set(int partition, PartitionSendMetrics metrics) {
+            int index = partition + 1;
+            if (index < 0) {
+                return;
+            }
+
+            PartitionSendMetrics[] slots = this.slots;
+            if (index >= slots.length) {
+                slots = Arrays.copyOf(slots, Math.max(index + 1, slots.length << 1));
+            } else {
+                slots = slots.clone();
+            }
+            slots[index] = metrics;
+            // Published by the volatile write.
+            this.slots = slots;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright © 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.kafka.plus.core.clients.producer.partitioner;
+
+import io.github.photowey.kafka.plus.core.exception.KafkaPlusRuntimeException;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@code CountMinSketch}
+ * <p>
+ * A compact, thread-safe frequency estimator: {@code depth} rows of {@code width} counters,
+ * the estimate of a key is the minimum of its counters, so it never under-counts.
+ * <p>
+ * The counters are halved every {@code window} additions, so the estimates follow the recent traffic.
+ *
+ * @author photowey
+ * @version 3.7.0.1.6
+ * @since 2026/10/18
+ */
+public class CountMinSketch {
+
+    private final int depth;
+    private final int mask;
+    private final long window;
+
+    private final AtomicIntegerArray counters;
+    private final AtomicLong total = new AtomicLong();
+
+    /**
+     * @param depth  the number of hash rows.
+     * @param width  the counters per row, rounded up to a power of two.
+     * @param window the additions between two halvings.
+     */
+    public CountMinSketch(int depth, int width, long window) {
+        if (depth <= 0 || width <= 0 || window <= 0) {
+            throw new KafkaPlusRuntimeException(
+                    "Illegal sketch arguments: depth=%d, width=%d, window=%d", depth, width, window);
+        }
+
+        int buckets = Integer.highestOneBit(width);
+        if (buckets < width) {
+            buckets <<= 1;
+        }
+
+        this.depth = depth;
+        this.mask = buckets - 1;
+        this.window = window;
+        this.counters = new AtomicIntegerArray(depth * buckets);
+    }
+
+    // ----------------------------------------------------------------
+
+    /**
+     * Count the key once.
+     *
+     * @param hash the key hash.
+     * @return the estimated count of the key after the addition.
+     */
+    public int add(int hash) {
+        int estimate = Integer.MAX_VALUE;
+        int h2 = spread(hash);
+        for (int row = 0; row < this.depth; row++) {
+            int next = this.counters.incrementAndGet(this.index(row, hash, h2));
+            estimate = Math.min(estimate, next);
+        }
+
+        if (0 == this.total.incrementAndGet() % this.window) {
+            this.halve();
+        }
+
+        return estimate;
+    }
+
+    /**
+     * The estimated count of the key.
+     *
+     * @param hash the key hash.
+     * @return the estimated count.
+     */
+    public int estimate(int hash) {
+        int estimate = Integer.MAX_VALUE;
+        int h2 = spread(hash);
+        for (int row = 0; row < this.depth; row++) {
+            estimate = Math.min(estimate, this.counters.get(this.index(row, hash, h2)));
+        }
+
+        return estimate;
+    }
+
+    /**
+     * The additions in the current window, in the same (halved) scale as the estimates.
+     *
+     * @return the count.
+     */
+    public long windowed() {
+        long added = this.total.get() % this.window;
+        // After the first halving, the counters also carry the halved history.
+        return this.total.get() < this.window ? added : added + this.window / 2;
+    }
+
+    // ----------------------------------------------------------------
+
+    private int index(int row, int h1, int h2) {
+        // Kirsch-Mitzenmacher: h1 + row * h2 emulates independent row hashes.
+        return row * (this.mask + 1) + ((h1 + row * h2) & this.mask);
+    }
+
+    private void halve() {
+        for (int i = 0; i < this.counters.length(); i++) {
+            int current;
+            do {
+                current = this.counters.get(i);
+            } while (!this.counters.compareAndSet(i, current, current >>> 1));
+        }
+    }
+
+    private static int spread(int hash) {
+        int h = hash * 0x9E3779B9;
+
+        return (h ^ (h >>> 16)) | 1;
+    }
+}
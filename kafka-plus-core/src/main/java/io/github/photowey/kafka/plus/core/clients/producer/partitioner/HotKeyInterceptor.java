@@ -0,0 +1,61 @@
+/*
+ * Copyright © 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.kafka.plus.core.clients.producer.partitioner;
+
+import io.github.photowey.kafka.plus.core.clients.producer.interceptor.AbstractProducerInterceptorAdaptor;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+
+/**
+ * {@code HotKeyInterceptor}
+ * <p>
+ * Hands the record headers to {@link HotKeyPartitioner}, so it can mark the salt of a hot key.
+ * {@code KafkaProducer} runs the interceptors and the partitioner on the send thread, before the headers turn read-only.
+ * <p>
+ * The record is copied with its own headers, the record of the caller is never modified,
+ * so a re-sent record doesn't stack the salt headers.
+ *
+ * @author photowey
+ * @version 3.7.0.1.6
+ * @since 2026/10/18
+ */
+public class HotKeyInterceptor<K, V> extends AbstractProducerInterceptorAdaptor<K, V> {
+
+    @Override
+    public ProducerRecord<K, V> onSend(ProducerRecord<K, V> record) {
+        if (null != record.partition()) {
+            return record;
+        }
+
+        RecordHeaders headers = new RecordHeaders(record.headers().toArray());
+        // The salt of a previous send, e.g.: a consumed record forwarded as is.
+        headers.remove(HotKeyPartitioner.SALT_HEADER);
+        ProducerRecord<K, V> copy = new ProducerRecord<>(
+                record.topic(), null, record.timestamp(), record.key(), record.value(), headers);
+        HotKeyPartitioner.bind(copy);
+
+        return copy;
+    }
+
+    @Override
+    public void onAcknowledgement(RecordMetadata metadata, Exception exception) {
+        if (null != exception) {
+            // Failed before the partitioner ran, e.g.: the metadata wait timed out.
+            HotKeyPartitioner.unbind();
+        }
+    }
+}
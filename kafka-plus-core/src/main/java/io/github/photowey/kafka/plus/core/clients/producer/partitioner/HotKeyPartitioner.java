@@ -0,0 +1,227 @@
+/*
+ * Copyright © 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.kafka.plus.core.clients.producer.partitioner;
+
+import org.apache.kafka.clients.producer.Partitioner;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.Cluster;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.utils.Utils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * {@code HotKeyPartitioner}
+ * <p>
+ * A key-hash {@link Partitioner} which tracks the key frequencies per topic with a {@link CountMinSketch}.
+ * <ul>
+ *     <li>cold keys stay on their hash partition: {@code toPositive(murmur2(key)) % partitions}, the same as the built-in partitioner</li>
+ *     <li>hot keys are spread over {@code sub.partitions} consecutive partitions starting from their hash partition,
+ *     the chosen salt is marked with the {@link #SALT_HEADER} header</li>
+ * </ul>
+ * The salt header needs {@link HotKeyInterceptor}, which hands the record headers to the partitioner on the send thread.
+ * <p>
+ * The records without a key stick to one partition per topic until its batch is full ({@link #onNewBatch}),
+ * as the built-in sticky partitioning does, which a custom {@link Partitioner} otherwise disables.
+ * <p>
+ * Note: the records of a hot key are no longer ordered across its sub-partitions.
+ *
+ * @author photowey
+ * @version 3.7.0.1.6
+ * @since 2026/10/18
+ */
+public class HotKeyPartitioner implements Partitioner {
+
+    public static final String SALT_HEADER = "kafka-plus-hot-key-salt";
+
+    public static final String SUB_PARTITIONS_CONFIG = "kafka.plus.partitioner.hot.key.sub.partitions";
+    public static final String HOT_RATIO_CONFIG = "kafka.plus.partitioner.hot.key.ratio";
+    public static final String MIN_COUNT_CONFIG = "kafka.plus.partitioner.hot.key.min.count";
+    public static final String WINDOW_CONFIG = "kafka.plus.partitioner.hot.key.window";
+    public static final String SKETCH_DEPTH_CONFIG = "kafka.plus.partitioner.hot.key.sketch.depth";
+    public static final String SKETCH_WIDTH_CONFIG = "kafka.plus.partitioner.hot.key.sketch.width";
+
+    public static final int DEFAULT_SUB_PARTITIONS = 4;
+    public static final double DEFAULT_HOT_RATIO = 0.01D;
+    public static final int DEFAULT_MIN_COUNT = 128;
+    public static final long DEFAULT_WINDOW = 100_000L;
+    public static final int DEFAULT_SKETCH_DEPTH = 4;
+    public static final int DEFAULT_SKETCH_WIDTH = 2048;
+
+    private static final ThreadLocal<ProducerRecord<?, ?>> PENDING_RECORD = new ThreadLocal<>();
+
+    private final Map<String, CountMinSketch> sketches = new ConcurrentHashMap<>();
+    /**
+     * The sticky partition of the records without a key, by topic.
+     */
+    private final Map<String, Integer> stickies = new ConcurrentHashMap<>();
+
+    private int subPartitions = DEFAULT_SUB_PARTITIONS;
+    private double hotRatio = DEFAULT_HOT_RATIO;
+    private int minCount = DEFAULT_MIN_COUNT;
+    private long window = DEFAULT_WINDOW;
+    private int sketchDepth = DEFAULT_SKETCH_DEPTH;
+    private int sketchWidth = DEFAULT_SKETCH_WIDTH;
+
+    @Override
+    public void configure(Map<String, ?> configs) {
+        this.subPartitions = (int) parse(configs, SUB_PARTITIONS_CONFIG, this.subPartitions);
+        this.hotRatio = parse(configs, HOT_RATIO_CONFIG, this.hotRatio);
+        this.minCount = (int) parse(configs, MIN_COUNT_CONFIG, this.minCount);
+        this.window = (long) parse(configs, WINDOW_CONFIG, this.window);
+        this.sketchDepth = (int) parse(configs, SKETCH_DEPTH_CONFIG, this.sketchDepth);
+        this.sketchWidth = (int) parse(configs, SKETCH_WIDTH_CONFIG, this.sketchWidth);
+    }
+
+    @Override
+    public int partition(String topic, Object key, byte[] keyBytes, Object value, byte[] valueBytes, Cluster cluster) {
+        Headers headers = headersOf(key, value);
+
+        List<PartitionInfo> partitions = cluster.partitionsForTopic(topic);
+        int numPartitions = partitions.size();
+        if (null == keyBytes) {
+            return this.unkeyed(topic, numPartitions, cluster);
+        }
+
+        int hash = Utils.murmur2(keyBytes);
+        int partition = Utils.toPositive(hash) % numPartitions;
+
+        int spread = Math.min(this.subPartitions, numPartitions);
+        if (spread <= 1 || !this.hot(topic, hash)) {
+            return partition;
+        }
+
+        int salt = ThreadLocalRandom.current().nextInt(spread);
+        if (null != headers) {
+            headers.add(SALT_HEADER, String.valueOf(salt).getBytes(StandardCharsets.UTF_8));
+        }
+
+        return (partition + salt) % numPartitions;
+    }
+
+    /**
+     * Switch the sticky partition of the topic once its batch is full, invoked by the {@code KafkaProducer}
+     * before the record is re-partitioned into a new batch.
+     */
+    @Override
+    @SuppressWarnings("deprecation")
+    public void onNewBatch(String topic, Cluster cluster, int prevPartition) {
+        this.nextSticky(topic, cluster, prevPartition);
+    }
+
+    @Override
+    public void close() {
+        this.sketches.clear();
+        this.stickies.clear();
+    }
+
+    // ----------------------------------------------------------------
+
+    /**
+     * Hand the record being sent to the partitioner, on the send thread.
+     *
+     * @param record the intercepted record.
+     */
+    static void bind(ProducerRecord<?, ?> record) {
+        PENDING_RECORD.set(record);
+    }
+
+    static void unbind() {
+        PENDING_RECORD.remove();
+    }
+
+    /**
+     * The headers of the bound record, only if it's the record being partitioned,
+     * a stale binding left by a failed send is discarded.
+     */
+    private static Headers headersOf(Object key, Object value) {
+        ProducerRecord<?, ?> record = PENDING_RECORD.get();
+        if (null == record) {
+            return null;
+        }
+
+        PENDING_RECORD.remove();
+
+        return record.key() == key && record.value() == value ? record.headers() : null;
+    }
+
+    boolean hot(String topic, int hash) {
+        CountMinSketch sketch = this.sketches.computeIfAbsent(topic,
+                (x) -> new CountMinSketch(this.sketchDepth, this.sketchWidth, this.window));
+        int estimate = sketch.add(hash);
+
+        return estimate >= this.minCount && estimate >= this.hotRatio * sketch.windowed();
+    }
+
+    // ----------------------------------------------------------------
+
+    private int unkeyed(String topic, int numPartitions, Cluster cluster) {
+        Integer partition = this.stickies.get(topic);
+        if (null != partition && partition < numPartitions) {
+            return partition;
+        }
+
+        return this.nextSticky(topic, cluster, null == partition ? -1 : partition);
+    }
+
+    /**
+     * Move the sticky partition of the topic off {@code prevPartition}, only once for the racing senders.
+     */
+    private int nextSticky(String topic, Cluster cluster, int prevPartition) {
+        Integer current = this.stickies.get(topic);
+        if (null != current && current != prevPartition) {
+            // Switched by another sender already.
+            return current;
+        }
+
+        int next;
+        List<PartitionInfo> available = cluster.availablePartitionsForTopic(topic);
+        if (available.size() == 1) {
+            next = available.get(0).partition();
+        } else if (available.size() > 1) {
+            do {
+                next = available.get(ThreadLocalRandom.current().nextInt(available.size())).partition();
+            } while (next == prevPartition);
+        } else {
+            next = ThreadLocalRandom.current().nextInt(cluster.partitionsForTopic(topic).size());
+        }
+
+        if (null == current) {
+            this.stickies.putIfAbsent(topic, next);
+        } else {
+            this.stickies.replace(topic, current, next);
+        }
+
+        return this.stickies.get(topic);
+    }
+
+    private static double parse(Map<String, ?> configs, String key, double defaultValue) {
+        Object value = configs.get(key);
+        if (null == value) {
+            return defaultValue;
+        }
+        if (value instanceof Number) {
+            return ((Number) value).doubleValue();
+        }
+
+        return Double.parseDouble(String.valueOf(value).trim());
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright © 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.kafka.plus.core.clients.producer.ratelimit;
+
+import io.github.photowey.kafka.plus.core.exception.KafkaPlusRuntimeException;
+
+/**
+ * {@code RateLimit}
+ * <p>
+ * The send budget of a {@link RateLimitedSender} bucket, {@code 0} means unlimited.
+ * <p>
+ * Examples:
+ * <pre>
+ * RateLimit limit = new RateLimit()
+ *    .recordsPerSecond(5_000)
+ *    .bytesPerSecond(4 &lt;&lt; 20)
+ *    .burstMs(200)
+ *    .maxQueued(1_000);
+ * </pre>
+ *
+ * @author photowey
+ * @version 3.7.0.1.6
+ * @since 2026/10/18
+ */
+public class RateLimit {
+
+    private double recordsPerSecond = 0;
+    private double bytesPerSecond = 0;
+    /**
+     * The budget an idle bucket accumulates, as the time worth of its rate.
+     */
+    private long burstMs = 1_000;
+    /**
+     * The max records of a bucket waiting for their tokens, the sends beyond it fail fast instead of queueing up.
+     * |- {@code 0}: unbounded.
+     */
+    private int maxQueued = 10_000;
+    /**
+     * The period of the {@code produce-throttle-time-avg} sampling.
+     */
+    private long throttleSamplePeriodMs = 1_000;
+    /**
+     * The lowest fraction of the budget the broker throttling can tighten it to.
+     */
+    private double minFactor = 0.1;
+
+    // ----------------------------------------------------------------
+
+    public RateLimit recordsPerSecond(double recordsPerSecond) {
+        if (recordsPerSecond < 0) {
+            throw new KafkaPlusRuntimeException("Illegal records per second: %s", recordsPerSecond);
+        }
+        this.recordsPerSecond = recordsPerSecond;
+
+        return this;
+    }
+
+    public RateLimit bytesPerSecond(double bytesPerSecond) {
+        if (bytesPerSecond < 0) {
+            throw new KafkaPlusRuntimeException("Illegal bytes per second: %s", bytesPerSecond);
+        }
+        this.bytesPerSecond = bytesPerSecond;
+
+        return this;
+    }
+
+    public RateLimit burstMs(long burstMs) {
+        if (burstMs < 0) {
+            throw new KafkaPlusRuntimeException("Illegal burst: %d", burstMs);
+        }
+        this.burstMs = burstMs;
+
+        return this;
+    }
+
+    public RateLimit maxQueued(int maxQueued) {
+        if (maxQueued < 0) {
+            throw new KafkaPlusRuntimeException("Illegal max queued records: %d", maxQueued);
+        }
+        this.maxQueued = maxQueued;
+
+        return this;
+    }
+
+    public RateLimit throttleSamplePeriodMs(long throttleSamplePeriodMs) {
+        if (throttleSamplePeriodMs <= 0) {
+            throw new KafkaPlusRuntimeException("Illegal throttle sample period: %d", throttleSamplePeriodMs);
+        }
+        this.throttleSamplePeriodMs = throttleSamplePeriodMs;
+
+        return this;
+    }
+
+    public RateLimit minFactor(double minFactor) {
+        if (minFactor <= 0 || minFactor > 1) {
+            throw new KafkaPlusRuntimeException("Illegal min factor: %s, expected: (0, 1]", minFactor);
+        }
+        this.minFactor = minFactor;
+
+        return this;
+    }
+
+    // ----------------------------------------------------------------
+
+    public double recordsPerSecond() {
+        return recordsPerSecond;
+    }
+
+    public double bytesPerSecond() {
+        return bytesPerSecond;
+    }
+
+    public long burstMs() {
+        return burstMs;
+    }
+
+    public int maxQueued() {
+        return maxQueued;
+    }
+
+    public long throttleSamplePeriodMs() {
+        return throttleSamplePeriodMs;
+    }
+
+    public double minFactor() {
+        return minFactor;
+    }
+}
@@ -0,0 +1,385 @@
+/*
+ * Copyright © 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.kafka.plus.core.clients.producer.ratelimit;
+
+import io.github.photowey.kafka.plus.core.clients.producer.metric.ProducerMetricReader;
+import io.github.photowey.kafka.plus.core.clients.producer.sender.AsyncSenderImpl;
+import io.github.photowey.kafka.plus.core.enums.Kafka;
+import io.github.photowey.kafka.plus.core.exception.KafkaPlusRuntimeException;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.utils.Bytes;
+import org.apache.kafka.common.utils.Utils;
+
+import java.io.Closeable;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.DoubleSupplier;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+import static io.github.photowey.kafka.plus.core.checker.ConfigChecker.checkNotBlank;
+import static io.github.photowey.kafka.plus.core.checker.ConfigChecker.checkNotNull;
+
+/**
+ * {@code RateLimitedSender}
+ * <p>
+ * An {@link io.github.photowey.kafka.plus.core.clients.producer.sender.AsyncSender} which smooths the bursts into the
+ * records/bytes per second budget of each topic (optionally each topic and key prefix) before the broker quota throttles the producer.
+ * <p>
+ * The send never blocks the caller: a record within the budget is sent right away, the others are sent by the scheduler thread
+ * once the reserved tokens are available, the records sent by one thread to a bucket keep their order.
+ * Over {@link RateLimit#maxQueued()} waiting records, the send fails fast with a {@link KafkaPlusRuntimeException},
+ * so a sustained overload is pushed back to the caller instead of piling up in memory.
+ * <p>
+ * The bytes are the serialized key and value sizes: known upfront for the {@code byte[]}/{@link String}(UTF-8)/{@link ByteBuffer}/{@link Bytes},
+ * otherwise taken from the {@link RecordMetadata} and charged once the record is acknowledged.
+ * <p>
+ * The buckets idle for longer than their burst are expired, so the key prefixes don't pile up.
+ * <p>
+ * The budget is tightened multiplicatively while the producer reports {@code produce-throttle-time-avg} &gt; 0,
+ * and restored additively after the throttling stops.
+ * <p>
+ * Examples:
+ * <pre>
+ * RateLimitedSender&lt;String, String&gt; sender = kafkaEngine.producerService()
+ *    .rateLimitedSender(producer, new RateLimit().recordsPerSecond(5_000).bytesPerSecond(4 &lt;&lt; 20));
+ * sender.limit("audit", new RateLimit().recordsPerSecond(100));
+ * sender.send(record)
+ *    .whenComplete((metadata, cause) -&gt; {});
+ * </pre>
+ *
+ * @author photowey
+ * @version 3.7.0.1.6
+ * @since 2026/10/18
+ */
+public class RateLimitedSender<K, V> extends AsyncSenderImpl<K, V> implements Closeable {
+
+    static final double DECREASE_FACTOR = 0.8;
+    static final double INCREASE_STEP = 0.05;
+
+    private static final String PREFIX_SEPARATOR = "|";
+
+    private final RateLimit defaultLimit;
+    private final Map<String, RateLimit> topicLimits = new ConcurrentHashMap<>();
+    private final Map<String, Buckets> buckets = new ConcurrentHashMap<>();
+    private final DoubleSupplier throttleTimeMs;
+    private final ScheduledExecutorService scheduler;
+
+    private volatile Function<K, String> keyPrefix;
+    private volatile ToIntFunction<ProducerRecord<K, V>> sizer = RateLimitedSender::estimate;
+    private volatile double factor = 1.0;
+
+    public RateLimitedSender(Producer<K, V> producer, RateLimit limit) {
+        this(producer, limit, throttleTimeMs(producer));
+    }
+
+    RateLimitedSender(Producer<K, V> producer, RateLimit limit, DoubleSupplier throttleTimeMs) {
+        super(producer);
+        checkNotNull("limit", limit);
+        checkNotNull("throttleTimeMs", throttleTimeMs);
+        this.defaultLimit = limit;
+        this.throttleTimeMs = throttleTimeMs;
+
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "kafka-plus-rate-limited-sender");
+            thread.setDaemon(true);
+
+            return thread;
+        });
+        this.scheduler.scheduleWithFixedDelay(
+                this::tuneQuietly, limit.throttleSamplePeriodMs(), limit.throttleSamplePeriodMs(), TimeUnit.MILLISECONDS);
+    }
+
+    // ----------------------------------------------------------------
+
+    /**
+     * Override the budget of the topic.
+     *
+     * @param topic the topic.
+     * @param limit the {@link RateLimit}.
+     * @return {@link RateLimitedSender}
+     */
+    public RateLimitedSender<K, V> limit(String topic, RateLimit limit) {
+        checkNotBlank("topic", topic);
+        checkNotNull("limit", limit);
+        this.topicLimits.put(topic, limit);
+        this.buckets.keySet().removeIf(key -> key.equals(topic) || key.startsWith(topic + PREFIX_SEPARATOR));
+
+        return this;
+    }
+
+    /**
+     * Split the topic budget by the key prefix, each prefix gets the full budget of the topic.
+     *
+     * @param keyPrefix the key prefix extractor, the records without key share the topic bucket.
+     * @return {@link RateLimitedSender}
+     */
+    public RateLimitedSender<K, V> keyPrefix(Function<K, String> keyPrefix) {
+        this.keyPrefix = keyPrefix;
+
+        return this;
+    }
+
+    /**
+     * Estimate the record bytes charged to the bytes budget.
+     * |- Defaults to the serialized size of the {@code byte[]}/{@link String}/{@link ByteBuffer}/{@link Bytes} key and value,
+     * a negative estimate charges the serialized size reported by the {@link RecordMetadata} on the acknowledgement.
+     *
+     * @param sizer the record bytes estimator.
+     * @return {@link RateLimitedSender}
+     */
+    public RateLimitedSender<K, V> sizer(ToIntFunction<ProducerRecord<K, V>> sizer) {
+        checkNotNull("sizer", sizer);
+        this.sizer = sizer;
+
+        return this;
+    }
+
+    /**
+     * The fraction of the configured budget currently granted, lowered by the broker throttling.
+     *
+     * @return the factor in {@code [minFactor, 1]}.
+     */
+    public double factor() {
+        return this.factor;
+    }
+
+    // ----------------------------------------------------------------
+
+    /**
+     * The count of the live buckets.
+     *
+     * @return the buckets.
+     */
+    public int buckets() {
+        return this.buckets.size();
+    }
+
+    @Override
+    public CompletableFuture<RecordMetadata> send(ProducerRecord<K, V> record) {
+        checkNotNull("record", record);
+
+        String bucketKey = this.bucketKey(record);
+        Buckets target = this.buckets.computeIfAbsent(bucketKey, key -> new Buckets(this.limit(record.topic()), this.factor));
+        int maxQueued = target.limit.maxQueued();
+        if (maxQueued > 0 && target.scheduled.get() >= maxQueued) {
+            // Checked before the reservation: the rejected record doesn't push the due time of the later ones.
+            CompletableFuture<RecordMetadata> rejected = new CompletableFuture<>();
+            rejected.completeExceptionally(new KafkaPlusRuntimeException(
+                    "The rate limit of the bucket: %s is exceeded, %d records are queued already", bucketKey, maxQueued));
+
+            return rejected;
+        }
+
+        int bytes = this.sizer.applyAsInt(record);
+        long due = Math.max(target.records.reserve(1), target.bytes.reserve(bytes));
+        long delay = due - System.nanoTime();
+
+        // Behind the scheduled records of the bucket even if due already, to keep the order.
+        if (delay <= 0 && 0 == target.scheduled.get()) {
+            return this.send(target, record, bytes);
+        }
+
+        CompletableFuture<RecordMetadata> future = new CompletableFuture<>();
+        target.scheduled.incrementAndGet();
+        try {
+            this.scheduler.schedule(() -> {
+                try {
+                    this.send(target, record, bytes).whenComplete((metadata, cause) -> {
+                        if (null != cause) {
+                            future.completeExceptionally(cause);
+
+                            return;
+                        }
+
+                        future.complete(metadata);
+                    });
+                } finally {
+                    target.scheduled.decrementAndGet();
+                }
+            }, Math.max(0, delay), TimeUnit.NANOSECONDS);
+        } catch (RuntimeException e) {
+            // Closed.
+            target.scheduled.decrementAndGet();
+            future.completeExceptionally(e);
+        }
+
+        return future;
+    }
+
+    /**
+     * Sample the broker throttling and adjust the budget.
+     *
+     * @return {@code true} if the budget changed.
+     */
+    public synchronized boolean tune() {
+        double throttle = this.throttleTimeMs.getAsDouble();
+        double current = this.factor;
+
+        double next;
+        if (throttle > 0) {
+            next = Math.max(this.defaultLimit.minFactor(), current * DECREASE_FACTOR);
+        } else {
+            next = Math.min(1.0, current + INCREASE_STEP);
+        }
+
+        if (next == current) {
+            return false;
+        }
+
+        this.factor = next;
+        for (Buckets bucket : this.buckets.values()) {
+            bucket.apply(next);
+        }
+
+        return true;
+    }
+
+    /**
+     * Expire the buckets which are idle for longer than their burst, a new bucket starts with the full burst,
+     * so nothing is lost.
+     * |- Invoked by the scheduler thread every {@link RateLimit#throttleSamplePeriodMs()}.
+     *
+     * @return the count of the expired buckets.
+     */
+    public int expire() {
+        long now = System.nanoTime();
+        int before = this.buckets.size();
+        this.buckets.values().removeIf(bucket -> bucket.idle(now));
+
+        return before - this.buckets.size();
+    }
+
+    /**
+     * Stop the tuner, the scheduled records are still sent after their delay.
+     */
+    @Override
+    public void close() {
+        this.scheduler.shutdown();
+    }
+
+    // ----------------------------------------------------------------
+
+    private void tuneQuietly() {
+        try {
+            this.tune();
+            this.expire();
+        } catch (Throwable ignored) {
+            // Keep the tuner scheduled.
+        }
+    }
+
+    private CompletableFuture<RecordMetadata> send(Buckets target, ProducerRecord<K, V> record, int bytes) {
+        CompletableFuture<RecordMetadata> future = super.send(record);
+        if (bytes >= 0) {
+            return future;
+        }
+
+        // The later records of the bucket pay for the serialized bytes.
+        return future.whenComplete((metadata, cause) -> {
+            if (null != metadata) {
+                target.bytes.reserve(Math.max(0, metadata.serializedKeySize()) + Math.max(0, metadata.serializedValueSize()));
+            }
+        });
+    }
+
+    private String bucketKey(ProducerRecord<K, V> record) {
+        Function<K, String> prefix = this.keyPrefix;
+        if (null == prefix || null == record.key()) {
+            return record.topic();
+        }
+
+        return record.topic() + PREFIX_SEPARATOR + prefix.apply(record.key());
+    }
+
+    private RateLimit limit(String topic) {
+        return this.topicLimits.getOrDefault(topic, this.defaultLimit);
+    }
+
+    private static DoubleSupplier throttleTimeMs(Producer<?, ?> producer) {
+        ProducerMetricReader reader = new ProducerMetricReader(producer);
+
+        return () -> reader.read(Kafka.Producer.Metric.PRODUCE_THROTTLE_TIME_AVG, 0);
+    }
+
+    static int estimate(ProducerRecord<?, ?> record) {
+        int key = sizeOf(record.key());
+        int value = sizeOf(record.value());
+
+        return key < 0 || value < 0 ? -1 : key + value;
+    }
+
+    /**
+     * The serialized size of the built-in types, {@code -1} if unknown.
+     */
+    private static int sizeOf(Object target) {
+        if (null == target) {
+            return 0;
+        }
+        if (target instanceof byte[]) {
+            return ((byte[]) target).length;
+        }
+        if (target instanceof String) {
+            return Utils.utf8Length((String) target);
+        }
+        if (target instanceof ByteBuffer) {
+            return ((ByteBuffer) target).remaining();
+        }
+        if (target instanceof Bytes) {
+            return ((Bytes) target).get().length;
+        }
+
+        return -1;
+    }
+
+    // ----------------------------------------------------------------
+
+    private static class Buckets {
+
+        private final RateLimit limit;
+        private final TokenBucket records;
+        private final TokenBucket bytes;
+        /**
+         * The records waiting on the scheduler.
+         */
+        private final AtomicInteger scheduled = new AtomicInteger();
+
+        private Buckets(RateLimit limit, double factor) {
+            this.limit = limit;
+            this.records = new TokenBucket(0, limit.burstMs());
+            this.bytes = new TokenBucket(0, limit.burstMs());
+            this.apply(factor);
+        }
+
+        private void apply(double factor) {
+            double effective = Math.max(this.limit.minFactor(), factor);
+            this.records.rate(this.limit.recordsPerSecond() * effective);
+            this.bytes.rate(this.limit.bytesPerSecond() * effective);
+        }
+
+        private boolean idle(long now) {
+            return 0 == this.scheduled.get() && this.records.idle(now) && this.bytes.idle(now);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright © 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.kafka.plus.core.clients.producer.ratelimit;
+
+import io.github.photowey.kafka.plus.core.exception.KafkaPlusRuntimeException;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@code TokenBucket}
+ * <p>
+ * A lock-free token bucket kept as the theoretical arrival time of the next token (GCRA),
+ * a reservation is a single CAS on it, so the concurrent senders never block each other.
+ * <p>
+ * The reservations are granted in order: a later reservation never becomes due before an earlier one.
+ *
+ * @author photowey
+ * @version 3.7.0.1.6
+ * @since 2026/10/18
+ */
+public final class TokenBucket {
+
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final AtomicLong arrival;
+    private final long burstNanos;
+
+    private volatile double nanosPerToken;
+
+    /**
+     * @param tokensPerSecond the refill rate, {@code 0} means unlimited.
+     * @param burstMs         the time worth of tokens an idle bucket accumulates.
+     */
+    public TokenBucket(double tokensPerSecond, long burstMs) {
+        if (burstMs < 0) {
+            throw new KafkaPlusRuntimeException("Illegal burst: %d", burstMs);
+        }
+        this.burstNanos = TimeUnit.MILLISECONDS.toNanos(burstMs);
+        this.rate(tokensPerSecond);
+        this.arrival = new AtomicLong(System.nanoTime() - this.burstNanos);
+    }
+
+    /**
+     * Change the refill rate, the tokens already reserved are kept.
+     *
+     * @param tokensPerSecond the refill rate, {@code 0} means unlimited.
+     */
+    public void rate(double tokensPerSecond) {
+        if (tokensPerSecond < 0 || Double.isNaN(tokensPerSecond)) {
+            throw new KafkaPlusRuntimeException("Illegal tokens per second: %s", tokensPerSecond);
+        }
+        this.nanosPerToken = 0 == tokensPerSecond ? 0 : NANOS_PER_SECOND / tokensPerSecond;
+    }
+
+    public double rate() {
+        double nanos = this.nanosPerToken;
+
+        return 0 == nanos ? 0 : NANOS_PER_SECOND / nanos;
+    }
+
+    /**
+     * Reserve the tokens.
+     *
+     * @param tokens the tokens.
+     * @return the {@link System#nanoTime()} at which the reserved tokens are available.
+     */
+    public long reserve(long tokens) {
+        return this.reserve(tokens, System.nanoTime());
+    }
+
+    long reserve(long tokens, long now) {
+        double nanos = this.nanosPerToken;
+        if (0 == nanos || tokens <= 0) {
+            return now;
+        }
+
+        long cost = (long) Math.min(Long.MAX_VALUE >> 2, tokens * nanos);
+        for (; ; ) {
+            long current = this.arrival.get();
+            // The idle time beyond the burst is forgotten.
+            long start = Math.max(current, now - this.burstNanos);
+            long next = start + cost;
+            if (this.arrival.compareAndSet(current, next)) {
+                return Math.max(now, next);
+            }
+        }
+    }
+
+    /**
+     * Whether the bucket is refilled to its full burst, it's then identical to a new one.
+     *
+     * @param now the {@link System#nanoTime()}.
+     * @return {@code true} if idle.
+     */
+    boolean idle(long now) {
+        return this.arrival.get() <= now - this.burstNanos;
+    }
+}
@@ -0,0 +1,264 @@
+/*
+ * Copyright © 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.kafka.plus.core.clients.producer.reactive;
+
+import io.github.photowey.kafka.plus.core.clients.producer.metric.ProducerMetricReader;
+import io.github.photowey.kafka.plus.core.clients.producer.sender.AsyncSender;
+import io.github.photowey.kafka.plus.core.clients.producer.sender.AsyncSenderImpl;
+import io.github.photowey.kafka.plus.core.enums.Kafka;
+import io.github.photowey.kafka.plus.core.exception.KafkaPlusRuntimeException;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static io.github.photowey.kafka.plus.core.checker.ConfigChecker.checkNotNull;
+
+/**
+ * {@code ProducerSink}
+ * <p>
+ * A {@link ProducerSubscriber} that sends the upstream records with a {@link Producer}.
+ * The upstream demand is requested in proportion to:
+ * <ul>
+ *     <li>the free {@code maxInFlight} slots, the records sent but not acknowledged yet</li>
+ *     <li>the free {@code buffer.memory} ({@link Kafka.Producer.Metric#BUFFER_AVAILABLE_BYTES}) divided by the average record size</li>
+ * </ul>
+ * so {@link Producer#send(ProducerRecord)} never waits for {@code max.block.ms} because of a full accumulator.
+ * <p>
+ * The first send failure cancels the upstream and fails {@link #completion()}.
+ *
+ * @author photowey
+ * @version 3.7.0.1.6
+ * @since 2026/10/18
+ */
+public class ProducerSink<K, V> implements ProducerSubscriber<ProducerRecord<K, V>> {
+
+    public static final int DEFAULT_RECORD_BYTES = 1 << 10;
+    public static final double DEFAULT_BUFFER_UTILISATION = 0.8D;
+
+    private static final double SMOOTHING = 0.1D;
+
+    private final AsyncSender<K, V> sender;
+    private final ProducerMetricReader metricReader;
+
+    private final int maxInFlight;
+    private final double bufferUtilisation;
+
+    private final AtomicLong demand = new AtomicLong();
+    private final AtomicLong inFlight = new AtomicLong();
+    private final Map<String, TopicGauge> gauges = new ConcurrentHashMap<>();
+
+    private final AtomicBoolean upstreamDone = new AtomicBoolean(false);
+    private final CompletableFuture<Void> completion = new CompletableFuture<>();
+
+    private volatile ProducerSubscription subscription;
+    /**
+     * The EWMA of the serialized record size, racy updates are acceptable for an estimation.
+     */
+    private volatile double recordBytes;
+
+    public ProducerSink(Producer<K, V> producer, int maxInFlight) {
+        this(producer, maxInFlight, DEFAULT_RECORD_BYTES, DEFAULT_BUFFER_UTILISATION);
+    }
+
+    public ProducerSink(Producer<K, V> producer, int maxInFlight, int initialRecordBytes, double bufferUtilisation) {
+        checkNotNull("producer", producer);
+        if (maxInFlight <= 0 || initialRecordBytes <= 0 || bufferUtilisation <= 0 || bufferUtilisation > 1) {
+            throw new KafkaPlusRuntimeException(
+                    "Illegal sink arguments: maxInFlight=%d, initialRecordBytes=%d, bufferUtilisation=%s",
+                    maxInFlight, initialRecordBytes, bufferUtilisation);
+        }
+
+        this.sender = new AsyncSenderImpl<>(producer);
+        this.metricReader = new ProducerMetricReader(producer);
+        this.maxInFlight = maxInFlight;
+        this.bufferUtilisation = bufferUtilisation;
+        this.recordBytes = initialRecordBytes;
+    }
+
+    // ----------------------------------------------------------------
+
+    @Override
+    public void onSubscribe(ProducerSubscription subscription) {
+        checkNotNull("subscription", subscription);
+        if (null != this.subscription) {
+            subscription.cancel();
+
+            return;
+        }
+
+        this.subscription = subscription;
+        this.replenish();
+    }
+
+    @Override
+    public void onNext(ProducerRecord<K, V> record) {
+        checkNotNull("record", record);
+        this.demand.decrementAndGet();
+        if (this.completion.isDone()) {
+            return;
+        }
+
+        TopicGauge gauge = this.gauges.computeIfAbsent(record.topic(), TopicGauge::new);
+        this.inFlight.incrementAndGet();
+        gauge.onSend();
+
+        this.sender.send(record).whenComplete((metadata, cause) -> {
+            this.inFlight.decrementAndGet();
+            if (null != cause) {
+                gauge.onFailed();
+                this.fail(cause);
+
+                return;
+            }
+
+            gauge.onAcknowledged();
+            this.sample(metadata);
+            this.replenish();
+            this.tryComplete();
+        });
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        this.upstreamDone.set(true);
+        this.completion.completeExceptionally(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        this.upstreamDone.set(true);
+        this.tryComplete();
+    }
+
+    // ----------------------------------------------------------------
+
+    /**
+     * The completion, completed after the upstream completed and all the in-flight records are acknowledged.
+     *
+     * @return {@link CompletableFuture}
+     */
+    public CompletableFuture<Void> completion() {
+        return this.completion;
+    }
+
+    /**
+     * The outstanding upstream demand, requested but not received yet.
+     *
+     * @return the demand.
+     */
+    public long demand() {
+        return this.demand.get();
+    }
+
+    /**
+     * The records sent but not acknowledged yet.
+     *
+     * @return the in-flight records.
+     */
+    public long inFlight() {
+        return this.inFlight.get();
+    }
+
+    /**
+     * The free {@code buffer.memory} bytes of the producer.
+     *
+     * @return the free bytes, {@link Double#NaN} if the producer doesn't expose it.
+     */
+    public double freeBufferBytes() {
+        return this.metricReader.read(Kafka.Producer.Metric.BUFFER_AVAILABLE_BYTES);
+    }
+
+    /**
+     * The per-topic gauges.
+     *
+     * @return the gauges.
+     */
+    public Map<String, TopicGauge> gauges() {
+        return Collections.unmodifiableMap(this.gauges);
+    }
+
+    // ----------------------------------------------------------------
+
+    private void replenish() {
+        ProducerSubscription target = this.subscription;
+        if (null == target || this.upstreamDone.get() || this.completion.isDone()) {
+            return;
+        }
+
+        while (true) {
+            long outstanding = this.demand.get();
+            long credit = this.credit() - outstanding;
+            if (credit <= 0) {
+                if (0 != outstanding || 0 != this.inFlight.get()) {
+                    return;
+                }
+                // Nothing in flight and nothing requested: the buffer is held by other users of the producer.
+                credit = 1;
+            }
+
+            if (this.demand.compareAndSet(outstanding, outstanding + credit)) {
+                target.request(credit);
+
+                return;
+            }
+        }
+    }
+
+    private long credit() {
+        long byInFlight = this.maxInFlight - this.inFlight.get();
+        double freeBytes = this.freeBufferBytes();
+        if (Double.isNaN(freeBytes)) {
+            return byInFlight;
+        }
+
+        long byBuffer = (long) (freeBytes * this.bufferUtilisation / this.recordBytes);
+
+        return Math.min(byInFlight, byBuffer);
+    }
+
+    private void sample(RecordMetadata metadata) {
+        if (null == metadata) {
+            return;
+        }
+
+        int bytes = Math.max(0, metadata.serializedKeySize()) + Math.max(0, metadata.serializedValueSize());
+        if (bytes > 0) {
+            this.recordBytes += SMOOTHING * (bytes - this.recordBytes);
+        }
+    }
+
+    private void tryComplete() {
+        if (this.upstreamDone.get() && 0 == this.inFlight.get()) {
+            this.completion.complete(null);
+        }
+    }
+
+    private void fail(Throwable cause) {
+        if (this.completion.completeExceptionally(cause)) {
+            ProducerSubscription target = this.subscription;
+            if (null != target) {
+                target.cancel();
+            }
+        }
+    }
+}
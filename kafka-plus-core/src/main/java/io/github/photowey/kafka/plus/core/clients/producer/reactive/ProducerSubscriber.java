@@ -0,0 +1,57 @@
+/*
+ * Copyright © 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.kafka.plus.core.clients.producer.reactive;
+
+/**
+ * {@code ProducerSubscriber}
+ * <p>
+ * The same contract as {@code java.util.concurrent.Flow.Subscriber},
+ * kept on the Java 8 baseline of the project.
+ * On JDK 9+, forward the {@code Flow.Subscriber} signals as-is and wrap {@code Flow.Subscription}
+ * with {@code request(n)} and {@code cancel()} into a {@link ProducerSubscription}.
+ *
+ * @author photowey
+ * @version 3.7.0.1.6
+ * @since 2026/10/18
+ */
+public interface ProducerSubscriber<T> {
+
+    /**
+     * Invoked prior to invoking any other method for the given subscription.
+     *
+     * @param subscription the {@link ProducerSubscription}.
+     */
+    void onSubscribe(ProducerSubscription subscription);
+
+    /**
+     * Invoked with the next item, never more items than requested.
+     *
+     * @param item the item.
+     */
+    void onNext(T item);
+
+    /**
+     * Invoked upon an unrecoverable upstream error.
+     *
+     * @param throwable the cause.
+     */
+    void onError(Throwable throwable);
+
+    /**
+     * Invoked when the upstream has no more items.
+     */
+    void onComplete();
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright © 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.kafka.plus.core.clients.producer.reactive;
+
+/**
+ * {@code ProducerSubscription}
+ * <p>
+ * The same contract as {@code java.util.concurrent.Flow.Subscription}.
+ *
+ * @author photowey
+ * @version 3.7.0.1.6
+ * @since 2026/10/18
+ */
+public interface ProducerSubscription {
+
+    /**
+     * Adds the given number of items to the current unfulfilled demand.
+     *
+     * @param n the increment of demand, must be positive.
+     */
+    void request(long n);
+
+    /**
+     * Causes the upstream to (eventually) stop sending items.
+     */
+    void cancel();
+}
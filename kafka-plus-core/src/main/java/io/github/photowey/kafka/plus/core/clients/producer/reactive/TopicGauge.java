@@ -0,0 +1,96 @@
+/*
+ * Copyright © 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.kafka.plus.core.clients.producer.reactive;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@code TopicGauge}
+ * <p>
+ * The per-topic gauges of {@link ProducerSink}.
+ *
+ * @author photowey
+ * @version 3.7.0.1.6
+ * @since 2026/10/18
+ */
+public class TopicGauge {
+
+    private final String topic;
+
+    private final AtomicLong inFlight = new AtomicLong();
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong acknowledged = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    public TopicGauge(String topic) {
+        this.topic = topic;
+    }
+
+    // ----------------------------------------------------------------
+
+    void onSend() {
+        this.sent.incrementAndGet();
+        this.inFlight.incrementAndGet();
+    }
+
+    void onAcknowledged() {
+        this.inFlight.decrementAndGet();
+        this.acknowledged.incrementAndGet();
+    }
+
+    void onFailed() {
+        this.inFlight.decrementAndGet();
+        this.failed.incrementAndGet();
+    }
+
+    // ----------------------------------------------------------------
+
+    public String topic() {
+        return this.topic;
+    }
+
+    /**
+     * The records sent but not acknowledged yet.
+     *
+     * @return the in-flight records.
+     */
+    public long inFlight() {
+        return this.inFlight.get();
+    }
+
+    public long sent() {
+        return this.sent.get();
+    }
+
+    public long acknowledged() {
+        return this.acknowledged.get();
+    }
+
+    public long failed() {
+        return this.failed.get();
+    }
+
+    @Override
+    public String toString() {
+        return "TopicGauge{" +
+                "topic='" + topic + '\'' +
+                ", inFlight=" + inFlight +
+                ", sent=" + sent +
+                ", acknowledged=" + acknowledged +
+                ", failed=" + failed +
+                '}';
+    }
+}
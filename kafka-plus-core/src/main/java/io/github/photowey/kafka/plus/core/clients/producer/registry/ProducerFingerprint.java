@@ -0,0 +1,115 @@
+/*
+ * Copyright © 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.kafka.plus.core.clients.producer.registry;
+
+import org.apache.kafka.common.serialization.Serializer;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * {@code ProducerFingerprint}
+ * <p>
+ * The identity of a {@code KafkaProducer} inside {@link ProducerRegistry}.
+ * Two fingerprints are equal when the effective configs are equal (compared by their canonical string form)
+ * and the serializers are the same instances (compared by identity).
+ * |- Two differently configured serializers of one class are NOT interchangeable, they never share a producer.
+ * |- The serializers configured by class ({@code key.serializer}/{@code value.serializer}) are compared as configs.
+ *
+ * @author photowey
+ * @version 3.7.0.1.6
+ * @since 2026/10/18
+ */
+public final class ProducerFingerprint {
+
+    private final String configs;
+    private final Serializer<?> keySerializer;
+    private final Serializer<?> valueSerializer;
+    private final int hash;
+
+    private ProducerFingerprint(String configs, Serializer<?> keySerializer, Serializer<?> valueSerializer) {
+        this.configs = configs;
+        this.keySerializer = keySerializer;
+        this.valueSerializer = valueSerializer;
+        this.hash = 31 * (31 * configs.hashCode()
+                + System.identityHashCode(keySerializer)) + System.identityHashCode(valueSerializer);
+    }
+
+    public static ProducerFingerprint of(Map<String, ?> configs, Serializer<?> keySerializer, Serializer<?> valueSerializer) {
+        Map<String, String> sorted = new TreeMap<>();
+        if (null != configs) {
+            for (Map.Entry<String, ?> entry : configs.entrySet()) {
+                sorted.put(entry.getKey(), canonical(entry.getValue()));
+            }
+        }
+
+        return new ProducerFingerprint(sorted.toString(), keySerializer, valueSerializer);
+    }
+
+    // ----------------------------------------------------------------
+
+    private static String identityOf(Serializer<?> serializer) {
+        return null != serializer
+                ? serializer.getClass().getName() + "@" + Integer.toHexString(System.identityHashCode(serializer))
+                : "";
+    }
+
+    private static String canonical(Object value) {
+        if (value instanceof Class) {
+            return ((Class<?>) value).getName();
+        }
+        if (value instanceof Collection) {
+            StringBuilder buf = new StringBuilder();
+            for (Object next : (Collection<?>) value) {
+                if (buf.length() > 0) {
+                    buf.append(',');
+                }
+                buf.append(canonical(next));
+            }
+
+            return buf.toString();
+        }
+
+        return String.valueOf(value).trim();
+    }
+
+    // ----------------------------------------------------------------
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ProducerFingerprint that = (ProducerFingerprint) o;
+        return this.keySerializer == that.keySerializer
+                && this.valueSerializer == that.valueSerializer
+                && this.configs.equals(that.configs);
+    }
+
+    @Override
+    public int hashCode() {
+        return this.hash;
+    }
+
+    @Override
+    public String toString() {
+        return "ProducerFingerprint{" +
+                "configs='" + configs + '\'' +
+                ", keySerializer='" + identityOf(keySerializer) + '\'' +
+                ", valueSerializer='" + identityOf(valueSerializer) + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright © 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.kafka.plus.core.clients.producer.registry;
+
+import org.apache.kafka.clients.producer.Producer;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * {@code ProducerRegistry}
+ * <p>
+ * A registry of reference-counted {@link Producer} instances,
+ * the underlying client is created on the first {@link #acquire(ProducerFingerprint, Supplier)}
+ * and closed when the last {@link SharedProducer} handle is released.
+ *
+ * @author photowey
+ * @version 3.7.0.1.6
+ * @since 2026/10/18
+ */
+public interface ProducerRegistry extends Closeable {
+
+    /**
+     * Acquire a shared handle for the given fingerprint.
+     *
+     * @param fingerprint the {@link ProducerFingerprint}.
+     * @param factory     the factory of the underlying {@link Producer}, invoked at most once per live fingerprint.
+     * @param <K>         the key type.
+     * @param <V>         the value type.
+     * @return {@link SharedProducer}
+     */
+    <K, V> SharedProducer<K, V> acquire(ProducerFingerprint fingerprint, Supplier<Producer<K, V>> factory);
+
+    /**
+     * Release one reference of the given fingerprint.
+     *
+     * @param fingerprint the {@link ProducerFingerprint}.
+     * @param timeout     the close timeout, applied when the last reference is released.
+     */
+    void release(ProducerFingerprint fingerprint, Duration timeout);
+
+    /**
+     * The number of live references of the given fingerprint.
+     *
+     * @param fingerprint the {@link ProducerFingerprint}.
+     * @return the reference count, {@code 0} if absent.
+     */
+    int references(ProducerFingerprint fingerprint);
+
+    /**
+     * The number of live underlying producers.
+     *
+     * @return the size.
+     */
+    int size();
+
+    /**
+     * Close all underlying producers, regardless of the outstanding handles.
+     */
+    @Override
+    void close();
+}
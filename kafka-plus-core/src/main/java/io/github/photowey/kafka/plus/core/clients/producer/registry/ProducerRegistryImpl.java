@@ -0,0 +1,174 @@
+/*
+ * Copyright © 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.kafka.plus.core.clients.producer.registry;
+
+import io.github.photowey.kafka.plus.core.exception.KafkaPlusRuntimeException;
+import org.apache.kafka.clients.producer.Producer;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import static io.github.photowey.kafka.plus.core.checker.ConfigChecker.checkNotNull;
+
+/**
+ * {@code ProducerRegistryImpl}
+ * <p>
+ * The underlying producer is created outside the bin lock of the {@link ConcurrentHashMap},
+ * the concurrent acquirers of the same fingerprint wait on the {@link FutureTask} placeholder instead.
+ *
+ * @author photowey
+ * @version 3.7.0.1.6
+ * @since 2026/10/18
+ */
+public class ProducerRegistryImpl implements ProducerRegistry {
+
+    private final ConcurrentHashMap<ProducerFingerprint, Entry> producers = new ConcurrentHashMap<>();
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <K, V> SharedProducer<K, V> acquire(ProducerFingerprint fingerprint, Supplier<Producer<K, V>> factory) {
+        checkNotNull("fingerprint", fingerprint);
+        checkNotNull("factory", factory);
+
+        Entry candidate = new Entry(new FutureTask<>(factory::get));
+        Entry entry = this.producers.compute(fingerprint, (k, v) -> {
+            Entry target = null != v ? v : candidate;
+            target.references++;
+
+            return target;
+        });
+
+        if (entry == candidate) {
+            // Outside the bin lock: the KafkaProducer creation (and the metadata warm-up) may take seconds.
+            candidate.task.run();
+        }
+
+        try {
+            return new SharedProducer<>(this, fingerprint, (Producer<K, V>) entry.await());
+        } catch (RuntimeException e) {
+            this.producers.remove(fingerprint, entry);
+
+            throw e;
+        }
+    }
+
+    @Override
+    public void release(ProducerFingerprint fingerprint, Duration timeout) {
+        AtomicReference<Producer<?, ?>> closing = new AtomicReference<>();
+        this.producers.computeIfPresent(fingerprint, (k, v) -> {
+            if (--v.references > 0) {
+                return v;
+            }
+            closing.set(v.await());
+
+            return null;
+        });
+
+        Producer<?, ?> producer = closing.get();
+        if (null != producer) {
+            this.close(producer, timeout);
+        }
+    }
+
+    @Override
+    public int references(ProducerFingerprint fingerprint) {
+        Entry entry = this.producers.get(fingerprint);
+
+        return null != entry ? entry.references : 0;
+    }
+
+    @Override
+    public int size() {
+        return this.producers.size();
+    }
+
+    @Override
+    public void close() {
+        List<Producer<?, ?>> closing = new ArrayList<>(this.producers.size());
+        for (ProducerFingerprint fingerprint : this.producers.keySet()) {
+            Entry entry = this.producers.remove(fingerprint);
+            if (null == entry) {
+                continue;
+            }
+            try {
+                closing.add(entry.await());
+            } catch (RuntimeException ignored) {
+                // The creation failed, nothing to close.
+            }
+        }
+
+        for (Producer<?, ?> producer : closing) {
+            this.close(producer, null);
+        }
+    }
+
+    // ----------------------------------------------------------------
+
+    private void close(Producer<?, ?> producer, Duration timeout) {
+        if (null != timeout) {
+            producer.close(timeout);
+
+            return;
+        }
+
+        producer.close();
+    }
+
+    // ----------------------------------------------------------------
+
+    private static class Entry {
+
+        private final FutureTask<? extends Producer<?, ?>> task;
+        /**
+         * Guarded by the bin lock of {@link ConcurrentHashMap#compute}.
+         */
+        private volatile int references;
+
+        Entry(FutureTask<? extends Producer<?, ?>> task) {
+            this.task = task;
+        }
+
+        Producer<?, ?> await() {
+            boolean interrupted = false;
+            try {
+                while (true) {
+                    try {
+                        return this.task.get();
+                    } catch (InterruptedException e) {
+                        interrupted = true;
+                    } catch (ExecutionException e) {
+                        Throwable cause = e.getCause();
+                        if (cause instanceof RuntimeException) {
+                            throw (RuntimeException) cause;
+                        }
+
+                        throw new KafkaPlusRuntimeException(cause, "Create the shared producer failed");
+                    }
+                }
+            } finally {
+                if (interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright © 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.kafka.plus.core.clients.producer.registry;
+
+import io.github.photowey.kafka.plus.core.exception.KafkaPlusRuntimeException;
+import org.apache.kafka.clients.consumer.ConsumerGroupMetadata;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.producer.Callback;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.Metric;
+import org.apache.kafka.common.MetricName;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.Uuid;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * {@code SharedProducer}
+ * <p>
+ * A thread-safe handle of a {@link Producer} shared through {@link ProducerRegistry}.
+ * {@link #close()} releases this handle only, the underlying producer is closed with the last handle.
+ * <p>
+ * Note: {@link #flush()} flushes the records of all handles sharing the same producer,
+ * and the transactional methods are not supported.
+ *
+ * @author photowey
+ * @version 3.7.0.1.6
+ * @since 2026/10/18
+ */
+public class SharedProducer<K, V> implements Producer<K, V> {
+
+    private final ProducerRegistry registry;
+    private final ProducerFingerprint fingerprint;
+    private final Producer<K, V> delegate;
+
+    private final AtomicBoolean released = new AtomicBoolean(false);
+
+    public SharedProducer(ProducerRegistry registry, ProducerFingerprint fingerprint, Producer<K, V> delegate) {
+        this.registry = registry;
+        this.fingerprint = fingerprint;
+        this.delegate = delegate;
+    }
+
+    // ----------------------------------------------------------------
+
+    public ProducerFingerprint fingerprint() {
+        return this.fingerprint;
+    }
+
+    public boolean released() {
+        return this.released.get();
+    }
+
+    // ----------------------------------------------------------------
+
+    @Override
+    public void initTransactions() {
+        throw this.transactionUnsupported();
+    }
+
+    @Override
+    public void beginTransaction() {
+        throw this.transactionUnsupported();
+    }
+
+    @Override
+    @Deprecated
+    public void sendOffsetsToTransaction(Map<TopicPartition, OffsetAndMetadata> offsets, String consumerGroupId) {
+        throw this.transactionUnsupported();
+    }
+
+    @Override
+    public void sendOffsetsToTransaction(Map<TopicPartition, OffsetAndMetadata> offsets, ConsumerGroupMetadata groupMetadata) {
+        throw this.transactionUnsupported();
+    }
+
+    @Override
+    public void commitTransaction() {
+        throw this.transactionUnsupported();
+    }
+
+    @Override
+    public void abortTransaction() {
+        throw this.transactionUnsupported();
+    }
+
+    // ----------------------------------------------------------------
+
+    @Override
+    public Future<RecordMetadata> send(ProducerRecord<K, V> record) {
+        this.checkNotReleased();
+
+        return this.delegate.send(record);
+    }
+
+    @Override
+    public Future<RecordMetadata> send(ProducerRecord<K, V> record, Callback callback) {
+        this.checkNotReleased();
+
+        return this.delegate.send(record, callback);
+    }
+
+    @Override
+    public void flush() {
+        this.checkNotReleased();
+        this.delegate.flush();
+    }
+
+    @Override
+    public List<PartitionInfo> partitionsFor(String topic) {
+        this.checkNotReleased();
+
+        return this.delegate.partitionsFor(topic);
+    }
+
+    @Override
+    public Map<MetricName, ? extends Metric> metrics() {
+        return this.delegate.metrics();
+    }
+
+    @Override
+    public Uuid clientInstanceId(Duration timeout) {
+        return this.delegate.clientInstanceId(timeout);
+    }
+
+    // ----------------------------------------------------------------
+
+    @Override
+    public void close() {
+        this.close(null);
+    }
+
+    @Override
+    public void close(Duration timeout) {
+        if (this.released.compareAndSet(false, true)) {
+            this.registry.release(this.fingerprint, timeout);
+        }
+    }
+
+    // ----------------------------------------------------------------
+
+    private void checkNotReleased() {
+        if (this.released.get()) {
+            throw new KafkaPlusRuntimeException("The shared producer handle has been released.");
+        }
+    }
+
+    private KafkaPlusRuntimeException transactionUnsupported() {
+        return new KafkaPlusRuntimeException("The shared producer doesn't support transactions.");
+    }
+}
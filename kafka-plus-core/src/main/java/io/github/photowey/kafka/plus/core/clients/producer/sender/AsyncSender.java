@@ -0,0 +1,81 @@
+/*
+ * Copyright © 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.kafka.plus.core.clients.producer.sender;
+
+import io.github.photowey.kafka.plus.core.clients.builder.record.ProducerRecordBuilder;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * {@code AsyncSender}
+ * <p>
+ * A {@link CompletableFuture} facade of {@link Producer#send(ProducerRecord, org.apache.kafka.clients.producer.Callback)},
+ * the futures are completed by the producer I/O thread callback, the caller thread is never parked
+ * (except {@code max.block.ms} inside {@link Producer#send(ProducerRecord)} itself).
+ * <p>
+ * Examples:
+ * <pre>
+ * AsyncSender&lt;String, String&gt; sender = kafkaEngine.producerService().sender(producer);
+ * sender.send(record)
+ *    .whenComplete((metadata, cause) -&gt; {});
+ * </pre>
+ *
+ * @author photowey
+ * @version 3.7.0.1.6
+ * @since 2026/10/18
+ */
+public interface AsyncSender<K, V> {
+
+    /**
+     * The underlying {@link Producer}.
+     *
+     * @return {@link Producer}
+     */
+    Producer<K, V> producer();
+
+    /**
+     * Send a record asynchronously.
+     *
+     * @param record the {@link ProducerRecord}.
+     * @return the {@link CompletableFuture} completed by the producer callback.
+     */
+    CompletableFuture<RecordMetadata> send(ProducerRecord<K, V> record);
+
+    /**
+     * Send a record asynchronously.
+     *
+     * @param builder the {@link ProducerRecordBuilder}.
+     * @return the {@link CompletableFuture} completed by the producer callback.
+     */
+    default CompletableFuture<RecordMetadata> send(ProducerRecordBuilder builder) {
+        return this.send(builder.<K, V>build());
+    }
+
+    /**
+     * Send records asynchronously.
+     * |- The combined future is completed after all the records are acknowledged,
+     * |- exceptionally with the first failure if any record failed.
+     *
+     * @param records the {@link ProducerRecord} list.
+     * @return the combined {@link CompletableFuture}, the metadata list keeps the iteration order of {@code records}.
+     */
+    CompletableFuture<List<RecordMetadata>> sendAll(Collection<ProducerRecord<K, V>> records);
+}
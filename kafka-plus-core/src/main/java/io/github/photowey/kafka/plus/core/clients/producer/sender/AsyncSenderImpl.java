@@ -0,0 +1,109 @@
+/*
+ * Copyright © 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.kafka.plus.core.clients.producer.sender;
+
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static io.github.photowey.kafka.plus.core.checker.ConfigChecker.checkNotNull;
+
+/**
+ * {@code AsyncSenderImpl}
+ *
+ * @author photowey
+ * @version 3.7.0.1.6
+ * @since 2026/10/18
+ */
+public class AsyncSenderImpl<K, V> implements AsyncSender<K, V> {
+
+    private final Producer<K, V> producer;
+
+    public AsyncSenderImpl(Producer<K, V> producer) {
+        checkNotNull("producer", producer);
+        this.producer = producer;
+    }
+
+    @Override
+    public Producer<K, V> producer() {
+        return this.producer;
+    }
+
+    @Override
+    public CompletableFuture<RecordMetadata> send(ProducerRecord<K, V> record) {
+        CompletableFuture<RecordMetadata> future = new CompletableFuture<>();
+        try {
+            this.producer.send(record, (metadata, exception) -> {
+                if (null != exception) {
+                    future.completeExceptionally(exception);
+
+                    return;
+                }
+
+                future.complete(metadata);
+            });
+        } catch (Exception e) {
+            // Serialization/partition/interrupt failures are thrown on the caller thread.
+            future.completeExceptionally(e);
+        }
+
+        return future;
+    }
+
+    @Override
+    public CompletableFuture<List<RecordMetadata>> sendAll(Collection<ProducerRecord<K, V>> records) {
+        checkNotNull("records", records);
+        if (records.isEmpty()) {
+            return CompletableFuture.completedFuture(Collections.emptyList());
+        }
+
+        CompletableFuture<List<RecordMetadata>> combined = new CompletableFuture<>();
+        RecordMetadata[] metadatas = new RecordMetadata[records.size()];
+        AtomicInteger remaining = new AtomicInteger(metadatas.length);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        int index = 0;
+        for (ProducerRecord<K, V> record : records) {
+            final int slot = index++;
+            this.send(record).whenComplete((metadata, cause) -> {
+                if (null != cause) {
+                    failure.compareAndSet(null, cause);
+                } else {
+                    metadatas[slot] = metadata;
+                }
+
+                if (0 == remaining.decrementAndGet()) {
+                    Throwable first = failure.get();
+                    if (null != first) {
+                        combined.completeExceptionally(first);
+                    } else {
+                        combined.complete(Arrays.asList(metadatas));
+                    }
+                }
+            });
+        }
+
+        return combined;
+    }
+}
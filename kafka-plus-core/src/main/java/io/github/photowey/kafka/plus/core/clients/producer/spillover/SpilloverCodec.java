@@ -0,0 +1,124 @@
+/*
+ * Copyright © 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.kafka.plus.core.clients.producer.spillover;
+
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@code SpilloverCodec}
+ * <p>
+ * The spilled record layout:
+ * <pre>
+ * topic(2 + n) | partition(4) | timestamp(8) | key(4 + n) | value(4 + n) | headers(4) [key(2 + n) | value(4 + n)] ...
+ * </pre>
+ * {@code -1} encodes a {@code null} partition/timestamp/bytes.
+ *
+ * @author photowey
+ * @version 3.7.0.1.6
+ * @since 2026/10/18
+ */
+final class SpilloverCodec {
+
+    private SpilloverCodec() {}
+
+    static byte[] encode(ProducerRecord<byte[], byte[]> record) {
+        byte[] topic = record.topic().getBytes(StandardCharsets.UTF_8);
+        Header[] headers = record.headers().toArray();
+
+        List<byte[]> headerKeys = new ArrayList<>(headers.length);
+        int size = 2 + topic.length + 4 + 8 + sizeOf(record.key()) + sizeOf(record.value()) + 4;
+        for (Header header : headers) {
+            byte[] key = header.key().getBytes(StandardCharsets.UTF_8);
+            headerKeys.add(key);
+            size += 2 + key.length + sizeOf(header.value());
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.putShort((short) topic.length).put(topic);
+        buffer.putInt(null == record.partition() ? -1 : record.partition());
+        buffer.putLong(null == record.timestamp() ? -1L : record.timestamp());
+        put(buffer, record.key());
+        put(buffer, record.value());
+        buffer.putInt(headers.length);
+        for (int i = 0; i < headers.length; i++) {
+            byte[] key = headerKeys.get(i);
+            buffer.putShort((short) key.length).put(key);
+            put(buffer, headers[i].value());
+        }
+
+        return buffer.array();
+    }
+
+    static ProducerRecord<byte[], byte[]> decode(byte[] payload) {
+        ByteBuffer buffer = ByteBuffer.wrap(payload);
+
+        byte[] topic = new byte[buffer.getShort()];
+        buffer.get(topic);
+        int partition = buffer.getInt();
+        long timestamp = buffer.getLong();
+        byte[] key = get(buffer);
+        byte[] value = get(buffer);
+
+        int count = buffer.getInt();
+        RecordHeaders headers = new RecordHeaders();
+        for (int i = 0; i < count; i++) {
+            byte[] headerKey = new byte[buffer.getShort()];
+            buffer.get(headerKey);
+            headers.add(new String(headerKey, StandardCharsets.UTF_8), get(buffer));
+        }
+
+        return new ProducerRecord<>(
+                new String(topic, StandardCharsets.UTF_8),
+                partition < 0 ? null : partition,
+                timestamp < 0 ? null : timestamp,
+                key, value, headers);
+    }
+
+    // ----------------------------------------------------------------
+
+    private static int sizeOf(byte[] bytes) {
+        return 4 + (null == bytes ? 0 : bytes.length);
+    }
+
+    private static void put(ByteBuffer buffer, byte[] bytes) {
+        if (null == bytes) {
+            buffer.putInt(-1);
+
+            return;
+        }
+
+        buffer.putInt(bytes.length).put(bytes);
+    }
+
+    private static byte[] get(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+
+        return bytes;
+    }
+}
@@ -0,0 +1,443 @@
+/*
+ * Copyright © 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.kafka.plus.core.clients.producer.spillover;
+
+import io.github.photowey.kafka.plus.core.exception.KafkaPlusRuntimeException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
+
+/**
+ * {@code SpilloverLog}
+ * <p>
+ * An append-only log of memory-mapped segment files:
+ * <pre>
+ * [length(4) | crc32(4) | payload(length)] ...
+ * </pre>
+ * The length is written last, a zero length marks the end of a segment,
+ * so a torn append (process crash) is dropped when the segment is reopened.
+ * <p>
+ * The drained position is persisted in the {@code checkpoint} file, the fully drained segments are deleted.
+ *
+ * @author photowey
+ * @version 3.7.0.1.6
+ * @since 2026/10/18
+ */
+public class SpilloverLog implements Closeable {
+
+    public static final int DEFAULT_SEGMENT_BYTES = 64 << 20;
+
+    static final int ENTRY_HEADER_BYTES = 4 + 4;
+
+    private static final String SEGMENT_SUFFIX = ".segment";
+    private static final String CHECKPOINT = "checkpoint";
+
+    private final Path directory;
+    private final int segmentBytes;
+
+    private final TreeMap<Long, Segment> segments = new TreeMap<>();
+    private Position committed;
+    private boolean closed;
+
+    public SpilloverLog(Path directory, int segmentBytes) {
+        Objects.requireNonNull(directory, "directory");
+        if (segmentBytes <= ENTRY_HEADER_BYTES) {
+            throw new KafkaPlusRuntimeException("Illegal spillover segment bytes: %d", segmentBytes);
+        }
+
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+
+        try {
+            Files.createDirectories(directory);
+            this.recover();
+        } catch (IOException e) {
+            this.close();
+            throw new KafkaPlusRuntimeException(e, "Open the spillover log: [%s] failed", directory);
+        }
+    }
+
+    // ----------------------------------------------------------------
+
+    /**
+     * Append a payload.
+     *
+     * @param payload the payload.
+     * @return the {@link Position} of the entry.
+     */
+    public synchronized Position append(byte[] payload) {
+        this.checkOpen();
+        int entryBytes = ENTRY_HEADER_BYTES + payload.length;
+        if (entryBytes > this.segmentBytes) {
+            throw new KafkaPlusRuntimeException(
+                    "The spilled record: [%d] bytes exceeds the segment: [%d] bytes", payload.length, this.segmentBytes);
+        }
+
+        Segment active = this.segments.lastEntry().getValue();
+        if (active.writePosition + entryBytes > this.segmentBytes) {
+            active = this.roll(active.id + 1);
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(payload, 0, payload.length);
+
+        int position = active.writePosition;
+        ByteBuffer target = active.buffer.duplicate();
+        target.position(position + 4);
+        target.putInt((int) crc.getValue());
+        target.put(payload);
+        // The length commits the entry.
+        active.buffer.putInt(position, payload.length);
+        active.writePosition = position + entryBytes;
+
+        return new Position(active.id, position);
+    }
+
+    /**
+     * Read the undrained entries from the checkpoint.
+     *
+     * @param max the max entries.
+     * @return the entries.
+     */
+    public synchronized List<Entry> read(int max) {
+        this.checkOpen();
+        List<Entry> entries = new ArrayList<>(Math.min(max, 1 << 10));
+
+        Position cursor = this.committed;
+        while (entries.size() < max) {
+            Segment segment = this.segments.get(cursor.segmentId);
+            if (null == segment) {
+                break;
+            }
+            if (cursor.offset >= segment.writePosition) {
+                Map.Entry<Long, Segment> next = this.segments.higherEntry(segment.id);
+                if (null == next) {
+                    break;
+                }
+
+                cursor = new Position(next.getKey(), 0);
+                continue;
+            }
+
+            int length = segment.buffer.getInt(cursor.offset);
+            byte[] payload = new byte[length];
+            ByteBuffer source = segment.buffer.duplicate();
+            source.position(cursor.offset + ENTRY_HEADER_BYTES);
+            source.get(payload);
+
+            Position next = new Position(cursor.segmentId, cursor.offset + ENTRY_HEADER_BYTES + length);
+            entries.add(new Entry(cursor, next, payload));
+            cursor = next;
+        }
+
+        return entries;
+    }
+
+    /**
+     * Advance the checkpoint, the entries before {@code next} are drained.
+     *
+     * @param next the position after the last drained entry.
+     */
+    public synchronized void commit(Position next) {
+        this.checkOpen();
+        if (next.compareTo(this.committed) <= 0) {
+            return;
+        }
+
+        this.committed = next;
+        this.writeCheckpoint();
+
+        // Delete the fully drained segments, but keep the active one.
+        while (this.segments.size() > 1) {
+            Segment first = this.segments.firstEntry().getValue();
+            boolean drained = first.id < this.committed.segmentId
+                    || (first.id == this.committed.segmentId && this.committed.offset >= first.writePosition);
+            if (!drained) {
+                break;
+            }
+
+            this.segments.pollFirstEntry();
+            first.delete();
+            if (first.id == this.committed.segmentId) {
+                this.committed = new Position(this.segments.firstKey(), 0);
+                this.writeCheckpoint();
+            }
+        }
+    }
+
+    /**
+     * @return {@code true} if all the entries are drained.
+     */
+    public synchronized boolean isEmpty() {
+        Segment active = this.segments.lastEntry().getValue();
+
+        return this.committed.segmentId == active.id && this.committed.offset >= active.writePosition;
+    }
+
+    /**
+     * Flush the mapped segments to the storage device.
+     */
+    public synchronized void force() {
+        this.checkOpen();
+        for (Segment segment : this.segments.values()) {
+            segment.buffer.force();
+        }
+    }
+
+    public Path directory() {
+        return this.directory;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (this.closed) {
+            return;
+        }
+
+        this.closed = true;
+        for (Segment segment : this.segments.values()) {
+            segment.closeQuietly();
+        }
+        this.segments.clear();
+    }
+
+    // ----------------------------------------------------------------
+
+    private void recover() throws IOException {
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(this.directory, "*" + SEGMENT_SUFFIX)) {
+            for (Path path : stream) {
+                String name = path.getFileName().toString();
+                long id = Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+                this.segments.put(id, Segment.open(id, path, this.segmentBytes));
+            }
+        }
+
+        if (this.segments.isEmpty()) {
+            this.roll(0);
+        }
+
+        this.committed = this.readCheckpoint();
+        if (!this.segments.containsKey(this.committed.segmentId)) {
+            // The checkpointed segment was deleted: start from the oldest one.
+            this.committed = new Position(this.segments.firstKey(), 0);
+        }
+    }
+
+    private Segment roll(long id) {
+        try {
+            Segment segment = Segment.open(id, this.directory.resolve(String.format("%020d%s", id, SEGMENT_SUFFIX)), this.segmentBytes);
+            this.segments.put(id, segment);
+
+            return segment;
+        } catch (IOException e) {
+            throw new KafkaPlusRuntimeException(e, "Roll the spillover segment: [%d] failed", id);
+        }
+    }
+
+    private Position readCheckpoint() throws IOException {
+        Path checkpoint = this.directory.resolve(CHECKPOINT);
+        if (!Files.exists(checkpoint)) {
+            return new Position(this.segments.firstKey(), 0);
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(checkpoint));
+
+        return new Position(buffer.getLong(), buffer.getInt());
+    }
+
+    private void writeCheckpoint() {
+        Path checkpoint = this.directory.resolve(CHECKPOINT);
+        Path temporary = this.directory.resolve(CHECKPOINT + ".tmp");
+
+        ByteBuffer buffer = ByteBuffer.allocate(8 + 4);
+        buffer.putLong(this.committed.segmentId).putInt(this.committed.offset);
+        try {
+            Files.write(temporary, buffer.array());
+            Files.move(temporary, checkpoint, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new KafkaPlusRuntimeException(e, "Write the spillover checkpoint: [%s] failed", checkpoint);
+        }
+    }
+
+    private void checkOpen() {
+        if (this.closed) {
+            throw new KafkaPlusRuntimeException("The spillover log: [%s] is closed.", this.directory);
+        }
+    }
+
+    // ----------------------------------------------------------------
+
+    public static final class Position implements Comparable<Position> {
+
+        private final long segmentId;
+        private final int offset;
+
+        Position(long segmentId, int offset) {
+            this.segmentId = segmentId;
+            this.offset = offset;
+        }
+
+        public long segmentId() {
+            return segmentId;
+        }
+
+        public int offset() {
+            return offset;
+        }
+
+        @Override
+        public int compareTo(Position that) {
+            int compared = Long.compare(this.segmentId, that.segmentId);
+
+            return 0 != compared ? compared : Integer.compare(this.offset, that.offset);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Position that = (Position) o;
+            return segmentId == that.segmentId && offset == that.offset;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Long.hashCode(segmentId) + offset;
+        }
+
+        @Override
+        public String toString() {
+            return segmentId + ":" + offset;
+        }
+    }
+
+    public static final class Entry {
+
+        private final Position position;
+        private final Position next;
+        private final byte[] payload;
+
+        Entry(Position position, Position next, byte[] payload) {
+            this.position = position;
+            this.next = next;
+            this.payload = payload;
+        }
+
+        public Position position() {
+            return position;
+        }
+
+        public Position next() {
+            return next;
+        }
+
+        public byte[] payload() {
+            return payload;
+        }
+    }
+
+    private static final class Segment {
+
+        private final long id;
+        private final Path path;
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+        private int writePosition;
+
+        private Segment(long id, Path path, FileChannel channel, MappedByteBuffer buffer) {
+            this.id = id;
+            this.path = path;
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+
+        static Segment open(long id, Path path, int segmentBytes) throws IOException {
+            FileChannel channel = FileChannel.open(path,
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            try {
+                int size = (int) Math.max(segmentBytes, channel.size());
+                Segment segment = new Segment(id, path, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+                segment.writePosition = segment.scan();
+
+                return segment;
+            } catch (IOException e) {
+                channel.close();
+                throw e;
+            }
+        }
+
+        /**
+         * Find the end of the valid entries.
+         */
+        private int scan() {
+            int position = 0;
+            int capacity = this.buffer.capacity();
+            CRC32 crc = new CRC32();
+            while (position + ENTRY_HEADER_BYTES <= capacity) {
+                int length = this.buffer.getInt(position);
+                if (length <= 0 || position + ENTRY_HEADER_BYTES + length > capacity) {
+                    break;
+                }
+
+                byte[] payload = new byte[length];
+                ByteBuffer source = this.buffer.duplicate();
+                source.position(position + ENTRY_HEADER_BYTES);
+                source.get(payload);
+
+                crc.reset();
+                crc.update(payload, 0, length);
+                if ((int) crc.getValue() != this.buffer.getInt(position + 4)) {
+                    break;
+                }
+
+                position += ENTRY_HEADER_BYTES + length;
+            }
+
+            return position;
+        }
+
+        void delete() {
+            this.closeQuietly();
+            try {
+                Files.deleteIfExists(this.path);
+            } catch (IOException ignored) {
+                // A mapped file can't be deleted on some platforms, it's recovered as drained.
+            }
+        }
+
+        void closeQuietly() {
+            try {
+                this.channel.close();
+            } catch (IOException ignored) {
+                // Closing anyway.
+            }
+        }
+    }
+}
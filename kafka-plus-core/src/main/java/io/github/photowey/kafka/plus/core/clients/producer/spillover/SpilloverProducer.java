@@ -0,0 +1,415 @@
+/*
+ * Copyright © 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.kafka.plus.core.clients.producer.spillover;
+
+import io.github.photowey.kafka.plus.core.clients.producer.metric.ProducerMetricReader;
+import io.github.photowey.kafka.plus.core.enums.Kafka;
+import io.github.photowey.kafka.plus.core.exception.KafkaPlusRuntimeException;
+import org.apache.kafka.clients.consumer.ConsumerGroupMetadata;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.producer.Callback;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.Metric;
+import org.apache.kafka.common.MetricName;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.Uuid;
+import org.apache.kafka.common.errors.ApiException;
+import org.apache.kafka.common.errors.RetriableException;
+import org.apache.kafka.common.errors.TimeoutException;
+import org.apache.kafka.common.serialization.Serializer;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static io.github.photowey.kafka.plus.core.checker.ConfigChecker.checkNotNull;
+
+/**
+ * {@code SpilloverProducer}
+ * <p>
+ * A {@link Producer} which spills the serialized records to a memory-mapped {@link SpilloverLog}
+ * instead of blocking the caller when the delegate can't accept them:
+ * <ul>
+ *     <li>the free {@code buffer.memory} ({@link Kafka.Producer.Metric#BUFFER_AVAILABLE_BYTES}) can't hold the record</li>
+ *     <li>the send failed with a {@link TimeoutException} ({@code max.block.ms}, {@code delivery.timeout.ms}),
+ *     {@code KafkaProducer} reports it through the callback, not by throwing, keep them low in the spillover mode</li>
+ * </ul>
+ * While the log isn't drained, the new records are appended too, so the send order is kept.
+ * A drainer thread re-sends the spilled records in order and checkpoints the acknowledged prefix,
+ * the undrained records survive a restart of the process.
+ * <p>
+ * Note: the delivery of the spilled records is at-least-once, a failed drain chunk is re-sent from its first unacknowledged record.
+ * A record rejected by a non-retriable error (e.g. {@code RecordTooLargeException}, an authorization error) fails its future
+ * and is committed past, so it can't stall the log.
+ * The records which time out in flight are spilled in the order of their failures, behind the ones sent before the outage.
+ * The futures of the spilled records are tracked in memory until they are drained,
+ * the undrained ones are failed by {@link #close()}, their records are still re-sent after the restart.
+ * The transactional methods are not supported.
+ *
+ * @author photowey
+ * @version 3.7.0.1.6
+ * @since 2026/10/18
+ */
+public class SpilloverProducer<K, V> implements Producer<K, V> {
+
+    public static final int DEFAULT_DRAIN_BATCH = 512;
+    public static final long DEFAULT_DRAIN_INTERVAL_MS = 100L;
+
+    private final Producer<byte[], byte[]> delegate;
+    private final Serializer<K> keySerializer;
+    private final Serializer<V> valueSerializer;
+    private final SpilloverLog log;
+    private final int drainBatch;
+
+    private final ProducerMetricReader metricReader;
+    private final Map<SpilloverLog.Position, Pending> pendings = new ConcurrentHashMap<>();
+
+    private final ScheduledExecutorService drainer;
+    private final AtomicBoolean closed = new AtomicBoolean(false);
+
+    public SpilloverProducer(
+            Producer<byte[], byte[]> delegate, Serializer<K> keySerializer, Serializer<V> valueSerializer, SpilloverLog log) {
+        this(delegate, keySerializer, valueSerializer, log, DEFAULT_DRAIN_BATCH, DEFAULT_DRAIN_INTERVAL_MS);
+    }
+
+    public SpilloverProducer(
+            Producer<byte[], byte[]> delegate, Serializer<K> keySerializer, Serializer<V> valueSerializer,
+            SpilloverLog log, int drainBatch, long drainIntervalMs) {
+        checkNotNull("delegate", delegate);
+        checkNotNull("keySerializer", keySerializer);
+        checkNotNull("valueSerializer", valueSerializer);
+        checkNotNull("log", log);
+        if (drainBatch <= 0 || drainIntervalMs <= 0) {
+            throw new KafkaPlusRuntimeException(
+                    "Illegal spillover arguments: drainBatch=%d, drainIntervalMs=%d", drainBatch, drainIntervalMs);
+        }
+
+        this.delegate = delegate;
+        this.keySerializer = keySerializer;
+        this.valueSerializer = valueSerializer;
+        this.log = log;
+        this.drainBatch = drainBatch;
+        this.metricReader = new ProducerMetricReader(delegate);
+
+        this.drainer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "kafka-plus-spillover-drainer");
+            thread.setDaemon(true);
+
+            return thread;
+        });
+        this.drainer.scheduleWithFixedDelay(this::drainQuietly, drainIntervalMs, drainIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    // ----------------------------------------------------------------
+
+    @Override
+    public Future<RecordMetadata> send(ProducerRecord<K, V> record) {
+        return this.send(record, null);
+    }
+
+    @Override
+    public Future<RecordMetadata> send(ProducerRecord<K, V> record, Callback callback) {
+        checkNotNull("record", record);
+        if (this.closed.get()) {
+            throw new KafkaPlusRuntimeException("The spillover producer is closed.");
+        }
+
+        byte[] key = this.keySerializer.serialize(record.topic(), record.headers(), record.key());
+        byte[] value = this.valueSerializer.serialize(record.topic(), record.headers(), record.value());
+        ProducerRecord<byte[], byte[]> serialized = new ProducerRecord<>(
+                record.topic(), record.partition(), record.timestamp(), key, value, record.headers());
+
+        if (!this.log.isEmpty() || this.full(serialized)) {
+            return this.spill(serialized, callback);
+        }
+
+        Pending pending = new Pending(callback);
+        try {
+            this.delegate.send(serialized, (metadata, exception) -> {
+                if (exception instanceof TimeoutException) {
+                    // Failed by the outage, re-sent by the drainer.
+                    this.spill(serialized, pending);
+
+                    return;
+                }
+
+                pending.complete(metadata, exception);
+            });
+        } catch (TimeoutException e) {
+            // Thrown by the producers which don't report it through the callback.
+            this.spill(serialized, pending);
+        }
+
+        return pending.future;
+    }
+
+    /**
+     * Whether the records are spilled to the disk.
+     *
+     * @return {@code true} if the log isn't drained.
+     */
+    public boolean spilling() {
+        return !this.log.isEmpty();
+    }
+
+    /**
+     * Re-send a chunk of the spilled records, invoked by the drainer thread.
+     *
+     * @return the drained records.
+     */
+    public synchronized int drain() {
+        List<SpilloverLog.Entry> entries = this.log.read(this.drainBatch);
+        if (entries.isEmpty()) {
+            return 0;
+        }
+
+        List<Future<RecordMetadata>> futures = new ArrayList<>(entries.size());
+        for (SpilloverLog.Entry entry : entries) {
+            ProducerRecord<byte[], byte[]> record = SpilloverCodec.decode(entry.payload());
+            if (this.full(record)) {
+                break;
+            }
+
+            Pending pending = this.pendings.get(entry.position());
+            try {
+                futures.add(this.delegate.send(record, (metadata, exception) -> {
+                    if (null == exception && null != pending) {
+                        this.pendings.remove(entry.position());
+                        pending.complete(metadata, null);
+                    }
+                }));
+            } catch (TimeoutException e) {
+                break;
+            }
+        }
+
+        // Checkpoint the acknowledged prefix, the rest is re-sent by the next drain.
+        int drained = 0;
+        for (Future<RecordMetadata> future : futures) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                if (!this.rejected(e.getCause())) {
+                    break;
+                }
+                // Never accepted: fail it and move past it.
+                Pending pending = this.pendings.remove(entries.get(drained).position());
+                if (null != pending) {
+                    pending.complete(null, (Exception) e.getCause());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+
+            drained++;
+        }
+
+        if (drained > 0) {
+            this.log.commit(entries.get(drained - 1).next());
+        }
+
+        return drained;
+    }
+
+    // ----------------------------------------------------------------
+
+    @Override
+    public void flush() {
+        this.delegate.flush();
+        this.log.force();
+    }
+
+    @Override
+    public List<PartitionInfo> partitionsFor(String topic) {
+        return this.delegate.partitionsFor(topic);
+    }
+
+    @Override
+    public Map<MetricName, ? extends Metric> metrics() {
+        return this.delegate.metrics();
+    }
+
+    @Override
+    public Uuid clientInstanceId(Duration timeout) {
+        return this.delegate.clientInstanceId(timeout);
+    }
+
+    // ----------------------------------------------------------------
+
+    @Override
+    public void initTransactions() {
+        throw this.transactionUnsupported();
+    }
+
+    @Override
+    public void beginTransaction() {
+        throw this.transactionUnsupported();
+    }
+
+    @Override
+    @Deprecated
+    public void sendOffsetsToTransaction(Map<TopicPartition, OffsetAndMetadata> offsets, String consumerGroupId) {
+        throw this.transactionUnsupported();
+    }
+
+    @Override
+    public void sendOffsetsToTransaction(Map<TopicPartition, OffsetAndMetadata> offsets, ConsumerGroupMetadata groupMetadata) {
+        throw this.transactionUnsupported();
+    }
+
+    @Override
+    public void commitTransaction() {
+        throw this.transactionUnsupported();
+    }
+
+    @Override
+    public void abortTransaction() {
+        throw this.transactionUnsupported();
+    }
+
+    // ----------------------------------------------------------------
+
+    @Override
+    public void close() {
+        this.close(null);
+    }
+
+    /**
+     * Stop draining and close the delegate and the log, the undrained records are drained after the next start.
+     */
+    @Override
+    public void close(Duration timeout) {
+        if (!this.closed.compareAndSet(false, true)) {
+            return;
+        }
+
+        this.drainer.shutdownNow();
+        synchronized (this) {
+            try {
+                if (null != timeout) {
+                    this.delegate.close(timeout);
+                } else {
+                    this.delegate.close();
+                }
+            } finally {
+                this.failPendings();
+                this.keySerializer.close();
+                this.valueSerializer.close();
+                this.log.close();
+            }
+        }
+    }
+
+    // ----------------------------------------------------------------
+
+    private Future<RecordMetadata> spill(ProducerRecord<byte[], byte[]> record, Callback callback) {
+        Pending pending = new Pending(callback);
+        this.spill(record, pending);
+
+        return pending.future;
+    }
+
+    private void spill(ProducerRecord<byte[], byte[]> record, Pending pending) {
+        synchronized (this.log) {
+            // Registered under the log lock, before the drainer can read the entry.
+            this.pendings.put(this.log.append(SpilloverCodec.encode(record)), pending);
+        }
+    }
+
+    private void failPendings() {
+        KafkaPlusRuntimeException cause = new KafkaPlusRuntimeException(
+                "The spillover producer is closed before the record is drained, it's re-sent after the restart.");
+        for (SpilloverLog.Position position : this.pendings.keySet()) {
+            Pending pending = this.pendings.remove(position);
+            if (null != pending) {
+                pending.complete(null, cause);
+            }
+        }
+    }
+
+    private boolean full(ProducerRecord<byte[], byte[]> record) {
+        double free = this.metricReader.read(Kafka.Producer.Metric.BUFFER_AVAILABLE_BYTES);
+        if (Double.isNaN(free)) {
+            return false;
+        }
+
+        int bytes = (null == record.key() ? 0 : record.key().length) + (null == record.value() ? 0 : record.value().length);
+        if (bytes > this.metricReader.read(Kafka.Producer.Metric.BUFFER_TOTAL_BYTES, Double.MAX_VALUE)) {
+            // Never fits, the delegate rejects it with a RecordTooLargeException.
+            return false;
+        }
+
+        return free < bytes;
+    }
+
+    /**
+     * Whether the record is rejected for good: a non-retriable {@link ApiException},
+     * the retriable ones and the client-side failures (e.g. the delegate is closing) are re-sent by the next drain.
+     */
+    private boolean rejected(Throwable cause) {
+        return cause instanceof ApiException && !(cause instanceof RetriableException);
+    }
+
+    private void drainQuietly() {
+        try {
+            while (!this.closed.get() && this.drain() >= this.drainBatch) {
+                // Keep draining while the chunks are fully acknowledged.
+            }
+        } catch (Exception ignored) {
+            // Retry on the next period.
+        }
+    }
+
+    private KafkaPlusRuntimeException transactionUnsupported() {
+        return new KafkaPlusRuntimeException("The spillover producer doesn't support transactions.");
+    }
+
+    // ----------------------------------------------------------------
+
+    private static final class Pending {
+
+        private final Callback callback;
+        private final CompletableFuture<RecordMetadata> future = new CompletableFuture<>();
+
+        Pending(Callback callback) {
+            this.callback = callback;
+        }
+
+        void complete(RecordMetadata metadata, Exception exception) {
+            if (null != exception) {
+                this.future.completeExceptionally(exception);
+            } else {
+                this.future.complete(metadata);
+            }
+            if (null != this.callback) {
+                this.callback.onCompletion(metadata, exception);
+            }
+        }
+    }
+}
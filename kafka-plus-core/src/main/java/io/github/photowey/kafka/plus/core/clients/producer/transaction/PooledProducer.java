@@ -0,0 +1,274 @@
+/*
+ * Copyright © 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.kafka.plus.core.clients.producer.transaction;
+
+import io.github.photowey.kafka.plus.core.exception.KafkaPlusRuntimeException;
+import org.apache.kafka.clients.consumer.ConsumerGroupMetadata;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.producer.Callback;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.KafkaException;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.AuthorizationException;
+import org.apache.kafka.common.errors.OutOfOrderSequenceException;
+import org.apache.kafka.common.errors.ProducerFencedException;
+import org.apache.kafka.common.errors.TimeoutException;
+import org.apache.kafka.common.errors.UnsupportedVersionException;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+/**
+ * {@code PooledProducer}
+ * <p>
+ * A pooled transactional producer and its open transaction, accessed by one lessee at a time.
+ *
+ * @author photowey
+ * @version 3.7.0.1.6
+ * @since 2026/10/18
+ */
+class PooledProducer<K, V> {
+
+    private final String transactionalId;
+    private final Function<String, Producer<K, V>> factory;
+
+    private Producer<K, V> producer;
+
+    private boolean inTransaction;
+    /**
+     * The {@code commitTransaction()} timed out: it can only be retried, not aborted.
+     */
+    private boolean committing;
+    private int records;
+    private long startedMillis;
+    private final Map<TopicPartition, OffsetAndMetadata> offsets = new HashMap<>();
+    private ConsumerGroupMetadata groupMetadata;
+
+    PooledProducer(String transactionalId, Function<String, Producer<K, V>> factory) {
+        this.transactionalId = transactionalId;
+        this.factory = factory;
+        this.producer = this.create();
+    }
+
+    // ----------------------------------------------------------------
+
+    Future<RecordMetadata> send(ProducerRecord<K, V> record, Callback callback) {
+        this.beginIfNecessary();
+        try {
+            Future<RecordMetadata> future = this.producer.send(record, callback);
+            this.records++;
+
+            return future;
+        } catch (KafkaException e) {
+            throw this.fail(e);
+        }
+    }
+
+    void offsets(Map<TopicPartition, OffsetAndMetadata> offsets, ConsumerGroupMetadata groupMetadata) {
+        if (null != this.groupMetadata && !this.groupMetadata.groupId().equals(groupMetadata.groupId())) {
+            throw new KafkaPlusRuntimeException("The transaction of: [%s] already carries the offsets of the group: [%s]",
+                    this.transactionalId, this.groupMetadata.groupId());
+        }
+
+        this.beginIfNecessary();
+        for (Map.Entry<TopicPartition, OffsetAndMetadata> entry : offsets.entrySet()) {
+            // Keep the furthest offset of each partition.
+            this.offsets.merge(entry.getKey(), entry.getValue(),
+                    (prev, next) -> next.offset() >= prev.offset() ? next : prev);
+        }
+        this.groupMetadata = groupMetadata;
+    }
+
+    void commit() {
+        if (!this.inTransaction) {
+            return;
+        }
+
+        try {
+            if (!this.committing) {
+                if (!this.offsets.isEmpty()) {
+                    this.producer.sendOffsetsToTransaction(new HashMap<>(this.offsets), this.groupMetadata);
+                }
+                this.committing = true;
+            }
+            // Retried as is after a timeout, the producer resumes the pending commit.
+            this.producer.commitTransaction();
+            this.reset();
+        } catch (TimeoutException e) {
+            throw new TransactionOutcomeUnknownException(e, this.transactionalId);
+        } catch (KafkaException e) {
+            throw this.fail(e);
+        }
+    }
+
+    /**
+     * Resume the timed-out commit on the release of the lease,
+     * the producer is recreated if it times out again, so the next lessee never joins the pending transaction.
+     */
+    void resume() {
+        try {
+            this.commit();
+        } catch (TransactionOutcomeUnknownException e) {
+            this.reset();
+            this.closeQuietly();
+            this.producer = null;
+
+            throw e;
+        }
+    }
+
+    void abort() {
+        if (!this.inTransaction) {
+            return;
+        }
+
+        try {
+            this.producer.abortTransaction();
+            this.reset();
+        } catch (KafkaException e) {
+            throw this.fail(e);
+        }
+    }
+
+    /**
+     * Close on the pool shutdown, the transactions are committed or aborted by the leases already.
+     */
+    void shutdown() {
+        this.closeQuietly();
+    }
+
+    void closeQuietly() {
+        if (null == this.producer) {
+            return;
+        }
+
+        try {
+            this.producer.close();
+        } catch (RuntimeException ignored) {
+            // Closing anyway.
+        }
+    }
+
+    // ----------------------------------------------------------------
+
+    String transactionalId() {
+        return this.transactionalId;
+    }
+
+    Producer<K, V> producer() {
+        return this.producer;
+    }
+
+    boolean inTransaction() {
+        return this.inTransaction;
+    }
+
+    boolean committing() {
+        return this.committing;
+    }
+
+    int records() {
+        return this.records;
+    }
+
+    long startedMillis() {
+        return this.startedMillis;
+    }
+
+    // ----------------------------------------------------------------
+
+    private Producer<K, V> create() {
+        Producer<K, V> created = this.factory.apply(this.transactionalId);
+        try {
+            created.initTransactions();
+        } catch (RuntimeException e) {
+            created.close();
+            throw e;
+        }
+
+        return created;
+    }
+
+    private void beginIfNecessary() {
+        if (this.inTransaction) {
+            return;
+        }
+        if (null == this.producer) {
+            // The recreation failed last time.
+            this.producer = this.create();
+        }
+
+        try {
+            this.producer.beginTransaction();
+        } catch (KafkaException e) {
+            throw this.fail(e);
+        }
+
+        this.inTransaction = true;
+        this.startedMillis = System.currentTimeMillis();
+    }
+
+    private void reset() {
+        this.inTransaction = false;
+        this.committing = false;
+        this.records = 0;
+        this.offsets.clear();
+        this.groupMetadata = null;
+    }
+
+    /**
+     * Fatal errors: the producer can't be used anymore and is recreated, the re-initialisation aborts its open transaction.
+     * Other errors: the transaction is aborted, unless its commit timed out before, the outcome is unknown then.
+     */
+    private KafkaPlusRuntimeException fail(KafkaException cause) {
+        boolean unknown = this.committing;
+        boolean fatal = unknown
+                || cause instanceof ProducerFencedException
+                || cause instanceof OutOfOrderSequenceException
+                || cause instanceof AuthorizationException
+                || cause instanceof UnsupportedVersionException;
+
+        if (!fatal && this.inTransaction) {
+            try {
+                this.producer.abortTransaction();
+            } catch (KafkaException e) {
+                fatal = true;
+            }
+        }
+
+        this.reset();
+        KafkaPlusRuntimeException failure = unknown
+                ? new TransactionOutcomeUnknownException(cause, this.transactionalId)
+                : new KafkaPlusRuntimeException(cause,
+                "The transaction of: [%s] failed, the consumed records must be reprocessed", this.transactionalId);
+        if (fatal) {
+            this.closeQuietly();
+            // Never left pointing at the closed one, recreated by the next lessee if it fails again here.
+            this.producer = null;
+            try {
+                this.producer = this.create();
+            } catch (RuntimeException e) {
+                failure.addSuppressed(e);
+            }
+        }
+
+        return failure;
+    }
+}
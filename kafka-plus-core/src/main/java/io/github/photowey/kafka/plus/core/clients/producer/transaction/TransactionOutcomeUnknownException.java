@@ -0,0 +1,38 @@
+/*
+ * Copyright © 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.kafka.plus.core.clients.producer.transaction;
+
+import io.github.photowey.kafka.plus.core.exception.KafkaPlusRuntimeException;
+
+/**
+ * {@code TransactionOutcomeUnknownException}
+ * <p>
+ * The commit of the transaction timed out, it may have completed: it's NOT aborted, don't reprocess the consumed records yet.
+ * {@link TransactionalLease#commit()} again resumes the same commit, the release of the lease resumes it too,
+ * and recreates the producer if it times out again, the re-initialisation completes or aborts the pending transaction.
+ *
+ * @author photowey
+ * @version 3.7.0.1.6
+ * @since 2026/10/18
+ */
+public class TransactionOutcomeUnknownException extends KafkaPlusRuntimeException {
+
+    private static final long serialVersionUID = 4617283065712381294L;
+
+    public TransactionOutcomeUnknownException(Throwable cause, String transactionalId) {
+        super(cause, "The commit of the transaction of: [%s] timed out, its outcome is unknown", transactionalId);
+    }
+}
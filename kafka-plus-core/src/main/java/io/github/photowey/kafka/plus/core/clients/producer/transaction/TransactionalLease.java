@@ -0,0 +1,170 @@
+/*
+ * Copyright © 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.kafka.plus.core.clients.producer.transaction;
+
+import io.github.photowey.kafka.plus.core.exception.KafkaPlusRuntimeException;
+import org.apache.kafka.clients.consumer.ConsumerGroupMetadata;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.producer.Callback;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.TopicPartition;
+
+import java.util.Map;
+import java.util.concurrent.Future;
+
+import static io.github.photowey.kafka.plus.core.checker.ConfigChecker.checkNotNull;
+
+/**
+ * {@code TransactionalLease}
+ * <p>
+ * The exclusive lease of a pooled transactional producer, the transaction is begun on the first send/offsets.
+ * The transaction belongs to the lease: commit it before {@link #close()}, the uncommitted one is aborted on release.
+ * <p>
+ * A failed transaction throws {@link KafkaPlusRuntimeException}, it was aborted
+ * and the consumed records since the last commit must be reprocessed (e.g. seek back to the committed offsets).
+ * A timed-out commit throws {@link TransactionOutcomeUnknownException} instead, it isn't aborted and may have completed.
+ *
+ * @author photowey
+ * @version 3.7.0.1.6
+ * @since 2026/10/18
+ */
+public class TransactionalLease<K, V> implements AutoCloseable {
+
+    private final TransactionalProducerPool<K, V> pool;
+    private final PooledProducer<K, V> pooled;
+
+    private boolean released;
+
+    TransactionalLease(TransactionalProducerPool<K, V> pool, PooledProducer<K, V> pooled) {
+        this.pool = pool;
+        this.pooled = pooled;
+    }
+
+    // ----------------------------------------------------------------
+
+    public String transactionalId() {
+        return this.pooled.transactionalId();
+    }
+
+    public Future<RecordMetadata> send(ProducerRecord<K, V> record) {
+        return this.send(record, null);
+    }
+
+    public Future<RecordMetadata> send(ProducerRecord<K, V> record, Callback callback) {
+        checkNotNull("record", record);
+        this.checkLeased();
+
+        return this.pooled.send(record, callback);
+    }
+
+    /**
+     * Add the consumed offsets to the transaction, the furthest offset of each partition is committed.
+     *
+     * @param offsets       the next offsets to consume.
+     * @param groupMetadata the {@link ConsumerGroupMetadata} of the consumer, {@code consumer.groupMetadata()}.
+     */
+    public void offsets(Map<TopicPartition, OffsetAndMetadata> offsets, ConsumerGroupMetadata groupMetadata) {
+        checkNotNull("offsets", offsets);
+        checkNotNull("groupMetadata", groupMetadata);
+        this.checkLeased();
+
+        this.pooled.offsets(offsets, groupMetadata);
+    }
+
+    /**
+     * Whether the open transaction reached the max records/age of the pool.
+     *
+     * @return {@code true} if due.
+     */
+    public boolean due() {
+        this.checkLeased();
+
+        return this.pool.due(this.pooled);
+    }
+
+    /**
+     * Commit the open transaction if it's due.
+     *
+     * @return {@code true} if committed.
+     */
+    public boolean commitIfDue() {
+        if (!this.due()) {
+            return false;
+        }
+
+        this.pooled.commit();
+
+        return true;
+    }
+
+    /**
+     * Send the offsets to and commit the open transaction.
+     *
+     * @throws TransactionOutcomeUnknownException if the commit timed out, commit again to resume it.
+     */
+    public void commit() {
+        this.checkLeased();
+        this.pooled.commit();
+    }
+
+    public void abort() {
+        this.checkLeased();
+        this.pooled.abort();
+    }
+
+    /**
+     * Return the producer to the pool, the uncommitted transaction (if any) is aborted first,
+     * so the next lessee never commits the records of this one.
+     *
+     * @throws KafkaPlusRuntimeException if an uncommitted transaction was aborted,
+     *                                   the consumed records since the last commit must be reprocessed.
+     */
+    @Override
+    public void close() {
+        if (this.released) {
+            return;
+        }
+
+        this.released = true;
+        // A timed-out commit can't be aborted, it's resumed instead.
+        boolean committing = this.pooled.committing();
+        boolean uncommitted = !committing && this.pooled.inTransaction();
+        try {
+            if (committing) {
+                this.pooled.resume();
+            } else if (uncommitted) {
+                this.pooled.abort();
+            }
+        } finally {
+            this.pool.release(this.pooled);
+        }
+
+        if (uncommitted) {
+            throw new KafkaPlusRuntimeException(
+                    "The uncommitted transaction of: [%s] was aborted on release, the consumed records must be reprocessed",
+                    this.pooled.transactionalId());
+        }
+    }
+
+    // ----------------------------------------------------------------
+
+    private void checkLeased() {
+        if (this.released) {
+            throw new KafkaPlusRuntimeException("The lease of: [%s] was released.", this.pooled.transactionalId());
+        }
+    }
+}
@@ -0,0 +1,197 @@
+/*
+ * Copyright © 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.kafka.plus.core.clients.producer.transaction;
+
+import io.github.photowey.kafka.plus.core.exception.KafkaPlusRuntimeException;
+import org.apache.kafka.clients.producer.Producer;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+import static io.github.photowey.kafka.plus.core.checker.ConfigChecker.checkNotBlank;
+import static io.github.photowey.kafka.plus.core.checker.ConfigChecker.checkNotNull;
+
+/**
+ * {@code TransactionalProducerPool}
+ * <p>
+ * A fixed pool of transactional producers for the exactly-once consume-transform-produce loops.
+ * <ul>
+ *     <li>the producers are created and {@link Producer#initTransactions()}-ed eagerly</li>
+ *     <li>the {@code transactional.id}s are stable: {@code prefix-0 .. prefix-(size - 1)},
+ *     so a restarted instance with the same prefix fences its zombie predecessor</li>
+ *     <li>a transaction never outlives its lease, many consumed-record groups of the lessee are committed
+ *     by one transaction when {@link TransactionalLease#commitIfDue()}, the uncommitted one is aborted on release</li>
+ * </ul>
+ * Examples:
+ * <pre>
+ * try (TransactionalLease&lt;String, String&gt; lease = pool.lease(Duration.ofSeconds(1))) {
+ *     while (running) {
+ *         for (ConsumerRecord&lt;String, String&gt; record : consumer.poll(timeout)) {
+ *             lease.send(transform(record));
+ *         }
+ *         lease.offsets(offsets, consumer.groupMetadata());
+ *         lease.commitIfDue();
+ *     }
+ *     lease.commit();
+ * }
+ * </pre>
+ *
+ * @author photowey
+ * @version 3.7.0.1.6
+ * @since 2026/10/18
+ */
+public class TransactionalProducerPool<K, V> implements Closeable {
+
+    public static final int DEFAULT_MAX_BATCH_RECORDS = 1_000;
+    public static final long DEFAULT_MAX_BATCH_MS = 100L;
+
+    private final String transactionalIdPrefix;
+    private final int maxBatchRecords;
+    private final long maxBatchMs;
+
+    private final List<PooledProducer<K, V>> producers;
+    /**
+     * LIFO: the last returned producer is leased first, so the pool keeps a warm producer busy.
+     */
+    private final BlockingDeque<PooledProducer<K, V>> idle;
+    private final AtomicBoolean closed = new AtomicBoolean(false);
+
+    public TransactionalProducerPool(String transactionalIdPrefix, int size, Function<String, Producer<K, V>> factory) {
+        this(transactionalIdPrefix, size, factory, DEFAULT_MAX_BATCH_RECORDS, DEFAULT_MAX_BATCH_MS);
+    }
+
+    /**
+     * @param transactionalIdPrefix the {@code transactional.id} prefix.
+     * @param size                  the pool size.
+     * @param factory               creates the producer of the given {@code transactional.id}.
+     * @param maxBatchRecords       the records which make a transaction due.
+     * @param maxBatchMs            the age which makes a transaction due.
+     */
+    public TransactionalProducerPool(
+            String transactionalIdPrefix, int size, Function<String, Producer<K, V>> factory, int maxBatchRecords, long maxBatchMs) {
+        checkNotBlank("transactionalIdPrefix", transactionalIdPrefix);
+        checkNotNull("factory", factory);
+        if (size <= 0 || maxBatchRecords <= 0 || maxBatchMs < 0) {
+            throw new KafkaPlusRuntimeException(
+                    "Illegal pool arguments: size=%d, maxBatchRecords=%d, maxBatchMs=%d", size, maxBatchRecords, maxBatchMs);
+        }
+
+        this.transactionalIdPrefix = transactionalIdPrefix;
+        this.maxBatchRecords = maxBatchRecords;
+        this.maxBatchMs = maxBatchMs;
+
+        List<PooledProducer<K, V>> producers = new ArrayList<>(size);
+        this.idle = new LinkedBlockingDeque<>(size);
+        try {
+            for (int i = 0; i < size; i++) {
+                PooledProducer<K, V> pooled = new PooledProducer<>(transactionalIdPrefix + "-" + i, factory);
+                producers.add(pooled);
+                this.idle.add(pooled);
+            }
+        } catch (RuntimeException e) {
+            producers.forEach(PooledProducer::closeQuietly);
+            throw e;
+        }
+
+        this.producers = Collections.unmodifiableList(producers);
+    }
+
+    // ----------------------------------------------------------------
+
+    /**
+     * Lease an idle producer, the lease must be closed to return it.
+     *
+     * @param timeout the max time to wait for an idle producer.
+     * @return {@link TransactionalLease}
+     */
+    public TransactionalLease<K, V> lease(Duration timeout) {
+        checkNotNull("timeout", timeout);
+        if (this.closed.get()) {
+            throw new KafkaPlusRuntimeException("The transactional producer pool is closed.");
+        }
+
+        PooledProducer<K, V> pooled;
+        try {
+            pooled = this.idle.pollFirst(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new KafkaPlusRuntimeException(e, "Interrupted while leasing a transactional producer");
+        }
+
+        if (null == pooled) {
+            throw new KafkaPlusRuntimeException("No transactional producer available within: [%s]", timeout);
+        }
+
+        return new TransactionalLease<>(this, pooled);
+    }
+
+    public String transactionalIdPrefix() {
+        return this.transactionalIdPrefix;
+    }
+
+    public int size() {
+        return this.producers.size();
+    }
+
+    public int idle() {
+        return this.idle.size();
+    }
+
+    /**
+     * Close the idle producers, the leased producers are closed when they are returned.
+     */
+    @Override
+    public void close() {
+        if (!this.closed.compareAndSet(false, true)) {
+            return;
+        }
+
+        PooledProducer<K, V> pooled;
+        while (null != (pooled = this.idle.pollFirst())) {
+            pooled.shutdown();
+        }
+    }
+
+    // ----------------------------------------------------------------
+
+    void release(PooledProducer<K, V> pooled) {
+        if (this.closed.get()) {
+            pooled.shutdown();
+
+            return;
+        }
+
+        this.idle.addFirst(pooled);
+        if (this.closed.get() && this.idle.remove(pooled)) {
+            // Lost the race with close().
+            pooled.shutdown();
+        }
+    }
+
+    boolean due(PooledProducer<K, V> pooled) {
+        return pooled.inTransaction()
+                && (pooled.records() >= this.maxBatchRecords
+                || System.currentTimeMillis() - pooled.startedMillis() >= this.maxBatchMs);
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright © 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.kafka.plus.core.clients.producer.warmup;
+
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.common.PartitionInfo;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.github.photowey.kafka.plus.core.checker.ConfigChecker.checkNotNull;
+
+/**
+ * {@code ProducerWarmer}
+ * <p>
+ * Fetches the metadata of the topics with {@link Producer#partitionsFor(String)} in parallel,
+ * so the first {@code send} of each topic doesn't wait for the synchronous metadata fetch.
+ * The concurrent fetches are coalesced into the metadata requests of the producer I/O thread.
+ * <p>
+ * The warm-up is best-effort: the topics which failed (e.g. not exist, {@code max.block.ms} exceeded) are left out of the result.
+ *
+ * @author photowey
+ * @version 3.7.0.1.6
+ * @since 2026/10/18
+ */
+public final class ProducerWarmer {
+
+    public static final int DEFAULT_PARALLELISM = 8;
+
+    private ProducerWarmer() {}
+
+    public static CompletableFuture<Map<String, List<PartitionInfo>>> warmUp(Producer<?, ?> producer, Collection<String> topics) {
+        return warmUp(producer, topics, DEFAULT_PARALLELISM);
+    }
+
+    /**
+     * Warm up the metadata of the topics.
+     *
+     * @param producer    the {@link Producer}.
+     * @param topics      the topics.
+     * @param parallelism the max concurrent fetches.
+     * @return the fetched partitions of the topics.
+     */
+    public static CompletableFuture<Map<String, List<PartitionInfo>>> warmUp(
+            Producer<?, ?> producer, Collection<String> topics, int parallelism) {
+        checkNotNull("producer", producer);
+        checkNotNull("topics", topics);
+
+        Collection<String> distinct = new LinkedHashSet<>(topics);
+        Map<String, List<PartitionInfo>> partitions = new ConcurrentHashMap<>();
+        if (distinct.isEmpty()) {
+            return CompletableFuture.completedFuture(partitions);
+        }
+
+        AtomicInteger sequence = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(parallelism, distinct.size())), runnable -> {
+            Thread thread = new Thread(runnable, "kafka-plus-producer-warmer-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+
+            return thread;
+        });
+
+        List<CompletableFuture<Void>> futures = new ArrayList<>(distinct.size());
+        for (String topic : distinct) {
+            futures.add(CompletableFuture.runAsync(() -> {
+                try {
+                    List<PartitionInfo> fetched = producer.partitionsFor(topic);
+                    if (null != fetched) {
+                        partitions.put(topic, fetched);
+                    }
+                } catch (Exception ignored) {
+                    // Best-effort: the first send of the topic fetches it again.
+                }
+            }, executor));
+        }
+
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+                .handle((x, cause) -> {
+                    executor.shutdown();
+
+                    return partitions;
+                });
+    }
+}
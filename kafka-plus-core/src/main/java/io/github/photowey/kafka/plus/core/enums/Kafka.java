@@ -20,6 +20,7 @@ import org.apache.kafka.clients.admin.AdminClientConfig;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.common.IsolationLevel;
+import org.apache.kafka.common.record.CompressionType;
 
 /**
  * {@code Kafka}
@@ -88,6 +89,10 @@ public enum Kafka {
         ISOLATION_LEVEL(ConsumerConfig.ISOLATION_LEVEL_DOC, ConsumerConfig.ISOLATION_LEVEL_CONFIG),
         PARTITION_ASSIGNMENT_STRATEGY(Document.Consumer.PARTITION_ASSIGNMENT_STRATEGY_DOC, ConsumerConfig.PARTITION_ASSIGNMENT_STRATEGY_CONFIG),
 
+        // ---------------------------------------------------------------- 3.7.0.1.6
+
+        MAX_POLL_RECORDS(Document.Consumer.MAX_POLL_RECORDS_DOC, ConsumerConfig.MAX_POLL_RECORDS_CONFIG),
+
         ;
 
         private final String doc;
@@ -172,6 +177,7 @@ public enum Kafka {
 
         BATCH_SIZE(Document.Producer.BATCH_SIZE_DOC, ProducerConfig.BATCH_SIZE_CONFIG),
         BUFFER_MEMORY_SIZE(Document.Producer.BATCH_SIZE_DOC, ProducerConfig.BUFFER_MEMORY_CONFIG),
+        COMPRESSION_TYPE(Document.Producer.COMPRESSION_TYPE_DOC, ProducerConfig.COMPRESSION_TYPE_CONFIG),
 
         LINGER_MS(Document.Producer.LINGER_MS_DOC, ProducerConfig.LINGER_MS_CONFIG),
         MAX_BLOCK_MS(Document.Producer.MAX_BLOCK_MS_DOC, ProducerConfig.MAX_BLOCK_MS_CONFIG),
@@ -184,6 +190,9 @@ public enum Kafka {
          */
         IDEMPOTENCE_ENABLED(ProducerConfig.ENABLE_IDEMPOTENCE_DOC, ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG),
 
+        TRANSACTIONAL_ID(ProducerConfig.TRANSACTIONAL_ID_DOC, ProducerConfig.TRANSACTIONAL_ID_CONFIG),
+        TRANSACTION_TIMEOUT_MS(ProducerConfig.TRANSACTION_TIMEOUT_DOC, ProducerConfig.TRANSACTION_TIMEOUT_CONFIG),
+
         ;
 
         private final String doc;
@@ -226,6 +235,83 @@ public enum Kafka {
                 return this.value;
             }
         }
+
+        /**
+         * The {@code compression.type}.
+         *
+         * @since 3.7.0.1.6
+         */
+        public enum Compression {
+
+            NONE("No compression.", CompressionType.NONE),
+            GZIP("The gzip codec, the best ratio and the slowest.", CompressionType.GZIP),
+            SNAPPY("The snappy codec, fast with a moderate ratio.", CompressionType.SNAPPY),
+            LZ4("The lz4 codec, the fastest with a moderate ratio.", CompressionType.LZ4),
+            ZSTD("The zstd codec, a gzip-like ratio at a lz4-like speed.", CompressionType.ZSTD),
+
+            ;
+
+            private final String doc;
+            private final CompressionType type;
+
+            Compression(String doc, CompressionType type) {
+                this.doc = doc;
+                this.type = type;
+            }
+
+            public String doc() {
+                return this.doc;
+            }
+
+            public String value() {
+                return this.type.name;
+            }
+
+            public CompressionType type() {
+                return this.type;
+            }
+        }
+
+        /**
+         * The built-in producer metrics.
+         *
+         * @since 3.7.0.1.6
+         */
+        public enum Metric {
+
+            BUFFER_TOTAL_BYTES("The maximum amount of buffer memory the client can use (whether or not it is currently used).", "buffer-total-bytes"),
+            BUFFER_AVAILABLE_BYTES("The total amount of buffer memory that is not being used (either unallocated or in the free list).", "buffer-available-bytes"),
+            WAITING_THREADS("The number of user threads blocked waiting for buffer memory to enqueue their records.", "waiting-threads"),
+
+            BATCH_SIZE_AVG("The average number of bytes sent per partition per-request.", "batch-size-avg"),
+            RECORD_QUEUE_TIME_AVG("The average time in ms record batches spent in the send buffer.", "record-queue-time-avg"),
+            REQUEST_LATENCY_AVG("The average request latency in ms.", "request-latency-avg"),
+            PRODUCE_THROTTLE_TIME_AVG("The average time in ms a request was throttled by a broker.", "produce-throttle-time-avg"),
+
+            ;
+
+            public static final String GROUP = "producer-metrics";
+
+            private final String doc;
+            private final String value;
+
+            Metric(String doc, String value) {
+                this.doc = doc;
+                this.value = value;
+            }
+
+            public String doc() {
+                return this.doc;
+            }
+
+            public String value() {
+                return this.value;
+            }
+
+            public String group() {
+                return GROUP;
+            }
+        }
     }
 
     /**
@@ -244,6 +330,8 @@ public enum Kafka {
 
             String ENABLE_AUTO_COMMIT_DOC = "If true the consumer's offset will be periodically committed in the background.";
 
+            String MAX_POLL_RECORDS_DOC = "The maximum number of records returned in a single call to poll().";
+
             String PARTITION_ASSIGNMENT_STRATEGY_DOC = "A list of class names or class types, " +
                     "ordered by preference, of supported partition assignment strategies that the client will use to distribute " +
                     "partition ownership amongst consumer instances when group management is used. Available options are:" +
@@ -337,6 +425,10 @@ public enum Kafka {
                     + "not all memory the producer uses is used for buffering. Some additional memory will be used for compression (if "
                     + "compression is enabled) as well as for maintaining in-flight requests.";
 
+            String COMPRESSION_TYPE_DOC = "The compression type for all data generated by the producer. The default is none (i.e. no compression). Valid"
+                    + " values are <code>none</code>, <code>gzip</code>, <code>snappy</code>, <code>lz4</code>, or <code>zstd</code>. "
+                    + "Compression is of full batches of data, so the efficacy of batching will also impact the compression ratio (more batching means better compression).";
+
             String LINGER_MS_DOC = "The producer groups together any records that arrive in between request transmissions into a single batched request. "
                     + "Normally this occurs only under load when records arrive faster than they can be sent out. However in some circumstances the client may want to "
                     + "reduce the number of requests even under moderate load. This setting accomplishes this by adding a small amount "
@@ -17,6 +17,8 @@ package io.github.photowey.kafka.plus.engine;
 
 import io.github.photowey.kafka.plus.engine.holder.KafkaEngineHolder;
 
+import java.io.Closeable;
+import java.io.IOException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
 
@@ -27,7 +29,7 @@ import java.util.function.Supplier;
  * @since 2024/04/05
  * @version 3.7.0.1.0
  */
-public abstract class AbstractEngine implements KafkaEngine {
+public abstract class AbstractEngine implements KafkaEngine, Closeable {
 
     protected final ConcurrentHashMap<Class<?>, Object> sharedObjects = new ConcurrentHashMap<>();
 
@@ -63,4 +65,23 @@ public abstract class AbstractEngine implements KafkaEngine {
     public void cleanSharedObjects() {
         this.sharedObjects.clear();
     }
+
+    /**
+     * Close the {@link Closeable} shared objects, e.g. the shared producers of the {@code ProducerService}.
+     *
+     * @since 3.7.0.1.6
+     */
+    @Override
+    public void close() {
+        for (Class<?> sharedType : this.sharedObjects.keySet()) {
+            Object target = this.sharedObjects.remove(sharedType);
+            if (target instanceof Closeable) {
+                try {
+                    ((Closeable) target).close();
+                } catch (IOException ignored) {
+                    // Best effort.
+                }
+            }
+        }
+    }
 }
\ No newline at end of file
@@ -15,6 +15,7 @@
  */
 package io.github.photowey.kafka.plus.engine;
 
+import io.github.photowey.kafka.plus.core.clients.producer.metric.SendMetricsRegistry;
 import io.github.photowey.kafka.plus.runtime.service.AdminService;
 import io.github.photowey.kafka.plus.runtime.service.ConsumerService;
 import io.github.photowey.kafka.plus.runtime.service.ProducerService;
@@ -56,4 +57,20 @@ public interface KafkaEngine extends Engine {
      * @return {@link ProducerService}
      */
     ProducerService producerService();
+
+    /**
+     * The per-partition send latency/record size histograms.
+     * <pre>
+     * long p99 = KafkaEngineHolder.INSTANCE.kafkaEngine().sendMetrics()
+     *    .partition("orders", 3)
+     *    .latencyMs()
+     *    .p99();
+     * </pre>
+     *
+     * @return {@link SendMetricsRegistry}
+     * @since 3.7.0.1.6
+     */
+    default SendMetricsRegistry sendMetrics() {
+        return this.producerService().sendMetrics();
+    }
 }
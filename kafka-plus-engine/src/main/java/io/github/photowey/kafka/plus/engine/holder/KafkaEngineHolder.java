@@ -44,7 +44,12 @@ public enum KafkaEngineHolder {
     // ----------------------------------------------------------------
 
     private static class KafkaEngineFactory implements Serializable {
-        private static final KafkaEngine INSTANCE = new KafkaEngineImpl();
+        private static final KafkaEngineImpl INSTANCE = new KafkaEngineImpl();
+
+        static {
+            // Close the shared producers of the default engine on the JVM shutdown.
+            Runtime.getRuntime().addShutdownHook(new Thread(INSTANCE::close, "kafka-plus-engine-shutdown"));
+        }
     }
 
     // ----------------------------------------------------------------
@@ -0,0 +1,232 @@
+/*
+ * Copyright © 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.kafka.plus.core.clients.admin.lag;
+
+import io.github.photowey.kafka.plus.core.exception.KafkaPlusRuntimeException;
+import org.apache.kafka.clients.admin.Admin;
+import org.apache.kafka.clients.admin.ListConsumerGroupOffsetsResult;
+import org.apache.kafka.clients.admin.ListConsumerGroupOffsetsSpec;
+import org.apache.kafka.clients.admin.ListOffsetsResult;
+import org.apache.kafka.clients.admin.OffsetSpec;
+import org.apache.kafka.clients.admin.internals.CoordinatorKey;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.KafkaFuture;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.LeaderNotAvailableException;
+import org.apache.kafka.common.internals.KafkaFutureImpl;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
+
+/**
+ * {@code ConsumerLagMonitorTest}
+ *
+ * @author photowey
+ * @version 3.7.0.1.6
+ * @since 2026/10/18
+ */
+class ConsumerLagMonitorTest {
+
+    private static final String TOPIC = "kafka-plus-test";
+    private static final TopicPartition PARTITION_0 = new TopicPartition(TOPIC, 0);
+    private static final TopicPartition PARTITION_1 = new TopicPartition(TOPIC, 1);
+
+    @Test
+    void testRefresh_batched_queries() throws Exception {
+        StubAdmin stub = new StubAdmin();
+        stub.commit("group-a", PARTITION_0, 40);
+        stub.commit("group-a", PARTITION_1, 200);
+        stub.commit("group-b", PARTITION_0, 100);
+        stub.endOffsets.put(PARTITION_0, 100L);
+        stub.endOffsets.put(PARTITION_1, 200L);
+
+        ConsumerLagMonitor monitor = new ConsumerLagMonitor(
+                stub.admin(), Arrays.asList("group-a", "group-b"), new LagMonitorSettings());
+        monitor.refresh();
+
+        // One query of the groups, one query of the shared partitions.
+        Assertions.assertEquals(1, stub.groupQueries.size());
+        Assertions.assertEquals(2, stub.groupQueries.get(0).size());
+        Assertions.assertEquals(1, stub.offsetQueries.size());
+        Assertions.assertEquals(2, stub.offsetQueries.get(0).size());
+
+        Assertions.assertEquals(60, monitor.lag("group-a"));
+        Assertions.assertEquals(60, monitor.lag("group-a", PARTITION_0).lag());
+        Assertions.assertEquals(0, monitor.lag("group-b", PARTITION_0).lag());
+        Assertions.assertNull(monitor.lag("group-b", PARTITION_1));
+        Assertions.assertEquals(0D, monitor.lag("group-a", PARTITION_0).lagRate());
+
+        // Falls behind.
+        PartitionLag gauge = monitor.lag("group-a", PARTITION_0);
+        Thread.sleep(50);
+        stub.endOffsets.put(PARTITION_0, 120L);
+        monitor.refresh();
+
+        Assertions.assertSame(gauge, monitor.lag("group-a", PARTITION_0));
+        Assertions.assertEquals(80, gauge.lag());
+        Assertions.assertTrue(gauge.lagRate() > 0);
+        Assertions.assertEquals(0, monitor.failures());
+        monitor.close();
+    }
+
+    @Test
+    void testRefresh_keep_last_values_on_failure() throws Exception {
+        StubAdmin stub = new StubAdmin();
+        stub.commit("group-a", PARTITION_0, 10);
+        stub.commit("group-a", PARTITION_1, 10);
+        stub.endOffsets.put(PARTITION_0, 50L);
+        stub.endOffsets.put(PARTITION_1, 50L);
+
+        ConsumerLagMonitor monitor = new ConsumerLagMonitor(
+                stub.admin(), Collections.singleton("group-a"), new LagMonitorSettings());
+        monitor.refresh();
+        Assertions.assertEquals(80, monitor.lag("group-a"));
+        long updatedAtMs = monitor.lag("group-a", PARTITION_1).updatedAtMs();
+
+        Thread.sleep(5);
+        stub.unavailable.add(PARTITION_1);
+        stub.endOffsets.put(PARTITION_0, 60L);
+        stub.endOffsets.put(PARTITION_1, 60L);
+        // The fresh committed offset isn't paired with the stale end offset.
+        stub.commit("group-a", PARTITION_1, 30);
+        monitor.refresh();
+
+        Assertions.assertEquals(50, monitor.lag("group-a", PARTITION_0).lag());
+        Assertions.assertEquals(40, monitor.lag("group-a", PARTITION_1).lag());
+        Assertions.assertEquals(10, monitor.lag("group-a", PARTITION_1).committedOffset());
+        Assertions.assertEquals(0D, monitor.lag("group-a", PARTITION_1).lagRate());
+        Assertions.assertEquals(updatedAtMs, monitor.lag("group-a", PARTITION_1).updatedAtMs());
+        Assertions.assertEquals(50, monitor.endOffset(PARTITION_1));
+        Assertions.assertEquals(1, monitor.failures());
+        Assertions.assertTrue(monitor.lastFailure().getCause() instanceof LeaderNotAvailableException);
+
+        // The uncommitted partitions are dropped.
+        stub.unavailable.clear();
+        stub.committed.get("group-a").remove(PARTITION_1);
+        monitor.refresh();
+        Assertions.assertEquals(Collections.singleton(PARTITION_0), monitor.lags("group-a").keySet());
+        Assertions.assertEquals(-1, monitor.endOffset(PARTITION_1));
+
+        Assertions.assertThrows(KafkaPlusRuntimeException.class,
+                () -> new ConsumerLagMonitor(stub.admin(), Collections.emptySet(), new LagMonitorSettings()));
+        monitor.close();
+    }
+
+    @Test
+    void testStart_scheduled() throws Exception {
+        StubAdmin stub = new StubAdmin();
+        stub.commit("group-a", PARTITION_0, 10);
+        stub.endOffsets.put(PARTITION_0, 20L);
+
+        ConsumerLagMonitor monitor = new ConsumerLagMonitor(
+                stub.admin(), Collections.singleton("group-a"), new LagMonitorSettings().intervalMs(10));
+        monitor.start();
+
+        this.await(() -> monitor.refreshes() >= 3);
+        Assertions.assertEquals(10, monitor.lag("group-a"));
+        monitor.close();
+    }
+
+    // ----------------------------------------------------------------
+
+    private void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+
+        Assertions.assertTrue(condition.getAsBoolean());
+    }
+
+    /**
+     * Serves the offset queries of {@link Admin}, and records them.
+     */
+    private static class StubAdmin {
+
+        private final Map<String, Map<TopicPartition, OffsetAndMetadata>> committed = new ConcurrentHashMap<>();
+        private final Map<TopicPartition, Long> endOffsets = new ConcurrentHashMap<>();
+        private final List<TopicPartition> unavailable = new CopyOnWriteArrayList<>();
+
+        private final List<Map<String, ListConsumerGroupOffsetsSpec>> groupQueries = new CopyOnWriteArrayList<>();
+        private final List<Map<TopicPartition, OffsetSpec>> offsetQueries = new CopyOnWriteArrayList<>();
+
+        void commit(String group, TopicPartition partition, long offset) {
+            this.committed.computeIfAbsent(group, key -> new ConcurrentHashMap<>())
+                    .put(partition, new OffsetAndMetadata(offset));
+        }
+
+        @SuppressWarnings("unchecked")
+        Admin admin() {
+            ClassLoader loader = Admin.class.getClassLoader();
+
+            return (Admin) Proxy.newProxyInstance(loader, new Class<?>[]{Admin.class}, (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "listConsumerGroupOffsets":
+                        return this.listConsumerGroupOffsets((Map<String, ListConsumerGroupOffsetsSpec>) args[0]);
+                    case "listOffsets":
+                        return this.listOffsets((Map<TopicPartition, OffsetSpec>) args[0]);
+                    case "close":
+                        return null;
+                    default:
+                        throw new UnsupportedOperationException(method.getName());
+                }
+            });
+        }
+
+        private ListConsumerGroupOffsetsResult listConsumerGroupOffsets(Map<String, ListConsumerGroupOffsetsSpec> specs)
+                throws Exception {
+            this.groupQueries.add(specs);
+            Map<CoordinatorKey, KafkaFuture<Map<TopicPartition, OffsetAndMetadata>>> futures = new HashMap<>();
+            specs.keySet().forEach(group -> futures.put(CoordinatorKey.byGroupId(group),
+                    KafkaFuture.completedFuture(new HashMap<>(this.committed.getOrDefault(group, Collections.emptyMap())))));
+
+            // Package-private.
+            Constructor<ListConsumerGroupOffsetsResult> constructor =
+                    ListConsumerGroupOffsetsResult.class.getDeclaredConstructor(Map.class);
+            constructor.setAccessible(true);
+
+            return constructor.newInstance(futures);
+        }
+
+        private ListOffsetsResult listOffsets(Map<TopicPartition, OffsetSpec> specs) {
+            this.offsetQueries.add(specs);
+            Map<TopicPartition, KafkaFuture<ListOffsetsResult.ListOffsetsResultInfo>> futures = new HashMap<>();
+            specs.keySet().forEach(partition -> {
+                KafkaFutureImpl<ListOffsetsResult.ListOffsetsResultInfo> future = new KafkaFutureImpl<>();
+                if (this.unavailable.contains(partition)) {
+                    future.completeExceptionally(new LeaderNotAvailableException(partition.toString()));
+                } else {
+                    future.complete(new ListOffsetsResult.ListOffsetsResultInfo(
+                            this.endOffsets.get(partition), -1, Optional.empty()));
+                }
+                futures.put(partition, future);
+            });
+
+            return new ListOffsetsResult(futures);
+        }
+    }
+}
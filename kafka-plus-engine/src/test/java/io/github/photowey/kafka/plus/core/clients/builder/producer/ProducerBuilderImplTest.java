@@ -0,0 +1,89 @@
+/*
+ * Copyright © 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.kafka.plus.core.clients.builder.producer;
+
+import io.github.photowey.kafka.plus.core.clients.producer.interceptor.MetricsInterceptor;
+import io.github.photowey.kafka.plus.core.clients.producer.partitioner.HotKeyInterceptor;
+import io.github.photowey.kafka.plus.core.enums.Kafka;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * {@code ProducerBuilderImplTest}
+ *
+ * @author photowey
+ * @version 3.7.0.1.6
+ * @since 2026/10/18
+ */
+class ProducerBuilderImplTest {
+
+    @Test
+    void testInterceptor_helpers_chained() {
+        String hotKeyThenMetrics = this.interceptors(new ProducerBuilderImpl()
+                .boostrapServers("localhost:9092")
+                .hotKeyPartitioner()
+                .sendMetrics());
+        Assertions.assertEquals(HotKeyInterceptor.class.getName() + "," + MetricsInterceptor.class.getName(), hotKeyThenMetrics);
+
+        String metricsThenHotKey = this.interceptors(new ProducerBuilderImpl()
+                .boostrapServers("localhost:9092")
+                .sendMetrics()
+                .hotKeyPartitioner()
+                .sendMetrics());
+        Assertions.assertEquals(MetricsInterceptor.class.getName() + "," + HotKeyInterceptor.class.getName(), metricsThenHotKey);
+    }
+
+    @Test
+    void testInterceptor_appended_to_configs() {
+        Map<String, Object> configs = new HashMap<>();
+        configs.put(Kafka.Producer.INTERCEPTOR.key(), Arrays.asList(HotKeyInterceptor.class, " com.example.Audit "));
+
+        String interceptors = this.interceptors(new ProducerBuilderImpl()
+                .configs(configs)
+                .sendMetrics());
+        Assertions.assertEquals(
+                HotKeyInterceptor.class.getName() + ",com.example.Audit," + MetricsInterceptor.class.getName(), interceptors);
+    }
+
+    @Test
+    void testInterceptor_replaces_configs() {
+        String interceptors = this.interceptors(new ProducerBuilderImpl()
+                .boostrapServers("localhost:9092")
+                .sendMetrics()
+                .interceptor("com.example.Audit"));
+        Assertions.assertEquals("com.example.Audit", interceptors);
+
+        String appended = this.interceptors(new ProducerBuilderImpl()
+                .boostrapServers("localhost:9092")
+                .interceptor("com.example.Audit")
+                .addInterceptor(MetricsInterceptor.class));
+        Assertions.assertEquals("com.example.Audit," + MetricsInterceptor.class.getName(), appended);
+    }
+
+    // ----------------------------------------------------------------
+
+    private String interceptors(ProducerBuilder builder) {
+        AtomicReference<Object> interceptors = new AtomicReference<>();
+        builder.enhanceConfigs(configs -> interceptors.set(configs.get(Kafka.Producer.INTERCEPTOR.key())));
+
+        return (String) interceptors.get();
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright © 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.kafka.plus.core.clients.builder.record;
+
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.internals.RecordHeader;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * {@code HeaderFactoryTest}
+ *
+ * @author photowey
+ * @version 3.7.0.1.6
+ * @since 2026/10/18
+ */
+class HeaderFactoryTest {
+
+    @Test
+    void testHeader_interned() {
+        HeaderFactory factory = new HeaderFactory(2);
+
+        Header service = factory.header("service", "orders");
+        Assertions.assertSame(service, factory.header("service", "orders"));
+        Assertions.assertArrayEquals("orders".getBytes(StandardCharsets.UTF_8), service.value());
+        Assertions.assertEquals(new RecordHeader("service", "orders".getBytes(StandardCharsets.UTF_8)), service);
+
+        Assertions.assertSame(factory.header("tenant", "t-1"), factory.header("tenant", "t-1"));
+        Assertions.assertEquals(2, factory.size());
+
+        // Bounded: the 3rd pair evicts by CLOCK, both are referenced, so the hand clears them and evicts the first.
+        Header trace = factory.header("trace", "a-b-c");
+        Assertions.assertSame(trace, factory.header("trace", "a-b-c"));
+        Assertions.assertEquals(2, factory.size());
+        Assertions.assertEquals(1, factory.evictions());
+        Assertions.assertNotSame(service, factory.header("service", "orders"));
+        Assertions.assertEquals(service, factory.header("service", "orders"));
+
+        // The referenced pairs survive, the unreferenced "tenant" is evicted by the "service".
+        Assertions.assertEquals(2, factory.evictions());
+        Assertions.assertSame(trace, factory.header("trace", "a-b-c"));
+        Assertions.assertEquals(2, factory.size());
+
+        Assertions.assertNull(factory.header("nullable", null).value());
+    }
+
+    @Test
+    void testHeader_unbounded_values_not_interned() {
+        ReusableProducerRecordBuilder<String, String> builder = new ReusableProducerRecordBuilder<String, String>().topic("kafka-plus-test");
+        int before = HeaderFactory.global().size();
+        for (int i = 0; i < 100; i++) {
+            builder.value("v").header("trace", "t-" + i).build();
+            builder.reset();
+        }
+        Assertions.assertEquals(before, HeaderFactory.global().size());
+
+        ProducerRecord<String, String> record = builder.value("v").internedHeader("service", "orders").build();
+        Assertions.assertSame(HeaderFactory.global().header("service", "orders"), record.headers().lastHeader("service"));
+    }
+
+    @Test
+    void testHeaders_consumed_by_builder() {
+        HeaderFactory factory = new HeaderFactory(HeaderFactory.DEFAULT_MAX_ENTRIES);
+        Iterable<Header> headers = factory.headers(factory.header("service", "orders"), factory.header("schema", "v3"));
+
+        ProducerRecord<String, String> record = new ProducerRecordBuilderImpl()
+                .topic("kafka-plus-test")
+                .value("v")
+                .headers(headers)
+                .build();
+
+        Assertions.assertEquals("v3", new String(record.headers().lastHeader("schema").value(), StandardCharsets.UTF_8));
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> ((java.util.List<Header>) headers).clear());
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright © 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.kafka.plus.core.clients.builder.record;
+
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.internals.RecordHeader;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.function.Supplier;
+
+/**
+ * {@code ReusableProducerRecordBuilderTest}
+ *
+ * @author photowey
+ * @version 3.7.0.1.6
+ * @since 2026/10/18
+ */
+class ReusableProducerRecordBuilderTest {
+
+    private static final String TOPIC = "kafka-plus-test";
+    private static final Header TRACE = new RecordHeader("trace", "t-1".getBytes(StandardCharsets.UTF_8));
+    private static final int ROUNDS = 200_000;
+
+    @Test
+    void testSend_reset() {
+        MockProducer<String, String> producer = new MockProducer<>(true, new StringSerializer(), new StringSerializer());
+        ReusableProducerRecordBuilder<String, String> builder = new ReusableProducerRecordBuilder<String, String>().topic(TOPIC);
+
+        builder.key("k1").value("v1").partition(2).timestamp(1_000L).header(TRACE).header("tenant", new byte[]{1}).send(producer, null);
+        builder.key("k2").value("v2").send(producer, null);
+
+        ProducerRecord<String, String> first = producer.history().get(0);
+        Assertions.assertEquals(TOPIC, first.topic());
+        Assertions.assertEquals(2, first.partition());
+        Assertions.assertEquals(1_000L, first.timestamp());
+        Assertions.assertEquals(2, first.headers().toArray().length);
+
+        // The reset doesn't leak into the sent record.
+        ProducerRecord<String, String> second = producer.history().get(1);
+        Assertions.assertEquals(TOPIC, second.topic());
+        Assertions.assertNull(second.partition());
+        Assertions.assertNull(second.timestamp());
+        Assertions.assertEquals(0, second.headers().toArray().length);
+        Assertions.assertEquals(2, first.headers().toArray().length);
+
+        Assertions.assertThrows(RuntimeException.class, () -> builder.send(producer, null));
+        Assertions.assertEquals(2, producer.history().size());
+    }
+
+    /**
+     * A coarse allocation guard: the bytes allocated by the building thread per record,
+     * see {@code kafka-plus-benchmarks} ({@code -Pbenchmark}) for the JMH numbers.
+     */
+    @Test
+    void testAllocation_vs_producerRecordBuilder() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        Assumptions.assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+        Assumptions.assumeTrue(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled());
+
+        ReusableProducerRecordBuilder<String, String> reusable = new ReusableProducerRecordBuilder<String, String>().topic(TOPIC);
+        Supplier<ProducerRecord<String, String>> reused = () -> {
+            ProducerRecord<String, String> record = reusable.key("k").value("v").partition(1).timestamp(1_000L).header(TRACE).build();
+            reusable.reset();
+
+            return record;
+        };
+        Supplier<ProducerRecord<String, String>> fresh = () -> new ProducerRecordBuilderImpl()
+                .topic(TOPIC)
+                .key("k")
+                .value("v")
+                .partition(1)
+                .timestamp(1_000L)
+                .headers(new RecordHeaders(Collections.singletonList(TRACE)))
+                .build();
+
+        // Warm-up.
+        allocated(threads, reused);
+        allocated(threads, fresh);
+
+        long reusedBytes = allocated(threads, reused);
+        long freshBytes = allocated(threads, fresh);
+
+        Assertions.assertTrue(reusedBytes < freshBytes, String.format("reused: %d B/op, fresh: %d B/op", reusedBytes / ROUNDS, freshBytes / ROUNDS));
+    }
+
+    private static long allocated(com.sun.management.ThreadMXBean threads, Supplier<ProducerRecord<String, String>> factory) {
+        long thread = Thread.currentThread().getId();
+        long checksum = 0;
+        long start = threads.getThreadAllocatedBytes(thread);
+        for (int i = 0; i < ROUNDS; i++) {
+            checksum += factory.get().topic().length();
+        }
+        long bytes = threads.getThreadAllocatedBytes(thread) - start;
+        Assertions.assertEquals((long) TOPIC.length() * ROUNDS, checksum);
+
+        return bytes;
+    }
+}
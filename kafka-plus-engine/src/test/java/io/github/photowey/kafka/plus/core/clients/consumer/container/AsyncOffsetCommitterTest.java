@@ -0,0 +1,186 @@
+/*
+ * Copyright © 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.kafka.plus.core.clients.consumer.container;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.consumer.OffsetCommitCallback;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+/**
+ * {@code AsyncOffsetCommitterTest}
+ *
+ * @author photowey
+ * @version 3.7.0.1.6
+ * @since 2026/10/18
+ */
+class AsyncOffsetCommitterTest {
+
+    private static final String TOPIC = "kafka-plus-test";
+    private static final TopicPartition PARTITION_0 = new TopicPartition(TOPIC, 0);
+    private static final TopicPartition PARTITION_1 = new TopicPartition(TOPIC, 1);
+
+    @Test
+    void testMaybeCommit_coalesced() throws Exception {
+        CountingConsumer consumer = this.mockConsumer();
+        AsyncOffsetCommitter<String, String> committer = new AsyncOffsetCommitter<>(consumer, 50);
+
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            int partition = t % 2;
+            threads[t] = new Thread(() -> {
+                for (long offset = 0; offset < 1_000; offset++) {
+                    committer.ack(new ConsumerRecord<>(TOPIC, partition, offset, "k", "v"));
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        // Not due yet.
+        Assertions.assertFalse(committer.maybeCommit());
+        Thread.sleep(60);
+        Assertions.assertTrue(committer.maybeCommit());
+        Assertions.assertEquals(1, consumer.asyncCommits.get());
+        Assertions.assertEquals(1_000, this.committed(consumer, PARTITION_0));
+        Assertions.assertEquals(1_000, this.committed(consumer, PARTITION_1));
+
+        // Nothing changed.
+        Thread.sleep(60);
+        Assertions.assertFalse(committer.maybeCommit());
+
+        committer.ack(PARTITION_0, 1_200);
+        committer.commitSync();
+        Assertions.assertEquals(1_200, this.committed(consumer, PARTITION_0));
+        Assertions.assertEquals(1, consumer.asyncCommits.get());
+        Assertions.assertEquals(2, committer.commits());
+    }
+
+    @Test
+    void testRevoke_commit_sync_forget() {
+        CountingConsumer consumer = this.mockConsumer();
+        AsyncOffsetCommitter<String, String> committer = new AsyncOffsetCommitter<>(consumer, 60_000);
+
+        committer.ack(PARTITION_0, 10);
+        committer.ack(PARTITION_1, 20);
+        committer.onPartitionsRevoked(Collections.singleton(PARTITION_1));
+
+        Assertions.assertEquals(20, this.committed(consumer, PARTITION_1));
+        Assertions.assertNull(consumer.committed(Collections.singleton(PARTITION_0)).get(PARTITION_0));
+
+        // The revoked partition isn't committed after the reassignment to others.
+        consumer.assign(Collections.singleton(PARTITION_0));
+        committer.ack(PARTITION_1, 30);
+        committer.commitSync();
+        Assertions.assertEquals(10, this.committed(consumer, PARTITION_0));
+        Assertions.assertEquals(Collections.singleton(PARTITION_0), consumer.lastCommitted.keySet());
+    }
+
+    @Test
+    void testContainer_async_commit() throws Exception {
+        CountingConsumer consumer = this.mockConsumer();
+        for (int i = 0; i < 100; i++) {
+            consumer.addRecord(new ConsumerRecord<>(TOPIC, i % 2, i / 2, "k", "v"));
+        }
+
+        ConsumerContainer<String, String> container = new ConsumerContainer<>(consumer, record -> {
+        }, ErrorHandler.stop(), new ContainerSettings().pollTimeoutMs(10).commitIntervalMs(50));
+        container.start();
+
+        this.await(() -> container.metrics().records() == 100);
+        this.await(() -> 50 == this.committed(consumer, PARTITION_0) && 50 == this.committed(consumer, PARTITION_1));
+        container.close();
+
+        Assertions.assertTrue(consumer.asyncCommits.get() >= 1);
+        Assertions.assertEquals(0, consumer.syncCommits.get());
+    }
+
+    // ----------------------------------------------------------------
+
+    private CountingConsumer mockConsumer() {
+        CountingConsumer consumer = new CountingConsumer();
+        consumer.assign(new HashSet<>(Arrays.asList(PARTITION_0, PARTITION_1)));
+        Map<TopicPartition, Long> beginning = new HashMap<>();
+        beginning.put(PARTITION_0, 0L);
+        beginning.put(PARTITION_1, 0L);
+        consumer.updateBeginningOffsets(beginning);
+
+        return consumer;
+    }
+
+    private long committed(MockConsumer<String, String> consumer, TopicPartition partition) {
+        OffsetAndMetadata committed = consumer.committed(Collections.singleton(partition)).get(partition);
+
+        return null == committed ? -1 : committed.offset();
+    }
+
+    private void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+
+        Assertions.assertTrue(condition.getAsBoolean());
+    }
+
+    private static class CountingConsumer extends MockConsumer<String, String> {
+
+        private final AtomicInteger asyncCommits = new AtomicInteger();
+        private final AtomicInteger syncCommits = new AtomicInteger();
+        private boolean sync;
+        private Map<TopicPartition, OffsetAndMetadata> lastCommitted;
+
+        CountingConsumer() {
+            super(OffsetResetStrategy.EARLIEST);
+        }
+
+        @Override
+        public synchronized void commitAsync(
+                Map<TopicPartition, OffsetAndMetadata> offsets, OffsetCommitCallback callback) {
+            if (!this.sync) {
+                this.asyncCommits.incrementAndGet();
+            }
+            this.lastCommitted = offsets;
+            super.commitAsync(offsets, callback);
+        }
+
+        @Override
+        public synchronized void commitSync(Map<TopicPartition, OffsetAndMetadata> offsets) {
+            // Delegates to the commitAsync.
+            this.syncCommits.incrementAndGet();
+            this.sync = true;
+            try {
+                super.commitSync(offsets);
+            } finally {
+                this.sync = false;
+            }
+        }
+    }
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright © 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.kafka.plus.core.clients.consumer.container;
+
+import io.github.photowey.kafka.plus.core.exception.KafkaPlusRuntimeException;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.BooleanSupplier;
+
+/**
+ * {@code BackpressureControllerTest}
+ *
+ * @author photowey
+ * @version 3.7.0.1.6
+ * @since 2026/10/18
+ */
+class BackpressureControllerTest {
+
+    private static final String TOPIC = "kafka-plus-test";
+    private static final TopicPartition PARTITION_0 = new TopicPartition(TOPIC, 0);
+    private static final TopicPartition PARTITION_1 = new TopicPartition(TOPIC, 1);
+
+    @Test
+    void testApply_watermarks() {
+        MockConsumer<String, String> consumer = this.mockConsumer();
+        Map<TopicPartition, Integer> depths = new ConcurrentHashMap<>();
+        BackpressureController controller = new BackpressureController(
+                consumer, partition -> depths.getOrDefault(partition, 0), new Backpressure().highWatermark(10).lowWatermark(2));
+
+        depths.put(PARTITION_0, 10);
+        depths.put(PARTITION_1, 9);
+        controller.apply();
+        Assertions.assertEquals(Collections.singleton(PARTITION_0), consumer.paused());
+        Assertions.assertEquals(1, controller.pausedCount());
+
+        // Between the watermarks.
+        depths.put(PARTITION_0, 5);
+        controller.apply();
+        Assertions.assertEquals(Collections.singleton(PARTITION_0), consumer.paused());
+
+        depths.put(PARTITION_0, 2);
+        controller.apply();
+        Assertions.assertTrue(consumer.paused().isEmpty());
+        Assertions.assertEquals(1, controller.pauses());
+        Assertions.assertEquals(1, controller.resumes());
+
+        // Paused by others.
+        consumer.pause(Collections.singleton(PARTITION_1));
+        controller.apply();
+        Assertions.assertEquals(Collections.singleton(PARTITION_1), consumer.paused());
+    }
+
+    @Test
+    void testBackpressure_illegal_watermarks() {
+        Assertions.assertThrows(KafkaPlusRuntimeException.class, () -> new Backpressure().highWatermark(0));
+        Assertions.assertThrows(KafkaPlusRuntimeException.class, () -> new Backpressure().highWatermark(10).lowWatermark(10));
+        Assertions.assertEquals(5, new Backpressure().highWatermark(10).lowWatermark());
+    }
+
+    @Test
+    void testContainer_capacity() {
+        // Unset: the slots are raised to fit the high watermark plus max.poll.records.
+        ConsumerContainer<String, String> ordered = new ConsumerContainer<>(this.mockConsumer(), record -> {
+        }, ErrorHandler.stop(), new ContainerSettings().concurrency(2).backpressure(new Backpressure()));
+        Assertions.assertEquals(1_500, ordered.dispatcher().capacity());
+
+        ConsumerContainer<String, String> virtual = new ConsumerContainer<>(this.mockConsumer(), record -> {
+        }, ErrorHandler.stop(), new ContainerSettings().virtualThreads(true).maxPollRecords(100).backpressure(new Backpressure()));
+        Assertions.assertEquals(1_100, virtual.dispatcher().capacity());
+        Assertions.assertEquals(500, new ContainerSettings().maxInFlightPerPartition());
+
+        // Explicit: the poll thread would wait for the slots before pausing.
+        Assertions.assertThrows(KafkaPlusRuntimeException.class, () -> new ConsumerContainer<>(this.mockConsumer(), record -> {
+        }, ErrorHandler.stop(), new ContainerSettings().concurrency(2).maxInFlight(1_000).backpressure(new Backpressure())));
+        Assertions.assertThrows(KafkaPlusRuntimeException.class, () -> new ConsumerContainer<>(this.mockConsumer(), record -> {
+        }, ErrorHandler.stop(), new ContainerSettings().virtualThreads(true).maxInFlightPerPartition(500)
+                .backpressure(new Backpressure().highWatermark(100))));
+
+        ordered.dispatcher().close(Duration.ZERO);
+        virtual.dispatcher().close(Duration.ZERO);
+    }
+
+    @Test
+    void testContainer_pause_resume() throws Exception {
+        MockConsumer<String, String> consumer = this.mockConsumer();
+        for (int i = 0; i < 50; i++) {
+            consumer.addRecord(new ConsumerRecord<>(TOPIC, 0, i, "k" + i, "v" + i));
+        }
+
+        CountDownLatch blocked = new CountDownLatch(1);
+        ConsumerContainer<String, String> container = new ConsumerContainer<>(consumer, record -> blocked.await(),
+                ErrorHandler.stop(), new ContainerSettings()
+                .pollTimeoutMs(10)
+                .concurrency(2)
+                .maxInFlight(1_000)
+                .backpressure(new Backpressure().highWatermark(20).lowWatermark(5)));
+        container.start();
+
+        this.await(() -> consumer.paused().contains(PARTITION_0));
+        long polls = container.metrics().pollLatencyMs().count();
+        // Keeps polling while paused.
+        this.await(() -> container.metrics().pollLatencyMs().count() > polls + 3);
+        Assertions.assertFalse(consumer.paused().contains(PARTITION_1));
+
+        blocked.countDown();
+        this.await(() -> !consumer.paused().contains(PARTITION_0));
+        Assertions.assertEquals(1, container.backpressure().resumes());
+        container.close();
+    }
+
+    @Test
+    void testContainer_pause_slow_partitions() throws Exception {
+        MockConsumer<String, String> consumer = this.mockConsumer();
+        for (int i = 0; i < 50; i++) {
+            consumer.addRecord(new ConsumerRecord<>(TOPIC, 0, i, "k" + i, "v" + i));
+            consumer.addRecord(new ConsumerRecord<>(TOPIC, 1, i, "k" + i, "v" + i));
+        }
+
+        // Both partitions are slow: 100 records in flight, more than the 70 slots of a partition.
+        CountDownLatch blocked = new CountDownLatch(1);
+        ConsumerContainer<String, String> container = new ConsumerContainer<>(consumer, record -> blocked.await(),
+                ErrorHandler.stop(), new ContainerSettings()
+                .pollTimeoutMs(10)
+                .concurrency(2)
+                .maxInFlight(70)
+                .maxPollRecords(50)
+                .backpressure(new Backpressure().highWatermark(20).lowWatermark(5)));
+        container.start();
+
+        // The slots are per partition: the poll thread doesn't wait for them, both partitions are paused instead.
+        this.await(() -> consumer.paused().containsAll(Arrays.asList(PARTITION_0, PARTITION_1)));
+        long polls = container.metrics().pollLatencyMs().count();
+        this.await(() -> container.metrics().pollLatencyMs().count() > polls + 3);
+        Assertions.assertEquals(100, ((KeyOrderedDispatcher<String, String>) container.dispatcher()).inFlight());
+
+        blocked.countDown();
+        this.await(() -> consumer.paused().isEmpty());
+        container.close();
+    }
+
+    // ----------------------------------------------------------------
+
+    private MockConsumer<String, String> mockConsumer() {
+        MockConsumer<String, String> consumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+        consumer.assign(new HashSet<>(Arrays.asList(PARTITION_0, PARTITION_1)));
+        Map<TopicPartition, Long> beginning = new HashMap<>();
+        beginning.put(PARTITION_0, 0L);
+        beginning.put(PARTITION_1, 0L);
+        consumer.updateBeginningOffsets(beginning);
+
+        return consumer;
+    }
+
+    private void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+
+        Assertions.assertTrue(condition.getAsBoolean());
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright © 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.kafka.plus.core.clients.consumer.container;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.record.TimestampType;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
+
+/**
+ * {@code BatchDispatcherTest}
+ *
+ * @author photowey
+ * @version 3.7.0.1.6
+ * @since 2026/10/18
+ */
+class BatchDispatcherTest {
+
+    private static final String TOPIC = "kafka-plus-test";
+    private static final TopicPartition PARTITION = new TopicPartition(TOPIC, 0);
+
+    @Test
+    void testBatch_bounded_by_records() throws Exception {
+        MockConsumer<String, String> consumer = this.mockConsumer();
+        for (int i = 0; i < 25; i++) {
+            consumer.addRecord(new ConsumerRecord<>(TOPIC, 0, i, "k" + i, "v" + i));
+        }
+
+        List<Integer> sizes = new CopyOnWriteArrayList<>();
+        ConsumerContainer<String, String> container = new ConsumerContainer<>(
+                consumer, records -> sizes.add(records.size()),
+                new BatchSettings().maxRecords(10).maxWaitMs(60_000), new ContainerSettings().pollTimeoutMs(10));
+        container.start();
+
+        this.await(() -> 20 == this.committed(consumer));
+        Thread.sleep(50);
+        // The tail waits for the max wait.
+        Assertions.assertEquals(20, this.committed(consumer));
+        Assertions.assertEquals(5, ((BatchDispatcher<String, String>) container.dispatcher()).pending());
+
+        // The pending batch is delivered on the graceful stop.
+        Assertions.assertTrue(container.stop(Duration.ofSeconds(5)));
+        Assertions.assertEquals(Arrays.asList(10, 10, 5), sizes);
+        Assertions.assertEquals(25, container.metrics().records());
+        Assertions.assertEquals(3, container.metrics().batchSize().count());
+    }
+
+    @Test
+    void testBatch_bounded_by_bytes_and_wait() throws Exception {
+        MockConsumer<String, String> consumer = this.mockConsumer();
+        for (int i = 0; i < 7; i++) {
+            consumer.addRecord(new ConsumerRecord<>(TOPIC, 0, i, 0L, TimestampType.CREATE_TIME, 10, 90,
+                    "k" + i, "v" + i, new RecordHeaders(), Optional.empty()));
+        }
+
+        List<Integer> sizes = new CopyOnWriteArrayList<>();
+        ConsumerContainer<String, String> container = new ConsumerContainer<>(
+                consumer, records -> sizes.add(records.size()),
+                new BatchSettings().maxBytes(300).maxWaitMs(50), new ContainerSettings().pollTimeoutMs(1_000));
+        container.start();
+
+        this.await(() -> 7 == this.committed(consumer));
+        container.close();
+
+        // 3 * 100 bytes, the tail is delivered after the max wait, not the poll timeout.
+        Assertions.assertEquals(Arrays.asList(3, 3, 1), sizes);
+        Assertions.assertTrue(container.metrics().batchWaitMs().max() >= 50);
+    }
+
+    @Test
+    void testBatch_failure_not_committed() throws Exception {
+        MockConsumer<String, String> consumer = this.mockConsumer();
+        for (int i = 0; i < 5; i++) {
+            consumer.addRecord(new ConsumerRecord<>(TOPIC, 0, i, "k" + i, "v" + i));
+        }
+
+        ConsumerContainer<String, String> container = new ConsumerContainer<>(consumer, records -> {
+            throw new IllegalStateException("boom");
+        }, new BatchSettings().maxRecords(5), new ContainerSettings().pollTimeoutMs(10));
+        container.start();
+
+        this.await(() -> !container.isRunning());
+        Assertions.assertTrue(container.failure() instanceof IllegalStateException);
+        Assertions.assertEquals(0, container.metrics().commits());
+        Assertions.assertEquals(1, container.metrics().failures());
+    }
+
+    @Test
+    void testForget_drops_pending_records() throws Exception {
+        TopicPartition lost = new TopicPartition(TOPIC, 1);
+        List<List<ConsumerRecord<String, String>>> batches = new CopyOnWriteArrayList<>();
+        BatchDispatcher<String, String> dispatcher = new BatchDispatcher<>(
+                batches::add, new BatchSettings().maxRecords(10).maxWaitMs(60_000));
+
+        Map<TopicPartition, List<ConsumerRecord<String, String>>> polled = new HashMap<>();
+        polled.put(PARTITION, Arrays.asList(this.record(0, 0), this.record(0, 1)));
+        polled.put(lost, Arrays.asList(this.record(1, 0), this.record(1, 1)));
+        dispatcher.dispatch(new ConsumerRecords<>(polled));
+        Assertions.assertEquals(4, dispatcher.pending());
+        Assertions.assertTrue(batches.isEmpty());
+
+        dispatcher.forget(Collections.singleton(lost));
+        Assertions.assertEquals(2, dispatcher.pending());
+
+        dispatcher.close(Duration.ZERO);
+        Assertions.assertEquals(1, batches.size());
+        for (ConsumerRecord<String, String> record : batches.get(0)) {
+            Assertions.assertEquals(0, record.partition());
+        }
+        Assertions.assertEquals(Collections.singleton(PARTITION), dispatcher.committable().keySet());
+    }
+
+    // ----------------------------------------------------------------
+
+    private MockConsumer<String, String> mockConsumer() {
+        MockConsumer<String, String> consumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+        consumer.assign(Collections.singleton(PARTITION));
+        consumer.updateBeginningOffsets(Collections.singletonMap(PARTITION, 0L));
+
+        return consumer;
+    }
+
+    private ConsumerRecord<String, String> record(int partition, long offset) {
+        return new ConsumerRecord<>(TOPIC, partition, offset, 0L, TimestampType.CREATE_TIME, 5, 5,
+                "k" + offset, "v" + offset, new RecordHeaders(), Optional.empty());
+    }
+
+    private long committed(MockConsumer<String, String> consumer) {
+        OffsetAndMetadata committed = consumer.committed(Collections.singleton(PARTITION)).get(PARTITION);
+
+        return null == committed ? -1 : committed.offset();
+    }
+
+    private void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+
+        Assertions.assertTrue(condition.getAsBoolean());
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright © 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.kafka.plus.core.clients.consumer.container;
+
+import io.github.photowey.kafka.plus.core.exception.KafkaPlusRuntimeException;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
+
+/**
+ * {@code ConsumerContainerTest}
+ *
+ * @author photowey
+ * @version 3.7.0.1.6
+ * @since 2026/10/18
+ */
+class ConsumerContainerTest {
+
+    private static final String TOPIC = "kafka-plus-test";
+    private static final TopicPartition PARTITION = new TopicPartition(TOPIC, 0);
+
+    @Test
+    void testContainer_dispatch_commit_stop() throws Exception {
+        CommitTrackingConsumer consumer = this.mockConsumer();
+        for (int i = 0; i < 3; i++) {
+            consumer.addRecord(new ConsumerRecord<>(TOPIC, 0, i, "k" + i, "v" + i));
+        }
+
+        List<String> handled = new CopyOnWriteArrayList<>();
+        ConsumerContainer<String, String> container = new ConsumerContainer<>(
+                consumer, record -> handled.add(record.value()), ErrorHandler.stop(), new ContainerSettings().pollTimeoutMs(10));
+        container.start();
+
+        this.await(() -> handled.size() == 3 && container.metrics().commits() >= 1);
+        Assertions.assertEquals(3, consumer.committed.get(PARTITION).offset());
+        Assertions.assertEquals(3, container.metrics().records());
+        Assertions.assertEquals(3, container.metrics().processLatencyMicros().count());
+        Assertions.assertTrue(container.metrics().pollLatencyMs().count() >= 1);
+        Assertions.assertThrows(KafkaPlusRuntimeException.class, container::start);
+
+        Assertions.assertTrue(container.stop(Duration.ofSeconds(5)));
+        Assertions.assertFalse(container.isRunning());
+        Assertions.assertTrue(consumer.closed());
+        Assertions.assertNull(container.failure());
+        Assertions.assertEquals(Arrays.asList("v0", "v1", "v2"), handled);
+    }
+
+    @Test
+    void testContainer_handler_failure_stop() throws Exception {
+        CommitTrackingConsumer consumer = this.mockConsumer();
+        for (int i = 0; i < 3; i++) {
+            consumer.addRecord(new ConsumerRecord<>(TOPIC, 0, i, "k" + i, "v" + i));
+        }
+
+        ConsumerContainer<String, String> container = new ConsumerContainer<>(consumer, record -> {
+            if (1 == record.offset()) {
+                throw new IllegalStateException("boom");
+            }
+        }, ErrorHandler.stop(), new ContainerSettings().pollTimeoutMs(10));
+        container.start();
+
+        this.await(consumer::closed);
+        Assertions.assertFalse(container.isRunning());
+        Assertions.assertTrue(container.failure() instanceof IllegalStateException);
+        // The failed record isn't committed, it's redelivered after the restart.
+        Assertions.assertEquals(1, consumer.committed.get(PARTITION).offset());
+        Assertions.assertEquals(1, container.metrics().failures());
+    }
+
+    @Test
+    void testContainer_handler_failure_skip() throws Exception {
+        CommitTrackingConsumer consumer = this.mockConsumer();
+        for (int i = 0; i < 3; i++) {
+            consumer.addRecord(new ConsumerRecord<>(TOPIC, 0, i, "k" + i, "v" + i));
+        }
+
+        ConsumerContainer<String, String> container = new ConsumerContainer<>(consumer, record -> {
+            if (1 == record.offset()) {
+                throw new IllegalStateException("boom");
+            }
+        }, ErrorHandler.skip(), new ContainerSettings().pollTimeoutMs(10));
+        container.start();
+
+        this.await(() -> container.metrics().records() == 3 && container.metrics().commits() >= 1);
+        container.close();
+
+        Assertions.assertNull(container.failure());
+        Assertions.assertEquals(3, consumer.committed.get(PARTITION).offset());
+        Assertions.assertEquals(1, container.metrics().failures());
+    }
+
+    // ----------------------------------------------------------------
+
+    private CommitTrackingConsumer mockConsumer() {
+        CommitTrackingConsumer consumer = new CommitTrackingConsumer();
+        consumer.assign(Collections.singleton(PARTITION));
+        consumer.updateBeginningOffsets(Collections.singletonMap(PARTITION, 0L));
+
+        return consumer;
+    }
+
+    private void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+
+        Assertions.assertTrue(condition.getAsBoolean());
+    }
+
+    /**
+     * Tracks the commits, the committed offsets of {@link MockConsumer} can't be read after close.
+     */
+    private static class CommitTrackingConsumer extends MockConsumer<String, String> {
+
+        private final Map<TopicPartition, OffsetAndMetadata> committed = new ConcurrentHashMap<>();
+
+        CommitTrackingConsumer() {
+            super(OffsetResetStrategy.EARLIEST);
+        }
+
+        @Override
+        public synchronized void commitSync(Map<TopicPartition, OffsetAndMetadata> offsets) {
+            super.commitSync(offsets);
+            this.committed.putAll(offsets);
+        }
+    }
+}
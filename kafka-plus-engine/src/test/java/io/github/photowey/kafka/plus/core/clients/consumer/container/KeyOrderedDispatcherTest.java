@@ -0,0 +1,156 @@
+/*
+ * Copyright © 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.kafka.plus.core.clients.consumer.container;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+/**
+ * {@code KeyOrderedDispatcherTest}
+ *
+ * @author photowey
+ * @version 3.7.0.1.6
+ * @since 2026/10/18
+ */
+class KeyOrderedDispatcherTest {
+
+    private static final String TOPIC = "kafka-plus-test";
+    private static final TopicPartition PARTITION = new TopicPartition(TOPIC, 0);
+
+    @Test
+    void testDispatch_key_ordered() throws Exception {
+        MockConsumer<String, String> consumer = this.mockConsumer();
+        for (int i = 0; i < 200; i++) {
+            consumer.addRecord(new ConsumerRecord<>(TOPIC, 0, i, "k" + (i % 20), "v" + i));
+        }
+
+        Map<String, List<Long>> handled = new ConcurrentHashMap<>();
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        ConsumerContainer<String, String> container = new ConsumerContainer<>(consumer, record -> {
+            threads.add(Thread.currentThread().getName());
+            TimeUnit.MICROSECONDS.sleep(ThreadLocalRandom.current().nextInt(500));
+            handled.computeIfAbsent(record.key(), key -> new CopyOnWriteArrayList<>()).add(record.offset());
+        }, ErrorHandler.stop(), new ContainerSettings().name("ordered").pollTimeoutMs(10).concurrency(4).maxInFlight(16));
+        container.start();
+
+        this.await(() -> container.metrics().records() == 200);
+        this.await(() -> 200 == this.committed(consumer));
+        Assertions.assertTrue(container.dispatcher() instanceof KeyOrderedDispatcher);
+        Assertions.assertTrue(threads.size() > 1);
+        Assertions.assertTrue(threads.stream().allMatch(name -> name.startsWith("kafka-plus-ordered-worker-")));
+
+        handled.values().forEach(offsets -> {
+            Assertions.assertEquals(10, offsets.size());
+            for (int i = 1; i < offsets.size(); i++) {
+                Assertions.assertTrue(offsets.get(i - 1) < offsets.get(i));
+            }
+        });
+
+        Assertions.assertTrue(container.stop(Duration.ofSeconds(5)));
+        Assertions.assertNull(container.failure());
+    }
+
+    @Test
+    void testDispatch_commit_contiguous() throws Exception {
+        MockConsumer<String, String> consumer = this.mockConsumer();
+        for (int i = 0; i < 10; i++) {
+            consumer.addRecord(new ConsumerRecord<>(TOPIC, 0, i, "k" + i, "v" + i));
+        }
+
+        CountDownLatch blocked = new CountDownLatch(1);
+        ConsumerContainer<String, String> container = new ConsumerContainer<>(consumer, record -> {
+            if (3 == record.offset()) {
+                blocked.await();
+            }
+        }, ErrorHandler.stop(), new ContainerSettings().pollTimeoutMs(10).concurrency(4));
+        container.start();
+
+        // The records before the blocked one are handled, the ones after it aren't committed even if they are handled.
+        this.await(() -> 3 == this.committed(consumer));
+        Thread.sleep(50);
+        Assertions.assertEquals(3, this.committed(consumer));
+        Assertions.assertTrue(container.metrics().records() >= 3);
+        Assertions.assertTrue(((KeyOrderedDispatcher<String, String>) container.dispatcher()).inFlight() >= 1);
+
+        blocked.countDown();
+        this.await(() -> 10 == this.committed(consumer));
+        container.close();
+    }
+
+    @Test
+    void testOffsetTracker() {
+        OffsetTracker tracker = new OffsetTracker();
+        Assertions.assertTrue(tracker.committable().isEmpty());
+
+        for (long offset = 0; offset < 5; offset++) {
+            tracker.track(PARTITION, offset);
+        }
+        tracker.complete(PARTITION, 1);
+        tracker.complete(PARTITION, 2);
+        Assertions.assertEquals(0, tracker.committable().get(PARTITION).offset());
+        Assertions.assertEquals(3, tracker.inFlight());
+
+        tracker.complete(PARTITION, 0);
+        Assertions.assertEquals(3, tracker.committable().get(PARTITION).offset());
+
+        tracker.complete(PARTITION, 4);
+        tracker.complete(PARTITION, 3);
+        Assertions.assertEquals(5, tracker.committable().get(PARTITION).offset());
+        Assertions.assertEquals(0, tracker.inFlight());
+    }
+
+    // ----------------------------------------------------------------
+
+    private MockConsumer<String, String> mockConsumer() {
+        MockConsumer<String, String> consumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+        consumer.assign(Collections.singleton(PARTITION));
+        consumer.updateBeginningOffsets(Collections.singletonMap(PARTITION, 0L));
+
+        return consumer;
+    }
+
+    private long committed(MockConsumer<String, String> consumer) {
+        OffsetAndMetadata committed = consumer.committed(Collections.singleton(PARTITION)).get(PARTITION);
+
+        return null == committed ? -1 : committed.offset();
+    }
+
+    private void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+
+        Assertions.assertTrue(condition.getAsBoolean());
+    }
+}
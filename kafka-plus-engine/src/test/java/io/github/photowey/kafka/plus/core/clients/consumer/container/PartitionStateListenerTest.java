@@ -0,0 +1,194 @@
+/*
+ * Copyright © 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.kafka.plus.core.clients.consumer.container;
+
+import io.github.photowey.kafka.plus.core.exception.KafkaPlusRuntimeException;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+/**
+ * {@code PartitionStateListenerTest}
+ *
+ * @author photowey
+ * @version 3.7.0.1.6
+ * @since 2026/10/18
+ */
+class PartitionStateListenerTest {
+
+    private static final String TOPIC = "kafka-plus-test";
+    private static final TopicPartition PARTITION_0 = new TopicPartition(TOPIC, 0);
+    private static final TopicPartition PARTITION_1 = new TopicPartition(TOPIC, 1);
+
+    @Test
+    void testRebalance_keep_retained_states() {
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        Map<TopicPartition, String> flushed = new ConcurrentHashMap<>();
+        PartitionStateListener<String> listener = new PartitionStateListener<>(new PartitionStateHandler<String>() {
+            @Override
+            public String load(TopicPartition partition) throws Exception {
+                threads.add(Thread.currentThread().getName());
+                Thread.sleep(100);
+
+                return "state-" + partition.partition();
+            }
+
+            @Override
+            public void flush(TopicPartition partition, String state) {
+                flushed.put(partition, state);
+            }
+        }, 8, 5_000);
+
+        List<TopicPartition> partitions = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            partitions.add(new TopicPartition(TOPIC, i));
+        }
+
+        long startAt = System.currentTimeMillis();
+        listener.onPartitionsAssigned(partitions);
+        // Warmed in parallel.
+        Assertions.assertTrue(System.currentTimeMillis() - startAt < 8 * 100);
+        Assertions.assertTrue(threads.size() > 1);
+        Assertions.assertEquals(8, listener.states().size());
+        Assertions.assertEquals("state-3", listener.state(partitions.get(3)));
+
+        // Cooperative: only the moved partitions are revoked/assigned.
+        listener.onPartitionsRevoked(Arrays.asList(PARTITION_0, PARTITION_1));
+        Assertions.assertEquals("state-1", flushed.get(PARTITION_1));
+        Assertions.assertEquals(6, listener.states().size());
+        Assertions.assertNull(listener.state(PARTITION_0));
+
+        listener.onPartitionsAssigned(Arrays.asList(PARTITION_0, partitions.get(2)));
+        Assertions.assertEquals(9, listener.loads());
+        Assertions.assertEquals(2, listener.flushes());
+
+        listener.onPartitionsLost(Collections.singleton(partitions.get(5)));
+        Assertions.assertFalse(flushed.containsKey(partitions.get(5)));
+        Assertions.assertEquals(6, listener.states().size());
+        listener.close();
+    }
+
+    @Test
+    void testRebalance_load_failure() {
+        PartitionStateListener<String> listener = new PartitionStateListener<>(new PartitionStateHandler<String>() {
+            @Override
+            public String load(TopicPartition partition) {
+                throw new IllegalStateException("boom");
+            }
+
+            @Override
+            public void flush(TopicPartition partition, String state) {
+            }
+        });
+
+        KafkaPlusRuntimeException e = Assertions.assertThrows(KafkaPlusRuntimeException.class,
+                () -> listener.onPartitionsAssigned(Collections.singleton(PARTITION_0)));
+        Assertions.assertTrue(e.getCause() instanceof IllegalStateException);
+        listener.close();
+    }
+
+    @Test
+    void testContainer_commit_revoked_before_flush() throws Exception {
+        CommitTrackingConsumer consumer = new CommitTrackingConsumer();
+        Map<TopicPartition, Long> committedAtFlush = new ConcurrentHashMap<>();
+        PartitionStateListener<AtomicLong> states = new PartitionStateListener<>(new PartitionStateHandler<AtomicLong>() {
+            @Override
+            public AtomicLong load(TopicPartition partition) {
+                return new AtomicLong();
+            }
+
+            @Override
+            public void flush(TopicPartition partition, AtomicLong state) {
+                OffsetAndMetadata committed = consumer.commits.get(partition);
+                committedAtFlush.put(partition, null == committed ? -1 : committed.offset());
+            }
+        });
+
+        ConsumerContainer<String, String> container = new ConsumerContainer<>(consumer, record -> {
+            states.state(new TopicPartition(record.topic(), record.partition())).incrementAndGet();
+        }, ErrorHandler.stop(), new ContainerSettings().pollTimeoutMs(10).concurrency(2).commitIntervalMs(60_000));
+
+        consumer.subscribe(Collections.singleton(TOPIC), container.rebalanceListener(states));
+        consumer.rebalance(Arrays.asList(PARTITION_0, PARTITION_1));
+        Map<TopicPartition, Long> beginning = new HashMap<>();
+        beginning.put(PARTITION_0, 0L);
+        beginning.put(PARTITION_1, 0L);
+        consumer.updateBeginningOffsets(beginning);
+        for (int i = 0; i < 20; i++) {
+            consumer.addRecord(new ConsumerRecord<>(TOPIC, i % 2, i / 2, "k" + i, "v" + i));
+        }
+
+        container.start();
+        this.await(() -> container.metrics().records() == 20);
+        Assertions.assertEquals(10, states.state(PARTITION_1).get());
+
+        consumer.schedulePollTask(() -> consumer.rebalance(Collections.singleton(PARTITION_0)));
+        this.await(() -> 1 == states.flushes());
+
+        // The revoked partition is committed before its state is flushed, the retained one isn't touched.
+        Assertions.assertEquals(10, committedAtFlush.get(PARTITION_1));
+        Assertions.assertFalse(consumer.commits.containsKey(PARTITION_0));
+        Assertions.assertEquals(10, states.state(PARTITION_0).get());
+        Assertions.assertEquals(2, states.loads());
+
+        container.close();
+        states.close();
+    }
+
+    // ----------------------------------------------------------------
+
+    private void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+
+        Assertions.assertTrue(condition.getAsBoolean());
+    }
+
+    /**
+     * Tracks the commits, readable while the poll thread holds the lock of {@link MockConsumer}.
+     */
+    private static class CommitTrackingConsumer extends MockConsumer<String, String> {
+
+        private final Map<TopicPartition, OffsetAndMetadata> commits = new ConcurrentHashMap<>();
+
+        CommitTrackingConsumer() {
+            super(OffsetResetStrategy.EARLIEST);
+        }
+
+        @Override
+        public synchronized void commitSync(Map<TopicPartition, OffsetAndMetadata> offsets) {
+            super.commitSync(offsets);
+            this.commits.putAll(offsets);
+        }
+    }
+}
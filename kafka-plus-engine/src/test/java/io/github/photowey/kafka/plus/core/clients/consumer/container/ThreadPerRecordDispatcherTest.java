@@ -0,0 +1,132 @@
+/*
+ * Copyright © 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.kafka.plus.core.clients.consumer.container;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+/**
+ * {@code ThreadPerRecordDispatcherTest}
+ *
+ * @author photowey
+ * @version 3.7.0.1.6
+ * @since 2026/10/18
+ */
+class ThreadPerRecordDispatcherTest {
+
+    private static final String TOPIC = "kafka-plus-test";
+    private static final TopicPartition PARTITION = new TopicPartition(TOPIC, 0);
+
+    @Test
+    void testDispatch_key_ordered() throws Exception {
+        MockConsumer<String, String> consumer = this.mockConsumer();
+        for (int i = 0; i < 200; i++) {
+            consumer.addRecord(new ConsumerRecord<>(TOPIC, 0, i, "k" + (i % 20), "v" + i));
+        }
+
+        Map<String, List<Long>> handled = new ConcurrentHashMap<>();
+        ConsumerContainer<String, String> container = new ConsumerContainer<>(consumer, record -> {
+            TimeUnit.MICROSECONDS.sleep(ThreadLocalRandom.current().nextInt(500));
+            handled.computeIfAbsent(record.key(), key -> new CopyOnWriteArrayList<>()).add(record.offset());
+        }, ErrorHandler.stop(), new ContainerSettings().name("virtual").pollTimeoutMs(10).virtualThreads(true));
+        container.start();
+
+        ThreadPerRecordDispatcher<String, String> dispatcher = (ThreadPerRecordDispatcher<String, String>) container.dispatcher();
+        Assertions.assertEquals(ThreadPerRecordDispatcher.virtualThreadsSupported(), dispatcher.virtual());
+
+        this.await(() -> 200 == this.committed(consumer));
+        handled.values().forEach(offsets -> {
+            Assertions.assertEquals(10, offsets.size());
+            for (int i = 1; i < offsets.size(); i++) {
+                Assertions.assertTrue(offsets.get(i - 1) < offsets.get(i));
+            }
+        });
+
+        Assertions.assertTrue(container.stop(Duration.ofSeconds(5)));
+        Assertions.assertNull(container.failure());
+    }
+
+    @Test
+    void testDispatch_unordered_window() throws Exception {
+        MockConsumer<String, String> consumer = this.mockConsumer();
+        for (int i = 0; i < 100; i++) {
+            consumer.addRecord(new ConsumerRecord<>(TOPIC, 0, i, "k", "v" + i));
+        }
+
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        ConsumerContainer<String, String> container = new ConsumerContainer<>(consumer, record -> {
+            peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+            Thread.sleep(2);
+            running.decrementAndGet();
+        }, ErrorHandler.stop(), new ContainerSettings()
+                .pollTimeoutMs(10)
+                .virtualThreads(true)
+                .keyOrdered(false)
+                .concurrency(8)
+                .maxInFlightPerPartition(4));
+        container.start();
+
+        this.await(() -> 100 == this.committed(consumer));
+        container.close();
+
+        // The same key runs concurrently if it isn't ordered, bounded by the window.
+        Assertions.assertTrue(peak.get() > 1);
+        Assertions.assertTrue(peak.get() <= 4);
+        Assertions.assertEquals(100, container.metrics().records());
+    }
+
+    // ----------------------------------------------------------------
+
+    private MockConsumer<String, String> mockConsumer() {
+        MockConsumer<String, String> consumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+        consumer.assign(Collections.singleton(PARTITION));
+        consumer.updateBeginningOffsets(Collections.singletonMap(PARTITION, 0L));
+
+        return consumer;
+    }
+
+    private long committed(MockConsumer<String, String> consumer) {
+        OffsetAndMetadata committed = consumer.committed(Collections.singleton(PARTITION)).get(PARTITION);
+
+        return null == committed ? -1 : committed.offset();
+    }
+
+    private void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+
+        Assertions.assertTrue(condition.getAsBoolean());
+    }
+}
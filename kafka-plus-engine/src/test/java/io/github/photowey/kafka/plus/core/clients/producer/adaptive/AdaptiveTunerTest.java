@@ -0,0 +1,251 @@
+/*
+ * Copyright © 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.kafka.plus.core.clients.producer.adaptive;
+
+import io.github.photowey.kafka.plus.core.enums.Kafka;
+import org.apache.kafka.clients.producer.Callback;
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.Metric;
+import org.apache.kafka.common.MetricName;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code AdaptiveTunerTest}
+ *
+ * @author photowey
+ * @version 3.7.0.1.6
+ * @since 2026/10/18
+ */
+class AdaptiveTunerTest {
+
+    @Test
+    void testDecide() {
+        AdaptiveTuning tuning = new AdaptiveTuning()
+                .lingerMs(0, 50)
+                .batchSize(16 << 10, 256 << 10)
+                .latencySloMs(100);
+        AdaptiveTuner tuner = new AdaptiveTuner(tuning);
+
+        AdaptiveTuner.Settings current = tuner.initial(20, 16 << 10);
+
+        // Over the SLO: halve linger.ms
+        Assertions.assertEquals(new AdaptiveTuner.Settings(10, 16 << 10),
+                tuner.decide(current, new AdaptiveTuner.Sample(8 << 10, 90, 30)));
+        // Headroom + full batches: double batch.size
+        Assertions.assertEquals(new AdaptiveTuner.Settings(20, 32 << 10),
+                tuner.decide(current, new AdaptiveTuner.Sample(15 << 10, 10, 10)));
+        // Headroom + sparse batches: double linger.ms, bounded by the max
+        Assertions.assertEquals(new AdaptiveTuner.Settings(40, 16 << 10),
+                tuner.decide(current, new AdaptiveTuner.Sample(1 << 10, 10, 10)));
+        Assertions.assertEquals(new AdaptiveTuner.Settings(50, 16 << 10),
+                tuner.decide(new AdaptiveTuner.Settings(40, 16 << 10), new AdaptiveTuner.Sample(1 << 10, 10, 10)));
+        // No samples: unchanged
+        Assertions.assertEquals(current,
+                tuner.decide(current, new AdaptiveTuner.Sample(Double.NaN, Double.NaN, Double.NaN)));
+        // Clamped into the bounds
+        Assertions.assertEquals(new AdaptiveTuner.Settings(50, 256 << 10), tuner.initial(500, 1 << 30));
+    }
+
+    @Test
+    void testProducer_reroute_after_settings_changed() {
+        StringSerializer serializer = new StringSerializer();
+        List<MockProducer<String, String>> producers = new ArrayList<>();
+
+        AdaptiveTuning tuning = new AdaptiveTuning()
+                .samplePeriodMs(60_000)
+                .cooldownMs(60_000);
+        AdaptiveProducer<String, String> producer = new AdaptiveProducer<>(
+                tuning, new AdaptiveTuner.Settings(5, 16 << 10), settings -> {
+            MockProducer<String, String> mock = new MockProducer<>(true, serializer, serializer);
+            producers.add(mock);
+
+            return mock;
+        });
+
+        producer.send(new ProducerRecord<>("kafka-plus-test", "k", "v"));
+
+        // MockProducer exposes no metrics, the samples are invalid and nothing changes.
+        Assertions.assertFalse(producer.tune());
+        Assertions.assertEquals(1, producers.size());
+        Assertions.assertEquals(new AdaptiveTuner.Settings(5, 16 << 10), producer.settings());
+
+        producer.close();
+
+        Assertions.assertTrue(producers.get(0).closed());
+        Assertions.assertEquals(1, producers.get(0).history().size());
+    }
+
+    @Test
+    void testProducer_retire_after_in_progress_sends() throws Exception {
+        StringSerializer serializer = new StringSerializer();
+        List<MockProducer<String, String>> producers = new CopyOnWriteArrayList<>();
+        CountDownLatch sending = new CountDownLatch(1);
+        CountDownLatch resume = new CountDownLatch(1);
+
+        AdaptiveTuning tuning = new AdaptiveTuning()
+                .lingerMs(0, 50)
+                .samplePeriodMs(60_000)
+                .cooldownMs(0);
+        AdaptiveProducer<String, String> producer = new AdaptiveProducer<>(
+                tuning, new AdaptiveTuner.Settings(5, 16 << 10), settings -> {
+            boolean first = producers.isEmpty();
+            MockProducer<String, String> mock = new MockProducer<String, String>(true, serializer, serializer) {
+                @Override
+                public synchronized Future<RecordMetadata> send(ProducerRecord<String, String> record, Callback callback) {
+                    if (first && "slow".equals(record.key())) {
+                        sending.countDown();
+                        await(resume);
+                    }
+
+                    return super.send(record, callback);
+                }
+            };
+            // Headroom + sparse batches: doubles linger.ms
+            mock.setMockMetrics(metricName(Kafka.Producer.Metric.BATCH_SIZE_AVG), metric(1 << 10));
+            mock.setMockMetrics(metricName(Kafka.Producer.Metric.RECORD_QUEUE_TIME_AVG), metric(1));
+            mock.setMockMetrics(metricName(Kafka.Producer.Metric.REQUEST_LATENCY_AVG), metric(1));
+            producers.add(mock);
+
+            return mock;
+        });
+
+        CompletableFuture<Void> slow = CompletableFuture.runAsync(() -> producer.send(new ProducerRecord<>("kafka-plus-test", "slow", "v")));
+        Assertions.assertTrue(sending.await(5, TimeUnit.SECONDS));
+
+        CompletableFuture<Boolean> tuned = CompletableFuture.supplyAsync(producer::tune);
+        while (producers.size() < 2) {
+            Thread.sleep(1);
+        }
+
+        // Rerouted, the retired producer waits for the in-progress send.
+        producer.send(new ProducerRecord<>("kafka-plus-test", "k", "v"));
+        Assertions.assertEquals(new AdaptiveTuner.Settings(10, 16 << 10), producer.settings());
+        Assertions.assertEquals(1, producers.get(1).history().size());
+        Assertions.assertFalse(producers.get(0).closed());
+        Assertions.assertFalse(tuned.isDone());
+
+        CompletableFuture<Void> flushed = CompletableFuture.runAsync(producer::flush);
+        Thread.sleep(50);
+        Assertions.assertFalse(flushed.isDone());
+
+        resume.countDown();
+        slow.get(5, TimeUnit.SECONDS);
+        Assertions.assertTrue(tuned.get(5, TimeUnit.SECONDS));
+        flushed.get(5, TimeUnit.SECONDS);
+
+        Assertions.assertTrue(producers.get(0).closed());
+        Assertions.assertEquals(1, producers.get(0).history().size());
+
+        producer.close();
+        Assertions.assertTrue(producers.get(1).closed());
+    }
+
+    @Test
+    void testProducer_close_waits_for_retired() throws Exception {
+        StringSerializer serializer = new StringSerializer();
+        List<MockProducer<String, String>> producers = new CopyOnWriteArrayList<>();
+        CountDownLatch sending = new CountDownLatch(1);
+        CountDownLatch resume = new CountDownLatch(1);
+
+        AdaptiveTuning tuning = new AdaptiveTuning()
+                .lingerMs(0, 50)
+                .samplePeriodMs(60_000)
+                .cooldownMs(0);
+        AdaptiveProducer<String, String> producer = new AdaptiveProducer<>(
+                tuning, new AdaptiveTuner.Settings(5, 16 << 10), settings -> {
+            boolean first = producers.isEmpty();
+            MockProducer<String, String> mock = new MockProducer<String, String>(true, serializer, serializer) {
+                @Override
+                public synchronized Future<RecordMetadata> send(ProducerRecord<String, String> record, Callback callback) {
+                    if (first && "slow".equals(record.key())) {
+                        sending.countDown();
+                        await(resume);
+                    }
+
+                    return super.send(record, callback);
+                }
+            };
+            mock.setMockMetrics(metricName(Kafka.Producer.Metric.BATCH_SIZE_AVG), metric(1 << 10));
+            mock.setMockMetrics(metricName(Kafka.Producer.Metric.RECORD_QUEUE_TIME_AVG), metric(1));
+            mock.setMockMetrics(metricName(Kafka.Producer.Metric.REQUEST_LATENCY_AVG), metric(1));
+            producers.add(mock);
+
+            return mock;
+        });
+
+        CompletableFuture<Void> slow = CompletableFuture.runAsync(() -> producer.send(new ProducerRecord<>("kafka-plus-test", "slow", "v")));
+        Assertions.assertTrue(sending.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Boolean> tuned = CompletableFuture.supplyAsync(producer::tune);
+        while (producers.size() < 2) {
+            Thread.sleep(1);
+        }
+
+        // The current producer is closed at once, the close waits for the retired one.
+        CompletableFuture<Void> closed = CompletableFuture.runAsync(() -> producer.close(Duration.ofSeconds(5)));
+        Thread.sleep(50);
+        Assertions.assertTrue(producers.get(1).closed());
+        Assertions.assertFalse(closed.isDone());
+
+        resume.countDown();
+        closed.get(5, TimeUnit.SECONDS);
+        Assertions.assertTrue(producers.get(0).closed());
+        Assertions.assertEquals(1, producers.get(0).history().size());
+        Assertions.assertTrue(tuned.get(5, TimeUnit.SECONDS));
+        slow.get(5, TimeUnit.SECONDS);
+    }
+
+    // ----------------------------------------------------------------
+
+    private static MetricName metricName(Kafka.Producer.Metric metric) {
+        return new MetricName(metric.value(), metric.group(), "", Collections.emptyMap());
+    }
+
+    private static Metric metric(double value) {
+        return new Metric() {
+            @Override
+            public MetricName metricName() {
+                return null;
+            }
+
+            @Override
+            public Object metricValue() {
+                return value;
+            }
+        };
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
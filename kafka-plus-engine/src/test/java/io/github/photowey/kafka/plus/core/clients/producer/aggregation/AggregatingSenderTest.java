@@ -0,0 +1,145 @@
+/*
+ * Copyright © 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.kafka.plus.core.clients.producer.aggregation;
+
+import io.github.photowey.kafka.plus.core.clients.consumer.aggregation.AggregatedDeserializer;
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code AggregatingSenderTest}
+ *
+ * @author photowey
+ * @version 3.7.0.1.6
+ * @since 2026/10/18
+ */
+class AggregatingSenderTest {
+
+    private static final String TOPIC = "kafka-plus-test";
+
+    @Test
+    void testAggregate_and_unpack() throws Exception {
+        MockProducer<String, byte[]> producer = new MockProducer<>(true, new StringSerializer(), new ByteArraySerializer());
+        // 5 + 10 * (4 + 7): 10 messages of "event-N" per envelope.
+        AggregatingSender<String, String> sender = new AggregatingSender<>(producer, new StringSerializer(), 115, 60_000);
+
+        List<CompletableFuture<RecordMetadata>> futures = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            futures.add(sender.send(TOPIC, "k" + (i % 2), "event-" + (i % 10)));
+        }
+
+        // The full envelopes are sent when the 11th message doesn't fit.
+        Assertions.assertEquals(2, producer.history().size());
+
+        sender.close();
+        for (CompletableFuture<RecordMetadata> future : futures) {
+            Assertions.assertNotNull(future.get(1, TimeUnit.SECONDS));
+        }
+
+        // k0: 13 messages -> 10 + 3, k1: 12 messages -> 10 + 2
+        Assertions.assertEquals(4, producer.history().size());
+
+        AggregatedDeserializer<String> deserializer = new AggregatedDeserializer<>(new StringDeserializer());
+        Map<String, List<String>> unpacked = new HashMap<>();
+        for (ProducerRecord<String, byte[]> record : producer.history()) {
+            Iterable<String> messages = deserializer.deserialize(TOPIC, record.headers(), record.value());
+            for (String message : messages) {
+                unpacked.computeIfAbsent(record.key(), (x) -> new ArrayList<>()).add(message);
+            }
+        }
+
+        Assertions.assertEquals(13, unpacked.get("k0").size());
+        Assertions.assertEquals(12, unpacked.get("k1").size());
+        Assertions.assertEquals("event-0", unpacked.get("k0").get(0));
+        Assertions.assertEquals("event-2", unpacked.get("k0").get(1));
+        Assertions.assertEquals("event-1", unpacked.get("k1").get(0));
+    }
+
+    @Test
+    void testClose_racing_sends_completed() throws Exception {
+        MockProducer<String, byte[]> producer = new MockProducer<>(true, new StringSerializer(), new ByteArraySerializer());
+        AggregatingSender<String, String> sender = new AggregatingSender<>(producer, new StringSerializer(), 1 << 10, 60_000);
+
+        // The sends racing with close() either fail fast or are sent, none is left in a bucket.
+        ConcurrentLinkedQueue<CompletableFuture<RecordMetadata>> futures = new ConcurrentLinkedQueue<>();
+        List<Thread> senders = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            String key = "k" + t;
+            Thread thread = new Thread(() -> {
+                try {
+                    while (true) {
+                        futures.add(sender.send(TOPIC, key, "event"));
+                    }
+                } catch (RuntimeException closed) {
+                    // Closed.
+                }
+            });
+            thread.start();
+            senders.add(thread);
+        }
+
+        Thread.sleep(20);
+        sender.close();
+        for (Thread thread : senders) {
+            thread.join(5_000);
+        }
+
+        Assertions.assertFalse(futures.isEmpty());
+        for (CompletableFuture<RecordMetadata> future : futures) {
+            Assertions.assertNotNull(future.get(1, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    void testLinger() throws Exception {
+        MockProducer<String, byte[]> producer = new MockProducer<>(true, new StringSerializer(), new ByteArraySerializer());
+        AggregatingSender<String, String> sender = new AggregatingSender<>(producer, new StringSerializer(), 1 << 10, 20);
+
+        CompletableFuture<RecordMetadata> future = sender.send(TOPIC, "k", "v");
+
+        Assertions.assertNotNull(future.get(5, TimeUnit.SECONDS));
+        Assertions.assertEquals(1, producer.history().size());
+
+        sender.close();
+    }
+
+    @Test
+    void testDeserialize_not_aggregated() {
+        AggregatedDeserializer<String> deserializer = new AggregatedDeserializer<>();
+        deserializer.configure(Collections.singletonMap(AggregatedDeserializer.DELEGATE_CONFIG, StringDeserializer.class.getName()), false);
+
+        Iterable<String> messages = deserializer.deserialize(TOPIC, new RecordHeaders(), "plain".getBytes(StandardCharsets.UTF_8));
+
+        Assertions.assertEquals(Collections.singletonList("plain"), messages);
+    }
+}
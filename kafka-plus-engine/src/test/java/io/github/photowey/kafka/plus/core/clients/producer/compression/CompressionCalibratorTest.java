@@ -0,0 +1,79 @@
+/*
+ * Copyright © 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.kafka.plus.core.clients.producer.compression;
+
+import io.github.photowey.kafka.plus.core.enums.Kafka;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * {@code CompressionCalibratorTest}
+ *
+ * @author photowey
+ * @version 3.7.0.1.6
+ * @since 2026/10/18
+ */
+class CompressionCalibratorTest {
+
+    @Test
+    void testCalibrate_json() {
+        List<byte[]> samples = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            String json = "{\"id\":" + i + ",\"name\":\"photowey\",\"email\":\"photowey@gmail.com\","
+                    + "\"tags\":[\"kafka\",\"plus\",\"compression\"],\"createdAt\":\"2026-10-18T00:00:00Z\"}";
+            samples.add(json.getBytes(StandardCharsets.UTF_8));
+        }
+
+        CompressionReport report = new CompressionCalibrator().calibrate(samples);
+
+        Assertions.assertNotEquals(Kafka.Producer.Compression.NONE, report.best());
+        Assertions.assertFalse(report.results().isEmpty());
+        for (CompressionReport.Result result : report.results()) {
+            Assertions.assertTrue(result.ratio() < 0.5D, result.toString());
+        }
+    }
+
+    @Test
+    void testCalibrate_incompressible() {
+        Random random = new Random(17);
+        List<byte[]> samples = new ArrayList<>();
+        for (int i = 0; i < 64; i++) {
+            byte[] bytes = new byte[512];
+            random.nextBytes(bytes);
+            samples.add(bytes);
+        }
+
+        Assertions.assertEquals(Kafka.Producer.Compression.NONE, new CompressionCalibrator().calibrate(samples).best());
+    }
+
+    @Test
+    void testSampler() {
+        CompressionSampler<String> sampler = new CompressionSampler<>(new StringSerializer(), 8, new CompressionCalibrator());
+        for (int i = 0; i < 100; i++) {
+            sampler.serialize("kafka-plus-test", "{\"id\":" + i + ",\"name\":\"photowey\",\"name2\":\"photowey\"}");
+        }
+
+        Assertions.assertEquals(8, sampler.samples("kafka-plus-test").size());
+        Assertions.assertTrue(sampler.samples("kafka-plus-other").isEmpty());
+        Assertions.assertNotNull(sampler.calibrate("kafka-plus-test").best());
+    }
+}
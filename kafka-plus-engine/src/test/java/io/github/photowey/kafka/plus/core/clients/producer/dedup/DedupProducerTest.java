@@ -0,0 +1,165 @@
+/*
+ * Copyright © 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.kafka.plus.core.clients.producer.dedup;
+
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.errors.TimeoutException;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * {@code DedupProducerTest}
+ *
+ * @author photowey
+ * @version 3.7.0.1.6
+ * @since 2026/10/18
+ */
+class DedupProducerTest {
+
+    private static final String TOPIC = "kafka-plus-test";
+
+    @Test
+    void testSend_duplicates_dropped() throws Exception {
+        MockProducer<String, String> mock = new MockProducer<>(true, new StringSerializer(), new StringSerializer());
+        DedupProducer<String, String> producer = new DedupProducer<>(
+                mock, record -> null == record.key() ? null : record.key().getBytes(StandardCharsets.UTF_8), new DedupWindow());
+
+        Assertions.assertTrue(producer.send(new ProducerRecord<>(TOPIC, "order-1", "v1")).get().hasOffset());
+
+        AtomicReference<RecordMetadata> acked = new AtomicReference<>();
+        AtomicReference<Exception> failure = new AtomicReference<>();
+        Future<RecordMetadata> dropped = producer.send(new ProducerRecord<>(TOPIC, "order-1", "v1-retry"), (metadata, e) -> {
+            acked.set(metadata);
+            failure.set(e);
+        });
+        ExecutionException e = Assertions.assertThrows(ExecutionException.class, dropped::get);
+        Assertions.assertTrue(e.getCause() instanceof DuplicateRecordException);
+        Assertions.assertSame(e.getCause(), failure.get());
+        Assertions.assertFalse(acked.get().hasOffset());
+
+        producer.send(new ProducerRecord<>(TOPIC, "order-2", "v2"));
+        producer.send(new ProducerRecord<>(TOPIC, null, "v3"));
+        producer.send(new ProducerRecord<>(TOPIC, null, "v3"));
+
+        Assertions.assertEquals(4, mock.history().size());
+        Assertions.assertEquals(1, producer.dropped());
+    }
+
+    @Test
+    void testSend_retry_of_failed_send() throws Exception {
+        MockProducer<String, String> mock = new MockProducer<>(false, new StringSerializer(), new StringSerializer());
+        DedupProducer<String, String> producer = new DedupProducer<>(
+                mock, record -> record.key().getBytes(StandardCharsets.UTF_8), new DedupWindow());
+
+        Future<RecordMetadata> first = producer.send(new ProducerRecord<>(TOPIC, "order-1", "v1"));
+        mock.errorNext(new TimeoutException("delivery.timeout.ms"));
+        Assertions.assertThrows(ExecutionException.class, first::get);
+
+        // The upstream retry isn't a duplicate.
+        Future<RecordMetadata> retry = producer.send(new ProducerRecord<>(TOPIC, "order-1", "v1"));
+        mock.completeNext();
+        Assertions.assertTrue(retry.get().hasOffset());
+        Assertions.assertEquals(0, producer.dropped());
+
+        Future<RecordMetadata> duplicate = producer.send(new ProducerRecord<>(TOPIC, "order-1", "v1"));
+        Assertions.assertThrows(ExecutionException.class, duplicate::get);
+        Assertions.assertEquals(1, producer.dropped());
+    }
+
+    @Test
+    void testSend_retry_of_aborted_transaction() throws Exception {
+        MockProducer<String, String> mock = new MockProducer<>(true, new StringSerializer(), new StringSerializer());
+        DedupProducer<String, String> producer = new DedupProducer<>(
+                mock, record -> record.key().getBytes(StandardCharsets.UTF_8), new DedupWindow());
+        producer.initTransactions();
+
+        producer.beginTransaction();
+        Assertions.assertTrue(producer.send(new ProducerRecord<>(TOPIC, "order-1", "v1")).get().hasOffset());
+        producer.abortTransaction();
+
+        producer.beginTransaction();
+        Assertions.assertTrue(producer.send(new ProducerRecord<>(TOPIC, "order-1", "v1")).get().hasOffset());
+        producer.commitTransaction();
+
+        producer.beginTransaction();
+        Assertions.assertThrows(ExecutionException.class, () -> producer.send(new ProducerRecord<>(TOPIC, "order-1", "v1")).get());
+        producer.commitTransaction();
+        Assertions.assertEquals(1, producer.dropped());
+    }
+
+    @Test
+    void testRotation() {
+        DedupWindow window = new DedupWindow().windowMs(1_000).generations(2).expectedInsertions(1_000);
+        RotatingBloomFilter filter = new RotatingBloomFilter(window);
+        byte[] key = "order-1".getBytes(StandardCharsets.UTF_8);
+        long now = System.currentTimeMillis();
+
+        Assertions.assertTrue(filter.putIfAbsent(key, now));
+        Assertions.assertFalse(filter.putIfAbsent(key, now + 500));
+        // Remembered by the previous generation.
+        Assertions.assertFalse(filter.putIfAbsent(key, now + 1_500));
+        // Expired after both generations rotated.
+        Assertions.assertTrue(filter.putIfAbsent(key, now + 10_000));
+    }
+
+    @Test
+    void testRotation_spare_recycled() {
+        DedupWindow window = new DedupWindow().windowMs(1_000).generations(2).expectedInsertions(1_000);
+        RotatingBloomFilter filter = new RotatingBloomFilter(window);
+        long now = System.currentTimeMillis();
+
+        // Every rotation swaps in the spare cleared by the previous one.
+        for (int i = 0; i < 8; i++) {
+            long at = now + i * 1_000L + 500;
+            byte[] key = ("order-" + i).getBytes(StandardCharsets.UTF_8);
+            Assertions.assertTrue(filter.putIfAbsent(key, at));
+            if (i >= 1) {
+                Assertions.assertTrue(filter.mightContain(("order-" + (i - 1)).getBytes(StandardCharsets.UTF_8), at));
+            }
+            if (i >= 2) {
+                Assertions.assertFalse(filter.mightContain(("order-" + (i - 2)).getBytes(StandardCharsets.UTF_8), at));
+            }
+        }
+    }
+
+    @Test
+    void testFalsePositiveRate() {
+        OffHeapBloomFilter filter = new OffHeapBloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            byte[] key = ("in-" + i).getBytes(StandardCharsets.UTF_8);
+            filter.put(RotatingBloomFilter.hash(key, 1), RotatingBloomFilter.hash(key, 2));
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            byte[] key = ("out-" + i).getBytes(StandardCharsets.UTF_8);
+            if (filter.mightContain(RotatingBloomFilter.hash(key, 1), RotatingBloomFilter.hash(key, 2))) {
+                falsePositives++;
+            }
+        }
+
+        Assertions.assertTrue(falsePositives < 200, "false positives: " + falsePositives);
+        Assertions.assertEquals(7, filter.hashes());
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright © 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.kafka.plus.core.clients.producer.fanout;
+
+import org.apache.kafka.clients.producer.Callback;
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.errors.TimeoutException;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code FanOutProducerTest}
+ *
+ * @author photowey
+ * @version 3.7.0.1.6
+ * @since 2026/10/18
+ */
+class FanOutProducerTest {
+
+    private static final String TOPIC = "kafka-plus-test";
+
+    @Test
+    void testSend_quorum() throws Exception {
+        MockProducer<String, String> a = new MockProducer<>(true, new StringSerializer(), new StringSerializer());
+        MockProducer<String, String> b = new MockProducer<>(true, new StringSerializer(), new StringSerializer());
+        MockProducer<String, String> slow = new MockProducer<>(false, new StringSerializer(), new StringSerializer());
+
+        try (FanOutProducer<String, String> producer = new FanOutProducer<>(clusters(a, b, slow), FanOutPolicy.QUORUM, 2)) {
+            Map<String, RecordMetadata> acks = producer.send(new ProducerRecord<>(TOPIC, "k", "v1")).get(5, TimeUnit.SECONDS);
+            Assertions.assertEquals(2, acks.size());
+            Assertions.assertTrue(acks.containsKey("a") && acks.containsKey("b"));
+
+            producer.send(new ProducerRecord<>(TOPIC, "k", "v2")).get(5, TimeUnit.SECONDS);
+            // The slow cluster is full, its share fails fast, the quorum is still met.
+            producer.send(new ProducerRecord<>(TOPIC, "k", "v3")).get(5, TimeUnit.SECONDS);
+
+            Assertions.assertEquals(3, a.history().size());
+            waitFor(slow, 2);
+            Assertions.assertEquals(2, slow.history().size());
+            Assertions.assertEquals(2, producer.pending().get("slow"));
+
+            slow.completeNext();
+            Assertions.assertEquals(1, producer.pending().get("slow"));
+        }
+    }
+
+    @Test
+    void testSend_all_failed() {
+        MockProducer<String, String> a = new MockProducer<>(true, new StringSerializer(), new StringSerializer());
+        MockProducer<String, String> b = new MockProducer<>(false, new StringSerializer(), new StringSerializer());
+
+        try (FanOutProducer<String, String> producer = new FanOutProducer<>(clusters(a, b), FanOutPolicy.ALL)) {
+            CompletableFuture<Map<String, RecordMetadata>> future = producer.send(new ProducerRecord<>(TOPIC, "k", "v"));
+            waitFor(b, 1);
+            b.errorNext(new TimeoutException("expired"));
+
+            ExecutionException e = Assertions.assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+            FanOutException cause = (FanOutException) e.getCause();
+            Assertions.assertTrue(cause.failures().get("b") instanceof TimeoutException);
+        }
+    }
+
+    @Test
+    void testClose_send_queued_records() throws Exception {
+        MockProducer<String, String> a = new MockProducer<>(true, new StringSerializer(), new StringSerializer());
+        // Its dispatcher lags behind: the records are still queued when close() is invoked.
+        MockProducer<String, String> b = new MockProducer<String, String>(true, new StringSerializer(), new StringSerializer()) {
+            @Override
+            public synchronized Future<RecordMetadata> send(ProducerRecord<String, String> record, Callback callback) {
+                try {
+                    Thread.sleep(20);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+
+                return super.send(record, callback);
+            }
+        };
+
+        FanOutProducer<String, String> producer = new FanOutProducer<>(clusters(a, b), FanOutPolicy.ALL);
+        List<CompletableFuture<Map<String, RecordMetadata>>> futures = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            futures.add(producer.send(new ProducerRecord<>(TOPIC, "k", "v" + i)));
+        }
+        producer.close();
+
+        for (CompletableFuture<Map<String, RecordMetadata>> future : futures) {
+            Assertions.assertEquals(2, future.get(5, TimeUnit.SECONDS).size());
+        }
+        Assertions.assertEquals(5, b.history().size());
+        Assertions.assertTrue(b.closed());
+    }
+
+    @Test
+    void testPolicy_required() {
+        Assertions.assertEquals(1, FanOutPolicy.ANY.required(3));
+        Assertions.assertEquals(2, FanOutPolicy.QUORUM.required(3));
+        Assertions.assertEquals(3, FanOutPolicy.QUORUM.required(4));
+        Assertions.assertEquals(3, FanOutPolicy.ALL.required(3));
+    }
+
+    @SafeVarargs
+    private static Map<String, MockProducer<String, String>> clusters(MockProducer<String, String>... producers) {
+        String[] names = producers.length == 2 ? new String[]{"a", "b"} : new String[]{"a", "b", "slow"};
+        Map<String, MockProducer<String, String>> clusters = new LinkedHashMap<>();
+        for (int i = 0; i < producers.length; i++) {
+            clusters.put(names[i], producers[i]);
+        }
+
+        return clusters;
+    }
+
+    private static void waitFor(MockProducer<String, String> producer, int sent) {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (producer.history().size() < sent && System.currentTimeMillis() < deadline) {
+            Thread.yield();
+        }
+    }
+}
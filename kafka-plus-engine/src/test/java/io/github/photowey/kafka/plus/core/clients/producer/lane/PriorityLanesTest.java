@@ -0,0 +1,90 @@
+/*
+ * Copyright © 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.kafka.plus.core.clients.producer.lane;
+
+import io.github.photowey.kafka.plus.core.clients.builder.producer.ProducerBuilderImpl;
+import io.github.photowey.kafka.plus.core.enums.Kafka;
+import io.github.photowey.kafka.plus.core.exception.KafkaPlusRuntimeException;
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * {@code PriorityLanesTest}
+ *
+ * @author photowey
+ * @version 3.7.0.1.6
+ * @since 2026/10/18
+ */
+class PriorityLanesTest {
+
+    @Test
+    void testSend_routed() {
+        MockProducer<String, String> critical = new MockProducer<>(true, new StringSerializer(), new StringSerializer());
+        MockProducer<String, String> bulk = new MockProducer<>(true, new StringSerializer(), new StringSerializer());
+
+        PriorityLanes<String, String> lanes = new PriorityLanes<String, String>("critical")
+                .lane("critical", critical)
+                .lane("bulk", bulk)
+                .route("backfill", "bulk")
+                .router(record -> record.headers().lastHeader("urgent") != null ? "critical" : null);
+
+        lanes.send(new ProducerRecord<>("orders", "k", "v"));
+        lanes.send(new ProducerRecord<>("backfill", "k", "v"));
+        ProducerRecord<String, String> urgent = new ProducerRecord<>("backfill", "k", "v");
+        urgent.headers().add("urgent", new byte[0]);
+        lanes.send(urgent);
+        lanes.send("bulk", new ProducerRecord<>("orders", "k", "v"), null);
+
+        Assertions.assertEquals(2, critical.history().size());
+        Assertions.assertEquals(2, bulk.history().size());
+        Assertions.assertThrows(KafkaPlusRuntimeException.class, () -> lanes.producer("missing"));
+        Assertions.assertThrows(KafkaPlusRuntimeException.class, () -> lanes.lane("bulk", bulk));
+
+        lanes.close();
+        Assertions.assertTrue(critical.closed());
+        Assertions.assertTrue(bulk.closed());
+    }
+
+    @Test
+    void testLaneProfile() {
+        AtomicReference<Map<String, Object>> configs = new AtomicReference<>();
+        LaneProfile.BULK.apply(new ProducerBuilderImpl()).checkConfigs(configs::set);
+
+        Assertions.assertEquals(100L, Long.parseLong(String.valueOf(configs.get().get(Kafka.Producer.LINGER_MS.key()))));
+        Assertions.assertEquals("lz4", String.valueOf(configs.get().get(Kafka.Producer.COMPRESSION_TYPE.key())));
+    }
+
+    @Test
+    void testLaneProfile_build() {
+        for (LaneProfile profile : LaneProfile.values()) {
+            // The KafkaProducer constructor validates the configs, no broker is contacted.
+            Producer<String, String> producer = profile.apply(new ProducerBuilderImpl()
+                            .boostrapServers("localhost:9092")
+                            .keySerializer(StringSerializer.class)
+                            .valueSerializer(StringSerializer.class))
+                    .build();
+            producer.close(Duration.ZERO);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright © 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.kafka.plus.core.clients.producer.metric;
+
+import io.github.photowey.kafka.plus.core.clients.producer.interceptor.MetricsInterceptor;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.NotLeaderOrFollowerException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+
+/**
+ * {@code LogLinearHistogramTest}
+ *
+ * @author photowey
+ * @version 3.7.0.1.6
+ * @since 2026/10/18
+ */
+class LogLinearHistogramTest {
+
+    @Test
+    void testIndex_round_trip() {
+        LogLinearHistogram histogram = new LogLinearHistogram(5);
+        int previous = -1;
+        for (long value : new long[]{0, 1, 31, 32, 33, 63, 64, 1_000, 1 << 20, Long.MAX_VALUE / 3, Long.MAX_VALUE}) {
+            int index = histogram.indexOf(value);
+            Assertions.assertTrue(index > previous || value == 0);
+            Assertions.assertTrue(histogram.upperBoundOf(index) >= value);
+            // <= 1/32 relative error.
+            Assertions.assertTrue(histogram.upperBoundOf(index) - value <= Math.max(0, value >> 5), "value: " + value);
+            previous = index;
+        }
+    }
+
+    @Test
+    void testPercentile() {
+        LogLinearHistogram histogram = new LogLinearHistogram();
+        Assertions.assertEquals(0, histogram.p99());
+
+        for (int i = 1; i <= 1_000; i++) {
+            histogram.record(i);
+        }
+        histogram.record(10_000);
+
+        Assertions.assertEquals(1_001, histogram.count());
+        Assertions.assertEquals(10_000, histogram.max());
+        Assertions.assertEquals(500, histogram.p50(), 500 / 32.0);
+        Assertions.assertEquals(991, histogram.p99(), 991 / 32.0);
+        Assertions.assertEquals(10_000, histogram.percentile(100));
+
+        LogLinearHistogram merged = new LogLinearHistogram().merge(histogram).merge(histogram);
+        Assertions.assertEquals(2_002, merged.count());
+        Assertions.assertEquals(histogram.p50(), merged.p50());
+
+        histogram.reset();
+        Assertions.assertEquals(0, histogram.count());
+        Assertions.assertEquals(0, histogram.p999());
+    }
+
+    @Test
+    void testMetricsInterceptor() throws InterruptedException {
+        SendMetricsRegistry registry = new SendMetricsRegistry();
+        MetricsInterceptor<String, String> interceptor = new MetricsInterceptor<>(registry);
+        interceptor.configure(Collections.emptyMap());
+
+        TopicPartition p0 = new TopicPartition("orders", 0);
+        TopicPartition p1 = new TopicPartition("orders", 1);
+        long fast = interceptor.onSend(new ProducerRecord<>("orders", 0, "k", "v")).timestamp();
+        long slowSent = interceptor.onSend(new ProducerRecord<>("orders", 1, "k", "v")).timestamp();
+        // User (event) timestamp: kept, not measured.
+        ProducerRecord<String, String> replayed = new ProducerRecord<>("orders", 1, fast - 3_600_000L, "k", "v");
+        Assertions.assertSame(replayed, interceptor.onSend(replayed));
+        Thread.sleep(50);
+
+        interceptor.onAcknowledgement(new RecordMetadata(p0, 0, 0, fast, 3, 10), null);
+        interceptor.onAcknowledgement(new RecordMetadata(p1, 0, 0, slowSent, 3, 100), null);
+        interceptor.onAcknowledgement(new RecordMetadata(p1, 0, 0, replayed.timestamp(), 3, 100), null);
+        // LogAppendTime: overridden by the broker, not measured.
+        interceptor.onAcknowledgement(new RecordMetadata(p1, 0, 0, System.currentTimeMillis() + 1, 3, 100), null);
+        // Acknowledged once.
+        interceptor.onAcknowledgement(new RecordMetadata(p1, 0, 0, slowSent, 3, 100), null);
+        interceptor.onAcknowledgement(new RecordMetadata(p1, -1, -1, -1, -1, -1), new NotLeaderOrFollowerException("moved"));
+
+        PartitionSendMetrics slow = registry.partition("orders", 1);
+        Assertions.assertEquals(1, slow.latencyMs().count());
+        Assertions.assertTrue(slow.latencyMs().p99() >= 50);
+        Assertions.assertEquals(103, slow.recordBytes().max());
+        Assertions.assertEquals(1, slow.errors());
+
+        PartitionSendMetrics topic = registry.topic("orders");
+        Assertions.assertEquals(2, topic.latencyMs().count());
+        Assertions.assertEquals(13, topic.recordBytes().percentile(0));
+        Assertions.assertNull(registry.partition("orders", 2));
+
+        // Beyond the initial slots, and the unassigned partition.
+        long sent = interceptor.onSend(new ProducerRecord<>("orders", 20, "k", "v")).timestamp();
+        interceptor.onAcknowledgement(new RecordMetadata(new TopicPartition("orders", 20), 0, 0, sent, 3, 10), null);
+        interceptor.onAcknowledgement(new RecordMetadata(new TopicPartition("orders", -1), -1, -1, -1, -1, -1),
+                new NotLeaderOrFollowerException("moved"));
+        Assertions.assertEquals(1, registry.partition("orders", 20).latencyMs().count());
+        Assertions.assertEquals(1, registry.partition("orders", -1).errors());
+        Assertions.assertSame(slow, registry.partition("orders", 1));
+        Assertions.assertEquals(4, registry.partitions().size());
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright © 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.kafka.plus.core.clients.producer.partitioner;
+
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.Cluster;
+import org.apache.kafka.common.Node;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.errors.TimeoutException;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.utils.Utils;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * {@code HotKeyPartitionerTest}
+ *
+ * @author photowey
+ * @version 3.7.0.1.6
+ * @since 2026/10/18
+ */
+class HotKeyPartitionerTest {
+
+    private static final String TOPIC = "kafka-plus-test";
+
+    @Test
+    void testPartition_hot_key_spread_and_cold_key_hashed() {
+        Cluster cluster = this.cluster(8);
+
+        Map<String, Object> configs = new HashMap<>();
+        configs.put(HotKeyPartitioner.SUB_PARTITIONS_CONFIG, 4);
+        configs.put(HotKeyPartitioner.MIN_COUNT_CONFIG, "32");
+        configs.put(HotKeyPartitioner.HOT_RATIO_CONFIG, 0.1D);
+
+        HotKeyPartitioner partitioner = new HotKeyPartitioner();
+        partitioner.configure(configs);
+        HotKeyInterceptor<String, String> interceptor = new HotKeyInterceptor<>();
+
+        byte[] hot = "hot".getBytes(StandardCharsets.UTF_8);
+        int hotHash = Utils.toPositive(Utils.murmur2(hot)) % 8;
+
+        Set<Integer> hotPartitions = new HashSet<>();
+        int salted = 0;
+        for (int i = 0; i < 2_000; i++) {
+            ProducerRecord<String, String> record = interceptor.onSend(new ProducerRecord<>(TOPIC, "hot", "v"));
+            int partition = partitioner.partition(TOPIC, "hot", hot, "v", null, cluster);
+            hotPartitions.add(partition);
+
+            Header header = record.headers().lastHeader(HotKeyPartitioner.SALT_HEADER);
+            if (null != header) {
+                salted++;
+                int salt = Integer.parseInt(new String(header.value(), StandardCharsets.UTF_8));
+                Assertions.assertEquals((hotHash + salt) % 8, partition);
+            } else {
+                Assertions.assertEquals(hotHash, partition);
+            }
+
+            // Background cold traffic.
+            byte[] cold = ("cold-" + i).getBytes(StandardCharsets.UTF_8);
+            Assertions.assertEquals(Utils.toPositive(Utils.murmur2(cold)) % 8,
+                    partitioner.partition(TOPIC, "cold-" + i, cold, "v", null, cluster));
+        }
+
+        Assertions.assertTrue(salted > 1_000);
+        Assertions.assertTrue(hotPartitions.size() > 1 && hotPartitions.size() <= 4);
+    }
+
+    @Test
+    void testInterceptor_copy_and_stale_binding() {
+        Cluster cluster = this.cluster(8);
+        Map<String, Object> configs = new HashMap<>();
+        configs.put(HotKeyPartitioner.MIN_COUNT_CONFIG, 1);
+        configs.put(HotKeyPartitioner.HOT_RATIO_CONFIG, 0D);
+
+        HotKeyPartitioner partitioner = new HotKeyPartitioner();
+        partitioner.configure(configs);
+        HotKeyInterceptor<String, String> interceptor = new HotKeyInterceptor<>();
+        byte[] hot = "hot".getBytes(StandardCharsets.UTF_8);
+
+        // Re-sent twice: the record of the caller is never salted.
+        ProducerRecord<String, String> original = new ProducerRecord<>(TOPIC, "hot", "v");
+        for (int i = 0; i < 2; i++) {
+            ProducerRecord<String, String> intercepted = interceptor.onSend(original);
+            Assertions.assertNotSame(original, intercepted);
+            partitioner.partition(TOPIC, "hot", hot, "v", null, cluster);
+            Assertions.assertEquals(1, this.salts(intercepted));
+        }
+        Assertions.assertEquals(0, this.salts(original));
+
+        // Failed before partition(): the binding is discarded by the failure callback.
+        ProducerRecord<String, String> failed = interceptor.onSend(new ProducerRecord<>(TOPIC, "hot", "failed"));
+        interceptor.onAcknowledgement(null, new TimeoutException("max.block.ms"));
+        partitioner.partition(TOPIC, "hot", hot, "v", null, cluster);
+        Assertions.assertEquals(0, this.salts(failed));
+
+        // Or ignored by the next record, which isn't the bound one.
+        ProducerRecord<String, String> stale = interceptor.onSend(new ProducerRecord<>(TOPIC, "hot", "stale"));
+        partitioner.partition(TOPIC, "hot", hot, "v", null, cluster);
+        Assertions.assertEquals(0, this.salts(stale));
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    void testPartition_unkeyed_sticky() {
+        Cluster cluster = this.cluster(8);
+        HotKeyPartitioner partitioner = new HotKeyPartitioner();
+        partitioner.configure(Collections.emptyMap());
+
+        int sticky = partitioner.partition(TOPIC, null, null, "v", null, cluster);
+        for (int i = 0; i < 100; i++) {
+            Assertions.assertEquals(sticky, partitioner.partition(TOPIC, null, null, "v", null, cluster));
+        }
+
+        // The batch is full: switched to another partition, once.
+        partitioner.onNewBatch(TOPIC, cluster, sticky);
+        int next = partitioner.partition(TOPIC, null, null, "v", null, cluster);
+        Assertions.assertNotEquals(sticky, next);
+        partitioner.onNewBatch(TOPIC, cluster, sticky);
+        Assertions.assertEquals(next, partitioner.partition(TOPIC, null, null, "v", null, cluster));
+    }
+
+    @Test
+    void testSketch() {
+        CountMinSketch sketch = new CountMinSketch(4, 1000, 1_000);
+        for (int i = 0; i < 100; i++) {
+            sketch.add(42);
+        }
+
+        Assertions.assertTrue(sketch.estimate(42) >= 100);
+        Assertions.assertEquals(0, sketch.estimate(7));
+
+        for (int i = 0; i < 900; i++) {
+            sketch.add(i + 1_000);
+        }
+
+        // Halved at the window boundary.
+        Assertions.assertTrue(sketch.estimate(42) >= 50 && sketch.estimate(42) < 100);
+    }
+
+    private int salts(ProducerRecord<String, String> record) {
+        int salts = 0;
+        for (Header ignored : record.headers().headers(HotKeyPartitioner.SALT_HEADER)) {
+            salts++;
+        }
+
+        return salts;
+    }
+
+    private Cluster cluster(int partitions) {
+        Node node = new Node(0, "localhost", 9092);
+        List<PartitionInfo> infos = new ArrayList<>();
+        for (int i = 0; i < partitions; i++) {
+            infos.add(new PartitionInfo(TOPIC, i, node, new Node[]{node}, new Node[]{node}));
+        }
+
+        return new Cluster("kafka-plus", Collections.singletonList(node), infos, Collections.emptySet(), Collections.emptySet());
+    }
+}
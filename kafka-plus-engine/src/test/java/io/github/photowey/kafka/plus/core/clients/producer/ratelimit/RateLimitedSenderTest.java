@@ -0,0 +1,182 @@
+/*
+ * Copyright © 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.kafka.plus.core.clients.producer.ratelimit;
+
+import io.github.photowey.kafka.plus.core.exception.KafkaPlusRuntimeException;
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * {@code RateLimitedSenderTest}
+ *
+ * @author photowey
+ * @version 3.7.0.1.6
+ * @since 2026/10/18
+ */
+class RateLimitedSenderTest {
+
+    private static final String TOPIC = "kafka-plus-test";
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void testTokenBucket_burst_then_rate() {
+        TokenBucket bucket = new TokenBucket(10, 500);
+        long now = System.nanoTime() + SECOND;
+
+        // 500ms burst == 5 tokens available immediately.
+        for (int i = 0; i < 5; i++) {
+            Assertions.assertEquals(now, bucket.reserve(1, now));
+        }
+        Assertions.assertEquals(now + SECOND / 10, bucket.reserve(1, now));
+        Assertions.assertEquals(now + 2 * SECOND / 10, bucket.reserve(1, now));
+
+        // Idle time beyond the burst is forgotten.
+        long later = now + 10 * SECOND;
+        Assertions.assertEquals(later, bucket.reserve(5, later));
+        Assertions.assertTrue(bucket.reserve(1, later) > later);
+    }
+
+    @Test
+    void testTokenBucket_unlimited() {
+        TokenBucket bucket = new TokenBucket(0, 0);
+        long now = System.nanoTime();
+
+        Assertions.assertEquals(now, bucket.reserve(Integer.MAX_VALUE, now));
+    }
+
+    @Test
+    void testSend_smoothed() throws Exception {
+        MockProducer<String, String> producer = new MockProducer<>(true, new StringSerializer(), new StringSerializer());
+        try (RateLimitedSender<String, String> sender = new RateLimitedSender<>(
+                producer, new RateLimit().recordsPerSecond(50).burstMs(0), () -> 0)) {
+            long start = System.nanoTime();
+            for (int i = 0; i < 6; i++) {
+                sender.send(new ProducerRecord<>(TOPIC, "k", "v" + i)).get(1, TimeUnit.SECONDS);
+            }
+            long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+            // 6 records at 50/s without burst: >= 5 * 20ms.
+            Assertions.assertTrue(elapsedMs >= 90, "elapsed: " + elapsedMs);
+            Assertions.assertEquals(6, producer.history().size());
+            Assertions.assertEquals("v5", producer.history().get(5).value());
+        }
+    }
+
+    @Test
+    void testSend_not_blocking_caller() throws Exception {
+        MockProducer<String, String> producer = new MockProducer<>(true, new StringSerializer(), new StringSerializer());
+        try (RateLimitedSender<String, String> sender = new RateLimitedSender<>(
+                producer, new RateLimit().recordsPerSecond(50).burstMs(0), () -> 0)) {
+            long start = System.nanoTime();
+            List<CompletableFuture<RecordMetadata>> futures = new ArrayList<>();
+            for (int i = 0; i < 6; i++) {
+                futures.add(sender.send(new ProducerRecord<>(TOPIC, "k", "v" + i)));
+            }
+            long returnedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+            Assertions.assertTrue(returnedMs < 90, "returned: " + returnedMs);
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(1, TimeUnit.SECONDS);
+            long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+            Assertions.assertTrue(elapsedMs >= 90, "elapsed: " + elapsedMs);
+            for (int i = 0; i < 6; i++) {
+                Assertions.assertEquals("v" + i, producer.history().get(i).value());
+            }
+        }
+    }
+
+    @Test
+    void testSend_rejected_over_max_queued() throws Exception {
+        MockProducer<String, String> producer = new MockProducer<>(true, new StringSerializer(), new StringSerializer());
+        try (RateLimitedSender<String, String> sender = new RateLimitedSender<>(
+                producer, new RateLimit().recordsPerSecond(20).burstMs(0).maxQueued(2), () -> 0)) {
+            CompletableFuture<RecordMetadata> first = sender.send(new ProducerRecord<>(TOPIC, "k", "v0"));
+            CompletableFuture<RecordMetadata> second = sender.send(new ProducerRecord<>(TOPIC, "k", "v1"));
+            CompletableFuture<RecordMetadata> third = sender.send(new ProducerRecord<>(TOPIC, "k", "v2"));
+
+            ExecutionException e = Assertions.assertThrows(ExecutionException.class, () -> third.get(1, TimeUnit.SECONDS));
+            Assertions.assertTrue(e.getCause() instanceof KafkaPlusRuntimeException);
+
+            // The queued ones are still sent, then the bucket accepts again.
+            CompletableFuture.allOf(first, second).get(1, TimeUnit.SECONDS);
+            sender.send(new ProducerRecord<>(TOPIC, "k", "v3")).get(1, TimeUnit.SECONDS);
+            Assertions.assertEquals(3, producer.history().size());
+            Assertions.assertEquals("v3", producer.history().get(2).value());
+        }
+    }
+
+    @Test
+    void testExpire_idle_buckets() throws Exception {
+        MockProducer<String, String> producer = new MockProducer<>(true, new StringSerializer(), new StringSerializer());
+        try (RateLimitedSender<String, String> sender = new RateLimitedSender<>(
+                producer, new RateLimit().recordsPerSecond(1_000).burstMs(0).throttleSamplePeriodMs(60_000), () -> 0)) {
+            sender.keyPrefix(key -> key);
+            for (String key : Arrays.asList("a", "b", "c")) {
+                sender.send(new ProducerRecord<>(TOPIC, key, "v")).get(1, TimeUnit.SECONDS);
+            }
+            Assertions.assertEquals(3, sender.buckets());
+
+            Thread.sleep(10);
+            Assertions.assertEquals(3, sender.expire());
+            Assertions.assertEquals(0, sender.buckets());
+        }
+    }
+
+    @Test
+    void testTune_throttled() {
+        AtomicReference<Double> throttle = new AtomicReference<>(0D);
+        MockProducer<String, String> producer = new MockProducer<>(true, new StringSerializer(), new StringSerializer());
+        try (RateLimitedSender<String, String> sender = new RateLimitedSender<>(
+                producer, new RateLimit().recordsPerSecond(1_000).minFactor(0.5).throttleSamplePeriodMs(60_000), throttle::get)) {
+            Assertions.assertFalse(sender.tune());
+            Assertions.assertEquals(1.0, sender.factor());
+
+            throttle.set(12.5);
+            Assertions.assertTrue(sender.tune());
+            Assertions.assertEquals(0.8, sender.factor(), 1e-9);
+            sender.tune();
+            sender.tune();
+            sender.tune();
+            Assertions.assertEquals(0.5, sender.factor(), 1e-9);
+
+            throttle.set(0D);
+            Assertions.assertTrue(sender.tune());
+            Assertions.assertEquals(0.55, sender.factor(), 1e-9);
+        }
+    }
+
+    @Test
+    void testEstimate() {
+        Assertions.assertEquals(3, RateLimitedSender.estimate(new ProducerRecord<>(TOPIC, "k", "vv")));
+        Assertions.assertEquals(4, RateLimitedSender.estimate(new ProducerRecord<>(TOPIC, null, new byte[4])));
+        // The serialized UTF-8 bytes.
+        Assertions.assertEquals(6, RateLimitedSender.estimate(new ProducerRecord<>(TOPIC, "k", "\u00e9\u4e2d")));
+        // Unknown: charged on the acknowledgement.
+        Assertions.assertEquals(-1, RateLimitedSender.estimate(new ProducerRecord<>(TOPIC, "k", 1L)));
+    }
+}
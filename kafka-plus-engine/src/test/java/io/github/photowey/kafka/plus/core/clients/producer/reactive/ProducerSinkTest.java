@@ -0,0 +1,94 @@
+/*
+ * Copyright © 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.kafka.plus.core.clients.producer.reactive;
+
+import io.github.photowey.kafka.plus.engine.LocalTest;
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@code ProducerSinkTest}
+ *
+ * @author photowey
+ * @version 3.7.0.1.6
+ * @since 2026/10/18
+ */
+class ProducerSinkTest extends LocalTest {
+
+    @Test
+    void testDemand_follows_in_flight() {
+        MockProducer<String, String> producer = new MockProducer<>(false, new StringSerializer(), new StringSerializer());
+        ProducerSink<String, String> sink = this.kafkaEngine().producerService().sink(producer, 2);
+
+        AtomicLong requested = new AtomicLong();
+        sink.onSubscribe(this.subscription(requested, new AtomicBoolean()));
+        Assertions.assertEquals(2, requested.get());
+
+        sink.onNext(new ProducerRecord<>(this.defaultTopic(), "k1", "v1"));
+        sink.onNext(new ProducerRecord<>(this.defaultTopic(), "k2", "v2"));
+
+        Assertions.assertEquals(0, sink.demand());
+        Assertions.assertEquals(2, sink.inFlight());
+        Assertions.assertEquals(2, sink.gauges().get(this.defaultTopic()).inFlight());
+
+        producer.completeNext();
+        Assertions.assertEquals(3, requested.get());
+        Assertions.assertEquals(1, sink.gauges().get(this.defaultTopic()).acknowledged());
+
+        sink.onComplete();
+        Assertions.assertFalse(sink.completion().isDone());
+
+        producer.completeNext();
+        Assertions.assertTrue(sink.completion().isDone());
+        Assertions.assertFalse(sink.completion().isCompletedExceptionally());
+    }
+
+    @Test
+    void testFailure_cancels_upstream() {
+        MockProducer<String, String> producer = new MockProducer<>(false, new StringSerializer(), new StringSerializer());
+        ProducerSink<String, String> sink = new ProducerSink<>(producer, 4);
+
+        AtomicBoolean cancelled = new AtomicBoolean();
+        sink.onSubscribe(this.subscription(new AtomicLong(), cancelled));
+        sink.onNext(new ProducerRecord<>(this.defaultTopic(), "k1", "v1"));
+
+        producer.errorNext(new RuntimeException("broker down"));
+
+        Assertions.assertTrue(cancelled.get());
+        Assertions.assertTrue(sink.completion().isCompletedExceptionally());
+        Assertions.assertEquals(1, sink.gauges().get(this.defaultTopic()).failed());
+    }
+
+    private ProducerSubscription subscription(AtomicLong requested, AtomicBoolean cancelled) {
+        return new ProducerSubscription() {
+            @Override
+            public void request(long n) {
+                requested.addAndGet(n);
+            }
+
+            @Override
+            public void cancel() {
+                cancelled.set(true);
+            }
+        };
+    }
+}
@@ -0,0 +1,247 @@
+/*
+ * Copyright © 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.kafka.plus.core.clients.producer.registry;
+
+import io.github.photowey.kafka.plus.core.exception.KafkaPlusRuntimeException;
+import io.github.photowey.kafka.plus.engine.KafkaEngine;
+import io.github.photowey.kafka.plus.engine.LocalTest;
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@code ProducerRegistryTest}
+ *
+ * @author photowey
+ * @version 3.7.0.1.6
+ * @since 2026/10/18
+ */
+class ProducerRegistryTest extends LocalTest {
+
+    @Test
+    void testAcquire_reference_counted() {
+        StringSerializer serializer = new StringSerializer();
+        ProducerRegistry registry = new ProducerRegistryImpl();
+        AtomicInteger created = new AtomicInteger();
+        MockProducer<String, String> mock = new MockProducer<>(true, serializer, serializer);
+
+        Map<String, Object> configs = new HashMap<>();
+        configs.put("bootstrap.servers", this.defaultBoostrapServers());
+        configs.put("linger.ms", 5L);
+
+        ProducerFingerprint fingerprint = ProducerFingerprint.of(configs, serializer, serializer);
+        SharedProducer<String, String> p1 = registry.acquire(fingerprint, () -> {
+            created.incrementAndGet();
+            return mock;
+        });
+        SharedProducer<String, String> p2 = registry.acquire(ProducerFingerprint.of(configs, serializer, serializer), () -> {
+            created.incrementAndGet();
+            return mock;
+        });
+
+        Assertions.assertEquals(1, created.get());
+        Assertions.assertEquals(1, registry.size());
+        Assertions.assertEquals(2, registry.references(fingerprint));
+
+        p1.send(new ProducerRecord<>(this.defaultTopic(), "k", "v"));
+        p1.close();
+        p1.close();
+
+        Assertions.assertEquals(1, registry.references(fingerprint));
+        Assertions.assertFalse(mock.closed());
+        Assertions.assertThrows(KafkaPlusRuntimeException.class, () -> {
+            p1.send(new ProducerRecord<>(this.defaultTopic(), "k", "v"));
+        });
+
+        p2.send(new ProducerRecord<>(this.defaultTopic(), "k", "v"));
+        p2.close();
+
+        Assertions.assertTrue(mock.closed());
+        Assertions.assertEquals(0, registry.size());
+        Assertions.assertEquals(2, mock.history().size());
+    }
+
+    @Test
+    void testFingerprint() {
+        StringSerializer s1 = new StringSerializer();
+        StringSerializer s2 = new StringSerializer();
+
+        Map<String, Object> c1 = new HashMap<>();
+        c1.put("linger.ms", 5L);
+        c1.put("acks", "all");
+        Map<String, Object> c2 = new HashMap<>();
+        c2.put("acks", "all");
+        c2.put("linger.ms", "5");
+
+        Assertions.assertEquals(ProducerFingerprint.of(c1, s1, s1), ProducerFingerprint.of(c2, s1, s1));
+        Assertions.assertEquals(ProducerFingerprint.of(c1, s1, s1).hashCode(), ProducerFingerprint.of(c2, s1, s1).hashCode());
+        Assertions.assertEquals(ProducerFingerprint.of(c1, null, null), ProducerFingerprint.of(c2, null, null));
+        // Same class, another (possibly differently configured) instance: never shared.
+        Assertions.assertNotEquals(ProducerFingerprint.of(c1, s1, s1), ProducerFingerprint.of(c1, s1, s2));
+        Assertions.assertNotEquals(ProducerFingerprint.of(c1, s1, s1), ProducerFingerprint.of(c1, s2, s2));
+        Assertions.assertNotEquals(ProducerFingerprint.of(c1, s1, s1), ProducerFingerprint.of(c1, null, null));
+        Assertions.assertNotEquals(ProducerFingerprint.of(c1, s1, s1), ProducerFingerprint.of(c1, s1, new ByteArraySerializer()));
+
+        c2.put("linger.ms", "10");
+        Assertions.assertNotEquals(ProducerFingerprint.of(c1, s1, s1), ProducerFingerprint.of(c2, s1, s1));
+    }
+
+    @Test
+    void testAcquire_create_outside_lock() throws Exception {
+        StringSerializer serializer = new StringSerializer();
+        ProducerRegistry registry = new ProducerRegistryImpl();
+        MockProducer<String, String> mock = new MockProducer<>(true, serializer, serializer);
+        ProducerFingerprint slow = ProducerFingerprint.of(Collections.singletonMap("client.id", "slow"), serializer, serializer);
+        ProducerFingerprint fast = ProducerFingerprint.of(Collections.singletonMap("client.id", "fast"), serializer, serializer);
+
+        CountDownLatch creating = new CountDownLatch(1);
+        CountDownLatch created = new CountDownLatch(1);
+        AtomicInteger creations = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<SharedProducer<String, String>> f1 = executor.submit(() -> registry.acquire(slow, () -> {
+                creations.incrementAndGet();
+                creating.countDown();
+                try {
+                    created.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+
+                return mock;
+            }));
+            Assertions.assertTrue(creating.await(5, TimeUnit.SECONDS));
+            Future<SharedProducer<String, String>> f2 = executor.submit(() -> registry.acquire(slow, () -> {
+                creations.incrementAndGet();
+                return mock;
+            }));
+
+            // The other fingerprints aren't blocked by the slow creation.
+            SharedProducer<String, String> p3 = registry.acquire(fast, () -> new MockProducer<>(true, serializer, serializer));
+            Assertions.assertEquals(2, registry.size());
+            Assertions.assertFalse(f2.isDone());
+
+            created.countDown();
+            SharedProducer<String, String> p1 = f1.get(5, TimeUnit.SECONDS);
+            SharedProducer<String, String> p2 = f2.get(5, TimeUnit.SECONDS);
+
+            Assertions.assertEquals(1, creations.get());
+            Assertions.assertEquals(2, registry.references(slow));
+
+            p1.close();
+            p2.close();
+            p3.close();
+            Assertions.assertTrue(mock.closed());
+            Assertions.assertEquals(0, registry.size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testAcquire_create_failed() {
+        StringSerializer serializer = new StringSerializer();
+        ProducerRegistry registry = new ProducerRegistryImpl();
+        ProducerFingerprint fingerprint = ProducerFingerprint.of(Collections.emptyMap(), serializer, serializer);
+
+        Assertions.assertThrows(IllegalStateException.class, () -> registry.acquire(fingerprint, () -> {
+            throw new IllegalStateException("boom");
+        }));
+        Assertions.assertEquals(0, registry.size());
+
+        MockProducer<String, String> mock = new MockProducer<>(true, serializer, serializer);
+        SharedProducer<String, String> p1 = registry.acquire(fingerprint, () -> mock);
+        Assertions.assertEquals(1, registry.references(fingerprint));
+
+        registry.close();
+        Assertions.assertTrue(mock.closed());
+        Assertions.assertEquals(0, registry.size());
+        p1.close();
+    }
+
+    @Test
+    void testBuildShared() {
+        KafkaEngine kafkaEngine = this.kafkaEngine();
+        ProducerRegistry registry = kafkaEngine.producerService().producerRegistry();
+
+        SharedProducer<String, String> p1 = kafkaEngine.producerService().createProducer()
+                .boostrapServers(this.defaultBoostrapServers())
+                .keySerializer(StringSerializer.class)
+                .valueSerializer(StringSerializer.class)
+                .buildShared();
+        SharedProducer<String, String> p2 = kafkaEngine.producerService().createProducer()
+                .boostrapServers(this.defaultBoostrapServers())
+                .keySerializer(StringSerializer.class)
+                .valueSerializer(StringSerializer.class)
+                .buildShared();
+
+        Assertions.assertEquals(p1.fingerprint(), p2.fingerprint());
+        Assertions.assertEquals(2, registry.references(p1.fingerprint()));
+
+        p1.close();
+        p2.close();
+
+        Assertions.assertEquals(0, registry.references(p1.fingerprint()));
+    }
+
+    @Test
+    void testBuildShared_serializer_instances() {
+        KafkaEngine kafkaEngine = this.kafkaEngine();
+        ProducerRegistry registry = kafkaEngine.producerService().producerRegistry();
+        StringSerializer serializer = new StringSerializer();
+
+        SharedProducer<String, String> p1 = kafkaEngine.producerService().createProducer()
+                .boostrapServers(this.defaultBoostrapServers())
+                .keySerializer(serializer)
+                .valueSerializer(serializer)
+                .buildShared();
+        SharedProducer<String, String> p2 = kafkaEngine.producerService().createProducer()
+                .boostrapServers(this.defaultBoostrapServers())
+                .keySerializer(serializer)
+                .valueSerializer(new StringSerializer())
+                .buildShared();
+        SharedProducer<String, String> p3 = kafkaEngine.producerService().createProducer()
+                .boostrapServers(this.defaultBoostrapServers())
+                .keySerializer(serializer)
+                .valueSerializer(serializer)
+                .buildShared();
+
+        Assertions.assertNotEquals(p1.fingerprint(), p2.fingerprint());
+        Assertions.assertEquals(1, registry.references(p2.fingerprint()));
+        Assertions.assertEquals(p1.fingerprint(), p3.fingerprint());
+        Assertions.assertEquals(2, registry.references(p1.fingerprint()));
+
+        p1.close();
+        p2.close();
+        p3.close();
+
+        Assertions.assertEquals(0, registry.references(p1.fingerprint()));
+        Assertions.assertEquals(0, registry.references(p2.fingerprint()));
+    }
+}
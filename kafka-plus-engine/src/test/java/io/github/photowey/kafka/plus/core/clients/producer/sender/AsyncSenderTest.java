@@ -0,0 +1,94 @@
+/*
+ * Copyright © 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.kafka.plus.core.clients.producer.sender;
+
+import io.github.photowey.kafka.plus.engine.KafkaEngine;
+import io.github.photowey.kafka.plus.engine.LocalTest;
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * {@code AsyncSenderTest}
+ *
+ * @author photowey
+ * @version 3.7.0.1.6
+ * @since 2026/10/18
+ */
+class AsyncSenderTest extends LocalTest {
+
+    @Test
+    void testSend() throws Exception {
+        KafkaEngine kafkaEngine = this.kafkaEngine();
+        MockProducer<String, String> producer = new MockProducer<>(false, new StringSerializer(), new StringSerializer());
+        AsyncSender<String, String> sender = kafkaEngine.producerService().sender(producer);
+
+        CompletableFuture<RecordMetadata> f1 = sender.send(kafkaEngine.producerService().createProducerRecord()
+                .topic(this.defaultTopic())
+                .key("key-9527")
+                .value("value-9527"));
+
+        Assertions.assertFalse(f1.isDone());
+        producer.completeNext();
+
+        Assertions.assertEquals(this.defaultTopic(), f1.get().topic());
+    }
+
+    @Test
+    void testSendAll() {
+        MockProducer<String, String> producer = new MockProducer<>(false, new StringSerializer(), new StringSerializer());
+        AsyncSender<String, String> sender = new AsyncSenderImpl<>(producer);
+
+        CompletableFuture<List<RecordMetadata>> f1 = sender.sendAll(Arrays.asList(
+                new ProducerRecord<>(this.defaultTopic(), "k1", "v1"),
+                new ProducerRecord<>(this.defaultTopic(), "k2", "v2")
+        ));
+
+        producer.completeNext();
+        Assertions.assertFalse(f1.isDone());
+        producer.completeNext();
+
+        Assertions.assertEquals(2, f1.join().size());
+
+        CompletableFuture<List<RecordMetadata>> f2 = sender.sendAll(Arrays.asList(
+                new ProducerRecord<>(this.defaultTopic(), "k3", "v3"),
+                new ProducerRecord<>(this.defaultTopic(), "k4", "v4")
+        ));
+
+        producer.errorNext(new RuntimeException("broker down"));
+        producer.completeNext();
+
+        Assertions.assertTrue(f2.isCompletedExceptionally());
+    }
+
+    @Test
+    void testSend_closed() {
+        MockProducer<String, String> producer = new MockProducer<>(true, new StringSerializer(), new StringSerializer());
+        producer.close();
+
+        CompletableFuture<RecordMetadata> f1 = new AsyncSenderImpl<>(producer)
+                .send(new ProducerRecord<>(this.defaultTopic(), "k", "v"));
+
+        Assertions.assertTrue(f1.isCompletedExceptionally());
+    }
+}
@@ -0,0 +1,212 @@
+/*
+ * Copyright © 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.kafka.plus.core.clients.producer.spillover;
+
+import io.github.photowey.kafka.plus.core.exception.KafkaPlusRuntimeException;
+import org.apache.kafka.clients.producer.Callback;
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.errors.RecordTooLargeException;
+import org.apache.kafka.common.errors.TimeoutException;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * {@code SpilloverProducerTest}
+ *
+ * @author photowey
+ * @version 3.7.0.1.6
+ * @since 2026/10/18
+ */
+class SpilloverProducerTest {
+
+    private static final String TOPIC = "kafka-plus-test";
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testSpill_and_drain_in_order() throws Exception {
+        // The outage fails the in-flight records through their callbacks, as KafkaProducer does.
+        MockProducer<byte[], byte[]> delegate = new MockProducer<>(false, new ByteArraySerializer(), new ByteArraySerializer());
+        // Small segments: the spilled records roll over several segments.
+        SpilloverProducer<String, String> producer = new SpilloverProducer<>(
+                delegate, new StringSerializer(), new StringSerializer(), new SpilloverLog(this.directory, 256), 4, 60_000);
+
+        List<Future<RecordMetadata>> futures = new ArrayList<>();
+        futures.add(producer.send(new ProducerRecord<>(TOPIC, "k", "v0")));
+        Assertions.assertTrue(delegate.completeNext());
+
+        for (int i = 1; i <= 10; i++) {
+            futures.add(producer.send(new ProducerRecord<>(TOPIC, "k", "v" + i)));
+        }
+        Assertions.assertFalse(producer.spilling());
+        for (int i = 1; i <= 10; i++) {
+            Assertions.assertTrue(delegate.errorNext(new TimeoutException("delivery.timeout.ms")));
+        }
+        Assertions.assertTrue(producer.spilling());
+        Assertions.assertFalse(futures.get(1).isDone());
+
+        // Recovered: the new records still go behind the spilled ones.
+        futures.add(producer.send(new ProducerRecord<>(TOPIC, "k", "v11")));
+        Assertions.assertEquals(11, delegate.history().size());
+
+        int drained = 0;
+        while (producer.spilling()) {
+            drained += this.drain(producer, delegate);
+        }
+
+        Assertions.assertEquals(11, drained);
+        for (Future<RecordMetadata> future : futures) {
+            Assertions.assertNotNull(future.get(1, TimeUnit.SECONDS));
+        }
+
+        // The failed attempts, then the drained records in order.
+        List<ProducerRecord<byte[], byte[]>> history = delegate.history();
+        Assertions.assertEquals(22, history.size());
+        for (int i = 0; i < 11; i++) {
+            Assertions.assertEquals("v" + (i + 1), new String(history.get(11 + i).value(), StandardCharsets.UTF_8));
+        }
+
+        producer.close();
+    }
+
+    @Test
+    void testClose_fail_undrained_futures() throws Exception {
+        MockProducer<byte[], byte[]> delegate = new MockProducer<>(false, new ByteArraySerializer(), new ByteArraySerializer());
+        SpilloverProducer<String, String> producer = new SpilloverProducer<>(
+                delegate, new StringSerializer(), new StringSerializer(), new SpilloverLog(this.directory, 1 << 10), 4, 60_000);
+
+        AtomicReference<Exception> callback = new AtomicReference<>();
+        Future<RecordMetadata> future = producer.send(new ProducerRecord<>(TOPIC, "k", "v"), (metadata, e) -> callback.set(e));
+        delegate.errorNext(new TimeoutException("delivery.timeout.ms"));
+        Assertions.assertTrue(producer.spilling());
+
+        producer.close();
+
+        ExecutionException e = Assertions.assertThrows(ExecutionException.class, () -> future.get(1, TimeUnit.SECONDS));
+        Assertions.assertTrue(e.getCause() instanceof KafkaPlusRuntimeException);
+        Assertions.assertSame(e.getCause(), callback.get());
+    }
+
+    @Test
+    void testRecover_after_restart() {
+        // A producer which throws the timeouts synchronously.
+        MockProducer<byte[], byte[]> delegate = new MockProducer<>(true, new ByteArraySerializer(), new ByteArraySerializer());
+        delegate.sendException = new TimeoutException("max.block.ms");
+        SpilloverProducer<String, String> producer = new SpilloverProducer<>(
+                delegate, new StringSerializer(), new StringSerializer(), new SpilloverLog(this.directory, 1 << 10), 4, 60_000);
+
+        ProducerRecord<String, String> record = new ProducerRecord<>(TOPIC, 1, 1L, "k", "v");
+        record.headers().add("h", "x".getBytes(StandardCharsets.UTF_8));
+        producer.send(record);
+        producer.send(new ProducerRecord<>(TOPIC, null, null));
+        producer.close();
+
+        MockProducer<byte[], byte[]> restarted = new MockProducer<>(true, new ByteArraySerializer(), new ByteArraySerializer());
+        SpilloverProducer<String, String> recovered = new SpilloverProducer<>(
+                restarted, new StringSerializer(), new StringSerializer(), new SpilloverLog(this.directory, 1 << 10), 4, 60_000);
+
+        Assertions.assertTrue(recovered.spilling());
+        Assertions.assertEquals(2, recovered.drain());
+        Assertions.assertFalse(recovered.spilling());
+
+        ProducerRecord<byte[], byte[]> first = restarted.history().get(0);
+        Assertions.assertEquals(1, first.partition());
+        Assertions.assertEquals(1L, first.timestamp());
+        Assertions.assertEquals("k", new String(first.key(), StandardCharsets.UTF_8));
+        Assertions.assertEquals("x", new String(first.headers().lastHeader("h").value(), StandardCharsets.UTF_8));
+
+        ProducerRecord<byte[], byte[]> second = restarted.history().get(1);
+        Assertions.assertNull(second.key());
+        Assertions.assertNull(second.value());
+
+        recovered.close();
+    }
+
+    @Test
+    void testDrain_skip_rejected_record() throws Exception {
+        // Rejects the "poison" value for good once the outage is over.
+        MockProducer<byte[], byte[]> delegate = new MockProducer<byte[], byte[]>(true, new ByteArraySerializer(), new ByteArraySerializer()) {
+            @Override
+            public synchronized Future<RecordMetadata> send(ProducerRecord<byte[], byte[]> record, Callback callback) {
+                if (null == this.sendException && "poison".equals(new String(record.value(), StandardCharsets.UTF_8))) {
+                    RecordTooLargeException e = new RecordTooLargeException("The message is too large.");
+                    callback.onCompletion(null, e);
+                    CompletableFuture<RecordMetadata> future = new CompletableFuture<>();
+                    future.completeExceptionally(e);
+
+                    return future;
+                }
+
+                return super.send(record, callback);
+            }
+        };
+        delegate.sendException = new TimeoutException("max.block.ms");
+        SpilloverProducer<String, String> producer = new SpilloverProducer<>(
+                delegate, new StringSerializer(), new StringSerializer(), new SpilloverLog(this.directory, 1 << 10), 4, 60_000);
+
+        Future<RecordMetadata> before = producer.send(new ProducerRecord<>(TOPIC, "k", "v0"));
+        Future<RecordMetadata> poison = producer.send(new ProducerRecord<>(TOPIC, "k", "poison"));
+        Future<RecordMetadata> after = producer.send(new ProducerRecord<>(TOPIC, "k", "v2"));
+        Assertions.assertTrue(producer.spilling());
+
+        delegate.sendException = null;
+        Assertions.assertEquals(3, producer.drain());
+        Assertions.assertFalse(producer.spilling());
+
+        Assertions.assertNotNull(before.get(1, TimeUnit.SECONDS));
+        ExecutionException e = Assertions.assertThrows(ExecutionException.class, () -> poison.get(1, TimeUnit.SECONDS));
+        Assertions.assertTrue(e.getCause() instanceof RecordTooLargeException);
+        Assertions.assertNotNull(after.get(1, TimeUnit.SECONDS));
+
+        // Not a disk queue anymore: the new records go straight to the delegate.
+        Assertions.assertTrue(producer.send(new ProducerRecord<>(TOPIC, "k", "v3")).isDone());
+        Assertions.assertFalse(producer.spilling());
+
+        producer.close();
+    }
+
+    // ----------------------------------------------------------------
+
+    /**
+     * Drain a chunk, acknowledging the re-sent records from the test thread.
+     */
+    private int drain(SpilloverProducer<String, String> producer, MockProducer<byte[], byte[]> delegate) throws Exception {
+        CompletableFuture<Integer> drained = CompletableFuture.supplyAsync(producer::drain);
+        while (!drained.isDone()) {
+            if (!delegate.completeNext()) {
+                Thread.sleep(1);
+            }
+        }
+
+        return drained.get();
+    }
+}
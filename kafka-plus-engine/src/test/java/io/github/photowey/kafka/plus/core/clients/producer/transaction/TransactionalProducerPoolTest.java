@@ -0,0 +1,244 @@
+/*
+ * Copyright © 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.kafka.plus.core.clients.producer.transaction;
+
+import io.github.photowey.kafka.plus.core.exception.KafkaPlusRuntimeException;
+import org.apache.kafka.clients.consumer.ConsumerGroupMetadata;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.ProducerFencedException;
+import org.apache.kafka.common.errors.TimeoutException;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * {@code TransactionalProducerPoolTest}
+ *
+ * @author photowey
+ * @version 3.7.0.1.6
+ * @since 2026/10/18
+ */
+class TransactionalProducerPoolTest {
+
+    private static final String TOPIC = "kafka-plus-test";
+    private static final TopicPartition PARTITION = new TopicPartition(TOPIC, 0);
+    private static final ConsumerGroupMetadata GROUP = new ConsumerGroupMetadata("kafka-plus-group");
+
+    @Test
+    void testLease_batched_commit() {
+        List<String> ids = new ArrayList<>();
+        List<MockProducer<String, String>> producers = new ArrayList<>();
+        TransactionalProducerPool<String, String> pool = new TransactionalProducerPool<>("kafka-plus-tx", 2, id -> {
+            ids.add(id);
+            MockProducer<String, String> mock = new MockProducer<>(true, new StringSerializer(), new StringSerializer());
+            producers.add(mock);
+
+            return mock;
+        }, 3, 60_000);
+
+        Assertions.assertEquals(2, pool.idle());
+        Assertions.assertEquals(2, ids.size());
+        Assertions.assertTrue(ids.contains("kafka-plus-tx-0") && ids.contains("kafka-plus-tx-1"));
+        Assertions.assertTrue(producers.get(0).transactionInitialized());
+
+        // 3 consumed-record groups in 1 transaction.
+        MockProducer<String, String> mock = producers.get(0);
+        try (TransactionalLease<String, String> lease = pool.lease(Duration.ofSeconds(1))) {
+            Assertions.assertEquals(1, pool.idle());
+            for (int i = 0; i < 2; i++) {
+                lease.send(new ProducerRecord<>(TOPIC, "k", "v" + i));
+                lease.offsets(Collections.singletonMap(PARTITION, new OffsetAndMetadata(i + 1)), GROUP);
+                Assertions.assertFalse(lease.commitIfDue());
+            }
+
+            Assertions.assertEquals(0, mock.commitCount());
+            Assertions.assertTrue(mock.transactionInFlight());
+
+            lease.send(new ProducerRecord<>(TOPIC, "k", "v2"));
+            lease.offsets(Collections.singletonMap(PARTITION, new OffsetAndMetadata(3)), GROUP);
+            Assertions.assertTrue(lease.commitIfDue());
+        }
+
+        Assertions.assertEquals(1, mock.commitCount());
+        Assertions.assertEquals(3, mock.history().size());
+        Map<TopicPartition, OffsetAndMetadata> committed = mock.consumerGroupOffsetsHistory().get(0).get(GROUP.groupId());
+        Assertions.assertEquals(3, committed.get(PARTITION).offset());
+
+        pool.close();
+        Assertions.assertTrue(producers.get(0).closed());
+        Assertions.assertTrue(producers.get(1).closed());
+        Assertions.assertThrows(KafkaPlusRuntimeException.class, () -> pool.lease(Duration.ZERO));
+    }
+
+    @Test
+    void testLease_uncommitted_aborted_on_release() {
+        List<MockProducer<String, String>> producers = new ArrayList<>();
+        TransactionalProducerPool<String, String> pool = new TransactionalProducerPool<>("kafka-plus-tx", 1, id -> {
+            MockProducer<String, String> mock = new MockProducer<>(true, new StringSerializer(), new StringSerializer());
+            producers.add(mock);
+
+            return mock;
+        });
+
+        TransactionalLease<String, String> first = pool.lease(Duration.ofSeconds(1));
+        first.send(new ProducerRecord<>(TOPIC, "k", "v0"));
+        first.offsets(Collections.singletonMap(PARTITION, new OffsetAndMetadata(1)), GROUP);
+        Assertions.assertThrows(KafkaPlusRuntimeException.class, first::close);
+
+        MockProducer<String, String> mock = producers.get(0);
+        Assertions.assertTrue(mock.transactionAborted());
+        Assertions.assertFalse(mock.transactionInFlight());
+        Assertions.assertEquals(1, pool.idle());
+
+        // The next lessee commits its own records only.
+        try (TransactionalLease<String, String> lease = pool.lease(Duration.ofSeconds(1))) {
+            lease.send(new ProducerRecord<>(TOPIC, "k", "v1"));
+            lease.commit();
+        }
+
+        Assertions.assertEquals(1, mock.history().size());
+        Assertions.assertEquals("v1", mock.history().get(0).value());
+        Assertions.assertTrue(mock.consumerGroupOffsetsHistory().isEmpty());
+        pool.close();
+    }
+
+    @Test
+    void testLease_recreate_failed() {
+        List<MockProducer<String, String>> producers = new ArrayList<>();
+        AtomicBoolean unavailable = new AtomicBoolean();
+        TransactionalProducerPool<String, String> pool = new TransactionalProducerPool<>("kafka-plus-tx", 1, id -> {
+            if (unavailable.get()) {
+                throw new KafkaPlusRuntimeException("The brokers are unavailable.");
+            }
+            MockProducer<String, String> mock = new MockProducer<>(true, new StringSerializer(), new StringSerializer());
+            producers.add(mock);
+
+            return mock;
+        });
+
+        try (TransactionalLease<String, String> lease = pool.lease(Duration.ofSeconds(1))) {
+            lease.send(new ProducerRecord<>(TOPIC, "k", "v"));
+            producers.get(0).commitTransactionException = new ProducerFencedException("fenced");
+            unavailable.set(true);
+
+            KafkaPlusRuntimeException e = Assertions.assertThrows(KafkaPlusRuntimeException.class, lease::commit);
+            Assertions.assertEquals(1, e.getSuppressed().length);
+        }
+
+        // Recreated by the next lessee, instead of using the closed one.
+        unavailable.set(false);
+        try (TransactionalLease<String, String> lease = pool.lease(Duration.ofSeconds(1))) {
+            lease.send(new ProducerRecord<>(TOPIC, "k", "v"));
+            lease.commit();
+        }
+
+        Assertions.assertEquals(2, producers.size());
+        Assertions.assertTrue(producers.get(0).closed());
+        Assertions.assertEquals(1, producers.get(1).commitCount());
+        pool.close();
+    }
+
+    @Test
+    void testLease_fenced_recreated() {
+        List<MockProducer<String, String>> producers = new ArrayList<>();
+        TransactionalProducerPool<String, String> pool = new TransactionalProducerPool<>("kafka-plus-tx", 1, id -> {
+            MockProducer<String, String> mock = new MockProducer<>(true, new StringSerializer(), new StringSerializer());
+            producers.add(mock);
+
+            return mock;
+        });
+
+        try (TransactionalLease<String, String> lease = pool.lease(Duration.ofSeconds(1))) {
+            lease.send(new ProducerRecord<>(TOPIC, "k", "v"));
+            producers.get(0).commitTransactionException = new ProducerFencedException("fenced");
+
+            KafkaPlusRuntimeException e = Assertions.assertThrows(KafkaPlusRuntimeException.class, lease::commit);
+            Assertions.assertTrue(e.getCause() instanceof ProducerFencedException);
+        }
+
+        Assertions.assertEquals(2, producers.size());
+        Assertions.assertTrue(producers.get(0).closed());
+        Assertions.assertTrue(producers.get(1).transactionInitialized());
+
+        try (TransactionalLease<String, String> lease = pool.lease(Duration.ofSeconds(1))) {
+            Assertions.assertThrows(KafkaPlusRuntimeException.class, () -> pool.lease(Duration.ZERO));
+            lease.send(new ProducerRecord<>(TOPIC, "k", "v"));
+            lease.commit();
+        }
+
+        Assertions.assertEquals(1, producers.get(1).commitCount());
+        pool.close();
+    }
+
+    @Test
+    void testLease_commit_timeout_resumed() {
+        List<MockProducer<String, String>> producers = new ArrayList<>();
+        TransactionalProducerPool<String, String> pool = new TransactionalProducerPool<>("kafka-plus-tx", 1, id -> {
+            MockProducer<String, String> mock = new MockProducer<>(true, new StringSerializer(), new StringSerializer());
+            producers.add(mock);
+
+            return mock;
+        });
+
+        MockProducer<String, String> mock = producers.get(0);
+        try (TransactionalLease<String, String> lease = pool.lease(Duration.ofSeconds(1))) {
+            lease.send(new ProducerRecord<>(TOPIC, "k", "v"));
+            lease.offsets(Collections.singletonMap(PARTITION, new OffsetAndMetadata(1)), GROUP);
+            mock.commitTransactionException = new TimeoutException("commit");
+
+            // Not aborted, not recreated: the outcome is unknown.
+            Assertions.assertThrows(TransactionOutcomeUnknownException.class, lease::commit);
+            Assertions.assertFalse(mock.transactionAborted());
+            Assertions.assertEquals(1, producers.size());
+
+            // Resumed: the offsets aren't sent twice.
+            mock.commitTransactionException = null;
+            lease.commit();
+        }
+
+        Assertions.assertEquals(1, mock.commitCount());
+        Assertions.assertEquals(1, mock.consumerGroupOffsetsHistory().size());
+
+        // Still timing out on release: the producer is recreated for the next lessee, nothing is aborted.
+        try (TransactionalLease<String, String> lease = pool.lease(Duration.ofSeconds(1))) {
+            lease.send(new ProducerRecord<>(TOPIC, "k", "v"));
+            mock.commitTransactionException = new TimeoutException("commit");
+            Assertions.assertThrows(TransactionOutcomeUnknownException.class, lease::commit);
+            Assertions.assertThrows(TransactionOutcomeUnknownException.class, lease::close);
+        }
+
+        Assertions.assertTrue(mock.closed());
+        Assertions.assertFalse(mock.transactionAborted());
+        try (TransactionalLease<String, String> lease = pool.lease(Duration.ofSeconds(1))) {
+            lease.send(new ProducerRecord<>(TOPIC, "k", "v"));
+            lease.commit();
+        }
+
+        Assertions.assertEquals(2, producers.size());
+        Assertions.assertEquals(1, producers.get(1).commitCount());
+        pool.close();
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright © 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.kafka.plus.core.clients.producer.warmup;
+
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.common.Cluster;
+import org.apache.kafka.common.Node;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.errors.TimeoutException;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code ProducerWarmerTest}
+ *
+ * @author photowey
+ * @version 3.7.0.1.6
+ * @since 2026/10/18
+ */
+class ProducerWarmerTest {
+
+    private static final Node NODE = new Node(0, "localhost", 9092);
+
+    @Test
+    void testWarmUp() throws Exception {
+        Cluster cluster = new Cluster("kafka-plus", Collections.singletonList(NODE), Arrays.asList(
+                new PartitionInfo("orders", 0, NODE, new Node[]{NODE}, new Node[]{NODE}),
+                new PartitionInfo("orders", 1, NODE, new Node[]{NODE}, new Node[]{NODE}),
+                new PartitionInfo("payments", 0, NODE, new Node[]{NODE}, new Node[]{NODE})
+        ), Collections.emptySet(), Collections.emptySet());
+
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        MockProducer<String, String> producer = new MockProducer<String, String>(cluster, true, null, new StringSerializer(), new StringSerializer()) {
+            @Override
+            public synchronized List<PartitionInfo> partitionsFor(String topic) {
+                threads.add(Thread.currentThread().getName());
+                if ("missing".equals(topic)) {
+                    throw new TimeoutException("Topic missing not present in metadata after 60000 ms.");
+                }
+
+                return super.partitionsFor(topic);
+            }
+        };
+
+        Map<String, List<PartitionInfo>> partitions = ProducerWarmer
+                .warmUp(producer, Arrays.asList("orders", "payments", "missing", "orders"))
+                .get(5, TimeUnit.SECONDS);
+
+        Assertions.assertEquals(2, partitions.size());
+        Assertions.assertEquals(2, partitions.get("orders").size());
+        Assertions.assertEquals(1, partitions.get("payments").size());
+        Assertions.assertFalse(partitions.containsKey("missing"));
+        Assertions.assertTrue(threads.stream().allMatch(name -> name.startsWith("kafka-plus-producer-warmer-")));
+    }
+
+    @Test
+    void testWarmUp_empty() throws Exception {
+        MockProducer<String, String> producer = new MockProducer<>(true, new StringSerializer(), new StringSerializer());
+
+        Assertions.assertTrue(ProducerWarmer.warmUp(producer, Collections.emptyList()).get(1, TimeUnit.SECONDS).isEmpty());
+    }
+}
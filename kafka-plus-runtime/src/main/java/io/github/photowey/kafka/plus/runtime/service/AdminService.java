@@ -15,8 +15,13 @@
  */
 package io.github.photowey.kafka.plus.runtime.service;
 
+import io.github.photowey.kafka.plus.core.clients.admin.lag.ConsumerLagMonitor;
+import io.github.photowey.kafka.plus.core.clients.admin.lag.LagMonitorSettings;
 import io.github.photowey.kafka.plus.core.clients.builder.admin.AdminBuilder;
 import io.github.photowey.kafka.plus.core.clients.builder.admin.topic.NewTopicBuilder;
+import org.apache.kafka.clients.admin.Admin;
+
+import java.util.Collection;
 
 /**
  * {@code AdminService}
@@ -40,4 +45,17 @@ public interface AdminService {
      * @return {@link NewTopicBuilder}
      */
     NewTopicBuilder createTopic();
+
+    /**
+     * Create {@link ConsumerLagMonitor} instance, which publishes the per-partition lag gauges of the groups.
+     * |- The offsets of all the groups are fetched by the batched queries on the shared {@link Admin}.
+     * |- Invoke {@link ConsumerLagMonitor#start()} to refresh every {@link LagMonitorSettings#intervalMs()}.
+     *
+     * @param admin    the shared {@link Admin}, not closed by the monitor.
+     * @param groups   the consumer groups.
+     * @param settings the {@link LagMonitorSettings}.
+     * @return {@link ConsumerLagMonitor}
+     * @since 3.7.0.1.6
+     */
+    ConsumerLagMonitor createLagMonitor(Admin admin, Collection<String> groups, LagMonitorSettings settings);
 }
\ No newline at end of file
@@ -16,6 +16,19 @@
 package io.github.photowey.kafka.plus.runtime.service;
 
 import io.github.photowey.kafka.plus.core.clients.builder.consumer.ConsumerBuilder;
+import io.github.photowey.kafka.plus.core.clients.consumer.container.AsyncOffsetCommitter;
+import io.github.photowey.kafka.plus.core.clients.consumer.container.Backpressure;
+import io.github.photowey.kafka.plus.core.clients.consumer.container.BackpressureController;
+import io.github.photowey.kafka.plus.core.clients.consumer.container.BatchHandler;
+import io.github.photowey.kafka.plus.core.clients.consumer.container.BatchSettings;
+import io.github.photowey.kafka.plus.core.clients.consumer.container.ConsumerContainer;
+import io.github.photowey.kafka.plus.core.clients.consumer.container.ContainerSettings;
+import io.github.photowey.kafka.plus.core.clients.consumer.container.ErrorHandler;
+import io.github.photowey.kafka.plus.core.clients.consumer.container.RecordHandler;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.common.TopicPartition;
+
+import java.util.function.ToIntFunction;
 
 /**
  * {@code ConsumerService}
@@ -33,4 +46,71 @@ public interface ConsumerService {
      */
     ConsumerBuilder createConsumer();
 
+    /**
+     * Create {@link ConsumerContainer} instance, which owns the poll loop of the consumer.
+     * |- Keep {@code enable.auto.commit=false}, the container commits the handled records.
+     * |- Subscribe the consumer with the {@link ConsumerContainer#rebalanceListener()} to commit the revoked partitions.
+     * |- {@link ContainerSettings#concurrency(int)} greater than {@code 1}: the records of a partition are handled
+     * by the workers in parallel, ordered per key, see {@link io.github.photowey.kafka.plus.core.clients.consumer.container.KeyOrderedDispatcher}.
+     * |- {@link ConsumerBuilder#buildContainer(RecordHandler, ErrorHandler, ContainerSettings)} builds the consumer too.
+     *
+     * @param consumer     the subscribed/assigned {@link Consumer}.
+     * @param handler      the {@link RecordHandler}.
+     * @param errorHandler the {@link ErrorHandler}.
+     * @param settings     the {@link ContainerSettings}.
+     * @param <K>          the key type.
+     * @param <V>          the value type.
+     * @return {@link ConsumerContainer}
+     * @since 3.7.0.1.6
+     */
+    <K, V> ConsumerContainer<K, V> createContainer(
+            Consumer<K, V> consumer, RecordHandler<K, V> handler, ErrorHandler<K, V> errorHandler, ContainerSettings settings);
+
+    /**
+     * Create {@link ConsumerContainer} instance, which delivers the records to the handler in micro-batches.
+     * |- The batches are accumulated across the polls, bounded by the records, the bytes and the max wait.
+     * |- The offsets of a batch are committed after the handler returns.
+     *
+     * @param consumer the subscribed/assigned {@link Consumer}.
+     * @param handler  the {@link BatchHandler}.
+     * @param batch    the {@link BatchSettings}.
+     * @param settings the {@link ContainerSettings}.
+     * @param <K>      the key type.
+     * @param <V>      the value type.
+     * @return {@link ConsumerContainer}
+     * @since 3.7.0.1.6
+     */
+    <K, V> ConsumerContainer<K, V> createBatchContainer(
+            Consumer<K, V> consumer, BatchHandler<K, V> handler, BatchSettings batch, ContainerSettings settings);
+
+    /**
+     * Create {@link AsyncOffsetCommitter} instance, for the hand-written poll loops.
+     * |- Coalesces the processed offsets and issues {@code commitAsync} on the cadence, off the hot loop.
+     * |- Subscribe with it as the {@link org.apache.kafka.clients.consumer.ConsumerRebalanceListener}
+     * to commit the revoked partitions synchronously.
+     * |- {@link ContainerSettings#commitIntervalMs(long)} for the containers.
+     *
+     * @param consumer   the {@link Consumer}, {@code enable.auto.commit=false}.
+     * @param intervalMs the commit interval.
+     * @param <K>        the key type.
+     * @param <V>        the value type.
+     * @return {@link AsyncOffsetCommitter}
+     * @since 3.7.0.1.6
+     */
+    <K, V> AsyncOffsetCommitter<K, V> createCommitter(Consumer<K, V> consumer, long intervalMs);
+
+    /**
+     * Create {@link BackpressureController} instance, for the hand-written poll loops.
+     * |- Pauses the partitions whose hand-off queues are over the high watermark, resumes them below the low watermark.
+     * |- {@link ContainerSettings#backpressure(Backpressure)} for the containers.
+     *
+     * @param consumer     the {@link Consumer}.
+     * @param depth        the queued records of a partition.
+     * @param backpressure the {@link Backpressure}.
+     * @return {@link BackpressureController}
+     * @since 3.7.0.1.6
+     */
+    BackpressureController createBackpressure(
+            Consumer<?, ?> consumer, ToIntFunction<TopicPartition> depth, Backpressure backpressure);
+
 }
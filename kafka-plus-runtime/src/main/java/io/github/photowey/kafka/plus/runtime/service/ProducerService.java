@@ -17,6 +17,27 @@ package io.github.photowey.kafka.plus.runtime.service;
 
 import io.github.photowey.kafka.plus.core.clients.builder.producer.ProducerBuilder;
 import io.github.photowey.kafka.plus.core.clients.builder.record.ProducerRecordBuilder;
+import io.github.photowey.kafka.plus.core.clients.builder.record.ReusableProducerRecordBuilder;
+import io.github.photowey.kafka.plus.core.clients.producer.aggregation.AggregatingSender;
+import io.github.photowey.kafka.plus.core.clients.producer.dedup.DedupProducer;
+import io.github.photowey.kafka.plus.core.clients.producer.dedup.DedupWindow;
+import io.github.photowey.kafka.plus.core.clients.producer.fanout.FanOutPolicy;
+import io.github.photowey.kafka.plus.core.clients.producer.fanout.FanOutProducer;
+import io.github.photowey.kafka.plus.core.clients.producer.lane.PriorityLanes;
+import io.github.photowey.kafka.plus.core.clients.producer.metric.SendMetricsRegistry;
+import io.github.photowey.kafka.plus.core.clients.producer.ratelimit.RateLimit;
+import io.github.photowey.kafka.plus.core.clients.producer.ratelimit.RateLimitedSender;
+import io.github.photowey.kafka.plus.core.clients.producer.reactive.ProducerSink;
+import io.github.photowey.kafka.plus.core.clients.producer.registry.ProducerRegistry;
+import io.github.photowey.kafka.plus.core.clients.producer.sender.AsyncSender;
+import io.github.photowey.kafka.plus.core.clients.producer.transaction.TransactionalProducerPool;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.Serializer;
+
+import java.io.Closeable;
+import java.util.Map;
+import java.util.function.Function;
 
 /**
  * {@code ProducerService}
@@ -25,7 +46,7 @@ import io.github.photowey.kafka.plus.core.clients.builder.record.ProducerRecordB
  * @since 2024/04/05
  * @version 3.7.0.1.0
  */
-public interface ProducerService {
+public interface ProducerService extends Closeable {
 
     /**
      * Create {@link ProducerRecordBuilder} instance.
@@ -34,6 +55,17 @@ public interface ProducerService {
      */
     ProducerRecordBuilder createProducerRecord();
 
+    /**
+     * Create {@link ReusableProducerRecordBuilder} instance.
+     * |- Reused by the hot send loop of one thread, it's NOT thread-safe.
+     *
+     * @param <K> the key type.
+     * @param <V> the value type.
+     * @return {@link ReusableProducerRecordBuilder}
+     * @since 3.7.0.1.6
+     */
+    <K, V> ReusableProducerRecordBuilder<K, V> createReusableProducerRecord();
+
     /**
      * Create {@link ProducerBuilder} instance.
      *
@@ -41,4 +73,141 @@ public interface ProducerService {
      */
     ProducerBuilder createProducer();
 
+    /**
+     * The {@link ProducerRegistry} of the shared producers.
+     * |- {@link ProducerBuilder#buildShared()}
+     *
+     * @return {@link ProducerRegistry}
+     * @since 3.7.0.1.6
+     */
+    ProducerRegistry producerRegistry();
+
+    /**
+     * Create {@link AsyncSender} instance.
+     *
+     * @param producer the {@link Producer}.
+     * @param <K>      the key type.
+     * @param <V>      the value type.
+     * @return {@link AsyncSender}
+     * @since 3.7.0.1.6
+     */
+    <K, V> AsyncSender<K, V> sender(Producer<K, V> producer);
+
+    /**
+     * Create {@link ProducerSink} instance.
+     * |- The upstream demand follows the free {@code buffer.memory} and the in-flight records.
+     *
+     * @param producer    the {@link Producer}.
+     * @param maxInFlight the max records sent but not acknowledged yet.
+     * @param <K>         the key type.
+     * @param <V>         the value type.
+     * @return {@link ProducerSink}
+     * @since 3.7.0.1.6
+     */
+    <K, V> ProducerSink<K, V> sink(Producer<K, V> producer, int maxInFlight);
+
+    /**
+     * Create {@link AggregatingSender} instance.
+     * |- Packs the small messages of the same topic/partition/key into one record within the size/time window.
+     *
+     * @param producer        the {@link Producer} of the envelopes.
+     * @param valueSerializer the serializer of the logical messages.
+     * @param maxBytes        the max envelope bytes.
+     * @param lingerMs        the max time a message waits in the envelope.
+     * @param <K>             the key type.
+     * @param <V>             the value type.
+     * @return {@link AggregatingSender}
+     * @since 3.7.0.1.6
+     */
+    <K, V> AggregatingSender<K, V> aggregatingSender(
+            Producer<K, byte[]> producer, Serializer<V> valueSerializer, int maxBytes, long lingerMs);
+
+    /**
+     * Create {@link TransactionalProducerPool} instance.
+     * |- The producers are pre-initialised with the stable {@code transactional.id}s: {@code prefix-0 .. prefix-(size - 1)}.
+     * |- A transaction belongs to its lease, the uncommitted one is aborted when the lease is closed.
+     *
+     * @param transactionalIdPrefix the stable {@code transactional.id} prefix.
+     * @param size                  the pool size.
+     * @param factory               creates the producer of the given {@code transactional.id}.
+     * @param <K>                   the key type.
+     * @param <V>                   the value type.
+     * @return {@link TransactionalProducerPool}
+     * @since 3.7.0.1.6
+     */
+    <K, V> TransactionalProducerPool<K, V> transactionalPool(
+            String transactionalIdPrefix, int size, Function<String, Producer<K, V>> factory);
+
+    /**
+     * Create {@link RateLimitedSender} instance.
+     * |- Smooths the bursts into the per-topic budget, tightened while the broker throttles the producer.
+     *
+     * @param producer the {@link Producer}.
+     * @param limit    the default per-topic {@link RateLimit}.
+     * @param <K>      the key type.
+     * @param <V>      the value type.
+     * @return {@link RateLimitedSender}
+     * @since 3.7.0.1.6
+     */
+    <K, V> RateLimitedSender<K, V> rateLimitedSender(Producer<K, V> producer, RateLimit limit);
+
+    /**
+     * The per-partition send latency/record size histograms.
+     * |- Recorded by the producers built with {@link ProducerBuilder#sendMetrics()}.
+     *
+     * @return {@link SendMetricsRegistry}
+     * @since 3.7.0.1.6
+     */
+    SendMetricsRegistry sendMetrics();
+
+    /**
+     * Create {@link DedupProducer} instance.
+     * |- Drops the probable duplicates of the business key within the window before serialization.
+     * |- The key is remembered once its record is acknowledged, or its transaction is committed.
+     *
+     * @param producer    the delegate {@link Producer}.
+     * @param businessKey the business key bytes of the record, {@code null} means never deduplicated.
+     * @param window      the {@link DedupWindow}.
+     * @param <K>         the key type.
+     * @param <V>         the value type.
+     * @return {@link DedupProducer}
+     * @since 3.7.0.1.6
+     */
+    <K, V> DedupProducer<K, V> dedupProducer(
+            Producer<K, V> producer, Function<ProducerRecord<K, V>, byte[]> businessKey, DedupWindow window);
+
+    /**
+     * Create {@link PriorityLanes} instance.
+     * |- Each lane is backed by its own producer, e.g.: tuned by {@link io.github.photowey.kafka.plus.core.clients.producer.lane.LaneProfile}.
+     *
+     * @param defaultLane the lane of the records without route.
+     * @param <K>         the key type.
+     * @param <V>         the value type.
+     * @return {@link PriorityLanes}
+     * @since 3.7.0.1.6
+     */
+    <K, V> PriorityLanes<K, V> priorityLanes(String defaultLane);
+
+    /**
+     * Create {@link FanOutProducer} instance.
+     * |- Writes each record to all the clusters in parallel, completed per the {@link FanOutPolicy}.
+     * |- {@link ProducerBuilder#buildFanOut(FanOutPolicy)} builds the producers of the configured clusters.
+     *
+     * @param clusters the producers by the cluster name.
+     * @param policy   the {@link FanOutPolicy}.
+     * @param <K>      the key type.
+     * @param <V>      the value type.
+     * @return {@link FanOutProducer}
+     * @since 3.7.0.1.6
+     */
+    <K, V> FanOutProducer<K, V> fanOutProducer(Map<String, ? extends Producer<K, V>> clusters, FanOutPolicy policy);
+
+    /**
+     * Close the shared producers of the {@link ProducerRegistry}.
+     * |- Invoked on the engine(or the Spring context) shutdown.
+     *
+     * @since 3.7.0.1.6
+     */
+    @Override
+    void close();
 }
@@ -15,11 +15,16 @@
  */
 package io.github.photowey.kafka.plus.runtime.service.impl;
 
+import io.github.photowey.kafka.plus.core.clients.admin.lag.ConsumerLagMonitor;
+import io.github.photowey.kafka.plus.core.clients.admin.lag.LagMonitorSettings;
 import io.github.photowey.kafka.plus.core.clients.builder.admin.AdminBuilder;
 import io.github.photowey.kafka.plus.core.clients.builder.admin.AdminBuilderImpl;
 import io.github.photowey.kafka.plus.core.clients.builder.admin.topic.NewTopicBuilder;
 import io.github.photowey.kafka.plus.core.clients.builder.admin.topic.NewTopicBuilderImpl;
 import io.github.photowey.kafka.plus.runtime.service.AdminService;
+import org.apache.kafka.clients.admin.Admin;
+
+import java.util.Collection;
 
 /**
  * {@code AdminServiceImpl}
@@ -39,4 +44,9 @@ public class AdminServiceImpl implements AdminService {
     public NewTopicBuilder createTopic() {
         return new NewTopicBuilderImpl();
     }
+
+    @Override
+    public ConsumerLagMonitor createLagMonitor(Admin admin, Collection<String> groups, LagMonitorSettings settings) {
+        return new ConsumerLagMonitor(admin, groups, settings);
+    }
 }
\ No newline at end of file
@@ -17,7 +17,20 @@ package io.github.photowey.kafka.plus.runtime.service.impl;
 
 import io.github.photowey.kafka.plus.core.clients.builder.consumer.ConsumerBuilder;
 import io.github.photowey.kafka.plus.core.clients.builder.consumer.ConsumerBuilderImpl;
+import io.github.photowey.kafka.plus.core.clients.consumer.container.AsyncOffsetCommitter;
+import io.github.photowey.kafka.plus.core.clients.consumer.container.Backpressure;
+import io.github.photowey.kafka.plus.core.clients.consumer.container.BackpressureController;
+import io.github.photowey.kafka.plus.core.clients.consumer.container.BatchHandler;
+import io.github.photowey.kafka.plus.core.clients.consumer.container.BatchSettings;
+import io.github.photowey.kafka.plus.core.clients.consumer.container.ConsumerContainer;
+import io.github.photowey.kafka.plus.core.clients.consumer.container.ContainerSettings;
+import io.github.photowey.kafka.plus.core.clients.consumer.container.ErrorHandler;
+import io.github.photowey.kafka.plus.core.clients.consumer.container.RecordHandler;
 import io.github.photowey.kafka.plus.runtime.service.ConsumerService;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.common.TopicPartition;
+
+import java.util.function.ToIntFunction;
 
 /**
  * {@code ConsumerServiceImpl}
@@ -32,4 +45,27 @@ public class ConsumerServiceImpl implements ConsumerService {
     public ConsumerBuilder createConsumer() {
         return new ConsumerBuilderImpl();
     }
-}
\ No newline at end of file
+
+    @Override
+    public <K, V> ConsumerContainer<K, V> createContainer(
+            Consumer<K, V> consumer, RecordHandler<K, V> handler, ErrorHandler<K, V> errorHandler, ContainerSettings settings) {
+        return new ConsumerContainer<>(consumer, handler, errorHandler, settings);
+    }
+
+    @Override
+    public <K, V> ConsumerContainer<K, V> createBatchContainer(
+            Consumer<K, V> consumer, BatchHandler<K, V> handler, BatchSettings batch, ContainerSettings settings) {
+        return new ConsumerContainer<>(consumer, handler, batch, settings);
+    }
+
+    @Override
+    public <K, V> AsyncOffsetCommitter<K, V> createCommitter(Consumer<K, V> consumer, long intervalMs) {
+        return new AsyncOffsetCommitter<>(consumer, intervalMs);
+    }
+
+    @Override
+    public BackpressureController createBackpressure(
+            Consumer<?, ?> consumer, ToIntFunction<TopicPartition> depth, Backpressure backpressure) {
+        return new BackpressureController(consumer, depth, backpressure);
+    }
+}
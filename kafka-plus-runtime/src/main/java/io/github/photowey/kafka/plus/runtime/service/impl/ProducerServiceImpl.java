@@ -19,7 +19,34 @@ import io.github.photowey.kafka.plus.core.clients.builder.producer.ProducerBuild
 import io.github.photowey.kafka.plus.core.clients.builder.producer.ProducerBuilderImpl;
 import io.github.photowey.kafka.plus.core.clients.builder.record.ProducerRecordBuilder;
 import io.github.photowey.kafka.plus.core.clients.builder.record.ProducerRecordBuilderImpl;
+import io.github.photowey.kafka.plus.core.clients.builder.record.ReusableProducerRecordBuilder;
+import io.github.photowey.kafka.plus.core.clients.producer.aggregation.AggregatingSender;
+import io.github.photowey.kafka.plus.core.clients.producer.dedup.DedupProducer;
+import io.github.photowey.kafka.plus.core.clients.producer.dedup.DedupWindow;
+import io.github.photowey.kafka.plus.core.clients.producer.fanout.FanOutPolicy;
+import io.github.photowey.kafka.plus.core.clients.producer.fanout.FanOutProducer;
+import io.github.photowey.kafka.plus.core.clients.producer.lane.PriorityLanes;
+import io.github.photowey.kafka.plus.core.clients.producer.metric.SendMetricsRegistry;
+import io.github.photowey.kafka.plus.core.clients.producer.ratelimit.RateLimit;
+import io.github.photowey.kafka.plus.core.clients.producer.ratelimit.RateLimitedSender;
+import io.github.photowey.kafka.plus.core.clients.producer.reactive.ProducerSink;
+import io.github.photowey.kafka.plus.core.clients.producer.registry.ProducerRegistry;
+import io.github.photowey.kafka.plus.core.clients.producer.registry.ProducerRegistryImpl;
+import io.github.photowey.kafka.plus.core.clients.producer.sender.AsyncSender;
+import io.github.photowey.kafka.plus.core.clients.producer.sender.AsyncSenderImpl;
+import io.github.photowey.kafka.plus.core.clients.producer.transaction.TransactionalProducerPool;
 import io.github.photowey.kafka.plus.runtime.service.ProducerService;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.Serializer;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 
 /**
  * {@code ProducerServiceImpl}
@@ -30,13 +57,110 @@ import io.github.photowey.kafka.plus.runtime.service.ProducerService;
  */
 public class ProducerServiceImpl implements ProducerService {
 
+    private final ProducerRegistry producerRegistry = new ProducerRegistryImpl();
+    private final List<String> warmUpTopics;
+    private final Map<String, String> clusters;
+
+    public ProducerServiceImpl() {
+        this(Collections.emptyList());
+    }
+
+    /**
+     * @param warmUpTopics the topics of which the metadata is warmed up by the created producers.
+     * @since 3.7.0.1.6
+     */
+    public ProducerServiceImpl(Collection<String> warmUpTopics) {
+        this(warmUpTopics, Collections.emptyMap());
+    }
+
+    /**
+     * @param warmUpTopics the topics of which the metadata is warmed up by the created producers.
+     * @param clusters     the {@code bootstrap.servers} by the cluster name of the created fan-out producers.
+     * @since 3.7.0.1.6
+     */
+    public ProducerServiceImpl(Collection<String> warmUpTopics, Map<String, String> clusters) {
+        this.warmUpTopics = new ArrayList<>(warmUpTopics);
+        this.clusters = new LinkedHashMap<>(clusters);
+    }
+
     @Override
     public ProducerBuilder createProducer() {
-        return new ProducerBuilderImpl();
+        ProducerBuilder builder = new ProducerBuilderImpl(this.producerRegistry);
+        if (!this.warmUpTopics.isEmpty()) {
+            builder.warmUp(this.warmUpTopics);
+        }
+        if (!this.clusters.isEmpty()) {
+            builder.clusters(this.clusters);
+        }
+
+        return builder;
     }
 
     @Override
     public ProducerRecordBuilder createProducerRecord() {
         return new ProducerRecordBuilderImpl();
     }
+
+    @Override
+    public <K, V> ReusableProducerRecordBuilder<K, V> createReusableProducerRecord() {
+        return new ReusableProducerRecordBuilder<>();
+    }
+
+    @Override
+    public ProducerRegistry producerRegistry() {
+        return this.producerRegistry;
+    }
+
+    @Override
+    public <K, V> AsyncSender<K, V> sender(Producer<K, V> producer) {
+        return new AsyncSenderImpl<>(producer);
+    }
+
+    @Override
+    public <K, V> ProducerSink<K, V> sink(Producer<K, V> producer, int maxInFlight) {
+        return new ProducerSink<>(producer, maxInFlight);
+    }
+
+    @Override
+    public <K, V> AggregatingSender<K, V> aggregatingSender(
+            Producer<K, byte[]> producer, Serializer<V> valueSerializer, int maxBytes, long lingerMs) {
+        return new AggregatingSender<>(producer, valueSerializer, maxBytes, lingerMs);
+    }
+
+    @Override
+    public <K, V> TransactionalProducerPool<K, V> transactionalPool(
+            String transactionalIdPrefix, int size, Function<String, Producer<K, V>> factory) {
+        return new TransactionalProducerPool<>(transactionalIdPrefix, size, factory);
+    }
+
+    @Override
+    public <K, V> RateLimitedSender<K, V> rateLimitedSender(Producer<K, V> producer, RateLimit limit) {
+        return new RateLimitedSender<>(producer, limit);
+    }
+
+    @Override
+    public SendMetricsRegistry sendMetrics() {
+        return SendMetricsRegistry.global();
+    }
+
+    @Override
+    public <K, V> DedupProducer<K, V> dedupProducer(
+            Producer<K, V> producer, Function<ProducerRecord<K, V>, byte[]> businessKey, DedupWindow window) {
+        return new DedupProducer<>(producer, businessKey, window);
+    }
+
+    @Override
+    public <K, V> PriorityLanes<K, V> priorityLanes(String defaultLane) {
+        return new PriorityLanes<>(defaultLane);
+    }
+
+    @Override
+    public <K, V> FanOutProducer<K, V> fanOutProducer(Map<String, ? extends Producer<K, V>> clusters, FanOutPolicy policy) {
+        return new FanOutProducer<>(clusters, policy);
+    }
+
+    @Override
+    public void close() {
+        this.producerRegistry.close();
+    }
 }
\ No newline at end of file